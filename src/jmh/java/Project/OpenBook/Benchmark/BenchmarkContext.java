@@ -0,0 +1,28 @@
+package Project.OpenBook.Benchmark;
+
+import Project.OpenBook.OpenBookApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 벤치마크용 스프링 컨텍스트
+ * test 프로필(H2)을 사용하고, 측정에 영향을 주는 SQL 로그와 백그라운드 작업은 끔
+ */
+public class BenchmarkContext {
+
+    public static ConfigurableApplicationContext start() {
+        String dbName = "bench" + System.nanoTime();
+        return new SpringApplicationBuilder(OpenBookApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:" + dbName + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.properties.hibernate.show_sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "spring.jpa.properties.hibernate.use_sql_comments=false",
+                        "logging.level.root=WARN",
+                        "question.pool.enabled=false",
+                        "dup-date.async=false")
+                .run();
+    }
+}
@@ -0,0 +1,32 @@
+package Project.OpenBook.Benchmark;
+
+import Project.OpenBook.Cache.ChoiceSimilarityIndex;
+import Project.OpenBook.Cache.DupDateGraph;
+import Project.OpenBook.Cache.QuestionCatalog;
+import Project.OpenBook.Dataset.DatasetGenerator;
+import Project.OpenBook.Dataset.DatasetProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 벤치마크용 데이터 -> DatasetGenerator로 topicCount개 토픽 규모의 데이터를 만듦
+ * 토픽의 40% 정도가 "사건" 카테고리에 들어감
+ * seed가 같으면 항상 같은 데이터가 만들어짐
+ */
+public class BenchmarkDataset {
+
+    public static final String CATEGORY = "사건";
+
+    public static void load(ConfigurableApplicationContext context, int topicCount, long seed) {
+        DatasetProperties properties = new DatasetProperties();
+        properties.setSeed(seed);
+        properties.setTopics(topicCount);
+        properties.setKeywords(topicCount);
+        properties.setCustomers(10);
+        properties.setQuestions(topicCount);
+        context.getBean(DatasetGenerator.class).generate(properties);
+
+        context.getBean(QuestionCatalog.class).reload();
+        context.getBean(DupDateGraph.class).reload();
+        context.getBean(ChoiceSimilarityIndex.class).rebuild();
+    }
+}
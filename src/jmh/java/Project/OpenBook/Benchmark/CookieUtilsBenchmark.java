@@ -0,0 +1,43 @@
+package Project.OpenBook.Benchmark;
+
+import Project.OpenBook.Utils.CookieUtils;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+
+import javax.servlet.http.Cookie;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Arrays;
+
+/**
+ * OAuth2 로그인시 쿠키에 저장하는 OAuth2AuthorizationRequest의 직렬화/역직렬화 비용
+ */
+@State(Scope.Benchmark)
+public class CookieUtilsBenchmark {
+
+    private OAuth2AuthorizationRequest authorizationRequest;
+    private Cookie cookie;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        authorizationRequest = OAuth2AuthorizationRequest.authorizationCode()
+                .authorizationUri("https://kauth.kakao.com/oauth/authorize")
+                .clientId("ca80f14a6e6b6c34ea821c46af0cc10c")
+                .redirectUri("http://localhost:8080/login/oauth2/code/kakao")
+                .scopes(new HashSet<>(Arrays.asList("gender", "age_range", "birthday")))
+                .state("c3RhdGUtdmFsdWUtZm9yLWJlbmNobWFyaw==")
+                .attributes(Collections.singletonMap("registration_id", "kakao"))
+                .build();
+        cookie = new Cookie("oauth2_auth_request", CookieUtils.serialize(authorizationRequest));
+    }
+
+    @Benchmark
+    public String serialize() {
+        return CookieUtils.serialize(authorizationRequest);
+    }
+
+    @Benchmark
+    public OAuth2AuthorizationRequest deserialize() {
+        return CookieUtils.deserialize(cookie, OAuth2AuthorizationRequest.class);
+    }
+}
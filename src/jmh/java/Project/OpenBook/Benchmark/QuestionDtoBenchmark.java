@@ -0,0 +1,66 @@
+package Project.OpenBook.Benchmark;
+
+import Project.OpenBook.Dto.question.QuestionDto;
+import Project.OpenBook.Repository.question.QuestionRepository;
+import Project.OpenBook.Service.QuestionService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 저장된 문제를 QuestionDto로 조립하고 직렬화하는 비용
+ * 캐시를 거치지 않도록 QuestionRepository를 직접 호출
+ */
+@State(Scope.Benchmark)
+public class QuestionDtoBenchmark {
+
+    @Param({"1000"})
+    public int topicCount;
+
+    private ConfigurableApplicationContext context;
+    private QuestionRepository questionRepository;
+    private ObjectMapper objectMapper;
+
+    private List<Long> questionIdList = new ArrayList<>();
+    private QuestionDto questionDto;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkContext.start();
+        BenchmarkDataset.load(context, topicCount, 42L);
+        questionRepository = context.getBean(QuestionRepository.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        QuestionService questionService = context.getBean(QuestionService.class);
+        questionService.makeQuestions(BenchmarkDataset.CATEGORY, Arrays.asList(1L, 3L, 4L), 100,
+                draft -> questionIdList.add(questionService.addQuestion(draft).getId()));
+        questionDto = questionRepository.findQuestionById(questionIdList.get(0));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public QuestionDto findQuestionById() {
+        cursor = (cursor + 1) % questionIdList.size();
+        return questionRepository.findQuestionById(questionIdList.get(cursor));
+    }
+
+    @Benchmark
+    public List<QuestionDto> findQuestionsById() {
+        return questionRepository.findQuestionsById(questionIdList);
+    }
+
+    @Benchmark
+    public byte[] serializeQuestionDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(questionDto);
+    }
+}
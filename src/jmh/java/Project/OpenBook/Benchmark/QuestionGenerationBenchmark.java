@@ -0,0 +1,45 @@
+package Project.OpenBook.Benchmark;
+
+import Project.OpenBook.Service.QuestionService;
+import Project.OpenBook.Utils.CustomException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 문제 유형별 문제 1개 생성 비용
+ * 5번 유형은 선지 7개를 뽑아 5개인지 확인하므로 항상 실패해서 제외
+ */
+@State(Scope.Benchmark)
+public class QuestionGenerationBenchmark {
+
+    @Param({"1000"})
+    public int topicCount;
+
+    @Param({"1", "2", "3", "4"})
+    public long type;
+
+    private ConfigurableApplicationContext context;
+    private QuestionService questionService;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkContext.start();
+        BenchmarkDataset.load(context, topicCount, 42L);
+        questionService = context.getBean(QuestionService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object generateQuestion() {
+        try {
+            return questionService.generateQuestion(type, BenchmarkDataset.CATEGORY);
+        } catch (CustomException e) {
+            //정답 토픽 앞뒤로 토픽이 부족해서 만들 수 없는 경우도 같이 측정
+            return e;
+        }
+    }
+}
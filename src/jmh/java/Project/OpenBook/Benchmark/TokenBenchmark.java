@@ -0,0 +1,50 @@
+package Project.OpenBook.Benchmark;
+
+import Project.OpenBook.Domain.Customer;
+import Project.OpenBook.Jwt.TokenManager;
+import Project.OpenBook.Repository.customer.CustomerRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.Authentication;
+
+/**
+ * 요청마다 JwtFilter에서 호출되는 토큰 검증/권한 조회 비용
+ */
+@State(Scope.Benchmark)
+public class TokenBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private TokenManager tokenManager;
+    private String accessToken;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkContext.start();
+        Customer customer = Customer.builder()
+                .nickName("bench")
+                .role("USER")
+                .provider("kakao")
+                .oAuthId("bench")
+                .isSubscribed(true)
+                .build();
+        context.getBean(CustomerRepository.class).save(customer);
+
+        tokenManager = context.getBean(TokenManager.class);
+        accessToken = tokenManager.generateToken("ROLE_USER", customer.getId()).getAccessToken();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void validateToken() {
+        tokenManager.validateToken(accessToken);
+    }
+
+    @Benchmark
+    public Authentication getAuthorities() {
+        return tokenManager.getAuthorities(accessToken);
+    }
+}
@@ -0,0 +1,224 @@
+package Project.OpenBook.Cache;
+
+import Project.OpenBook.Dto.topic.TopicDateDto;
+import Project.OpenBook.Repository.keyword.KeywordRepository;
+import Project.OpenBook.Repository.topic.TopicRepository;
+import Project.OpenBook.Utils.HangulUtils;
+import Project.OpenBook.Utils.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 키워드 이름, 토픽 제목 자동완성 인덱스
+ * 자모로 풀어쓴 문자열을 정렬한 배열에서 이분탐색으로 접두사 구간의 시작을 찾으므로 O(log n + limit)
+ * 키워드/토픽이 추가, 수정, 삭제되면 커밋 이후에 바뀐 이름만 이분탐색으로 빼고 넣은 새 배열로 교체
+ * 주기적으로 다시 읽지 않으므로 서비스를 거치지 않고 바뀐 이름은 reload 전까지 후보에 반영되지 않음
+ */
+@Component
+@RequiredArgsConstructor
+public class AutocompleteIndex {
+
+    private final KeywordRepository keywordRepository;
+    private final TopicRepository topicRepository;
+
+    private volatile PrefixIndex keywordIndex;
+    private volatile PrefixIndex topicIndex;
+
+    public List<String> searchKeywords(String prefix, int limit) {
+        return keywordIndex().search(prefix, limit);
+    }
+
+    public List<String> searchTopics(String prefix, int limit) {
+        return topicIndex().search(prefix, limit);
+    }
+
+    /**
+     * 이름 변경은 prevName 제거 후 name 추가, 추가는 prevName null, 삭제는 name null
+     */
+    public void replaceKeyword(String prevName, String name) {
+        TransactionUtils.afterCommit(() -> {
+            synchronized (this) {
+                if (keywordIndex != null) {
+                    keywordIndex = keywordIndex.replace(prevName, name);
+                }
+            }
+        });
+    }
+
+    public void replaceTopic(String prevTitle, String title) {
+        TransactionUtils.afterCommit(() -> {
+            synchronized (this) {
+                if (topicIndex != null) {
+                    topicIndex = topicIndex.replace(prevTitle, title);
+                }
+            }
+        });
+    }
+
+    public synchronized void reload() {
+        keywordIndex = loadKeywords();
+        topicIndex = loadTopics();
+    }
+
+    //첫 조회때 DB에서 읽어옴, 그 전의 변경은 읽어올때 반영되므로 무시해도 됨
+    private PrefixIndex keywordIndex() {
+        PrefixIndex current = keywordIndex;
+        if (current == null) {
+            synchronized (this) {
+                if (keywordIndex == null) {
+                    keywordIndex = loadKeywords();
+                }
+                current = keywordIndex;
+            }
+        }
+        return current;
+    }
+
+    private PrefixIndex topicIndex() {
+        PrefixIndex current = topicIndex;
+        if (current == null) {
+            synchronized (this) {
+                if (topicIndex == null) {
+                    topicIndex = loadTopics();
+                }
+                current = topicIndex;
+            }
+        }
+        return current;
+    }
+
+    private PrefixIndex loadKeywords() {
+        return PrefixIndex.of(keywordRepository.queryKeywordNames());
+    }
+
+    private PrefixIndex loadTopics() {
+        return PrefixIndex.of(topicRepository.queryTopicDateDtos().stream()
+                .map(TopicDateDto::getTitle)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * 자모로 풀어쓴 key 순으로 정렬한 (key, 원래 문자열) 배열 -> 불변
+     */
+    private static class PrefixIndex {
+        private final String[] keys;
+        private final String[] values;
+
+        private PrefixIndex(String[] keys, String[] values) {
+            this.keys = keys;
+            this.values = values;
+        }
+
+        private static PrefixIndex of(Collection<String> valueList) {
+            String[][] pairs = valueList.stream()
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .map(v -> new String[]{HangulUtils.decompose(v), v})
+                    .sorted(PrefixIndex::compare)
+                    .toArray(String[][]::new);
+            String[] keys = new String[pairs.length];
+            String[] values = new String[pairs.length];
+            for (int i = 0; i < pairs.length; i++) {
+                keys[i] = pairs[i][0];
+                values[i] = pairs[i][1];
+            }
+            return new PrefixIndex(keys, values);
+        }
+
+        //key가 같으면 원래 문자열 순
+        private static int compare(String[] a, String[] b) {
+            int c = a[0].compareTo(b[0]);
+            return c != 0 ? c : a[1].compareTo(b[1]);
+        }
+
+        private List<String> search(String prefix, int limit) {
+            String key = HangulUtils.decompose(prefix == null ? "" : prefix);
+            List<String> result = new ArrayList<>();
+            for (int i = lowerBound(key); i < keys.length && result.size() < limit && keys[i].startsWith(key); i++) {
+                result.add(values[i]);
+            }
+            return result;
+        }
+
+        //keys[idx] >= key 인 첫번째 위치
+        private int lowerBound(String key) {
+            int lo = 0, hi = keys.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (keys[mid].compareTo(key) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        //다른 이름은 다시 풀어쓰거나 정렬하지 않고 배열 복사만 함
+        private PrefixIndex replace(String prevValue, String value) {
+            PrefixIndex result = this;
+            if (prevValue != null) {
+                result = result.without(prevValue);
+            }
+            if (value != null) {
+                result = result.with(value);
+            }
+            return result;
+        }
+
+        private PrefixIndex with(String value) {
+            String key = HangulUtils.decompose(value);
+            int idx = indexOf(key, value);
+            if (idx >= 0) {
+                return this;
+            }
+            int at = -idx - 1;
+            String[] newKeys = new String[keys.length + 1];
+            String[] newValues = new String[values.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, at);
+            System.arraycopy(values, 0, newValues, 0, at);
+            newKeys[at] = key;
+            newValues[at] = value;
+            System.arraycopy(keys, at, newKeys, at + 1, keys.length - at);
+            System.arraycopy(values, at, newValues, at + 1, values.length - at);
+            return new PrefixIndex(newKeys, newValues);
+        }
+
+        private PrefixIndex without(String value) {
+            int idx = indexOf(HangulUtils.decompose(value), value);
+            if (idx < 0) {
+                return this;
+            }
+            String[] newKeys = new String[keys.length - 1];
+            String[] newValues = new String[values.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, idx);
+            System.arraycopy(values, 0, newValues, 0, idx);
+            System.arraycopy(keys, idx + 1, newKeys, idx, keys.length - idx - 1);
+            System.arraycopy(values, idx + 1, newValues, idx, values.length - idx - 1);
+            return new PrefixIndex(newKeys, newValues);
+        }
+
+        //(key, value)의 위치, 없으면 -(들어갈 위치) - 1
+        private int indexOf(String key, String value) {
+            int lo = 0, hi = keys.length - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                int c = keys[mid].compareTo(key);
+                if (c == 0) {
+                    c = values[mid].compareTo(value);
+                }
+                if (c < 0) {
+                    lo = mid + 1;
+                } else if (c > 0) {
+                    hi = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(lo + 1);
+        }
+    }
+}
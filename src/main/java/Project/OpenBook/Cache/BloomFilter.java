@@ -0,0 +1,76 @@
+package Project.OpenBook.Cache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 문자열 블룸 필터 -> 없다고 하면 확실히 없고, 있다고 하면 실제로는 없을 수도 있음
+ * 원소당 10비트, 해시 7개 -> capacity개까지 오탐률 약 1%
+ * 원소는 지울 수 없으므로 삭제가 쌓이거나 capacity를 넘으면 새로 만들어야 함
+ */
+class BloomFilter {
+
+    private static final int BITS_PER_ELEMENT = 10;
+    private static final int HASH_COUNT = 7;
+
+    private final AtomicLongArray words;
+    private final int bitCount;
+    private final int capacity;
+    private final AtomicInteger size = new AtomicInteger();
+
+    BloomFilter(int capacity) {
+        this.capacity = capacity;
+        int wordCount = (int) Math.min(Integer.MAX_VALUE / 64, ((long) capacity * BITS_PER_ELEMENT + 63) / 64);
+        this.words = new AtomicLongArray(Math.max(1, wordCount));
+        this.bitCount = words.length() * 64;
+    }
+
+    void add(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < HASH_COUNT; i++) {
+            int bit = index(h1 + i * h2);
+            long mask = 1L << bit;
+            int word = bit >>> 6;
+            long prev;
+            do {
+                prev = words.get(word);
+            } while ((prev & mask) == 0 && !words.compareAndSet(word, prev, prev | mask));
+        }
+        size.incrementAndGet();
+    }
+
+    boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < HASH_COUNT; i++) {
+            int bit = index(h1 + i * h2);
+            if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean isFull() {
+        return size.get() > capacity;
+    }
+
+    private int index(int combined) {
+        return (combined < 0 ? ~combined : combined) % bitCount;
+    }
+
+    //FNV-1a 64비트 해시에 splitmix64 마무리 연산을 더해서 상위/하위 32비트를 고르게 섞음
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
+    }
+}
@@ -0,0 +1,421 @@
+package Project.OpenBook.Cache;
+
+import Project.OpenBook.Dto.choice.ChoiceContentTopicIdDto;
+import Project.OpenBook.Dto.topic.TopicDateDto;
+import Project.OpenBook.Repository.choice.ChoiceRepository;
+import Project.OpenBook.Utils.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * 선지별로 내용과 시기가 비슷한 다른 토픽의 선지 top-k를 미리 계산해둔 테이블
+ * 내용 유사도는 공백을 뺀 글자 2-gram 집합의 MinHash 서명으로 추정하고, LSH 버킷을 공유하는 선지만 후보로 비교
+ * 후보 점수 = 내용 유사도 * 0.7 + 두 토픽 기간의 근접도 * 0.3 (같은 카테고리, 다른 토픽만)
+ *
+ * 전체 구축은 ForkJoinPool에서 병렬로 실행하고, 선지 추가/수정/삭제는 해당 선지와 후보들만 갱신
+ * 구축이 끝나기 전이나 후보가 부족하면 빈 목록을 반환하므로 호출하는 쪽에서 무작위 선지로 채움
+ * DB에서 직접 바뀐 선지는 다음 주기 재구축(choice.similarity.rebuild-delay) 전까지 점수에 반영되지 않음
+ */
+@Slf4j
+@Component
+public class ChoiceSimilarityIndex {
+
+    private static final int NUM_HASHES = 64;
+    //32개 밴드 x 2줄 -> 자카드 유사도 0.18 정도부터 후보가 될 확률이 절반을 넘음
+    private static final int BANDS = 32;
+    private static final int ROWS = NUM_HASHES / BANDS;
+    //흔한 표현으로 버킷이 커졌을때 비교 횟수 제한
+    private static final int MAX_CANDIDATES = 2000;
+
+    private static final double TEXT_WEIGHT = 0.7;
+    private static final double PERIOD_WEIGHT = 0.3;
+    //기간이 50년 떨어지면 근접도 0.5
+    private static final double PERIOD_SCALE = 50.0;
+
+    private static final long[] HASH_SEEDS = new SplittableRandom(0x5EEDL).longs(NUM_HASHES).toArray();
+
+    private final ChoiceRepository choiceRepository;
+    private final QuestionCatalog questionCatalog;
+    private final int neighborNum;
+    private final ForkJoinPool pool;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile State state = new State();
+    //전체 구축중에 들어온 변경 -> 구축이 끝나면 새 State에 다시 적용
+    private List<Consumer<State>> pendingList;
+
+    public ChoiceSimilarityIndex(@Value("${choice.similarity.neighbors:10}") int neighborNum,
+                                 @Value("${choice.similarity.parallelism:0}") int parallelism,
+                                 ChoiceRepository choiceRepository, QuestionCatalog questionCatalog) {
+        this.neighborNum = neighborNum;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.choiceRepository = choiceRepository;
+        this.questionCatalog = questionCatalog;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * choiceId와 비슷한 선지 중 categoryName 카테고리의 선지를 토픽이 겹치지 않게 최대 num개 추출
+     * exceptTopicId 토픽의 선지는 제외
+     */
+    public List<Long> drawSimilarChoices(Long choiceId, String categoryName, Long exceptTopicId, int num) {
+        List<Long> result = new ArrayList<>();
+        State current = state;
+        Entry entry = choiceId == null ? null : current.entryMap.get(choiceId);
+        if (entry == null || entry.neighbors == null) {
+            return result;
+        }
+
+        Set<Long> topicIdSet = new HashSet<>();
+        for (long neighborId : entry.neighbors.choiceIds) {
+            Entry neighbor = current.entryMap.get(neighborId);
+            if (neighbor == null || Objects.equals(neighbor.topicId, exceptTopicId)) {
+                continue;
+            }
+            TopicDateDto topic = questionCatalog.getTopic(neighbor.topicId);
+            if (topic == null || !categoryName.equals(topic.getCategory())) {
+                continue;
+            }
+            if (topicIdSet.add(neighbor.topicId)) {
+                result.add(neighborId);
+            }
+        }
+        Collections.shuffle(result, ThreadLocalRandom.current());
+        return new ArrayList<>(result.subList(0, Math.min(num, result.size())));
+    }
+
+    /**
+     * 선지 추가/내용 수정 -> 같은 id가 있으면 교체
+     */
+    public void addChoices(List<ChoiceContentTopicIdDto> choiceList) {
+        TransactionUtils.afterCommit(() -> apply(s -> s.addAll(choiceList)));
+    }
+
+    public void removeChoice(Long choiceId) {
+        TransactionUtils.afterCommit(() -> apply(s -> s.remove(choiceId)));
+    }
+
+    /**
+     * 토픽의 기간이나 카테고리가 바뀌었을때 그 토픽 선지들의 이웃을 다시 계산
+     */
+    public void refreshTopic(Long topicId) {
+        TransactionUtils.afterCommit(() -> apply(s -> s.recomputeTopic(topicId)));
+    }
+
+    /**
+     * 기동 직후와 주기적으로 전체를 다시 구축 -> 부분 갱신으로 어긋난 점수를 바로잡음
+     * 스케줄러 스레드를 막지 않도록 pool에서 실행하고, 이미 구축중이면 건너뜀
+     */
+    @Scheduled(initialDelayString = "${choice.similarity.initial-delay:0}",
+            fixedDelayString = "${choice.similarity.rebuild-delay:3600000}")
+    public void scheduleRebuild() {
+        pool.execute(() -> {
+            if (!rebuildLock.tryLock()) {
+                return;
+            }
+            try {
+                doRebuild();
+            } catch (RuntimeException e) {
+                log.warn("선지 유사도 인덱스 구축 실패", e);
+            } finally {
+                rebuildLock.unlock();
+            }
+        });
+    }
+
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            doRebuild();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void doRebuild() {
+        long begin = System.currentTimeMillis();
+        synchronized (this) {
+            pendingList = new ArrayList<>();
+        }
+        try {
+            State built = new State();
+            built.build(choiceRepository.queryChoiceContentTopicIds());
+            synchronized (this) {
+                //구축 전에 반영된 변경이 다시 적용될 수 있으므로 모든 변경은 여러번 적용해도 결과가 같음
+                pendingList.forEach(op -> op.accept(built));
+                state = built;
+            }
+            log.info("선지 유사도 인덱스 구축 선지 수={} {}ms", built.entryMap.size(), System.currentTimeMillis() - begin);
+        } finally {
+            synchronized (this) {
+                pendingList = null;
+            }
+        }
+    }
+
+    private synchronized void apply(Consumer<State> op) {
+        op.accept(state);
+        if (pendingList != null) {
+            pendingList.add(op);
+        }
+    }
+
+    private void parallel(Runnable task) {
+        pool.submit(task).join();
+    }
+
+    private class State {
+        private final Map<Long, Entry> entryMap = new ConcurrentHashMap<>();
+        private final Map<Long, Set<Long>> bucketMap = new ConcurrentHashMap<>();
+
+        private void build(List<ChoiceContentTopicIdDto> choiceList) {
+            List<Entry> entryList = sign(choiceList);
+            parallel(() -> entryList.parallelStream().forEach(this::put));
+            parallel(() -> entryList.parallelStream().forEach(e -> e.neighbors = topK(score(e))));
+        }
+
+        private void addAll(List<ChoiceContentTopicIdDto> choiceList) {
+            List<Entry> entryList = sign(choiceList);
+            for (Entry entry : entryList) {
+                remove(entry.choiceId);
+                put(entry);
+            }
+            for (Entry entry : entryList) {
+                link(entry);
+            }
+        }
+
+        private void recomputeTopic(Long topicId) {
+            List<Entry> entryList = entryMap.values().stream()
+                    .filter(e -> e.topicId.equals(topicId))
+                    .collect(Collectors.toList());
+            for (Entry entry : entryList) {
+                link(entry);
+            }
+        }
+
+        /**
+         * entry의 이웃을 새로 계산하고, 비교한 후보들의 이웃 목록에도 entry를 반영
+         */
+        private void link(Entry entry) {
+            List<Scored> scoredList = score(entry);
+            entry.neighbors = topK(scoredList);
+            for (Scored scored : scoredList) {
+                Entry candidate = entryMap.get(scored.choiceId);
+                if (candidate != null) {
+                    candidate.neighbors = offer(candidate.neighbors, entry.choiceId, scored.score);
+                }
+            }
+        }
+
+        private void remove(Long choiceId) {
+            Entry entry = entryMap.remove(choiceId);
+            if (entry == null) {
+                return;
+            }
+            //다른 선지의 이웃 목록에 남은 id는 조회할때 걸러냄
+            for (long key : entry.bandKeys) {
+                bucketMap.computeIfPresent(key, (k, set) -> {
+                    set.remove(choiceId);
+                    return set.isEmpty() ? null : set;
+                });
+            }
+        }
+
+        private void put(Entry entry) {
+            entryMap.put(entry.choiceId, entry);
+            for (long key : entry.bandKeys) {
+                bucketMap.compute(key, (k, set) -> {
+                    if (set == null) {
+                        set = ConcurrentHashMap.newKeySet();
+                    }
+                    set.add(entry.choiceId);
+                    return set;
+                });
+            }
+        }
+
+        private List<Scored> score(Entry entry) {
+            List<Scored> scoredList = new ArrayList<>();
+            TopicDateDto topic = questionCatalog.getTopic(entry.topicId);
+            if (topic == null) {
+                return scoredList;
+            }
+            Set<Long> visited = new HashSet<>();
+            for (long key : entry.bandKeys) {
+                Set<Long> bucket = bucketMap.get(key);
+                if (bucket == null) {
+                    continue;
+                }
+                for (Long candidateId : bucket) {
+                    if (visited.size() >= MAX_CANDIDATES) {
+                        return scoredList;
+                    }
+                    if (!visited.add(candidateId)) {
+                        continue;
+                    }
+                    Entry candidate = entryMap.get(candidateId);
+                    if (candidate == null || candidate.topicId.equals(entry.topicId)) {
+                        continue;
+                    }
+                    TopicDateDto candidateTopic = questionCatalog.getTopic(candidate.topicId);
+                    if (candidateTopic == null || !Objects.equals(topic.getCategory(), candidateTopic.getCategory())) {
+                        continue;
+                    }
+                    double score = TEXT_WEIGHT * similarity(entry.signature, candidate.signature)
+                            + PERIOD_WEIGHT * proximity(topic, candidateTopic);
+                    scoredList.add(new Scored(candidateId, (float) score));
+                }
+            }
+            return scoredList;
+        }
+
+        private Neighbors topK(List<Scored> scoredList) {
+            scoredList.sort((a, b) -> Float.compare(b.score, a.score));
+            int size = Math.min(neighborNum, scoredList.size());
+            long[] choiceIds = new long[size];
+            float[] scores = new float[size];
+            for (int i = 0; i < size; i++) {
+                choiceIds[i] = scoredList.get(i).choiceId;
+                scores[i] = scoredList.get(i).score;
+            }
+            return new Neighbors(choiceIds, scores);
+        }
+
+        //점수 순서를 유지하며 choiceId를 끼워넣은 새 목록 (이미 있으면 제거 후 다시 삽입)
+        private Neighbors offer(Neighbors neighbors, long choiceId, float score) {
+            List<Scored> scoredList = new ArrayList<>();
+            if (neighbors != null) {
+                for (int i = 0; i < neighbors.choiceIds.length; i++) {
+                    if (neighbors.choiceIds[i] != choiceId) {
+                        scoredList.add(new Scored(neighbors.choiceIds[i], neighbors.scores[i]));
+                    }
+                }
+            }
+            scoredList.add(new Scored(choiceId, score));
+            return topK(scoredList);
+        }
+
+        private List<Entry> sign(List<ChoiceContentTopicIdDto> choiceList) {
+            List<Entry> entryList = new ArrayList<>();
+            parallel(() -> entryList.addAll(choiceList.parallelStream()
+                    .filter(c -> c.getTopicId() != null)
+                    .map(c -> new Entry(c.getId(), c.getTopicId(), c.getContent()))
+                    .collect(Collectors.toList())));
+            return entryList;
+        }
+    }
+
+    //서명이 일치하는 비율 -> 자카드 유사도 추정치
+    private static double similarity(int[] a, int[] b) {
+        int same = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (a[i] == b[i]) {
+                same++;
+            }
+        }
+        return (double) same / NUM_HASHES;
+    }
+
+    //두 기간 사이의 간격(겹치면 0)이 클수록 0에 가까워짐
+    private static double proximity(TopicDateDto a, TopicDateDto b) {
+        if (a.getStartDate() == null || a.getEndDate() == null || b.getStartDate() == null || b.getEndDate() == null) {
+            return 0;
+        }
+        int gap = Math.max(0, Math.max(a.getStartDate(), b.getStartDate()) - Math.min(a.getEndDate(), b.getEndDate()));
+        return 1.0 / (1.0 + gap / PERIOD_SCALE);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static class Entry {
+        private final Long choiceId;
+        private final Long topicId;
+        private final int[] signature;
+        private final long[] bandKeys;
+        private volatile Neighbors neighbors;
+
+        private Entry(Long choiceId, Long topicId, String content) {
+            this.choiceId = choiceId;
+            this.topicId = topicId;
+
+            //공백, 문장부호를 제외한 글자의 2-gram
+            StringBuilder sb = new StringBuilder();
+            if (content != null) {
+                content.codePoints().filter(Character::isLetterOrDigit).forEach(sb::appendCodePoint);
+            }
+            String text = sb.toString();
+
+            this.signature = new int[NUM_HASHES];
+            Arrays.fill(signature, Integer.MAX_VALUE);
+            if (text.length() == 1) {
+                addGram(text.charAt(0));
+            }
+            for (int i = 0; i + 1 < text.length(); i++) {
+                addGram((text.charAt(i) << 16) | text.charAt(i + 1));
+            }
+
+            //내용이 없는 선지는 버킷에 넣지 않음
+            this.bandKeys = text.isEmpty() ? new long[0] : new long[BANDS];
+            for (int b = 0; b < bandKeys.length; b++) {
+                long key = b;
+                for (int r = 0; r < ROWS; r++) {
+                    key = key * 0x9E3779B97F4A7C15L + signature[b * ROWS + r];
+                }
+                bandKeys[b] = mix(key);
+            }
+        }
+
+        private void addGram(int gram) {
+            for (int h = 0; h < NUM_HASHES; h++) {
+                int value = (int) (mix(gram ^ HASH_SEEDS[h]) >>> 32);
+                if (value < signature[h]) {
+                    signature[h] = value;
+                }
+            }
+        }
+    }
+
+    //점수 내림차순 이웃 목록 -> 불변, 바뀔때는 새로 만들어서 교체
+    private static class Neighbors {
+        private final long[] choiceIds;
+        private final float[] scores;
+
+        private Neighbors(long[] choiceIds, float[] scores) {
+            this.choiceIds = choiceIds;
+            this.scores = scores;
+        }
+    }
+
+    private static class Scored {
+        private final long choiceId;
+        private final float score;
+
+        private Scored(long choiceId, float score) {
+            this.choiceId = choiceId;
+            this.score = score;
+        }
+    }
+}
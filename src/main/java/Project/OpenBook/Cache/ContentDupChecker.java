@@ -0,0 +1,190 @@
+package Project.OpenBook.Cache;
+
+import Project.OpenBook.Repository.choice.ChoiceRepository;
+import Project.OpenBook.Repository.description.DescriptionRepository;
+import Project.OpenBook.Utils.HashUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 선지, 보기 내용 중복 확인
+ * 입력받은 내용 전체를 한번에 확인하고 중복되는 내용을 모두 반환
+ *
+ * 기존 내용의 해시(content_hash 컬럼)로 만든 블룸 필터에 없는 내용은 DB를 확인하지 않고,
+ * 필터에 있는 내용만 IN 쿼리로 CHUNK_SIZE개씩 나눠서 확인, 후보가 하나뿐이면(수정시) 내용 하나로 조회
+ * 필터를 만들 때 긴 내용 컬럼 대신 64자 해시만 읽음
+ * 삭제된 내용은 필터에서 지울 수 없으므로 주기적으로 새로 만듦
+ * DB에 직접 넣은 내용은 다음 재구축 전까지 필터에 없어서 여기서는 중복으로 잡히지 않고, 저장할때 content unique 제약에서 실패함
+ */
+@Slf4j
+@Component
+public class ContentDupChecker {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final int MIN_CAPACITY = 1 << 14;
+
+    private final ContentFilter choiceFilter;
+    private final ContentFilter descriptionFilter;
+
+    public ContentDupChecker(ChoiceRepository choiceRepository, DescriptionRepository descriptionRepository) {
+        this.choiceFilter = new ContentFilter(choiceRepository::queryChoiceContentHashes,
+                choiceRepository::queryChoiceContentsIn,
+                c -> choiceRepository.queryChoiceByContent(c) != null);
+        this.descriptionFilter = new ContentFilter(descriptionRepository::queryDescriptionContentHashes,
+                descriptionRepository::queryDescriptionContentsIn,
+                c -> descriptionRepository.queryDescriptionByContent(c) != null);
+    }
+
+    /**
+     * 이미 있는 선지 내용과 입력 안에서 두번 이상 나온 내용 (입력 순서)
+     */
+    public List<String> findDupChoices(String[] contentArr) {
+        return choiceFilter.findDuplicates(contentArr);
+    }
+
+    public List<String> findDupDescriptions(String[] contentArr) {
+        return descriptionFilter.findDuplicates(contentArr);
+    }
+
+    /**
+     * 선지 추가/수정 시 호출
+     * 롤백되어도 오탐만 늘어나므로 커밋을 기다리지 않음
+     */
+    public void addChoices(Collection<String> contentList) {
+        choiceFilter.add(contentList);
+    }
+
+    public void addDescriptions(Collection<String> contentList) {
+        descriptionFilter.add(contentList);
+    }
+
+    public void reload() {
+        choiceFilter.rebuild(true);
+        descriptionFilter.rebuild(true);
+    }
+
+    @Scheduled(initialDelayString = "${content.bloom.rebuild-delay:3600000}",
+            fixedDelayString = "${content.bloom.rebuild-delay:3600000}")
+    public void scheduleRebuild() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("내용 중복 확인용 블룸 필터 재구축 실패", e);
+        }
+    }
+
+    private static class ContentFilter {
+
+        //필터에는 내용 대신 HashUtils.contentHash 값을 넣음
+        private final Supplier<List<String>> loader;
+        private final Function<Collection<String>, List<String>> query;
+        private final Predicate<String> exists;
+        private final Object loadLock = new Object();
+
+        private volatile BloomFilter filter;
+        //다시 만드는 동안 추가된 내용의 해시 -> 새 필터에도 넣음
+        private List<String> pendingList;
+
+        private ContentFilter(Supplier<List<String>> loader, Function<Collection<String>, List<String>> query,
+                              Predicate<String> exists) {
+            this.loader = loader;
+            this.query = query;
+            this.exists = exists;
+        }
+
+        private List<String> findDuplicates(String[] contentArr) {
+            BloomFilter current = filter();
+
+            Set<String> inputSet = new HashSet<>();
+            Set<String> dupSet = new HashSet<>();
+            List<String> candidateList = new ArrayList<>();
+            for (String content : contentArr) {
+                if (content == null) {
+                    continue;
+                }
+                if (!inputSet.add(content)) {
+                    dupSet.add(content);
+                } else if (current.mightContain(HashUtils.contentHash(content))) {
+                    candidateList.add(content);
+                }
+            }
+            if (candidateList.size() == 1) {
+                String candidate = candidateList.get(0);
+                if (exists.test(candidate)) {
+                    dupSet.add(candidate);
+                }
+                candidateList.clear();
+            }
+            for (int from = 0; from < candidateList.size(); from += CHUNK_SIZE) {
+                List<String> chunk = candidateList.subList(from, Math.min(from + CHUNK_SIZE, candidateList.size()));
+                dupSet.addAll(query.apply(chunk));
+            }
+
+            List<String> dupList = new ArrayList<>();
+            for (String content : contentArr) {
+                if (dupSet.remove(content)) {
+                    dupList.add(content);
+                }
+            }
+            return dupList;
+        }
+
+        private synchronized void add(Collection<String> contentList) {
+            List<String> hashList = new ArrayList<>();
+            for (String content : contentList) {
+                hashList.add(HashUtils.contentHash(content));
+            }
+            if (pendingList != null) {
+                pendingList.addAll(hashList);
+            }
+            BloomFilter current = filter;
+            if (current != null) {
+                hashList.forEach(current::add);
+                //오탐률이 높아지므로 다음 확인때 다시 만듦
+                if (current.isFull()) {
+                    filter = null;
+                }
+            }
+        }
+
+        private BloomFilter filter() {
+            BloomFilter current = filter;
+            if (current == null) {
+                current = rebuild(false);
+            }
+            return current;
+        }
+
+        private BloomFilter rebuild(boolean force) {
+            synchronized (loadLock) {
+                BloomFilter current = filter;
+                if (current != null && !force) {
+                    return current;
+                }
+                synchronized (this) {
+                    pendingList = new ArrayList<>();
+                }
+                try {
+                    List<String> hashList = loader.get();
+                    BloomFilter loaded = new BloomFilter(Math.max(MIN_CAPACITY, hashList.size() * 2));
+                    hashList.forEach(loaded::add);
+                    synchronized (this) {
+                        pendingList.forEach(loaded::add);
+                        filter = loaded;
+                    }
+                    return loaded;
+                } finally {
+                    synchronized (this) {
+                        pendingList = null;
+                    }
+                }
+            }
+        }
+    }
+}
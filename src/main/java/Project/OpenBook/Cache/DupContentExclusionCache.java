@@ -0,0 +1,123 @@
+package Project.OpenBook.Cache;
+
+import Project.OpenBook.Repository.dupcontent.DupContentRepository;
+import Project.OpenBook.Utils.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
+
+/**
+ * 보기별로 내용이 겹쳐서 정답 선지로 쓰면 안되는 선지 id 집합
+ * 보기 하나의 겹치는 선지는 대부분 같은 토픽에서 함께 등록된 선지라 id가 몰려있으므로
+ * 가장 작은 id를 base로 두고 (선지 id - base) 위치에 비트를 세우는 BitSet으로 저장
+ * 보기별로 처음 사용할때 읽어오고, 이후에는 DupContentService의 추가/삭제를 커밋 이후에 반영
+ * 한번 읽은 보기는 다시 읽지 않으므로 dup_content를 DB에서 직접 바꾸면 재기동 전까지 반영되지 않음
+ */
+@Component
+@RequiredArgsConstructor
+public class DupContentExclusionCache {
+
+    private static final ExclusionSet EMPTY = new ExclusionSet(0, new BitSet());
+
+    private final DupContentRepository dupContentRepository;
+
+    private final Map<Long, ExclusionSet> exclusionMap = new ConcurrentHashMap<>();
+
+    /**
+     * 해당 보기와 겹치는 선지인지 판단하는 조건
+     */
+    public LongPredicate exclusionOf(Long descriptionId) {
+        if (descriptionId == null) {
+            return choiceId -> false;
+        }
+        return get(descriptionId)::contains;
+    }
+
+    public boolean isExcluded(Long descriptionId, Long choiceId) {
+        return exclusionOf(descriptionId).test(choiceId);
+    }
+
+    public Set<Long> getExcludedChoiceIds(Long descriptionId) {
+        return get(descriptionId).toSet();
+    }
+
+    /**
+     * 겹치는 선지 추가가 커밋된 이후에 반영
+     */
+    public void addExclusions(Long descriptionId, Collection<Long> choiceIdList) {
+        List<Long> idList = new ArrayList<>(choiceIdList);
+        TransactionUtils.afterCommit(() -> exclusionMap.computeIfPresent(descriptionId, (k, prev) -> prev.with(idList)));
+    }
+
+    /**
+     * 겹치는 선지 삭제가 커밋된 이후에 반영
+     */
+    public void removeExclusion(Long descriptionId, Long choiceId) {
+        TransactionUtils.afterCommit(() -> exclusionMap.computeIfPresent(descriptionId, (k, prev) -> prev.without(choiceId)));
+    }
+
+    /**
+     * 보기가 삭제된 경우
+     */
+    public void evict(Long descriptionId) {
+        TransactionUtils.afterCommit(() -> exclusionMap.remove(descriptionId));
+    }
+
+    private ExclusionSet get(Long descriptionId) {
+        return exclusionMap.computeIfAbsent(descriptionId,
+                id -> EMPTY.with(dupContentRepository.queryDupContentChoiceIds(id)));
+    }
+
+    /**
+     * 불변 비트 집합 -> 수정할때마다 새로 만들어서 교체
+     */
+    private static class ExclusionSet {
+        private final long base;
+        private final BitSet bits;
+
+        private ExclusionSet(long base, BitSet bits) {
+            this.base = base;
+            this.bits = bits;
+        }
+
+        private boolean contains(long choiceId) {
+            long offset = choiceId - base;
+            return offset >= 0 && offset <= Integer.MAX_VALUE && bits.get((int) offset);
+        }
+
+        private Set<Long> toSet() {
+            Set<Long> idSet = new HashSet<>();
+            for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+                idSet.add(base + i);
+            }
+            return idSet;
+        }
+
+        private ExclusionSet with(Collection<Long> choiceIdList) {
+            Set<Long> idSet = toSet();
+            idSet.addAll(choiceIdList);
+            return of(idSet);
+        }
+
+        private ExclusionSet without(Long choiceId) {
+            Set<Long> idSet = toSet();
+            idSet.remove(choiceId);
+            return of(idSet);
+        }
+
+        private static ExclusionSet of(Set<Long> idSet) {
+            if (idSet.isEmpty()) {
+                return EMPTY;
+            }
+            long base = Collections.min(idSet);
+            BitSet bits = new BitSet();
+            for (Long id : idSet) {
+                bits.set((int) (id - base));
+            }
+            return new ExclusionSet(base, bits);
+        }
+    }
+}
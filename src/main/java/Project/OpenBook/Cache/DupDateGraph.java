@@ -0,0 +1,155 @@
+package Project.OpenBook.Cache;
+
+import Project.OpenBook.Dto.dupdate.DupDatePairDto;
+import Project.OpenBook.Repository.dupdate.DupDateJdbcRepository;
+import Project.OpenBook.Utils.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * dup_date(정답 토픽 -> 보기 토픽) 관계를 메모리에 CSR 형태로 보관
+ * 쌍을 (정답 토픽의 카테고리, 정답 토픽) 순으로 정렬해서 배열에 이어붙이고, 카테고리별/정답 토픽별 구간의 시작과 끝만 따로 저장
+ * 카테고리 안의 쌍 하나 또는 정답 토픽의 쌍 하나를 고르는 것이 모두 O(1)이고, 구간 안의 모든 쌍이 같은 확률로 뽑힘
+ * dup_date 테이블은 영구 저장용으로만 사용하고, 문제 생성시에는 조회하지 않음
+ * 카테고리 이름이 바뀌면 refreshAll로 다시 읽어야 함
+ * dup_date를 DB에서 직접 바꾸면 reload 전까지 이전 쌍으로 2번 유형 문제를 만듦
+ */
+@Component
+@RequiredArgsConstructor
+public class DupDateGraph {
+
+    private final DupDateJdbcRepository dupDateJdbcRepository;
+
+    private volatile Graph graph;
+
+    /**
+     * 정답 토픽이 categoryName에 속한 쌍 중 하나를 임의로 고름
+     * @return [정답 토픽 id, 보기 토픽 id], 쌍이 하나도 없으면 null
+     */
+    public long[] drawPair(String categoryName) {
+        Graph current = graph();
+        return current.draw(current.categoryRangeMap.get(categoryName));
+    }
+
+    /**
+     * 정답 토픽이 answerTopicId인 쌍 중 하나를 임의로 고름
+     */
+    public long[] drawPairByAnswer(Long answerTopicId) {
+        Graph current = graph();
+        return current.draw(current.answerRangeMap.get(answerTopicId));
+    }
+
+    /**
+     * topicId가 포함된 쌍을 pairList로 교체
+     * DupDateService가 dup_date 테이블을 갱신한 이후에 호출, pairList에는 정답 토픽의 카테고리가 채워져 있어야 함
+     */
+    public synchronized void replaceTopic(Long topicId, List<DupDatePairDto> pairList) {
+        Graph prev = graph;
+        if (prev == null) {
+            //아직 한번도 읽지 않은 경우 -> 처음 사용할때 전체를 읽어옴
+            return;
+        }
+        List<DupDatePairDto> newPairList = new ArrayList<>();
+        for (int i = 0; i < prev.answerIds.length; i++) {
+            if (prev.answerIds[i] != topicId && prev.descriptionIds[i] != topicId) {
+                newPairList.add(new DupDatePairDto(null, prev.answerIds[i], prev.descriptionIds[i], prev.answerCategories[i]));
+            }
+        }
+        newPairList.addAll(pairList);
+        graph = new Graph(newPairList);
+    }
+
+    /**
+     * 토픽 삭제가 커밋된 이후에 해당 토픽이 포함된 쌍을 제거
+     */
+    public void removeTopic(Long topicId) {
+        TransactionUtils.afterCommit(() -> replaceTopic(topicId, new ArrayList<>()));
+    }
+
+    /**
+     * 카테고리 이름 변경이 커밋된 이후에 전체를 다시 읽음
+     */
+    public void refreshAll() {
+        TransactionUtils.afterCommit(this::reload);
+    }
+
+    public synchronized void reload() {
+        graph = new Graph(dupDateJdbcRepository.queryAllPairs());
+    }
+
+    private Graph graph() {
+        Graph current = graph;
+        if (current == null) {
+            synchronized (this) {
+                if (graph == null) {
+                    reload();
+                }
+                current = graph;
+            }
+        }
+        return current;
+    }
+
+    private static class Graph {
+        //(정답 토픽의 카테고리, 정답 토픽, 보기 토픽) 순으로 정렬한 쌍
+        private final long[] answerIds;
+        private final long[] descriptionIds;
+        private final String[] answerCategories;
+        //카테고리 -> 해당 카테고리 쌍의 구간 [from, to)
+        private final Map<String, int[]> categoryRangeMap = new HashMap<>();
+        //정답 토픽 id -> 해당 토픽 쌍의 구간 [from, to)
+        private final Map<Long, int[]> answerRangeMap = new HashMap<>();
+
+        private Graph(List<DupDatePairDto> pairList) {
+            //중복된 쌍 제거
+            Map<List<Long>, DupDatePairDto> pairMap = new LinkedHashMap<>();
+            for (DupDatePairDto pair : pairList) {
+                pairMap.putIfAbsent(Arrays.asList(pair.getAnswerTopicId(), pair.getDescriptionTopicId()), pair);
+            }
+            List<DupDatePairDto> sortedList = new ArrayList<>(pairMap.values());
+            sortedList.sort(Comparator.comparing(DupDatePairDto::getAnswerCategory, Comparator.nullsFirst(Comparator.naturalOrder()))
+                    .thenComparing(DupDatePairDto::getAnswerTopicId)
+                    .thenComparing(DupDatePairDto::getDescriptionTopicId));
+
+            int n = sortedList.size();
+            this.answerIds = new long[n];
+            this.descriptionIds = new long[n];
+            this.answerCategories = new String[n];
+            for (int i = 0; i < n; i++) {
+                DupDatePairDto pair = sortedList.get(i);
+                answerIds[i] = pair.getAnswerTopicId();
+                descriptionIds[i] = pair.getDescriptionTopicId();
+                answerCategories[i] = pair.getAnswerCategory();
+            }
+
+            //정렬되어 있으므로 같은 카테고리, 같은 정답 토픽의 쌍은 연속된 구간
+            for (int from = 0, to; from < n; from = to) {
+                to = from + 1;
+                while (to < n && answerIds[to] == answerIds[from]) {
+                    to++;
+                }
+                answerRangeMap.put(answerIds[from], new int[]{from, to});
+            }
+            for (int from = 0, to; from < n; from = to) {
+                to = from + 1;
+                while (to < n && Objects.equals(answerCategories[to], answerCategories[from])) {
+                    to++;
+                }
+                if (answerCategories[from] != null) {
+                    categoryRangeMap.put(answerCategories[from], new int[]{from, to});
+                }
+            }
+        }
+
+        private long[] draw(int[] range) {
+            if (range == null) {
+                return null;
+            }
+            int i = range[0] + ThreadLocalRandom.current().nextInt(range[1] - range[0]);
+            return new long[]{answerIds[i], descriptionIds[i]};
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package Project.OpenBook.Cache;
+
+import Project.OpenBook.Domain.Keyword;
+import Project.OpenBook.Dto.keyword.TopicKeywordIdDto;
+import Project.OpenBook.Dto.topic.TopicDateDto;
+import Project.OpenBook.Repository.keyword.KeywordRepository;
+import Project.OpenBook.Repository.topic.TopicRepository;
+import Project.OpenBook.Repository.topickeyword.TopicKeywordRepository;
+import Project.OpenBook.Utils.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 키워드 <-> 토픽 연결 인덱스
+ * 키워드 이름 <-> id, 토픽 제목 <-> id 사전과, id 기준으로 정렬한 long 배열(키워드별 토픽, 토픽별 키워드)로 구성
+ * 사전의 양방향이 같은 String 객체를 공유하므로 이름을 한번씩만 들고 있음
+ *
+ * 조회는 잠금 없이 하고, 변경은 커밋 이후에 해당 배열만 새로 만들어 교체
+ * 커밋 전의 연결은 보이지 않으므로 삭제 가능 여부 같은 참조 확인에는 사용하지 않음 -> 화면 조회용
+ * 서비스의 커밋 이후 훅으로만 갱신하므로 DB에서 직접 바꾼 키워드/연결은 reload 전까지 화면에 반영되지 않음
+ */
+@Component
+@RequiredArgsConstructor
+public class KeywordTopicIndex {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final KeywordRepository keywordRepository;
+    private final TopicRepository topicRepository;
+    private final TopicKeywordRepository topicKeywordRepository;
+
+    private volatile Graph graph;
+
+    public Long getKeywordId(String keywordName) {
+        return graph().keywordIdMap.get(keywordName);
+    }
+
+    public Long getTopicId(String topicTitle) {
+        return graph().topicIdMap.get(topicTitle);
+    }
+
+    /**
+     * 키워드를 가지는 토픽 제목 (토픽 id 순)
+     */
+    public List<String> getTopicTitles(Long keywordId) {
+        Graph current = graph();
+        return names(current.topicsByKeyword.getOrDefault(keywordId, EMPTY), current.topicTitleMap);
+    }
+
+    /**
+     * 토픽의 키워드 이름 (키워드 id 순)
+     */
+    public List<String> getKeywordNames(Long topicId) {
+        Graph current = graph();
+        return names(current.keywordsByTopic.getOrDefault(topicId, EMPTY), current.keywordNameMap);
+    }
+
+    /**
+     * 키워드 추가/이름 변경
+     */
+    public void putKeyword(Long keywordId, String keywordName) {
+        afterCommit(g -> put(g.keywordIdMap, g.keywordNameMap, keywordId, keywordName));
+    }
+
+    public void removeKeyword(Long keywordId) {
+        afterCommit(g -> {
+            String name = g.keywordNameMap.remove(keywordId);
+            if (name != null) {
+                g.keywordIdMap.remove(name, keywordId);
+            }
+            for (long topicId : g.topicsByKeyword.getOrDefault(keywordId, EMPTY)) {
+                g.keywordsByTopic.computeIfPresent(topicId, (k, ids) -> remove(ids, keywordId));
+            }
+            g.topicsByKeyword.remove(keywordId);
+        });
+    }
+
+    /**
+     * 토픽 추가/제목 변경
+     */
+    public void putTopic(Long topicId, String topicTitle) {
+        afterCommit(g -> put(g.topicIdMap, g.topicTitleMap, topicId, topicTitle));
+    }
+
+    public void removeTopic(Long topicId) {
+        afterCommit(g -> {
+            String title = g.topicTitleMap.remove(topicId);
+            if (title != null) {
+                g.topicIdMap.remove(title, topicId);
+            }
+            for (long keywordId : g.keywordsByTopic.getOrDefault(topicId, EMPTY)) {
+                g.topicsByKeyword.computeIfPresent(keywordId, (k, ids) -> remove(ids, topicId));
+            }
+            g.keywordsByTopic.remove(topicId);
+        });
+    }
+
+    public void link(Long topicId, Long keywordId) {
+        afterCommit(g -> g.link(topicId, keywordId));
+    }
+
+    public void unlink(Long topicId, Long keywordId) {
+        afterCommit(g -> {
+            g.topicsByKeyword.computeIfPresent(keywordId, (k, ids) -> remove(ids, topicId));
+            g.keywordsByTopic.computeIfPresent(topicId, (k, ids) -> remove(ids, keywordId));
+        });
+    }
+
+    public synchronized void reload() {
+        graph = load();
+    }
+
+    //읽어오기 전의 변경은 읽어올때 반영되므로 무시해도 됨
+    private void afterCommit(Consumer<Graph> op) {
+        TransactionUtils.afterCommit(() -> {
+            synchronized (this) {
+                if (graph != null) {
+                    op.accept(graph);
+                }
+            }
+        });
+    }
+
+    private Graph graph() {
+        Graph current = graph;
+        if (current == null) {
+            synchronized (this) {
+                if (graph == null) {
+                    graph = load();
+                }
+                current = graph;
+            }
+        }
+        return current;
+    }
+
+    private Graph load() {
+        Graph loaded = new Graph();
+        for (Keyword keyword : keywordRepository.findAll()) {
+            put(loaded.keywordIdMap, loaded.keywordNameMap, keyword.getId(), keyword.getName());
+        }
+        for (TopicDateDto topic : topicRepository.queryTopicDateDtos()) {
+            put(loaded.topicIdMap, loaded.topicTitleMap, topic.getId(), topic.getTitle());
+        }
+
+        Map<Long, List<Long>> topicsByKeyword = new HashMap<>();
+        Map<Long, List<Long>> keywordsByTopic = new HashMap<>();
+        for (TopicKeywordIdDto dto : topicKeywordRepository.queryTopicKeywordIds()) {
+            topicsByKeyword.computeIfAbsent(dto.getKeywordId(), k -> new ArrayList<>()).add(dto.getTopicId());
+            keywordsByTopic.computeIfAbsent(dto.getTopicId(), k -> new ArrayList<>()).add(dto.getKeywordId());
+        }
+        topicsByKeyword.forEach((keywordId, ids) -> loaded.topicsByKeyword.put(keywordId, toSortedArray(ids)));
+        keywordsByTopic.forEach((topicId, ids) -> loaded.keywordsByTopic.put(topicId, toSortedArray(ids)));
+        return loaded;
+    }
+
+    private static void put(Map<String, Long> idMap, Map<Long, String> nameMap, Long id, String name) {
+        String prevName = nameMap.put(id, name);
+        if (prevName != null && !prevName.equals(name)) {
+            idMap.remove(prevName, id);
+        }
+        idMap.put(name, id);
+    }
+
+    private static List<String> names(long[] ids, Map<Long, String> nameMap) {
+        List<String> nameList = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            String name = nameMap.get(id);
+            if (name != null) {
+                nameList.add(name);
+            }
+        }
+        return nameList;
+    }
+
+    private static long[] toSortedArray(List<Long> idList) {
+        return idList.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+    }
+
+    private static long[] add(long[] ids, long id) {
+        int index = Arrays.binarySearch(ids, id);
+        if (index >= 0) {
+            return ids;
+        }
+        int insert = -index - 1;
+        long[] added = new long[ids.length + 1];
+        System.arraycopy(ids, 0, added, 0, insert);
+        added[insert] = id;
+        System.arraycopy(ids, insert, added, insert + 1, ids.length - insert);
+        return added;
+    }
+
+    //비면 null을 반환해서 computeIfPresent가 항목을 지우도록 함
+    private static long[] remove(long[] ids, long id) {
+        int index = Arrays.binarySearch(ids, id);
+        if (index < 0) {
+            return ids;
+        }
+        if (ids.length == 1) {
+            return null;
+        }
+        long[] removed = new long[ids.length - 1];
+        System.arraycopy(ids, 0, removed, 0, index);
+        System.arraycopy(ids, index + 1, removed, index, ids.length - index - 1);
+        return removed;
+    }
+
+    private static class Graph {
+        private final Map<String, Long> keywordIdMap = new ConcurrentHashMap<>();
+        private final Map<Long, String> keywordNameMap = new ConcurrentHashMap<>();
+        private final Map<String, Long> topicIdMap = new ConcurrentHashMap<>();
+        private final Map<Long, String> topicTitleMap = new ConcurrentHashMap<>();
+        private final Map<Long, long[]> topicsByKeyword = new ConcurrentHashMap<>();
+        private final Map<Long, long[]> keywordsByTopic = new ConcurrentHashMap<>();
+
+        private void link(Long topicId, Long keywordId) {
+            topicsByKeyword.merge(keywordId, new long[]{topicId}, (ids, v) -> add(ids, topicId));
+            keywordsByTopic.merge(topicId, new long[]{keywordId}, (ids, v) -> add(ids, keywordId));
+        }
+    }
+}
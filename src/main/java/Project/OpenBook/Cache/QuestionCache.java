@@ -0,0 +1,263 @@
+package Project.OpenBook.Cache;
+
+import Project.OpenBook.Dto.choice.ChoiceContentIdDto;
+import Project.OpenBook.Dto.description.DescriptionContentIdDto;
+import Project.OpenBook.Dto.question.QuestionCacheStatDto;
+import Project.OpenBook.Dto.question.QuestionDto;
+import Project.OpenBook.Utils.TransactionUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 저장된 문제 조회(/questions/{id}) 결과 캐시
+ * 완성된 QuestionDto와 직렬화한 JSON을 함께 보관하고, 전체 크기(가중치)가 maxWeight를 넘으면 가장 오래 사용하지 않은 문제부터 버림
+ * 문제 수정/삭제, 문제에 사용된 선지/보기 수정/삭제, 카테고리 이름 수정이 커밋되면 해당 문제를 버림
+ *
+ * 조회는 ConcurrentHashMap에서 잠금 없이 읽고, 넣기/무효화/제거만 writeLock으로 한번에 하나씩 실행
+ * 보관한 DTO는 넣을 때와 꺼낼 때 복사하므로 호출자가 수정해도 캐시에는 영향이 없음
+ * 만료 시간이 없으므로 DB에서 직접 수정한 문제는 LRU로 밀려나거나 evictAll 전까지 이전 내용으로 응답함
+ */
+@Component
+public class QuestionCache {
+
+    //문자열이 DTO와 JSON에 한번씩 들어가므로 JSON 크기의 3배를 가중치로 사용
+    private static final int WEIGHT_FACTOR = 3;
+    //넘쳤을 때 maxWeight의 이 비율까지 한번에 줄임 -> 넣을 때마다 정렬하지 않음
+    private static final double EVICT_RATIO = 0.9;
+
+    private final long maxWeight;
+    private final ObjectMapper objectMapper;
+
+    private final ConcurrentHashMap<Long, Entry> entryMap = new ConcurrentHashMap<>();
+    //선지/보기 id -> 해당 선지/보기를 사용한 문제 id, writeLock 안에서만 수정
+    private final Map<Long, Set<Long>> choiceIndex = new HashMap<>();
+    private final Map<Long, Set<Long>> descriptionIndex = new HashMap<>();
+    private final Object writeLock = new Object();
+
+    private final AtomicLong weight = new AtomicLong();
+    //무효화가 일어날때마다 증가 -> 조회 도중 무효화된 문제를 다시 넣지 않기 위해 사용
+    private final AtomicLong generation = new AtomicLong();
+    //최근 사용 순서
+    private final AtomicLong accessClock = new AtomicLong();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictCount = new LongAdder();
+    private final LongAdder invalidateCount = new LongAdder();
+
+    public QuestionCache(@Value("${question.cache.max-weight:67108864}") long maxWeight, ObjectMapper objectMapper) {
+        this.maxWeight = maxWeight;
+        this.objectMapper = objectMapper;
+    }
+
+    public QuestionDto get(Long questionId) {
+        Entry entry = lookup(questionId);
+        return entry == null ? null : copy(entry.questionDto);
+    }
+
+    public byte[] getJson(Long questionId) {
+        Entry entry = lookup(questionId);
+        return entry == null ? null : entry.json.clone();
+    }
+
+    /**
+     * DB 조회 전에 호출해서 받은 값을 put에 넘김
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * 조회한 문제를 넣고 직렬화한 JSON을 반환
+     * 조회를 시작한 이후 무효화가 있었다면 캐시에는 넣지 않음
+     */
+    public byte[] put(QuestionDto questionDto, long readGeneration) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(questionDto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+
+        long entryWeight = (long) json.length * WEIGHT_FACTOR;
+        if (entryWeight > maxWeight) {
+            return json;
+        }
+        Entry entry = new Entry(copy(questionDto), json.clone(), entryWeight, accessClock.incrementAndGet());
+        synchronized (writeLock) {
+            if (readGeneration != generation.get()) {
+                return json;
+            }
+            remove(questionDto.getId());
+            entryMap.put(questionDto.getId(), entry);
+            weight.addAndGet(entryWeight);
+            for (Long choiceId : entry.choiceIds) {
+                choiceIndex.computeIfAbsent(choiceId, k -> new HashSet<>()).add(questionDto.getId());
+            }
+            if (entry.descriptionId != null) {
+                descriptionIndex.computeIfAbsent(entry.descriptionId, k -> new HashSet<>()).add(questionDto.getId());
+            }
+            if (weight.get() > maxWeight) {
+                evictLeastRecentlyUsed();
+            }
+        }
+        return json;
+    }
+
+    public void evictQuestion(Long questionId) {
+        TransactionUtils.afterCommit(() -> invalidate(Arrays.asList(questionId)));
+    }
+
+    public void evictChoice(Long choiceId) {
+        TransactionUtils.afterCommit(() -> invalidate(choiceIndex, choiceId));
+    }
+
+    public void evictDescription(Long descriptionId) {
+        TransactionUtils.afterCommit(() -> invalidate(descriptionIndex, descriptionId));
+    }
+
+    public void evictAll() {
+        TransactionUtils.afterCommit(() -> {
+            synchronized (writeLock) {
+                generation.incrementAndGet();
+                invalidateCount.add(entryMap.size());
+                entryMap.clear();
+                choiceIndex.clear();
+                descriptionIndex.clear();
+                weight.set(0);
+            }
+        });
+    }
+
+    public QuestionCacheStatDto queryStats() {
+        long hit = hitCount.sum();
+        long total = hit + missCount.sum();
+        double hitRate = total == 0 ? 0 : (double) hit / total;
+        return new QuestionCacheStatDto(entryMap.size(), weight.get(), maxWeight,
+                hit, missCount.sum(), evictCount.sum(), invalidateCount.sum(), hitRate);
+    }
+
+    private Entry lookup(Long questionId) {
+        Entry entry = entryMap.get(questionId);
+        if (entry == null) {
+            missCount.increment();
+        } else {
+            hitCount.increment();
+            entry.lastAccess = accessClock.incrementAndGet();
+        }
+        return entry;
+    }
+
+    private void invalidate(Map<Long, Set<Long>> index, Long id) {
+        synchronized (writeLock) {
+            Set<Long> idSet = index.get(id);
+            invalidate(idSet == null ? new ArrayList<>() : new ArrayList<>(idSet));
+        }
+    }
+
+    private void invalidate(List<Long> questionIdList) {
+        synchronized (writeLock) {
+            generation.incrementAndGet();
+            for (Long questionId : questionIdList) {
+                if (remove(questionId)) {
+                    invalidateCount.increment();
+                }
+            }
+        }
+    }
+
+    //writeLock 안에서 호출 -> 최근 사용 순서가 오래된 문제부터 maxWeight * EVICT_RATIO 이하가 될때까지 버림
+    private void evictLeastRecentlyUsed() {
+        List<Map.Entry<Long, Entry>> entryList = new ArrayList<>(entryMap.entrySet());
+        entryList.sort(Comparator.comparingLong(e -> e.getValue().lastAccess));
+        long target = (long) (maxWeight * EVICT_RATIO);
+        for (Map.Entry<Long, Entry> eldest : entryList) {
+            if (weight.get() <= target) {
+                break;
+            }
+            if (remove(eldest.getKey())) {
+                evictCount.increment();
+            }
+        }
+    }
+
+    private boolean remove(Long questionId) {
+        Entry entry = entryMap.remove(questionId);
+        if (entry == null) {
+            return false;
+        }
+        unlink(questionId, entry);
+        return true;
+    }
+
+    //entryMap에서 빠진 문제를 역색인과 가중치에서 제거
+    private void unlink(Long questionId, Entry entry) {
+        weight.addAndGet(-entry.weight);
+        for (Long choiceId : entry.choiceIds) {
+            removeFromIndex(choiceIndex, choiceId, questionId);
+        }
+        if (entry.descriptionId != null) {
+            removeFromIndex(descriptionIndex, entry.descriptionId, questionId);
+        }
+    }
+
+    private static void removeFromIndex(Map<Long, Set<Long>> index, Long id, Long questionId) {
+        Set<Long> questionIdSet = index.get(id);
+        if (questionIdSet != null) {
+            questionIdSet.remove(questionId);
+            if (questionIdSet.isEmpty()) {
+                index.remove(id);
+            }
+        }
+    }
+
+    private static QuestionDto copy(QuestionDto questionDto) {
+        List<ChoiceContentIdDto> choiceList = null;
+        if (questionDto.getChoiceList() != null) {
+            choiceList = new ArrayList<>();
+            for (ChoiceContentIdDto choice : questionDto.getChoiceList()) {
+                choiceList.add(new ChoiceContentIdDto(choice.getContent(), choice.getId()));
+            }
+        }
+        DescriptionContentIdDto description = questionDto.getDescription() == null ? null
+                : new DescriptionContentIdDto(questionDto.getDescription().getId(), questionDto.getDescription().getContent());
+        return QuestionDto.builder()
+                .id(questionDto.getId())
+                .type(questionDto.getType())
+                .prompt(questionDto.getPrompt())
+                .categoryName(questionDto.getCategoryName())
+                .description(description)
+                .choiceList(choiceList)
+                .answerChoiceId(questionDto.getAnswerChoiceId())
+                .build();
+    }
+
+    private static class Entry {
+        private final QuestionDto questionDto;
+        private final byte[] json;
+        private final long weight;
+        private final List<Long> choiceIds = new ArrayList<>();
+        private final Long descriptionId;
+        private volatile long lastAccess;
+
+        private Entry(QuestionDto questionDto, byte[] json, long weight, long lastAccess) {
+            this.questionDto = questionDto;
+            this.json = json;
+            this.weight = weight;
+            this.lastAccess = lastAccess;
+            if (questionDto.getChoiceList() != null) {
+                for (ChoiceContentIdDto choice : questionDto.getChoiceList()) {
+                    choiceIds.add(choice.getId());
+                }
+            }
+            this.descriptionId = questionDto.getDescription() == null ? null : questionDto.getDescription().getId();
+        }
+    }
+}
@@ -0,0 +1,565 @@
+package Project.OpenBook.Cache;
+
+import Project.OpenBook.Dto.choice.ChoiceTopicIdDto;
+import Project.OpenBook.Dto.description.DescriptionTopicIdDto;
+import Project.OpenBook.Dto.question.QuestionCapacityDto;
+import Project.OpenBook.Dto.topic.TopicDateDto;
+import Project.OpenBook.Repository.choice.ChoiceRepository;
+import Project.OpenBook.Repository.description.DescriptionRepository;
+import Project.OpenBook.Repository.topic.TopicRepository;
+import Project.OpenBook.Utils.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+
+/**
+ * 문제 생성에 사용되는 토픽/선지/보기 id 카탈로그
+ * 카테고리별, 토픽별로 id를 long 배열로 묶어두고 ORDER BY rand() 없이 메모리에서 임의로 추출함
+ * 관리자가 토픽/선지/보기를 수정하면 해당 토픽만 다시 읽어서 갱신
+ * 연도 조건이 붙는 추출은 카테고리별 TopicIntervalIndex를 사용
+ * 토픽별로 1, 3, 4번 유형 문제를 만들 수 있는지(보기, 정답 선지, 오답 선지 수)를 스냅샷마다 계산해두고
+ * 문제를 만들 수 없는 토픽은 추출 전에 걸러냄
+ *
+ * 서비스를 거치지 않고 DB에서 직접 바뀐 토픽/선지/보기는 reload 전까지 추출에 반영되지 않음
+ * 정답 토픽을 지정한 요청만 findTopic으로 스냅샷에 없는 토픽을 DB에서 한번 더 확인
+ */
+@Component
+@RequiredArgsConstructor
+public class QuestionCatalog {
+
+    private final TopicRepository topicRepository;
+    private final ChoiceRepository choiceRepository;
+    private final DescriptionRepository descriptionRepository;
+
+    private volatile Snapshot snapshot;
+
+    public TopicDateDto getTopic(Long topicId) {
+        TopicEntry topicEntry = snapshot().topicMap.get(topicId);
+        if (topicEntry == null) {
+            return null;
+        }
+        return new TopicDateDto(topicEntry.id, topicEntry.title, topicEntry.categoryName, topicEntry.startDate, topicEntry.endDate, topicEntry.chapterNum);
+    }
+
+    /**
+     * getTopic과 같지만 스냅샷에 없는 토픽은 DB에서 해당 토픽만 다시 읽어서 확인
+     */
+    public TopicDateDto findTopic(Long topicId) {
+        TopicDateDto topic = getTopic(topicId);
+        if (topic == null) {
+            reloadTopic(topicId);
+            topic = getTopic(topicId);
+        }
+        return topic;
+    }
+
+    public Set<Long> getChoiceIds(Long topicId) {
+        TopicEntry topicEntry = snapshot().topicMap.get(topicId);
+        return topicEntry == null ? new HashSet<>() : toSet(topicEntry.choiceIds);
+    }
+
+    public Set<Long> getDescriptionIds(Long topicId) {
+        TopicEntry topicEntry = snapshot().topicMap.get(topicId);
+        return topicEntry == null ? new HashSet<>() : toSet(topicEntry.descriptionIds);
+    }
+
+    public Long drawTopic(String categoryName) {
+        CategoryEntry categoryEntry = snapshot().categoryMap.get(categoryName);
+        if (categoryEntry == null || categoryEntry.topicIds.length == 0) {
+            return null;
+        }
+        return categoryEntry.topicIds[random().nextInt(categoryEntry.topicIds.length)];
+    }
+
+    /**
+     * 해당 유형의 문제를 만들 수 있는 토픽중 하나를 임의로 추출
+     * 1, 3, 4번 유형이 아니면 토픽 조건이 없으므로 drawTopic과 같음
+     */
+    public Long drawFeasibleTopic(String categoryName, Long type) {
+        if (!TopicFeasibility.isIndexed(type)) {
+            return drawTopic(categoryName);
+        }
+        Snapshot current = snapshot();
+        long[] topicIds = current.feasibleTopicMap.computeIfAbsent(categoryName + "/" + type,
+                k -> feasibleTopicIds(current, categoryName, type));
+        if (topicIds.length == 0) {
+            return null;
+        }
+        return topicIds[random().nextInt(topicIds.length)];
+    }
+
+    /**
+     * 토픽을 정답으로 해당 유형의 문제를 만들 수 있는지 -> 1, 3, 4번 유형이 아니면 항상 true
+     */
+    public boolean isFeasible(Long topicId, Long type) {
+        if (!TopicFeasibility.isIndexed(type)) {
+            return true;
+        }
+        Snapshot current = snapshot();
+        TopicFeasibility feasibility = feasibility(current, topicId);
+        return feasibility != null && feasibility.isFeasible(type);
+    }
+
+    /**
+     * 단원별 문제 생성 가능량 -> 토픽, 보기, 선지 수와 유형별로 정답 토픽이 될 수 있는 토픽 수
+     */
+    public List<QuestionCapacityDto> queryCapacity() {
+        Snapshot current = snapshot();
+        Map<Integer, QuestionCapacityDto> capacityMap = new TreeMap<>(Comparator.nullsLast(Comparator.naturalOrder()));
+        for (TopicEntry topicEntry : current.topicMap.values()) {
+            TopicFeasibility feasibility = feasibility(current, topicEntry.id);
+            QuestionCapacityDto prev = capacityMap.get(topicEntry.chapterNum);
+            capacityMap.put(topicEntry.chapterNum, new QuestionCapacityDto(topicEntry.chapterNum,
+                    (prev == null ? 0 : prev.getTopicCount()) + 1,
+                    (prev == null ? 0 : prev.getDescriptionCount()) + feasibility.descriptionCount,
+                    (prev == null ? 0 : prev.getChoiceCount()) + feasibility.answerChoiceCount,
+                    (prev == null ? 0 : prev.getType1TopicCount()) + (feasibility.isFeasible(1L) ? 1 : 0),
+                    (prev == null ? 0 : prev.getType3TopicCount()) + (feasibility.isFeasible(3L) ? 1 : 0),
+                    (prev == null ? 0 : prev.getType4TopicCount()) + (feasibility.isFeasible(4L) ? 1 : 0)));
+        }
+        return new ArrayList<>(capacityMap.values());
+    }
+
+    public Long drawDescription(Long topicId) {
+        TopicEntry topicEntry = snapshot().topicMap.get(topicId);
+        if (topicEntry == null || topicEntry.descriptionIds.length == 0) {
+            return null;
+        }
+        return topicEntry.descriptionIds[random().nextInt(topicEntry.descriptionIds.length)];
+    }
+
+    /**
+     * 특정 토픽의 선지중 excluded 조건에 해당하지 않는 선지 하나를 임의로 추출
+     */
+    public Long drawChoice(Long topicId, LongPredicate excluded) {
+        TopicEntry topicEntry = snapshot().topicMap.get(topicId);
+        if (topicEntry == null) {
+            return null;
+        }
+        List<Long> choiceIdList = sample(topicEntry.choiceIds, idx -> !excluded.test(topicEntry.choiceIds[idx]), 1);
+        return choiceIdList.isEmpty() ? null : choiceIdList.get(0);
+    }
+
+    /**
+     * 특정 카테고리에서 exceptTopicId 토픽을 제외한 나머지 토픽들의 선지를 num개 임의로 추출
+     */
+    public List<Long> drawChoicesByCategory(String categoryName, Long exceptTopicId, int num) {
+        return drawChoicesByCategory(categoryName, num, t -> !t.id.equals(exceptTopicId));
+    }
+
+    /**
+     * 특정 카테고리에서 시작연도와 종료연도가 같은 토픽들의 선지를 num개 임의로 추출
+     */
+    public List<Long> drawPointChoicesByCategory(String categoryName, int num) {
+        return drawChoicesByCategory(categoryName, num, t -> t.hasDate() && t.startDate.equals(t.endDate));
+    }
+
+    /**
+     * 특정 카테고리에서 date 이전에 끝난 토픽들의 선지를 num개 임의로 추출
+     */
+    public List<Long> drawChoicesEndedBefore(String categoryName, Integer date, int num) {
+        TopicIntervalIndex intervalIndex = intervalIndex(categoryName);
+        return intervalIndex == null ? new ArrayList<>() : intervalIndex.drawChoicesEndedBefore(date, num);
+    }
+
+    /**
+     * 특정 카테고리에서 date 이후에 시작한 토픽들의 선지를 num개 임의로 추출
+     */
+    public List<Long> drawChoicesStartedAfter(String categoryName, Integer date, int num) {
+        TopicIntervalIndex intervalIndex = intervalIndex(categoryName);
+        return intervalIndex == null ? new ArrayList<>() : intervalIndex.drawChoicesStartedAfter(date, num);
+    }
+
+    /**
+     * 특정 카테고리에서 [startDate, endDate] 구간과 겹치지 않는 토픽들의 선지를 num개 임의로 추출
+     */
+    public List<Long> drawChoicesOutside(String categoryName, Integer startDate, Integer endDate, int num) {
+        TopicIntervalIndex intervalIndex = intervalIndex(categoryName);
+        return intervalIndex == null ? new ArrayList<>() : intervalIndex.drawChoicesOutside(startDate, endDate, num);
+    }
+
+    /**
+     * 특정 카테고리에서 exceptTopicId를 제외하고 date와 같거나 이후에 시작한 토픽의 선지를 하나 임의로 추출
+     */
+    public Long drawChoiceStartedFrom(String categoryName, Long exceptTopicId, Integer date) {
+        TopicIntervalIndex intervalIndex = intervalIndex(categoryName);
+        return intervalIndex == null ? null : intervalIndex.drawChoiceStartedFrom(date, exceptTopicId);
+    }
+
+    /**
+     * 특정 카테고리에서 exceptTopicId를 제외하고 date와 같거나 이전에 끝난 토픽의 선지를 하나 임의로 추출
+     */
+    public Long drawChoiceEndedUntil(String categoryName, Long exceptTopicId, Integer date) {
+        TopicIntervalIndex intervalIndex = intervalIndex(categoryName);
+        return intervalIndex == null ? null : intervalIndex.drawChoiceEndedUntil(date, exceptTopicId);
+    }
+
+    /**
+     * 토픽의 선지/보기가 추가, 삭제되거나 토픽 자체가 수정되었을때 호출
+     * 트랜잭션이 커밋된 이후에 해당 토픽만 다시 읽어옴
+     */
+    public void refreshTopic(Long topicId) {
+        TransactionUtils.afterCommit(() -> reloadTopic(topicId));
+    }
+
+    /**
+     * 카테고리 이름 변경처럼 여러 토픽에 걸친 수정이 있을때 호출
+     */
+    public void refreshAll() {
+        TransactionUtils.afterCommit(this::reload);
+    }
+
+    public synchronized void reload() {
+        snapshot = load();
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    snapshot = load();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private Snapshot load() {
+        Map<Long, List<Long>> choiceIdMap = new HashMap<>();
+        for (ChoiceTopicIdDto dto : choiceRepository.queryChoiceTopicIds()) {
+            choiceIdMap.computeIfAbsent(dto.getTopicId(), k -> new ArrayList<>()).add(dto.getId());
+        }
+        Map<Long, List<Long>> descriptionIdMap = new HashMap<>();
+        for (DescriptionTopicIdDto dto : descriptionRepository.queryDescriptionTopicIds()) {
+            descriptionIdMap.computeIfAbsent(dto.getTopicId(), k -> new ArrayList<>()).add(dto.getId());
+        }
+
+        Map<Long, TopicEntry> topicMap = new HashMap<>();
+        for (TopicDateDto dto : topicRepository.queryTopicDateDtos()) {
+            topicMap.put(dto.getId(), new TopicEntry(dto,
+                    toArray(choiceIdMap.get(dto.getId())),
+                    toArray(descriptionIdMap.get(dto.getId()))));
+        }
+
+        Map<String, List<TopicEntry>> categoryTopicMap = new HashMap<>();
+        for (TopicEntry topicEntry : topicMap.values()) {
+            if (topicEntry.categoryName != null) {
+                categoryTopicMap.computeIfAbsent(topicEntry.categoryName, k -> new ArrayList<>()).add(topicEntry);
+            }
+        }
+        Map<String, CategoryEntry> categoryMap = new HashMap<>();
+        categoryTopicMap.forEach((name, topicList) -> categoryMap.put(name,
+                new CategoryEntry(topicList, TopicIntervalIndex.of(toIntervalList(topicList)))));
+
+        return new Snapshot(topicMap, categoryMap);
+    }
+
+    private synchronized void reloadTopic(Long topicId) {
+        Snapshot prev = snapshot;
+        if (prev == null) {
+            //아직 한번도 읽지 않은 경우 -> 처음 사용할때 전체를 읽어옴
+            return;
+        }
+
+        Map<Long, TopicEntry> topicMap = new HashMap<>(prev.topicMap);
+        TopicEntry prevEntry = topicMap.remove(topicId);
+        TopicEntry newEntry = null;
+
+        TopicDateDto dto = topicRepository.queryTopicDateDto(topicId);
+        if (dto != null) {
+            newEntry = new TopicEntry(dto,
+                    toArray(choiceRepository.queryChoiceIdsByTopic(topicId)),
+                    toArray(descriptionRepository.queryDescriptionIdsByTopic(topicId)));
+            topicMap.put(topicId, newEntry);
+        }
+
+        //변경된 토픽이 속한 카테고리만 다시 생성
+        Set<String> dirtyCategorySet = new HashSet<>();
+        if (prevEntry != null && prevEntry.categoryName != null) dirtyCategorySet.add(prevEntry.categoryName);
+        if (newEntry != null && newEntry.categoryName != null) dirtyCategorySet.add(newEntry.categoryName);
+
+        Map<String, CategoryEntry> categoryMap = new HashMap<>(prev.categoryMap);
+        for (String categoryName : dirtyCategorySet) {
+            List<TopicEntry> topicList = new ArrayList<>();
+            CategoryEntry prevCategory = prev.categoryMap.get(categoryName);
+            if (prevCategory != null) {
+                for (long id : prevCategory.topicIds) {
+                    TopicEntry topicEntry = topicMap.get(id);
+                    if (id != topicId && topicEntry != null) {
+                        topicList.add(topicEntry);
+                    }
+                }
+            }
+            if (newEntry != null && categoryName.equals(newEntry.categoryName)) {
+                topicList.add(newEntry);
+            }
+            if (topicList.isEmpty()) {
+                categoryMap.remove(categoryName);
+                continue;
+            }
+
+            //연도 인덱스는 다시 정렬하지 않고 바뀐 토픽만 빼고 넣음
+            TopicIntervalIndex intervalIndex;
+            if (prevCategory == null) {
+                intervalIndex = TopicIntervalIndex.of(toIntervalList(topicList));
+            } else {
+                TopicEntry added = newEntry != null && categoryName.equals(newEntry.categoryName) ? newEntry : null;
+                intervalIndex = prevCategory.intervalIndex.replace(topicId, toInterval(added));
+            }
+            categoryMap.put(categoryName, new CategoryEntry(topicList, intervalIndex));
+        }
+
+        snapshot = new Snapshot(topicMap, categoryMap);
+    }
+
+    //스냅샷이 바뀌면 다시 계산되므로 따로 무효화하지 않음
+    private TopicFeasibility feasibility(Snapshot current, Long topicId) {
+        TopicEntry topicEntry = current.topicMap.get(topicId);
+        if (topicEntry == null) {
+            return null;
+        }
+        return current.feasibilityMap.computeIfAbsent(topicId,
+                k -> new TopicFeasibility(topicEntry, current.categoryMap.get(topicEntry.categoryName)));
+    }
+
+    private long[] feasibleTopicIds(Snapshot current, String categoryName, Long type) {
+        CategoryEntry categoryEntry = current.categoryMap.get(categoryName);
+        if (categoryEntry == null) {
+            return new long[0];
+        }
+        return Arrays.stream(categoryEntry.topicIds)
+                .filter(id -> feasibility(current, id).isFeasible(type))
+                .toArray();
+    }
+
+    private TopicIntervalIndex intervalIndex(String categoryName) {
+        CategoryEntry categoryEntry = snapshot().categoryMap.get(categoryName);
+        return categoryEntry == null ? null : categoryEntry.intervalIndex;
+    }
+
+    private static List<TopicIntervalIndex.Interval> toIntervalList(List<TopicEntry> topicList) {
+        List<TopicIntervalIndex.Interval> intervalList = new ArrayList<>();
+        for (TopicEntry topicEntry : topicList) {
+            TopicIntervalIndex.Interval interval = toInterval(topicEntry);
+            if (interval != null) {
+                intervalList.add(interval);
+            }
+        }
+        return intervalList;
+    }
+
+    //연도가 없는 토픽은 연도 인덱스에 넣지 않음
+    private static TopicIntervalIndex.Interval toInterval(TopicEntry topicEntry) {
+        if (topicEntry == null || !topicEntry.hasDate()) {
+            return null;
+        }
+        return new TopicIntervalIndex.Interval(topicEntry.id, topicEntry.startDate, topicEntry.endDate, topicEntry.choiceIds);
+    }
+
+    private List<Long> drawChoicesByCategory(String categoryName, int num, Predicate<TopicEntry> filter) {
+        Snapshot current = snapshot();
+        CategoryEntry categoryEntry = current.categoryMap.get(categoryName);
+        if (categoryEntry == null) {
+            return new ArrayList<>();
+        }
+        return sample(categoryEntry.choiceIds,
+                idx -> filter.test(current.topicMap.get(categoryEntry.choiceTopicIds[idx])), num);
+    }
+
+    /**
+     * ids 배열에서 조건을 만족하는 원소를 중복 없이 num개 임의로 추출
+     * 임의의 위치를 뽑아 조건을 확인하고, 조건을 만족하는 원소가 드물어 num개를 채우지 못하면
+     * 남은 원소중 조건을 만족하는 것들만 모아서 추출
+     */
+    private List<Long> sample(long[] ids, IndexPredicate filter, int num) {
+        List<Long> result = new ArrayList<>();
+        int n = ids.length;
+        if (n == 0 || num <= 0) {
+            return result;
+        }
+        Random rand = random();
+        Set<Integer> visitedSet = new HashSet<>();
+        int maxTry = num * 8 + 16;
+        for (int i = 0; i < maxTry && result.size() < num && visitedSet.size() < n; i++) {
+            int idx = rand.nextInt(n);
+            if (visitedSet.add(idx) && filter.test(idx)) {
+                result.add(ids[idx]);
+            }
+        }
+
+        if (result.size() < num && visitedSet.size() < n) {
+            List<Integer> candidateList = new ArrayList<>();
+            for (int idx = 0; idx < n; idx++) {
+                if (!visitedSet.contains(idx) && filter.test(idx)) {
+                    candidateList.add(idx);
+                }
+            }
+            for (int i = 0; i < candidateList.size() && result.size() < num; i++) {
+                int j = i + rand.nextInt(candidateList.size() - i);
+                Collections.swap(candidateList, i, j);
+                result.add(ids[candidateList.get(i)]);
+            }
+        }
+        return result;
+    }
+
+    private static Random random() {
+        return ThreadLocalRandom.current();
+    }
+
+    private static long[] toArray(List<Long> idList) {
+        if (idList == null) {
+            return new long[0];
+        }
+        return idList.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static Set<Long> toSet(long[] ids) {
+        Set<Long> idSet = new HashSet<>();
+        for (long id : ids) {
+            idSet.add(id);
+        }
+        return idSet;
+    }
+
+    @FunctionalInterface
+    private interface IndexPredicate {
+        boolean test(int idx);
+    }
+
+    private static class Snapshot {
+        private final Map<Long, TopicEntry> topicMap;
+        private final Map<String, CategoryEntry> categoryMap;
+        private final Map<Long, TopicFeasibility> feasibilityMap = new ConcurrentHashMap<>();
+        //"카테고리/유형" -> 해당 유형의 정답 토픽이 될 수 있는 토픽 id
+        private final Map<String, long[]> feasibleTopicMap = new ConcurrentHashMap<>();
+
+        private Snapshot(Map<Long, TopicEntry> topicMap, Map<String, CategoryEntry> categoryMap) {
+            this.topicMap = topicMap;
+            this.categoryMap = categoryMap;
+        }
+    }
+
+    private static class TopicEntry {
+        private final Long id;
+        private final String title;
+        private final String categoryName;
+        private final Integer startDate;
+        private final Integer endDate;
+        private final Integer chapterNum;
+        private final long[] choiceIds;
+        private final long[] descriptionIds;
+
+        private TopicEntry(TopicDateDto dto, long[] choiceIds, long[] descriptionIds) {
+            this.id = dto.getId();
+            this.title = dto.getTitle();
+            this.categoryName = dto.getCategory();
+            this.startDate = dto.getStartDate();
+            this.endDate = dto.getEndDate();
+            this.chapterNum = dto.getChapterNum();
+            this.choiceIds = choiceIds;
+            this.descriptionIds = descriptionIds;
+        }
+
+        private boolean hasDate() {
+            return startDate != null && endDate != null;
+        }
+    }
+
+    /**
+     * 토픽을 정답으로 하는 문제에 쓸 수 있는 보기, 정답 선지, 오답 선지 수
+     * 1번 : 같은 카테고리 다른 토픽의 선지 4개
+     * 3번 : 시작연도 전에 끝난 토픽의 선지 4개 + 종료연도 이후에 시작한 다른 토픽의 선지 1개
+     * 4번 : 종료연도 후에 시작한 토픽의 선지 4개 + 시작연도 이전에 끝난 다른 토픽의 선지 1개
+     * 2번(dup_date 쌍에서 토픽을 고름), 5번(토픽을 고르지 않음)은 토픽 조건이 없으므로 대상이 아님
+     */
+    private static class TopicFeasibility {
+        private static final int DISTRACTOR_NUM = 4;
+
+        private final int descriptionCount;
+        private final int answerChoiceCount;
+        private final int type1DistractorCount;
+        private final int type3DistractorCount;
+        private final int type3AnswerCount;
+        private final int type4DistractorCount;
+        private final int type4AnswerCount;
+
+        private TopicFeasibility(TopicEntry topicEntry, CategoryEntry categoryEntry) {
+            this.descriptionCount = topicEntry.descriptionIds.length;
+            this.answerChoiceCount = topicEntry.choiceIds.length;
+            int ownChoices = topicEntry.choiceIds.length;
+            if (categoryEntry == null) {
+                type1DistractorCount = type3DistractorCount = type3AnswerCount = type4DistractorCount = type4AnswerCount = 0;
+                return;
+            }
+            this.type1DistractorCount = categoryEntry.choiceIds.length - ownChoices;
+            if (!topicEntry.hasDate()) {
+                type3DistractorCount = type3AnswerCount = type4DistractorCount = type4AnswerCount = 0;
+                return;
+            }
+            TopicIntervalIndex intervalIndex = categoryEntry.intervalIndex;
+            int start = topicEntry.startDate, end = topicEntry.endDate;
+            this.type3DistractorCount = intervalIndex.countChoicesEndedBefore(start);
+            //자기 자신의 선지는 정답 후보에서 제외
+            this.type3AnswerCount = intervalIndex.countChoicesStartedFrom(end) - (start >= end ? ownChoices : 0);
+            this.type4DistractorCount = intervalIndex.countChoicesStartedAfter(end);
+            this.type4AnswerCount = intervalIndex.countChoicesEndedUntil(start) - (end <= start ? ownChoices : 0);
+        }
+
+        private static boolean isIndexed(Long type) {
+            return type != null && (type == 1 || type == 3 || type == 4);
+        }
+
+        private boolean isFeasible(Long type) {
+            if (descriptionCount == 0) {
+                return false;
+            }
+            if (type == 1) {
+                return answerChoiceCount > 0 && type1DistractorCount >= DISTRACTOR_NUM;
+            } else if (type == 3) {
+                return type3DistractorCount >= DISTRACTOR_NUM && type3AnswerCount > 0;
+            } else if (type == 4) {
+                return type4DistractorCount >= DISTRACTOR_NUM && type4AnswerCount > 0;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 카테고리에 속한 토픽 id와 선지 id를 평탄화한 배열
+     * choiceTopicIds[i]는 choiceIds[i] 선지가 속한 토픽의 id
+     */
+    private static class CategoryEntry {
+        private final long[] topicIds;
+        private final long[] choiceIds;
+        private final long[] choiceTopicIds;
+        private final TopicIntervalIndex intervalIndex;
+
+        private CategoryEntry(List<TopicEntry> topicList, TopicIntervalIndex intervalIndex) {
+            this.intervalIndex = intervalIndex;
+            int choiceCount = 0;
+            for (TopicEntry topicEntry : topicList) {
+                choiceCount += topicEntry.choiceIds.length;
+            }
+            this.topicIds = new long[topicList.size()];
+            this.choiceIds = new long[choiceCount];
+            this.choiceTopicIds = new long[choiceCount];
+
+            int i = 0, j = 0;
+            for (TopicEntry topicEntry : topicList) {
+                topicIds[i++] = topicEntry.id;
+                for (long choiceId : topicEntry.choiceIds) {
+                    choiceIds[j] = choiceId;
+                    choiceTopicIds[j++] = topicEntry.id;
+                }
+            }
+        }
+    }
+}
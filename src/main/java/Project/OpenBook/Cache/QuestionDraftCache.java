@@ -0,0 +1,146 @@
+package Project.OpenBook.Cache;
+
+import Project.OpenBook.Dto.question.QuestionDto;
+import Project.OpenBook.Utils.TransactionUtils;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * 생성해서 관리자에게 보여준 문제 초안을 draftId로 잠시 보관
+ * 저장할때 초안에 들어있는 카테고리/선지/보기 id를 그대로 사용하므로 다시 조회하지 않음
+ * 초안은 ttl이 지나거나 maxSize를 넘으면 오래된 것부터 버리고, 저장되면 제거됨
+ * 초안에 쓰인 선지/보기가 삭제되면 해당 초안도 버림
+ * DB에서 직접 지운 선지/보기가 들어있는 초안은 남아있고, 저장하면 외래키 오류로 실패한 뒤 초안이 되돌아옴
+ */
+@Component
+public class QuestionDraftCache {
+
+    private final long ttlMillis;
+    private final int maxSize;
+    private final SecureRandom random = new SecureRandom();
+
+    //넣은 순서 = 만료 순서이므로 앞에서부터 만료 확인
+    private final LinkedHashMap<String, Draft> draftMap = new LinkedHashMap<>();
+
+    public QuestionDraftCache(@Value("${question.draft.ttl:1800000}") long ttlMillis,
+                              @Value("${question.draft.max-size:10000}") int maxSize) {
+        this.ttlMillis = ttlMillis;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return 추측할 수 없는 draftId
+     */
+    public synchronized String put(Draft draft) {
+        long now = System.currentTimeMillis();
+        expire(now);
+        while (draftMap.size() >= maxSize) {
+            Iterator<String> it = draftMap.keySet().iterator();
+            it.next();
+            it.remove();
+        }
+        String draftId = newDraftId();
+        draft.expireAt = now + ttlMillis;
+        draftMap.put(draftId, draft);
+        return draftId;
+    }
+
+    public synchronized Draft get(String draftId) {
+        expire(System.currentTimeMillis());
+        return draftMap.get(draftId);
+    }
+
+    /**
+     * 같은 draftId로 초안을 교체하고 만료 시간을 다시 설정 -> 이미 만료되었거나 저장된 초안이면 false
+     */
+    public synchronized boolean replace(String draftId, Draft draft) {
+        long now = System.currentTimeMillis();
+        expire(now);
+        if (draftMap.remove(draftId) == null) {
+            return false;
+        }
+        draft.expireAt = now + ttlMillis;
+        draftMap.put(draftId, draft);
+        return true;
+    }
+
+    /**
+     * 초안을 꺼내고 제거 -> 같은 초안을 두번 저장할 수 없음
+     */
+    private synchronized Draft take(String draftId) {
+        expire(System.currentTimeMillis());
+        return draftMap.remove(draftId);
+    }
+
+    /**
+     * 초안을 꺼내고, 현재 트랜잭션이 롤백되면 다시 넣음 (만료 시간은 그대로)
+     */
+    public Draft takeUntilRollback(String draftId) {
+        Draft draft = take(draftId);
+        if (draft != null) {
+            TransactionUtils.afterRollback(() -> restore(draftId, draft));
+        }
+        return draft;
+    }
+
+    private synchronized void restore(String draftId, Draft draft) {
+        if (draft.expireAt > System.currentTimeMillis()) {
+            draftMap.put(draftId, draft);
+        }
+    }
+
+    public void evictChoice(Long choiceId) {
+        TransactionUtils.afterCommit(() -> evict(d -> d.getChoiceIdList().contains(choiceId)));
+    }
+
+    public void evictDescription(Long descriptionId) {
+        TransactionUtils.afterCommit(() -> evict(d -> descriptionId.equals(d.getDescriptionId())));
+    }
+
+    private synchronized void evict(Predicate<Draft> filter) {
+        draftMap.values().removeIf(filter);
+    }
+
+    private void expire(long now) {
+        Iterator<Draft> it = draftMap.values().iterator();
+        while (it.hasNext() && it.next().expireAt <= now) {
+            it.remove();
+        }
+    }
+
+    private String newDraftId() {
+        byte[] bytes = new byte[16];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * 관리자에게 보여준 문제 그대로와 카테고리 id
+     */
+    public static class Draft {
+        @Getter
+        private final QuestionDto questionDto;
+        @Getter
+        private final Long categoryId;
+        private long expireAt;
+
+        public Draft(QuestionDto questionDto, Long categoryId) {
+            this.questionDto = questionDto;
+            this.categoryId = categoryId;
+        }
+
+        public List<Long> getChoiceIdList() {
+            return questionDto.getChoiceList().stream().map(c -> c.getId()).collect(Collectors.toList());
+        }
+
+        public Long getDescriptionId() {
+            return questionDto.getDescription().getId();
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package Project.OpenBook.Cache;
+
+import Project.OpenBook.Dto.question.QuestionDto;
+import Project.OpenBook.Dto.question.QuestionPoolStatDto;
+import Project.OpenBook.Utils.TransactionUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * (문제 유형, 카테고리)별로 미리 만들어둔 문제 초안을 담아두는 링버퍼
+ * 요청이 들어오면 O(1)로 꺼내주고, 비어있으면 호출한 쪽에서 직접 문제를 생성
+ * 초안에 사용된 토픽/선지/보기가 수정되면 해당 초안을 버림
+ * DB에서 직접 수정하면 버리는 훅이 불리지 않으므로 이미 채워둔 초안(버퍼당 최대 capacity개)은 이전 내용으로 나감
+ */
+@Component
+public class QuestionPool {
+
+    private final int capacity;
+
+    private final QuestionCatalog questionCatalog;
+
+    private final Map<Key, Buffer> bufferMap = new ConcurrentHashMap<>();
+
+    //초안을 버릴 때마다 증가 -> 생성을 시작한 뒤 버려진 적이 있으면 그 초안은 받지 않음
+    private final AtomicLong generation = new AtomicLong();
+
+    public QuestionPool(@Value("${question.pool.capacity:20}") int capacity, QuestionCatalog questionCatalog) {
+        this.capacity = Math.max(1, capacity);
+        this.questionCatalog = questionCatalog;
+    }
+
+    /**
+     * 미리 만들어둔 초안을 하나 꺼냄 -> 없으면 null
+     * 처음 요청된 (유형, 카테고리)는 이때 등록되어 이후 백그라운드에서 채워짐
+     */
+    public QuestionDto poll(Long type, String categoryName) {
+        Buffer buffer = bufferMap.computeIfAbsent(new Key(type, categoryName), k -> new Buffer(capacity));
+        QuestionDto questionDto = buffer.poll();
+        if (questionDto == null) {
+            buffer.missCount.incrementAndGet();
+        } else {
+            buffer.hitCount.incrementAndGet();
+        }
+        return questionDto;
+    }
+
+    /**
+     * 초안을 만들기 전에 읽어두고 offer에 넘김
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * 초안을 만드는 동안 evict가 일어났으면 이미 지워진 내용으로 만들었을 수 있으므로 버림
+     */
+    public boolean offer(Long type, String categoryName, long readGeneration, QuestionDto questionDto) {
+        Buffer buffer = bufferMap.get(new Key(type, categoryName));
+        return buffer != null && buffer.offer(questionDto, readGeneration, generation);
+    }
+
+    /**
+     * 채워야 하는 (유형, 카테고리)와 부족한 초안 수
+     */
+    public Map<Key, Integer> queryShortage() {
+        Map<Key, Integer> shortageMap = new HashMap<>();
+        bufferMap.forEach((key, buffer) -> {
+            int shortage = buffer.capacity - buffer.size();
+            if (shortage > 0) {
+                shortageMap.put(key, shortage);
+            }
+        });
+        return shortageMap;
+    }
+
+    public void evictChoice(Long choiceId) {
+        TransactionUtils.afterCommit(() -> evict(q -> containsChoice(q, choiceId)));
+    }
+
+    public void evictDescription(Long descriptionId) {
+        TransactionUtils.afterCommit(() -> evict(q -> descriptionId.equals(q.getDescription().getId())));
+    }
+
+    /**
+     * 토픽이 수정되면 해당 토픽의 선지나 보기를 사용한 초안을 버림
+     */
+    public void evictTopic(Long topicId) {
+        Set<Long> choiceIdSet = questionCatalog.getChoiceIds(topicId);
+        Set<Long> descriptionIdSet = questionCatalog.getDescriptionIds(topicId);
+        TransactionUtils.afterCommit(() -> evict(q -> descriptionIdSet.contains(q.getDescription().getId())
+                || q.getChoiceList().stream().anyMatch(c -> choiceIdSet.contains(c.getId()))));
+    }
+
+    public void evictAll() {
+        TransactionUtils.afterCommit(() -> evict(q -> true));
+    }
+
+    /**
+     * 카테고리 이름 변경/삭제가 커밋된 이후에 해당 카테고리의 버퍼를 제거
+     * 제거하지 않으면 더 이상 요청되지 않는 키를 백그라운드에서 계속 채우려고 함
+     */
+    public void removeCategory(String categoryName) {
+        TransactionUtils.afterCommit(() -> bufferMap.keySet().removeIf(key -> Objects.equals(key.categoryName, categoryName)));
+    }
+
+    public List<QuestionPoolStatDto> queryStats() {
+        return bufferMap.entrySet().stream()
+                .map(e -> {
+                    Buffer buffer = e.getValue();
+                    long hit = buffer.hitCount.get();
+                    long miss = buffer.missCount.get();
+                    double hitRate = hit + miss == 0 ? 0 : (double) hit / (hit + miss);
+                    return new QuestionPoolStatDto(e.getKey().type, e.getKey().categoryName, buffer.size(), buffer.capacity,
+                            hit, miss, buffer.evictCount.get(), hitRate);
+                })
+                .collect(Collectors.toList());
+    }
+
+    private void evict(Predicate<QuestionDto> predicate) {
+        //버퍼를 비우기 전에 증가시켜야 비우는 도중에 들어오는 이전 초안도 거절됨
+        generation.incrementAndGet();
+        for (Buffer buffer : bufferMap.values()) {
+            buffer.removeIf(predicate);
+        }
+    }
+
+    private boolean containsChoice(QuestionDto questionDto, Long choiceId) {
+        return questionDto.getChoiceList().stream().anyMatch(c -> choiceId.equals(c.getId()));
+    }
+
+    public static class Key {
+        private final Long type;
+        private final String categoryName;
+
+        private Key(Long type, String categoryName) {
+            this.type = type;
+            this.categoryName = categoryName;
+        }
+
+        public Long getType() {
+            return type;
+        }
+
+        public String getCategoryName() {
+            return categoryName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return Objects.equals(type, key.type) && Objects.equals(categoryName, key.categoryName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, categoryName);
+        }
+    }
+
+    /**
+     * 고정 크기 링버퍼 -> 가득 차면 새로운 초안을 받지 않음
+     */
+    private static class Buffer {
+        private final QuestionDto[] items;
+        private final int capacity;
+        private int head;
+        private int size;
+
+        private final AtomicLong hitCount = new AtomicLong();
+        private final AtomicLong missCount = new AtomicLong();
+        private final AtomicLong evictCount = new AtomicLong();
+
+        private Buffer(int capacity) {
+            this.capacity = capacity;
+            this.items = new QuestionDto[capacity];
+        }
+
+        private synchronized boolean offer(QuestionDto questionDto, long readGeneration, AtomicLong generation) {
+            if (readGeneration != generation.get()) {
+                evictCount.incrementAndGet();
+                return false;
+            }
+            if (size == capacity) {
+                return false;
+            }
+            items[(head + size) % capacity] = questionDto;
+            size++;
+            return true;
+        }
+
+        private synchronized QuestionDto poll() {
+            if (size == 0) {
+                return null;
+            }
+            QuestionDto questionDto = items[head];
+            items[head] = null;
+            head = (head + 1) % capacity;
+            size--;
+            return questionDto;
+        }
+
+        private synchronized int size() {
+            return size;
+        }
+
+        private synchronized void removeIf(Predicate<QuestionDto> predicate) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                QuestionDto questionDto = items[(head + i) % capacity];
+                if (predicate.test(questionDto)) {
+                    evictCount.incrementAndGet();
+                } else {
+                    items[(head + kept) % capacity] = questionDto;
+                    kept++;
+                }
+            }
+            for (int i = kept; i < size; i++) {
+                items[(head + i) % capacity] = null;
+            }
+            size = kept;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package Project.OpenBook.Cache;
+
+import Project.OpenBook.Domain.Category;
+import Project.OpenBook.Domain.Chapter;
+import Project.OpenBook.Dto.topic.TopicDateDto;
+import Project.OpenBook.Repository.category.CategoryRepository;
+import Project.OpenBook.Repository.chapter.ChapterRepository;
+import Project.OpenBook.Repository.topic.TopicRepository;
+import Project.OpenBook.Utils.TransactionUtils;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 카테고리 이름, 단원 번호, 토픽 제목 -> id 사전
+ * 서비스마다 요청 처리 전에 하던 이름 -> 엔티티 조회를 대신하고, 연관관계는 getReferenceById로 id만 가지고 설정
+ *
+ * 처음 조회할때 세 테이블을 한번에 읽고, 사전에 없는 이름은 DB에서 확인해서 있으면 추가
+ * 카테고리, 단원, 토픽이 추가/수정/삭제되면 커밋 이후에 사전을 비우고 다음 조회때 다시 읽음
+ * DB에 직접 추가된 행은 사전에 없으므로 DB에서 찾아지지만, 직접 삭제하거나 이름을 바꾼 행은 clear 전까지 이전 id로 찾아짐
+ */
+@Component
+@RequiredArgsConstructor
+public class ReferenceDictionary {
+
+    private final CategoryRepository categoryRepository;
+    private final ChapterRepository chapterRepository;
+    private final TopicRepository topicRepository;
+
+    private volatile Tables tables;
+    //비울때마다 증가 -> 읽는 도중 비워졌으면 읽은 내용을 버림
+    private long generation;
+
+    @Getter
+    @AllArgsConstructor
+    public static class CategoryRef {
+        private Long id;
+        private String name;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ChapterRef {
+        private Long id;
+        private int number;
+        private String title;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class TopicRef {
+        private Long id;
+        private String title;
+    }
+
+    /**
+     * 없으면 null
+     */
+    public CategoryRef getCategory(String categoryName) {
+        Tables current = tables();
+        return lookup(current.categoryMap, categoryName, () -> categoryRepository.findCategoryByName(categoryName)
+                .map(c -> new CategoryRef(c.getId(), c.getName())).orElse(null));
+    }
+
+    public ChapterRef getChapter(int number) {
+        Tables current = tables();
+        return lookup(current.chapterMap, number, () -> chapterRepository.findOneByNumber(number)
+                .map(c -> new ChapterRef(c.getId(), c.getNumber(), c.getTitle())).orElse(null));
+    }
+
+    public TopicRef getTopic(String topicTitle) {
+        Tables current = tables();
+        return lookup(current.topicMap, topicTitle, () -> topicRepository.findTopicByTitle(topicTitle)
+                .map(t -> new TopicRef(t.getId(), t.getTitle())).orElse(null));
+    }
+
+    /**
+     * 카테고리, 단원, 토픽 추가/수정/삭제 시 호출
+     */
+    public void invalidate() {
+        TransactionUtils.afterCommit(this::clear);
+    }
+
+    public synchronized void clear() {
+        generation++;
+        tables = null;
+    }
+
+    private <K, V> V lookup(Map<K, V> map, K key, Supplier<V> loader) {
+        if (key == null) {
+            return null;
+        }
+        V value = map.get(key);
+        if (value == null) {
+            value = loader.get();
+            if (value != null) {
+                map.put(key, value);
+            }
+        }
+        return value;
+    }
+
+    private Tables tables() {
+        Tables current = tables;
+        if (current != null) {
+            return current;
+        }
+        long readGeneration;
+        synchronized (this) {
+            readGeneration = generation;
+        }
+        Tables loaded = load();
+        synchronized (this) {
+            if (readGeneration == generation && tables == null) {
+                tables = loaded;
+            }
+        }
+        return loaded;
+    }
+
+    private Tables load() {
+        Tables loaded = new Tables();
+        for (Category category : categoryRepository.findAll()) {
+            loaded.categoryMap.put(category.getName(), new CategoryRef(category.getId(), category.getName()));
+        }
+        for (Chapter chapter : chapterRepository.findAll()) {
+            loaded.chapterMap.put(chapter.getNumber(), new ChapterRef(chapter.getId(), chapter.getNumber(), chapter.getTitle()));
+        }
+        for (TopicDateDto topic : topicRepository.queryTopicDateDtos()) {
+            loaded.topicMap.put(topic.getTitle(), new TopicRef(topic.getId(), topic.getTitle()));
+        }
+        return loaded;
+    }
+
+    private static class Tables {
+        private final Map<String, CategoryRef> categoryMap = new ConcurrentHashMap<>();
+        private final Map<Integer, ChapterRef> chapterMap = new ConcurrentHashMap<>();
+        private final Map<String, TopicRef> topicMap = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,889 @@
+package Project.OpenBook.Cache;
+
+import Project.OpenBook.Constants.SearchType;
+import Project.OpenBook.Repository.search.SearchJdbcRepository;
+import Project.OpenBook.Utils.TransactionUtils;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 토픽(제목 + 상세정보), 보기, 선지, 문장 전문 검색 인덱스
+ * 단어를 글자 2-gram으로 쪼개서 색인하고(한글은 띄어쓰기와 조사 때문에 단어 단위로 색인하면 잘 맞지 않음) BM25로 순위를 매김
+ *
+ * 변경은 메모리 버퍼에 쌓으면서 저널 파일에 한 건씩 이어 쓰고, 버퍼가 flushSize만큼 차면 세그먼트 파일로 내림
+ * 세그먼트가 maxSegments개를 넘으면 주기 작업에서 하나로 합침 -> 재기동 시 세그먼트와 저널만 읽으면 되고 DB에서 다시 구축하지 않음
+ * 디스크의 문서 수가 DB와 다르거나 파일을 읽지 못하면 DB에서 다시 구축
+ * search.index.dir이 비어 있으면 파일을 쓰지 않고 메모리에만 둠
+ * DB에서 직접 바뀐 내용은 저널에 없으므로 rebuild 전까지 검색되지 않음 (재기동 시에도 문서 수가 같으면 다시 구축하지 않음)
+ */
+@Slf4j
+@Component
+public class SearchIndex {
+
+    private static final String MANIFEST = "manifest";
+    private static final int MANIFEST_MAGIC = 0x4F42534D;
+    private static final int MANIFEST_VERSION = 1;
+
+    private static final byte OP_INDEX = 1;
+    private static final byte OP_REMOVE = 2;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int SNIPPET_BEFORE = 30;
+    private static final int SNIPPET_LENGTH = 100;
+
+    private static final SearchType[] TYPES = SearchType.values();
+
+    private final SearchJdbcRepository searchJdbcRepository;
+    private final Path dir;
+    //파일 저장에 실패하면 false -> 이후로는 메모리에만 유지
+    private volatile boolean persistent;
+    private final int flushSize;
+    private final int maxSegments;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "search-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    //검색은 읽기 잠금, 변경/flush/세그먼트 교체는 쓰기 잠금
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    //전체 구축, 디스크 로드, 세그먼트 합치기는 한번에 하나만
+    private final ReentrantLock maintenanceLock = new ReentrantLock();
+
+    private volatile boolean loaded;
+    //로드 작업을 이미 executor에 넣었으면 true
+    private final AtomicBoolean warming = new AtomicBoolean();
+    //로드/전체 구축이 끝나기 전에 들어온 변경 -> 끝난 뒤 다시 적용
+    private List<Op> pendingList = new ArrayList<>();
+
+    private List<SearchSegment> segmentList = new ArrayList<>();
+    //문서 key -> 유효한 문서의 위치 (세그먼트 세대 << 32 | 세그먼트 안의 문서 번호)
+    private final Map<Long, Long> liveMap = new HashMap<>();
+
+    private int bufferGeneration;
+    private int nextGeneration = 1;
+    private List<SearchSegment.Doc> bufferDocs = new ArrayList<>();
+    private Set<Long> bufferTombstones = new HashSet<>();
+    //검색할때 버퍼로 만든 세그먼트, 버퍼가 바뀌면 null
+    private SearchSegment bufferSegment;
+    private DataOutputStream journal;
+
+    public SearchIndex(@Value("${search.index.dir:search-index}") String dir,
+                       @Value("${search.index.flush-size:1000}") int flushSize,
+                       @Value("${search.index.max-segments:8}") int maxSegments,
+                       SearchJdbcRepository searchJdbcRepository) {
+        this.dir = dir == null || dir.isBlank() ? null : Paths.get(dir);
+        this.persistent = this.dir != null;
+        this.flushSize = flushSize;
+        this.maxSegments = maxSegments;
+        this.searchJdbcRepository = searchJdbcRepository;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        lock.writeLock().lock();
+        try {
+            closeJournal();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Getter
+    public static class Hit {
+        private final SearchType type;
+        private final Long id;
+        private final Long topicId;
+        private final String snippet;
+        private final double score;
+
+        private Hit(SearchType type, Long id, Long topicId, String snippet, double score) {
+            this.type = type;
+            this.id = id;
+            this.topicId = topicId;
+            this.snippet = snippet;
+            this.score = score;
+        }
+    }
+
+    @Getter
+    public static class Result {
+        private final int totalCount;
+        private final List<Hit> hitList;
+
+        private Result(int totalCount, List<Hit> hitList) {
+            this.totalCount = totalCount;
+            this.hitList = hitList;
+        }
+    }
+
+    /**
+     * 검색어의 모든 2-gram을 포함하는 문서를 점수순으로 page번째 size개 조회, type이 null이면 전체
+     * 한 글자 검색어는 그 글자로 시작하는 모든 term과 일치
+     * 요청 스레드에서는 로드하지 않음 -> 처음 로드가 끝나기 전이면 백그라운드 로드를 걸고 null 반환
+     * 로드 이후의 전체 구축, 합치기 중에는 기존 세그먼트로 검색
+     */
+    public Result search(String query, SearchType type, int page, int size) {
+        if (!loaded) {
+            warmUp();
+            return null;
+        }
+        List<List<String>> clauseList = new ArrayList<>();
+        List<String> wordList = words(query);
+
+        lock.readLock().lock();
+        try {
+            List<SearchSegment> searchList = new ArrayList<>(segmentList);
+            searchList.add(bufferSegment());
+
+            for (String word : wordList) {
+                if (word.length() == 1) {
+                    Set<String> termSet = new TreeSet<>();
+                    for (SearchSegment segment : searchList) {
+                        termSet.addAll(segment.postingMap.subMap(word, true, word + Character.MAX_VALUE, true).keySet());
+                    }
+                    clauseList.add(new ArrayList<>(termSet));
+                } else {
+                    for (int i = 0; i + 1 < word.length(); i++) {
+                        clauseList.add(Collections.singletonList(word.substring(i, i + 2)));
+                    }
+                }
+            }
+            if (clauseList.isEmpty() || clauseList.stream().anyMatch(List::isEmpty)) {
+                return new Result(0, new ArrayList<>());
+            }
+
+            //전체 통계 -> 지워진 문서도 포함한 근사값
+            long docCount = 0;
+            long totalLength = 0;
+            Map<String, Integer> dfMap = new HashMap<>();
+            for (SearchSegment segment : searchList) {
+                docCount += segment.size();
+                totalLength += segment.totalLength;
+                for (List<String> clause : clauseList) {
+                    for (String term : clause) {
+                        SearchSegment.Postings postings = segment.postingMap.get(term);
+                        if (postings != null) {
+                            dfMap.merge(term, postings.ords.length, Integer::sum);
+                        }
+                    }
+                }
+            }
+            double avgLength = docCount == 0 ? 1 : Math.max(1.0, (double) totalLength / docCount);
+            long liveCount = liveMap.size();
+            Map<String, Double> idfMap = new HashMap<>();
+            dfMap.forEach((term, df) -> idfMap.put(term, Math.log(1 + Math.max(0, liveCount - df + 0.5) / (df + 0.5))));
+
+            int limit = (page + 1) * size;
+            PriorityQueue<Scored> topQueue = new PriorityQueue<>();
+            int totalCount = 0;
+            for (SearchSegment segment : searchList) {
+                for (int ord : candidates(segment, clauseList)) {
+                    if ((type != null && segment.types[ord] != type) || !isLive(segment, ord)) {
+                        continue;
+                    }
+                    double score = score(segment, ord, clauseList, idfMap, avgLength);
+                    if (score < 0) {
+                        continue;
+                    }
+                    totalCount++;
+                    topQueue.add(new Scored(segment, ord, score));
+                    if (topQueue.size() > limit) {
+                        topQueue.poll();
+                    }
+                }
+            }
+
+            List<Scored> scoredList = new ArrayList<>(topQueue);
+            scoredList.sort(Comparator.reverseOrder());
+            List<Hit> hitList = new ArrayList<>();
+            for (int i = page * size; i < scoredList.size(); i++) {
+                Scored scored = scoredList.get(i);
+                SearchSegment segment = scored.segment;
+                hitList.add(new Hit(segment.types[scored.ord], segment.ids[scored.ord], segment.topicIds[scored.ord],
+                        snippet(segment.texts[scored.ord], wordList), scored.score));
+            }
+            return new Result(totalCount, hitList);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void index(SearchType type, Long id, Long topicId, String text) {
+        SearchSegment.Doc doc = new SearchSegment.Doc(type, id, topicId, text);
+        TransactionUtils.afterCommit(() -> apply(new Op(OP_INDEX, type, id, doc)));
+    }
+
+    public void indexTopic(Long topicId, String title, String detail) {
+        index(SearchType.TOPIC, topicId, topicId, topicText(title, detail));
+    }
+
+    public void remove(SearchType type, Long id) {
+        TransactionUtils.afterCommit(() -> apply(new Op(OP_REMOVE, type, id, null)));
+    }
+
+    /**
+     * 토픽은 제목과 상세정보를 합쳐서 색인
+     */
+    public static String topicText(String title, String detail) {
+        return detail == null ? title : title + "\n" + detail;
+    }
+
+    /**
+     * 디스크(또는 DB)에서 읽는 작업을 별도 스레드에 한번만 걸어둠
+     */
+    public void warmUp() {
+        if (loaded || !warming.compareAndSet(false, true)) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                ensureLoaded();
+            } catch (RuntimeException e) {
+                log.warn("검색 인덱스 로드 실패", e);
+            } finally {
+                warming.set(false);
+            }
+        });
+    }
+
+    /**
+     * 기동 직후 디스크(또는 DB)에서 읽고, 이후 주기적으로 세그먼트가 많으면 합침
+     * 스케줄러 스레드를 막지 않도록 별도 스레드에서 실행
+     */
+    @Scheduled(initialDelayString = "${search.index.initial-delay:0}",
+            fixedDelayString = "${search.index.maintenance-delay:60000}")
+    public void scheduleMaintenance() {
+        executor.execute(() -> {
+            try {
+                ensureLoaded();
+                merge();
+            } catch (RuntimeException e) {
+                log.warn("검색 인덱스 관리 작업 실패", e);
+            }
+        });
+    }
+
+    /**
+     * DB에서 전체를 다시 구축하고 디스크의 세그먼트를 교체
+     */
+    public void rebuild() {
+        maintenanceLock.lock();
+        try {
+            doRebuild();
+        } finally {
+            maintenanceLock.unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        maintenanceLock.lock();
+        try {
+            if (!loaded) {
+                doLoad();
+            }
+        } finally {
+            maintenanceLock.unlock();
+        }
+    }
+
+    private void doLoad() {
+        if (!persistent || !Files.exists(dir.resolve(MANIFEST))) {
+            doRebuild();
+            return;
+        }
+        long begin = System.currentTimeMillis();
+        try {
+            startPending();
+            Manifest manifest = readManifest();
+            List<SearchSegment> readList = new ArrayList<>();
+            for (String fileName : manifest.fileNameList) {
+                readList.add(SearchSegment.read(dir, fileName));
+            }
+            lock.writeLock().lock();
+            try {
+                install(readList, manifest.bufferGeneration, manifest.nextGeneration);
+                //저널 끝에 잘린 기록이 있을 수 있으므로 이어 쓰지 않고 세그먼트로 내린 뒤 새 저널을 시작
+                if (replayJournal()) {
+                    flush();
+                }
+                finishPending();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("검색 인덱스 파일을 읽지 못해 DB에서 다시 구축", e);
+            doRebuild();
+            return;
+        }
+
+        if (!matchesDatabase()) {
+            log.info("검색 인덱스 문서 수가 DB와 달라 다시 구축");
+            doRebuild();
+            return;
+        }
+        log.info("검색 인덱스 로드 문서 수={} 세그먼트 수={} {}ms", liveMap.size(), segmentList.size(), System.currentTimeMillis() - begin);
+    }
+
+    private void doRebuild() {
+        long begin = System.currentTimeMillis();
+        startPending();
+        int generation;
+        lock.writeLock().lock();
+        try {
+            generation = nextGeneration++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<SearchSegment.Doc> docList = new ArrayList<>();
+        for (SearchType type : TYPES) {
+            searchJdbcRepository.queryDocuments(type, (id, topicId, text) -> docList.add(new SearchSegment.Doc(type, id, topicId, text)));
+        }
+        SearchSegment built = SearchSegment.build(generation, segmentFileName(generation), docList, new ArrayList<>());
+        writeSegment(built);
+
+        lock.writeLock().lock();
+        try {
+            closeJournal();
+            int newBufferGeneration = nextGeneration++;
+            install(Collections.singletonList(built), newBufferGeneration, nextGeneration);
+            deleteStaleFiles(built.fileName);
+            finishPending();
+            writeManifest();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("검색 인덱스 구축 문서 수={} {}ms", liveMap.size(), System.currentTimeMillis() - begin);
+    }
+
+    /**
+     * 가장 오래된 세그먼트부터 전부 합쳐서 지워진 문서와 삭제 표시를 정리
+     * 합치는 동안에도 검색은 가능하고, 변경은 버퍼로 들어가므로 교체할때 위치가 그대로인 문서만 옮김
+     */
+    private void merge() {
+        if (!maintenanceLock.tryLock()) {
+            return;
+        }
+        try {
+            List<SearchSegment> targetList;
+            List<SearchSegment.Doc> docList = new ArrayList<>();
+            List<Long> locationList = new ArrayList<>();
+            lock.readLock().lock();
+            try {
+                if (segmentList.size() <= maxSegments) {
+                    return;
+                }
+                targetList = new ArrayList<>(segmentList);
+                for (SearchSegment segment : targetList) {
+                    for (int ord = 0; ord < segment.size(); ord++) {
+                        if (isLive(segment, ord)) {
+                            docList.add(segment.doc(ord));
+                            locationList.add(location(segment.generation, ord));
+                        }
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            int generation = targetList.get(targetList.size() - 1).generation;
+            SearchSegment merged = SearchSegment.build(generation, mergedFileName(generation), docList, new ArrayList<>());
+            writeSegment(merged);
+
+            lock.writeLock().lock();
+            try {
+                if (segmentList.size() < targetList.size() || !segmentList.subList(0, targetList.size()).equals(targetList)) {
+                    //그 사이에 전체 구축으로 교체됨
+                    deleteSegment(merged);
+                    return;
+                }
+                List<SearchSegment> newList = new ArrayList<>();
+                newList.add(merged);
+                newList.addAll(segmentList.subList(targetList.size(), segmentList.size()));
+                segmentList = newList;
+                for (int ord = 0; ord < merged.size(); ord++) {
+                    long key = merged.key(ord);
+                    if (Objects.equals(liveMap.get(key), locationList.get(ord))) {
+                        liveMap.put(key, location(generation, ord));
+                    }
+                }
+                writeManifest();
+                targetList.forEach(this::deleteSegment);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("검색 인덱스 세그먼트 {}개 합침 문서 수={}", targetList.size(), merged.size());
+        } finally {
+            maintenanceLock.unlock();
+        }
+    }
+
+    private void apply(Op op) {
+        lock.writeLock().lock();
+        try {
+            if (pendingList != null) {
+                pendingList.add(op);
+            }
+            if (loaded) {
+                writeJournal(op);
+                applyToBuffer(op);
+                if (bufferDocs.size() >= flushSize) {
+                    flush();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void applyToBuffer(Op op) {
+        long key = key(op.type, op.id);
+        if (op.op == OP_INDEX) {
+            bufferTombstones.remove(key);
+            bufferDocs.add(op.doc);
+            liveMap.put(key, location(bufferGeneration, bufferDocs.size() - 1));
+        } else {
+            bufferTombstones.add(key);
+            liveMap.remove(key);
+        }
+        bufferSegment = null;
+    }
+
+    /**
+     * 버퍼를 세그먼트 파일로 내리고 새 저널을 시작 -> 쓰기 잠금 안에서 호출
+     */
+    private void flush() {
+        SearchSegment segment = SearchSegment.build(bufferGeneration, segmentFileName(bufferGeneration), bufferDocs, bufferTombstones);
+        writeSegment(segment);
+        segmentList.add(segment);
+
+        closeJournal();
+        int prevGeneration = bufferGeneration;
+        bufferGeneration = nextGeneration++;
+        bufferDocs = new ArrayList<>();
+        bufferTombstones = new HashSet<>();
+        bufferSegment = null;
+        writeManifest();
+        deleteJournal(prevGeneration);
+    }
+
+    /**
+     * 세그먼트를 오래된 순서로 적용해서 유효한 문서 위치를 다시 계산 -> 쓰기 잠금 안에서 호출
+     */
+    private void install(List<SearchSegment> newList, int bufferGeneration, int nextGeneration) {
+        segmentList = new ArrayList<>(newList);
+        segmentList.sort(Comparator.comparingInt(s -> s.generation));
+        liveMap.clear();
+        for (SearchSegment segment : segmentList) {
+            for (int ord = 0; ord < segment.size(); ord++) {
+                liveMap.put(segment.key(ord), location(segment.generation, ord));
+            }
+            for (long key : segment.tombstones) {
+                liveMap.remove(key);
+            }
+        }
+        this.bufferGeneration = bufferGeneration;
+        this.nextGeneration = Math.max(nextGeneration, bufferGeneration + 1);
+        bufferDocs = new ArrayList<>();
+        bufferTombstones = new HashSet<>();
+        bufferSegment = null;
+        loaded = true;
+    }
+
+    private void startPending() {
+        lock.writeLock().lock();
+        try {
+            if (pendingList == null) {
+                pendingList = new ArrayList<>();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //모든 변경은 여러번 적용해도 결과가 같음
+    private void finishPending() {
+        List<Op> opList = pendingList;
+        pendingList = null;
+        for (Op op : opList) {
+            writeJournal(op);
+            applyToBuffer(op);
+        }
+    }
+
+    private boolean matchesDatabase() {
+        long[] counts = new long[TYPES.length];
+        lock.readLock().lock();
+        try {
+            for (Long key : liveMap.keySet()) {
+                counts[(int) (key >>> 56)]++;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        for (SearchType type : TYPES) {
+            if (counts[type.ordinal()] != searchJdbcRepository.countDocuments(type)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private SearchSegment bufferSegment() {
+        synchronized (this) {
+            if (bufferSegment == null) {
+                bufferSegment = SearchSegment.build(bufferGeneration, null, bufferDocs, bufferTombstones);
+            }
+            return bufferSegment;
+        }
+    }
+
+    private boolean isLive(SearchSegment segment, int ord) {
+        Long location = liveMap.get(segment.key(ord));
+        return location != null && location == location(segment.generation, ord);
+    }
+
+    //가장 짧은 조건의 문서들만 후보로 확인
+    private static int[] candidates(SearchSegment segment, List<List<String>> clauseList) {
+        int[] best = null;
+        for (List<String> clause : clauseList) {
+            Set<Integer> ordSet = new TreeSet<>();
+            int[] ords = null;
+            for (String term : clause) {
+                SearchSegment.Postings postings = segment.postingMap.get(term);
+                if (postings == null) {
+                    continue;
+                }
+                if (clause.size() == 1) {
+                    ords = postings.ords;
+                } else {
+                    for (int ord : postings.ords) {
+                        ordSet.add(ord);
+                    }
+                }
+            }
+            if (ords == null) {
+                ords = ordSet.stream().mapToInt(Integer::intValue).toArray();
+            }
+            if (best == null || ords.length < best.length) {
+                best = ords;
+            }
+            if (best.length == 0) {
+                break;
+            }
+        }
+        return best == null ? new int[0] : best;
+    }
+
+    //조건 하나라도 맞지 않으면 -1
+    private static double score(SearchSegment segment, int ord, List<List<String>> clauseList,
+                                Map<String, Double> idfMap, double avgLength) {
+        double norm = K1 * (1 - B + B * segment.lengths[ord] / avgLength);
+        double score = 0;
+        for (List<String> clause : clauseList) {
+            boolean matched = false;
+            for (String term : clause) {
+                SearchSegment.Postings postings = segment.postingMap.get(term);
+                int tf = postings == null ? 0 : postings.tf(ord);
+                if (tf > 0) {
+                    matched = true;
+                    score += idfMap.getOrDefault(term, 0.0) * tf * (K1 + 1) / (tf + norm);
+                }
+            }
+            if (!matched) {
+                return -1;
+            }
+        }
+        return score;
+    }
+
+    private static String snippet(String text, List<String> wordList) {
+        String lower = text.toLowerCase();
+        int index = -1;
+        for (String word : wordList) {
+            index = lower.indexOf(word);
+            if (index >= 0) {
+                break;
+            }
+        }
+        int begin = Math.max(0, index - SNIPPET_BEFORE);
+        int end = Math.min(text.length(), begin + SNIPPET_LENGTH);
+        String snippet = text.substring(begin, end).replaceAll("\\s+", " ").trim();
+        return (begin > 0 ? "..." : "") + snippet + (end < text.length() ? "..." : "");
+    }
+
+    /**
+     * 소문자로 바꾼 뒤 글자/숫자가 아닌 문자를 기준으로 단어를 나눔
+     */
+    static List<String> words(String text) {
+        List<String> wordList = new ArrayList<>();
+        if (text == null) {
+            return wordList;
+        }
+        String lower = text.toLowerCase();
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean letter = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                wordList.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return wordList;
+    }
+
+    /**
+     * 색인할 term -> 단어마다 연속한 두 글자와 마지막 한 글자
+     * 마지막 글자도 넣어두면 한 글자 검색어를 "그 글자로 시작하는 term"으로 찾을 수 있음
+     */
+    static List<String> tokenize(String text) {
+        List<String> termList = new ArrayList<>();
+        for (String word : words(text)) {
+            for (int i = 0; i + 1 < word.length(); i++) {
+                termList.add(word.substring(i, i + 2));
+            }
+            termList.add(word.substring(word.length() - 1));
+        }
+        return termList;
+    }
+
+    static long key(SearchType type, long id) {
+        return ((long) type.ordinal() << 56) | id;
+    }
+
+    private static long location(int generation, int ord) {
+        return ((long) generation << 32) | ord;
+    }
+
+    private static String segmentFileName(int generation) {
+        return "segment-" + generation + ".seg";
+    }
+
+    private static String mergedFileName(int generation) {
+        return "segment-" + generation + "-" + System.currentTimeMillis() + ".seg";
+    }
+
+    private static String journalFileName(int generation) {
+        return "journal-" + generation + ".log";
+    }
+
+    /*
+     * 파일 저장에 실패하면 manifest를 지우고 메모리에만 유지 -> 다음 기동때 DB에서 다시 구축
+     */
+
+    private void writeSegment(SearchSegment segment) {
+        if (!persistent) {
+            return;
+        }
+        try {
+            Files.createDirectories(dir);
+            segment.write(dir);
+        } catch (IOException e) {
+            persistFailed(e);
+        }
+    }
+
+    private void deleteSegment(SearchSegment segment) {
+        if (persistent) {
+            try {
+                Files.deleteIfExists(dir.resolve(segment.fileName));
+            } catch (IOException e) {
+                log.warn("검색 인덱스 세그먼트 삭제 실패 {}", segment.fileName, e);
+            }
+        }
+    }
+
+    private void writeManifest() {
+        if (!persistent) {
+            return;
+        }
+        Path tmp = dir.resolve(MANIFEST + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MANIFEST_MAGIC);
+            out.writeInt(MANIFEST_VERSION);
+            out.writeInt(bufferGeneration);
+            out.writeInt(nextGeneration);
+            out.writeInt(segmentList.size());
+            for (SearchSegment segment : segmentList) {
+                out.writeUTF(segment.fileName);
+            }
+        } catch (IOException e) {
+            persistFailed(e);
+            return;
+        }
+        try {
+            Files.move(tmp, dir.resolve(MANIFEST), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            persistFailed(e);
+        }
+    }
+
+    //전체 구축 이전의 세그먼트, 저널과 중단된 작업이 남긴 파일 정리
+    private void deleteStaleFiles(String keepFileName) {
+        if (!persistent) {
+            return;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "{segment-*,journal-*,*.tmp}")) {
+            for (Path path : stream) {
+                if (!path.getFileName().toString().equals(keepFileName)) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("검색 인덱스 이전 파일 정리 실패", e);
+        }
+    }
+
+    private Manifest readManifest() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(dir.resolve(MANIFEST))))) {
+            if (in.readInt() != MANIFEST_MAGIC || in.readInt() != MANIFEST_VERSION) {
+                throw new IOException("검색 인덱스 manifest 형식이 다름");
+            }
+            Manifest manifest = new Manifest();
+            manifest.bufferGeneration = in.readInt();
+            manifest.nextGeneration = in.readInt();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                manifest.fileNameList.add(in.readUTF());
+            }
+            return manifest;
+        }
+    }
+
+    private void writeJournal(Op op) {
+        if (!persistent) {
+            return;
+        }
+        try {
+            if (journal == null) {
+                Files.createDirectories(dir);
+                journal = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(dir.resolve(journalFileName(bufferGeneration)),
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+            }
+            journal.writeByte(op.op);
+            journal.writeByte(op.type.ordinal());
+            journal.writeLong(op.id);
+            if (op.op == OP_INDEX) {
+                journal.writeLong(op.doc.topicId);
+                SearchSegment.writeString(journal, op.doc.text);
+            }
+            journal.flush();
+        } catch (IOException e) {
+            persistFailed(e);
+        }
+    }
+
+    //끝이 잘린 기록(쓰는 도중 종료)은 버림, 저널 파일이 있었으면 true
+    private boolean replayJournal() throws IOException {
+        Path path = dir.resolve(journalFileName(bufferGeneration));
+        if (!Files.exists(path)) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            while (true) {
+                byte op = in.readByte();
+                SearchType type = TYPES[in.readByte()];
+                long id = in.readLong();
+                SearchSegment.Doc doc = null;
+                if (op == OP_INDEX) {
+                    doc = new SearchSegment.Doc(type, id, in.readLong(), SearchSegment.readString(in));
+                }
+                applyToBuffer(new Op(op, type, id, doc));
+            }
+        } catch (EOFException e) {
+            //저널 끝
+        }
+        return true;
+    }
+
+    private void closeJournal() {
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                log.warn("검색 인덱스 저널 닫기 실패", e);
+            }
+            journal = null;
+        }
+    }
+
+    private void deleteJournal(int generation) {
+        if (persistent) {
+            try {
+                Files.deleteIfExists(dir.resolve(journalFileName(generation)));
+            } catch (IOException e) {
+                log.warn("검색 인덱스 저널 삭제 실패", e);
+            }
+        }
+    }
+
+    private void persistFailed(IOException e) {
+        log.warn("검색 인덱스 파일 저장 실패 -> 다음 기동때 DB에서 다시 구축", e);
+        persistent = false;
+        closeJournal();
+        try {
+            Files.deleteIfExists(dir.resolve(MANIFEST));
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static class Manifest {
+        private int bufferGeneration;
+        private int nextGeneration;
+        private final List<String> fileNameList = new ArrayList<>();
+    }
+
+    private static class Op {
+        private final byte op;
+        private final SearchType type;
+        private final long id;
+        private final SearchSegment.Doc doc;
+
+        private Op(byte op, SearchType type, long id, SearchSegment.Doc doc) {
+            this.op = op;
+            this.type = type;
+            this.id = id;
+            this.doc = doc;
+        }
+    }
+
+    private static class Scored implements Comparable<Scored> {
+        private final SearchSegment segment;
+        private final int ord;
+        private final double score;
+
+        private Scored(SearchSegment segment, int ord, double score) {
+            this.segment = segment;
+            this.ord = ord;
+            this.score = score;
+        }
+
+        //점수가 같으면 종류, id가 작은 문서가 앞
+        @Override
+        public int compareTo(Scored o) {
+            int c = Double.compare(score, o.score);
+            return c != 0 ? c : Long.compare(o.segment.key(o.ord), segment.key(ord));
+        }
+    }
+}
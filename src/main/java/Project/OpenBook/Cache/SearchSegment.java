@@ -0,0 +1,249 @@
+package Project.OpenBook.Cache;
+
+import Project.OpenBook.Constants.SearchType;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * 검색 인덱스의 세그먼트 -> 만들어진 뒤에는 바뀌지 않음
+ * 문서 목록, 2-gram 역색인(term -> 문서 번호, 등장 횟수), 이전 세그먼트의 문서를 지우는 삭제 표시로 구성
+ * 같은 문서가 여러 세그먼트에 있으면 가장 최근 세그먼트의 것만 유효하고, 유효 여부는 SearchIndex가 관리
+ */
+class SearchSegment {
+
+    private static final int MAGIC = 0x4F425347;
+    private static final int VERSION = 1;
+
+    private static final SearchType[] TYPES = SearchType.values();
+
+    final int generation;
+    final String fileName;
+
+    final SearchType[] types;
+    final long[] ids;
+    final long[] topicIds;
+    final String[] texts;
+    final int[] lengths;
+    final long totalLength;
+    final TreeMap<String, Postings> postingMap;
+    final long[] tombstones;
+
+    static class Doc {
+        final SearchType type;
+        final long id;
+        final long topicId;
+        final String text;
+
+        Doc(SearchType type, long id, long topicId, String text) {
+            this.type = type;
+            this.id = id;
+            this.topicId = topicId;
+            this.text = text == null ? "" : text;
+        }
+    }
+
+    /**
+     * 문서 번호 오름차순
+     */
+    static class Postings {
+        final int[] ords;
+        final int[] tfs;
+
+        Postings(int[] ords, int[] tfs) {
+            this.ords = ords;
+            this.tfs = tfs;
+        }
+
+        //해당 문서에 없으면 0
+        int tf(int ord) {
+            int index = Arrays.binarySearch(ords, ord);
+            return index < 0 ? 0 : tfs[index];
+        }
+    }
+
+    private SearchSegment(int generation, String fileName, SearchType[] types, long[] ids, long[] topicIds, String[] texts,
+                          int[] lengths, TreeMap<String, Postings> postingMap, long[] tombstones) {
+        this.generation = generation;
+        this.fileName = fileName;
+        this.types = types;
+        this.ids = ids;
+        this.topicIds = topicIds;
+        this.texts = texts;
+        this.lengths = lengths;
+        this.postingMap = postingMap;
+        this.tombstones = tombstones;
+        long sum = 0;
+        for (int length : lengths) {
+            sum += length;
+        }
+        this.totalLength = sum;
+    }
+
+    static SearchSegment build(int generation, String fileName, List<Doc> docList, Collection<Long> tombstoneList) {
+        int n = docList.size();
+        SearchType[] types = new SearchType[n];
+        long[] ids = new long[n];
+        long[] topicIds = new long[n];
+        String[] texts = new String[n];
+        int[] lengths = new int[n];
+
+        Map<String, PostingsBuilder> builderMap = new HashMap<>();
+        for (int ord = 0; ord < n; ord++) {
+            Doc doc = docList.get(ord);
+            types[ord] = doc.type;
+            ids[ord] = doc.id;
+            topicIds[ord] = doc.topicId;
+            texts[ord] = doc.text;
+
+            Map<String, Integer> tfMap = new HashMap<>();
+            for (String term : SearchIndex.tokenize(doc.text)) {
+                tfMap.merge(term, 1, Integer::sum);
+                lengths[ord]++;
+            }
+            for (Map.Entry<String, Integer> entry : tfMap.entrySet()) {
+                builderMap.computeIfAbsent(entry.getKey(), k -> new PostingsBuilder()).add(ord, entry.getValue());
+            }
+        }
+
+        TreeMap<String, Postings> postingMap = new TreeMap<>();
+        builderMap.forEach((term, builder) -> postingMap.put(term, builder.build()));
+        long[] tombstones = tombstoneList.stream().mapToLong(Long::longValue).toArray();
+        return new SearchSegment(generation, fileName, types, ids, topicIds, texts, lengths, postingMap, tombstones);
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    long key(int ord) {
+        return SearchIndex.key(types[ord], ids[ord]);
+    }
+
+    Doc doc(int ord) {
+        return new Doc(types[ord], ids[ord], topicIds[ord], texts[ord]);
+    }
+
+    /**
+     * 임시 파일에 쓴 뒤 이름을 바꿔서, 쓰다가 중단되어도 반쯤 쓴 세그먼트가 남지 않게 함
+     */
+    void write(Path dir) throws IOException {
+        Path tmp = dir.resolve(fileName + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(generation);
+
+            out.writeInt(size());
+            for (int ord = 0; ord < size(); ord++) {
+                out.writeByte(types[ord].ordinal());
+                out.writeLong(ids[ord]);
+                out.writeLong(topicIds[ord]);
+                out.writeInt(lengths[ord]);
+                writeString(out, texts[ord]);
+            }
+
+            out.writeInt(postingMap.size());
+            for (Map.Entry<String, Postings> entry : postingMap.entrySet()) {
+                out.writeUTF(entry.getKey());
+                Postings postings = entry.getValue();
+                out.writeInt(postings.ords.length);
+                //문서 번호는 이전 번호와의 차이만 저장
+                int prev = 0;
+                for (int i = 0; i < postings.ords.length; i++) {
+                    out.writeInt(postings.ords[i] - prev);
+                    out.writeInt(postings.tfs[i]);
+                    prev = postings.ords[i];
+                }
+            }
+
+            out.writeInt(tombstones.length);
+            for (long key : tombstones) {
+                out.writeLong(key);
+            }
+        }
+        Files.move(tmp, dir.resolve(fileName), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static SearchSegment read(Path dir, String fileName) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(dir.resolve(fileName))))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("검색 인덱스 세그먼트 형식이 다름 " + fileName);
+            }
+            int generation = in.readInt();
+
+            int n = in.readInt();
+            SearchType[] types = new SearchType[n];
+            long[] ids = new long[n];
+            long[] topicIds = new long[n];
+            String[] texts = new String[n];
+            int[] lengths = new int[n];
+            for (int ord = 0; ord < n; ord++) {
+                types[ord] = TYPES[in.readByte()];
+                ids[ord] = in.readLong();
+                topicIds[ord] = in.readLong();
+                lengths[ord] = in.readInt();
+                texts[ord] = readString(in);
+            }
+
+            int termCount = in.readInt();
+            TreeMap<String, Postings> postingMap = new TreeMap<>();
+            for (int t = 0; t < termCount; t++) {
+                String term = in.readUTF();
+                int size = in.readInt();
+                int[] ords = new int[size];
+                int[] tfs = new int[size];
+                int prev = 0;
+                for (int i = 0; i < size; i++) {
+                    ords[i] = prev + in.readInt();
+                    tfs[i] = in.readInt();
+                    prev = ords[i];
+                }
+                postingMap.put(term, new Postings(ords, tfs));
+            }
+
+            long[] tombstones = new long[in.readInt()];
+            for (int i = 0; i < tombstones.length; i++) {
+                tombstones[i] = in.readLong();
+            }
+            return new SearchSegment(generation, fileName, types, ids, topicIds, texts, lengths, postingMap, tombstones);
+        }
+    }
+
+    //writeUTF는 64KB까지만 쓸 수 있으므로 @Lob 본문은 길이 + UTF-8 바이트로 저장
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static class PostingsBuilder {
+        private int[] ords = new int[4];
+        private int[] tfs = new int[4];
+        private int size;
+
+        private void add(int ord, int tf) {
+            if (size == ords.length) {
+                ords = Arrays.copyOf(ords, size * 2);
+                tfs = Arrays.copyOf(tfs, size * 2);
+            }
+            ords[size] = ord;
+            tfs[size] = tf;
+            size++;
+        }
+
+        private Postings build() {
+            return new Postings(Arrays.copyOf(ords, size), Arrays.copyOf(tfs, size));
+        }
+    }
+}
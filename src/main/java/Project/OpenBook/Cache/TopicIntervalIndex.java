@@ -0,0 +1,266 @@
+package Project.OpenBook.Cache;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToIntFunction;
+
+/**
+ * 카테고리 하나에 속한 토픽들의 [시작연도, 종료연도] 구간 인덱스
+ * 토픽을 시작연도순, 종료연도순으로 정렬한 배열을 각각 가지고 있어서
+ * "date 이전에 끝난 토픽", "date 이후에 시작한 토픽"을 이분탐색 한번으로 연속된 구간으로 찾음
+ * 정렬 순서대로 선지 id도 평탄화해두었기 때문에 조건을 만족하는 선지들도 연속된 구간이 됨
+ *
+ * 불변 객체이고, 토픽 하나가 바뀌면 replace로 다시 정렬하지 않고 새 인덱스를 만듦
+ */
+class TopicIntervalIndex {
+
+    private static final ToIntFunction<Interval> START = i -> i.startDate;
+    private static final ToIntFunction<Interval> END = i -> i.endDate;
+
+    private final SortedTopics byStart;
+    private final SortedTopics byEnd;
+
+    private TopicIntervalIndex(SortedTopics byStart, SortedTopics byEnd) {
+        this.byStart = byStart;
+        this.byEnd = byEnd;
+    }
+
+    static TopicIntervalIndex of(List<Interval> intervalList) {
+        Interval[] intervals = intervalList.toArray(new Interval[0]);
+        Interval[] startSorted = intervals.clone();
+        Arrays.sort(startSorted, Comparator.comparingInt(START));
+        Interval[] endSorted = intervals.clone();
+        Arrays.sort(endSorted, Comparator.comparingInt(END));
+        return new TopicIntervalIndex(new SortedTopics(startSorted, START), new SortedTopics(endSorted, END));
+    }
+
+    /**
+     * topicId 토픽을 빼고 interval을 정렬된 위치에 끼워넣은 새 인덱스를 반환
+     * interval이 null이면 빼기만 함
+     */
+    TopicIntervalIndex replace(long topicId, Interval interval) {
+        return new TopicIntervalIndex(byStart.replace(topicId, interval), byEnd.replace(topicId, interval));
+    }
+
+    int size() {
+        return byStart.intervals.length;
+    }
+
+    /**
+     * 종료연도 < date 인 토픽들의 선지
+     */
+    List<Long> drawChoicesEndedBefore(int date, int num) {
+        return sample(null, num, byEnd.prefix(byEnd.lowerBound(date)));
+    }
+
+    /**
+     * 종료연도 <= date 인 토픽들의 선지중 하나 (exceptTopicId 제외)
+     */
+    Long drawChoiceEndedUntil(int date, Long exceptTopicId) {
+        return first(sample(exceptTopicId, 1, byEnd.prefix(byEnd.upperBound(date))));
+    }
+
+    /**
+     * 시작연도 > date 인 토픽들의 선지
+     */
+    List<Long> drawChoicesStartedAfter(int date, int num) {
+        return sample(null, num, byStart.suffix(byStart.upperBound(date)));
+    }
+
+    /**
+     * 시작연도 >= date 인 토픽들의 선지중 하나 (exceptTopicId 제외)
+     */
+    Long drawChoiceStartedFrom(int date, Long exceptTopicId) {
+        return first(sample(exceptTopicId, 1, byStart.suffix(byStart.lowerBound(date))));
+    }
+
+    /**
+     * [startDate, endDate] 구간과 겹치지 않는 토픽들의 선지
+     * 종료연도 < startDate 인 토픽과 시작연도 > endDate 인 토픽은 서로 겹치지 않으므로 두 구간을 이어서 추출
+     */
+    List<Long> drawChoicesOutside(int startDate, int endDate, int num) {
+        return sample(null, num, byEnd.prefix(byEnd.lowerBound(startDate)), byStart.suffix(byStart.upperBound(endDate)));
+    }
+
+    /**
+     * 위 추출 조건을 만족하는 선지 수 -> 이분탐색 한번
+     */
+    int countChoicesEndedBefore(int date) {
+        return byEnd.prefix(byEnd.lowerBound(date)).size();
+    }
+
+    int countChoicesEndedUntil(int date) {
+        return byEnd.prefix(byEnd.upperBound(date)).size();
+    }
+
+    int countChoicesStartedAfter(int date) {
+        return byStart.suffix(byStart.upperBound(date)).size();
+    }
+
+    int countChoicesStartedFrom(int date) {
+        return byStart.suffix(byStart.lowerBound(date)).size();
+    }
+
+    /**
+     * 여러 선지 구간을 이어붙인 [0, total) 위치에서 중복 없이 num개를 추출
+     * 필요한 만큼만 Fisher-Yates 셔플을 진행하고, 바뀐 위치만 map에 기록하므로 O(num + 제외된 선지 수)
+     */
+    private static List<Long> sample(Long exceptTopicId, int num, ChoiceRange... ranges) {
+        List<Long> result = new ArrayList<>();
+        int total = 0;
+        for (ChoiceRange range : ranges) {
+            total += range.size();
+        }
+        if (total == 0 || num <= 0) {
+            return result;
+        }
+
+        Random rand = ThreadLocalRandom.current();
+        Map<Integer, Integer> swapMap = new HashMap<>();
+        for (int i = 0; i < total && result.size() < num; i++) {
+            int j = i + rand.nextInt(total - i);
+            int position = swapMap.getOrDefault(j, j);
+            swapMap.put(j, swapMap.getOrDefault(i, i));
+
+            for (ChoiceRange range : ranges) {
+                if (position < range.size()) {
+                    int idx = range.from + position;
+                    if (exceptTopicId == null || range.topics.choiceTopicIds[idx] != exceptTopicId) {
+                        result.add(range.topics.choiceIds[idx]);
+                    }
+                    break;
+                }
+                position -= range.size();
+            }
+        }
+        return result;
+    }
+
+    private static Long first(List<Long> idList) {
+        return idList.isEmpty() ? null : idList.get(0);
+    }
+
+    static class Interval {
+        private final long topicId;
+        private final int startDate;
+        private final int endDate;
+        private final long[] choiceIds;
+
+        Interval(long topicId, int startDate, int endDate, long[] choiceIds) {
+            this.topicId = topicId;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.choiceIds = choiceIds;
+        }
+    }
+
+    /**
+     * key 순으로 정렬된 토픽 배열과, 같은 순서로 평탄화한 선지 배열
+     * topic i의 선지는 choiceIds[choiceOffsets[i] .. choiceOffsets[i+1])
+     */
+    private static class SortedTopics {
+        private final Interval[] intervals;
+        private final ToIntFunction<Interval> keyFunction;
+        private final int[] keys;
+        private final int[] choiceOffsets;
+        private final long[] choiceIds;
+        private final long[] choiceTopicIds;
+
+        private SortedTopics(Interval[] intervals, ToIntFunction<Interval> keyFunction) {
+            this.intervals = intervals;
+            this.keyFunction = keyFunction;
+            this.keys = new int[intervals.length];
+            this.choiceOffsets = new int[intervals.length + 1];
+
+            for (int i = 0; i < intervals.length; i++) {
+                keys[i] = keyFunction.applyAsInt(intervals[i]);
+                choiceOffsets[i + 1] = choiceOffsets[i] + intervals[i].choiceIds.length;
+            }
+            this.choiceIds = new long[choiceOffsets[intervals.length]];
+            this.choiceTopicIds = new long[choiceIds.length];
+            for (int i = 0; i < intervals.length; i++) {
+                long[] ids = intervals[i].choiceIds;
+                System.arraycopy(ids, 0, choiceIds, choiceOffsets[i], ids.length);
+                Arrays.fill(choiceTopicIds, choiceOffsets[i], choiceOffsets[i + 1], intervals[i].topicId);
+            }
+        }
+
+        private SortedTopics replace(long topicId, Interval interval) {
+            List<Interval> intervalList = new ArrayList<>(intervals.length + 1);
+            for (Interval i : intervals) {
+                if (i.topicId != topicId) {
+                    intervalList.add(i);
+                }
+            }
+            if (interval != null) {
+                //같은 key를 가진 토픽들 뒤에 삽입
+                int key = keyFunction.applyAsInt(interval);
+                int lo = 0, hi = intervalList.size();
+                while (lo < hi) {
+                    int mid = (lo + hi) >>> 1;
+                    if (keyFunction.applyAsInt(intervalList.get(mid)) <= key) {
+                        lo = mid + 1;
+                    } else {
+                        hi = mid;
+                    }
+                }
+                intervalList.add(lo, interval);
+            }
+            return new SortedTopics(intervalList.toArray(new Interval[0]), keyFunction);
+        }
+
+        //keys[idx] >= key 인 첫번째 위치
+        private int lowerBound(int key) {
+            int lo = 0, hi = keys.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (keys[mid] < key) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        //keys[idx] > key 인 첫번째 위치
+        private int upperBound(int key) {
+            int lo = 0, hi = keys.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (keys[mid] <= key) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        //앞에서부터 topicCount개 토픽의 선지 구간
+        private ChoiceRange prefix(int topicCount) {
+            return new ChoiceRange(this, 0, choiceOffsets[topicCount]);
+        }
+
+        //fromTopic번째 토픽부터 끝까지의 선지 구간
+        private ChoiceRange suffix(int fromTopic) {
+            return new ChoiceRange(this, choiceOffsets[fromTopic], choiceIds.length);
+        }
+    }
+
+    private static class ChoiceRange {
+        private final SortedTopics topics;
+        private final int from;
+        private final int to;
+
+        private ChoiceRange(SortedTopics topics, int from, int to) {
+            this.topics = topics;
+            this.from = from;
+            this.to = to;
+        }
+
+        private int size() {
+            return to - from;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package Project.OpenBook.Config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    /**
+     * 기본 executor -> 아래처럼 Executor 빈을 직접 만들면 스프링 부트가 applicationTaskExecutor를 만들지 않으므로 직접 등록
+     * 없으면 StreamingResponseBody(/admin/temp-questions, /admin/questions/export)와 이름 없는 @Async가
+     * 요청마다 스레드를 새로 만드는 SimpleAsyncTaskExecutor로 실행됨
+     * 크기는 spring.task.execution.pool.* 설정을 따름
+     */
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(TaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * dup_date 갱신용 executor
+     * 여러 토픽의 갱신이 동시에 실행되면 같은 쌍을 중복으로 넣을 수 있으므로 스레드 하나로 순서대로 처리
+     */
+    @Bean
+    public TaskExecutor dupDateExecutor(@Value("${dup-date.async:true}") boolean async) {
+        if (!async) {
+            return new SyncTaskExecutor();
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("dup-date-");
+        return executor;
+    }
+
+    /**
+     * 문제 생성시 서로 독립적인 조회를 병렬로 실행하는 executor
+     * 스레드마다 DB 커넥션을 하나씩 쓰므로 커넥션 풀보다 작게 잡고, 큐가 가득 차면 호출한 스레드에서 실행
+     */
+    @Bean
+    public ThreadPoolTaskExecutor questionFetchExecutor(@Value("${question.fetch.threads:4}") int threads,
+                                                        @Value("${question.fetch.queue:256}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("question-fetch-");
+        return executor;
+    }
+}
@@ -1,15 +1,21 @@
 package Project.OpenBook.Config;
 
+import Project.OpenBook.Handler.ImportLockInterceptor;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    private final ImportLockInterceptor importLockInterceptor;
+
     /**
      * Cors관련 설정
      * @param registry
@@ -31,5 +37,16 @@ public class WebConfig implements WebMvcConfigurer {
         registry.addResourceHandler("/**").addResourceLocations("classpath:/static/");
     }
 
+    /**
+     * 대량 입력 중 관리자 쓰기 요청 차단
+     * 대량 입력 자체와 DB에 쓰지 않는 문제 생성/초안 교체는 제외
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(importLockInterceptor)
+                .addPathPatterns("/admin/**")
+                .excludePathPatterns("/admin/imports/**", "/admin/temp-questions", "/admin/questions/drafts/*/reroll");
+    }
+
 
 }
@@ -24,6 +24,10 @@ public enum ErrorCode {
     QUESTION_ERROR(HttpStatus.BAD_REQUEST, "해당 유형의 문제를 생성할수 없습니다."),
     KEYWORD_HAS_TOPIC(HttpStatus.BAD_REQUEST, "해당 키워드를 가지는 토픽이 존재합니다."),
     NOT_SAVED_CHOICE(HttpStatus.BAD_REQUEST, "해당 보기와 내용이 겹친 선지가 아닙니다."),
+    TOPIC_NOT_FEASIBLE(HttpStatus.BAD_REQUEST, "해당 토픽으로는 이 유형의 문제를 만들 보기나 선지가 부족합니다."),
+    CATEGORY_NOT_FEASIBLE(HttpStatus.BAD_REQUEST, "해당 카테고리에 이 유형의 문제를 만들 수 있는 토픽이 없습니다."),
+    INVALID_IMPORT_ROW(HttpStatus.BAD_REQUEST, "형식이 잘못된 행입니다."),
+    IMPORT_SAVE_FAIL(HttpStatus.BAD_REQUEST, "같은 배치의 저장에 실패한 행입니다."),
 
 
     /**
@@ -44,6 +48,8 @@ public enum ErrorCode {
     DESCRIPTION_NOT_FOUND(HttpStatus.NOT_FOUND, "존재하지 않는 보기 ID입니다."),
     KEYWORD_NOT_FOUND(HttpStatus.NOT_FOUND, "존재하지 않는 키워드 이름입니다."),
     SENTENCE_NOT_FOUND(HttpStatus.NOT_FOUND, "존재하지 않는 문장 ID입니다."),
+    DRAFT_NOT_FOUND(HttpStatus.NOT_FOUND, "존재하지 않거나 만료된 문제 초안입니다."),
+    IMPORT_NOT_FOUND(HttpStatus.NOT_FOUND, "존재하지 않는 가져오기 ID입니다."),
     /**
      * 409 - CONFLICT
      */
@@ -54,6 +60,12 @@ public enum ErrorCode {
     DUP_KEYWORD_NAME(HttpStatus.CONFLICT, "중복된 키워드 입니다."),
     DUP_CHOICE_CONTENT(HttpStatus.CONFLICT, "중복된 선지내용입니다."),
     DUP_DESCRIPTION_CONTENT(HttpStatus.CONFLICT, "중복된 보기내용입니다."),
+    IMPORT_IN_PROGRESS(HttpStatus.CONFLICT, "대량 입력이 진행 중입니다. 잠시 후 다시 시도해주세요."),
+
+    /**
+     * 503 - SERVICE_UNAVAILABLE
+     */
+    SEARCH_INDEX_LOADING(HttpStatus.SERVICE_UNAVAILABLE, "검색 인덱스를 준비하고 있습니다. 잠시 후 다시 시도해주세요."),
 
     ;
 
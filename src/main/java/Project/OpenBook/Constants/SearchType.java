@@ -0,0 +1,8 @@
+package Project.OpenBook.Constants;
+
+/**
+ * 검색 대상 -> 토픽(제목 + 상세정보), 보기, 선지, 문장
+ */
+public enum SearchType {
+    TOPIC, DESCRIPTION, CHOICE, SENTENCE
+}
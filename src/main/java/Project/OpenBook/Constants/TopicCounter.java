@@ -0,0 +1,22 @@
+package Project.OpenBook.Constants;
+
+/**
+ * 토픽별로 유지하는 개수 -> topic 테이블의 컬럼
+ * 문제 수는 정답 선지가 해당 토픽인 문제의 수
+ */
+public enum TopicCounter {
+    CHOICE("choice_num"),
+    DESCRIPTION("description_num"),
+    KEYWORD("keyword_num"),
+    QUESTION("question_num");
+
+    private final String column;
+
+    TopicCounter(String column) {
+        this.column = column;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+}
@@ -0,0 +1,46 @@
+package Project.OpenBook.Controller;
+
+import Project.OpenBook.Dto.bulk.BulkImportResultDto;
+import Project.OpenBook.Service.BulkImportService;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+
+@RestController
+@RequiredArgsConstructor
+public class BulkImportController {
+
+    private final BulkImportService bulkImportService;
+
+    @ApiOperation("단원, 토픽, 선지, 보기 대량 입력 (요청 본문을 NDJSON 또는 CSV로 한 줄씩 읽음)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "입력 완료, 잘못된 행은 줄 번호와 함께 errorList로 반환"),
+            @ApiResponse(responseCode = "400", description = "지원하지 않는 형식 입력")
+    })
+    @PostMapping("/admin/imports")
+    public ResponseEntity importRows(@RequestParam(value = "format", defaultValue = BulkImportService.NDJSON) String format,
+                                     HttpServletRequest request) throws IOException {
+        BulkImportResultDto resultDto = bulkImportService.importRows(request.getInputStream(), format);
+
+        return new ResponseEntity(resultDto, HttpStatus.OK);
+    }
+
+    @ApiOperation("대량 입력 진행 상황 조회")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "성공적인 조회"),
+            @ApiResponse(responseCode = "404", description = "존재하지 않는 가져오기 ID 입력")
+    })
+    @GetMapping("/admin/imports/{importId}")
+    public ResponseEntity queryProgress(@PathVariable String importId) {
+        BulkImportResultDto resultDto = bulkImportService.queryProgress(importId);
+
+        return new ResponseEntity(resultDto, HttpStatus.OK);
+    }
+}
@@ -19,6 +19,9 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class KeywordController {
 
+    //자동완성 한번에 돌려주는 최대 개수
+    private static final int MAX_AUTOCOMPLETE_LIMIT = 50;
+
     private final KeywordService keywordService;
 
     @ApiOperation(value = "전체 키워드 조회")
@@ -32,6 +35,18 @@ public class KeywordController {
     }
 
 
+    @ApiOperation(value = "키워드 자동완성", notes = "입력중인 글자(자모 단위)로 시작하는 키워드를 limit개까지 조회")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "키워드 자동완성 조회 성공")
+    })
+    @GetMapping("/keywords/autocomplete")
+    public ResponseEntity queryKeywordAutocomplete(@RequestParam("prefix") String prefix,
+                                                   @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        List<KeywordDto> keywordList = keywordService.queryKeywordAutocomplete(prefix, Math.min(Math.max(limit, 1), MAX_AUTOCOMPLETE_LIMIT)).stream().map(k -> new KeywordDto(k)).collect(Collectors.toList());
+        return new ResponseEntity(keywordList, HttpStatus.OK);
+    }
+
+
     @ApiOperation(value = "특정 키워드를 가지는 모든 토픽 조회")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "특정 키워드를 가지는 모든 토픽 조회 성공"),
@@ -2,19 +2,36 @@ package Project.OpenBook.Controller;
 
 import Project.OpenBook.Domain.Question;
 import Project.OpenBook.Dto.error.ErrorDto;
+import Project.OpenBook.Dto.question.QuestionBatchDto;
+import Project.OpenBook.Dto.question.QuestionCacheStatDto;
+import Project.OpenBook.Dto.question.QuestionCapacityDto;
 import Project.OpenBook.Dto.question.QuestionDto;
+import Project.OpenBook.Dto.question.QuestionPoolStatDto;
+import Project.OpenBook.Dto.question.QuestionRerollDto;
+import Project.OpenBook.Dto.question.QuestionStageStatDto;
 import Project.OpenBook.Service.CategoryService;
+import Project.OpenBook.Service.QuestionExportService;
 import Project.OpenBook.Service.QuestionService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -25,6 +42,8 @@ public class QuestionController {
 
     private final QuestionService questionService;
     private final CategoryService categoryService;
+    private final QuestionExportService questionExportService;
+    private final ObjectMapper objectMapper;
 
     @ApiOperation("문제를 임의로 생성해 보여줌")
     @ApiResponses(value = {
@@ -39,15 +58,117 @@ public class QuestionController {
         return new ResponseEntity(questionDto, HttpStatus.OK);
     }
 
+    @ApiOperation(value = "문제를 여러개 임의로 생성해 보여줌", notes = "문제 유형 목록을 순서대로 돌아가며 count개의 문제를 생성")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "성공적인 문제 생성, 선지 부족으로 만들 수 없는 문제는 빠짐"),
+            @ApiResponse(responseCode = "400", description = "잘못된 입력"),
+            @ApiResponse(responseCode = "404", description = "존재하지 않는 카테고리 입력")
+    })
+    @PostMapping("/admin/temp-questions")
+    public ResponseEntity<StreamingResponseBody> makeTempQuestions(@Validated @RequestBody QuestionBatchDto questionBatchDto) {
+        String categoryName = questionBatchDto.getCategoryName();
+        List<Long> typeList = questionBatchDto.getTypeList();
+        questionService.checkQuestionBatch(categoryName, typeList);
+
+        //문제를 만들 때마다 바로 써서 보냄
+        StreamingResponseBody body = out -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+            generator.writeStartArray();
+            questionService.makeQuestions(categoryName, typeList, questionBatchDto.getCount(), questionDto -> {
+                try {
+                    objectMapper.writeValue(generator, questionDto);
+                    generator.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndArray();
+            generator.close();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @ApiOperation(value = "미리 생성해둔 문제 현황 조회", notes = "(문제 유형, 카테고리)별 채워진 문제 수와 적중률")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "성공적인 조회")
+    })
+    @GetMapping("/admin/question-pool")
+    public ResponseEntity queryQuestionPool() {
+        List<QuestionPoolStatDto> questionPoolStatDtoList = questionService.queryQuestionPoolStats();
+        return new ResponseEntity(questionPoolStatDtoList, HttpStatus.OK);
+    }
+
+    @ApiOperation(value = "단원별 문제 생성 가능량 조회", notes = "단원별 토픽, 보기, 선지 수와 1, 3, 4번 유형의 정답 토픽이 될 수 있는 토픽 수")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "성공적인 조회")
+    })
+    @GetMapping("/admin/question-capacity")
+    public ResponseEntity queryQuestionCapacity() {
+        List<QuestionCapacityDto> questionCapacityDtoList = questionService.queryQuestionCapacity();
+        return new ResponseEntity(questionCapacityDtoList, HttpStatus.OK);
+    }
+
+    @ApiOperation(value = "문제 생성 단계별 소요 시간 조회", notes = "카테고리 확인, 토픽 조회, 선지 선정, 선지/보기 내용 조회 단계별 횟수와 평균/최대 시간")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "성공적인 조회")
+    })
+    @GetMapping("/admin/question-stages")
+    public ResponseEntity queryQuestionStages() {
+        List<QuestionStageStatDto> questionStageStatDtoList = questionService.queryQuestionStageStats();
+        return new ResponseEntity(questionStageStatDtoList, HttpStatus.OK);
+    }
+
+    @ApiOperation(value = "저장된 문제 캐시 현황 조회", notes = "캐시된 문제 수, 크기, 적중/제거 횟수")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "성공적인 조회")
+    })
+    @GetMapping("/admin/question-cache")
+    public ResponseEntity queryQuestionCache() {
+        QuestionCacheStatDto questionCacheStatDto = questionService.queryQuestionCacheStats();
+        return new ResponseEntity(questionCacheStatDto, HttpStatus.OK);
+    }
+
     @ApiOperation("문제 조회")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "성공적인 문제 조회"),
             @ApiResponse(responseCode = "404", description = "존재하지 않는 문제 조회 요청")
     })
     @GetMapping("/questions/{id}")
-    public ResponseEntity queryQuestion(@PathVariable Long id) {
-        QuestionDto questionDto = questionService.queryQuestion(id);
-        return new ResponseEntity(questionDto, HttpStatus.OK);
+    public ResponseEntity<byte[]> queryQuestion(@PathVariable Long id) {
+        byte[] json = questionService.queryQuestionJson(id);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json);
+    }
+
+    @ApiOperation(value = "여러 문제 한번에 조회", notes = "입력한 id 순서대로 반환하고 존재하지 않는 문제 id는 제외, id는 최대 100개")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "성공적인 문제 조회"),
+            @ApiResponse(responseCode = "400", description = "id를 100개보다 많이 입력")
+    })
+    @GetMapping("/questions")
+    public ResponseEntity queryQuestions(@RequestParam("id") List<Long> idList) {
+        List<QuestionDto> questionDtoList = questionService.queryQuestions(idList);
+        return new ResponseEntity(questionDtoList, HttpStatus.OK);
+    }
+
+    @ApiOperation(value = "문제 전체 내보내기", notes = "문제 하나당 한 줄인 NDJSON을 gzip으로 압축한 파일, 카테고리/유형/수정 시간(ISO 형식)으로 거를 수 있음")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "성공적인 내보내기"),
+            @ApiResponse(responseCode = "400", description = "잘못된 문제 유형 입력"),
+            @ApiResponse(responseCode = "404", description = "존재하지 않는 카테고리 입력")
+    })
+    @GetMapping("/admin/questions/export")
+    public ResponseEntity<StreamingResponseBody> exportQuestions(@RequestParam(value = "category", required = false) String categoryName,
+                                                                 @RequestParam(value = "type", required = false) Long type,
+                                                                 @RequestParam(value = "modified-since", required = false)
+                                                                 @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime modifiedSince) {
+        questionExportService.checkFilter(categoryName, type);
+
+        StreamingResponseBody body = out -> questionExportService.exportQuestions(categoryName, type, modifiedSince, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("questions.ndjson.gz").build().toString())
+                .body(body);
     }
 
     @ApiOperation("문제 생성")
@@ -64,6 +185,31 @@ public class QuestionController {
         return new ResponseEntity(question.getId(), HttpStatus.CREATED);
     }
 
+    @ApiOperation(value = "문제 초안의 선지/보기 다시 뽑기", notes = "선지 위치 목록과 보기 여부를 받아 한번에 같은 토픽의 다른 선지/보기로 교체")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "성공적인 교체"),
+            @ApiResponse(responseCode = "400", description = "잘못된 선지 위치 입력"),
+            @ApiResponse(responseCode = "404", description = "존재하지 않거나 만료된 초안")
+    })
+    @PostMapping("/admin/questions/drafts/{draftId}/reroll")
+    public ResponseEntity rerollDraft(@PathVariable("draftId") String draftId, @RequestBody QuestionRerollDto questionRerollDto) {
+        QuestionDto questionDto = questionService.rerollDraft(draftId, questionRerollDto);
+        return new ResponseEntity(questionDto, HttpStatus.OK);
+    }
+
+    @ApiOperation(value = "문제 초안 저장", notes = "임의로 생성한 문제의 draftId로 문제를 저장")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "성공적인 문제 생성"),
+            @ApiResponse(responseCode = "404", description = "존재하지 않거나 만료된 초안으로 인한 문제 생성 실패")
+    })
+    @PostMapping("/admin/questions/drafts/{draftId}")
+    public ResponseEntity addQuestionByDraft(@PathVariable("draftId") String draftId) {
+
+        Question question = questionService.addQuestionByDraft(draftId);
+
+        return new ResponseEntity(question.getId(), HttpStatus.CREATED);
+    }
+
     @ApiOperation("문제 수정")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "성공적인 문제 수정"),
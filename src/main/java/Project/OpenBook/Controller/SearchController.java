@@ -0,0 +1,42 @@
+package Project.OpenBook.Controller;
+
+import Project.OpenBook.Constants.SearchType;
+import Project.OpenBook.Dto.search.SearchResultDto;
+import Project.OpenBook.Service.SearchService;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class SearchController {
+
+    //상위 (page + 1) * size개를 힙에 유지하므로 둘 다 제한
+    private static final int MAX_PAGE = 50;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final SearchService searchService;
+
+    @ApiOperation(value = "토픽, 보기, 선지, 문장 전문 검색", notes = "검색어의 두 글자 단위 조각을 모두 포함하는 항목을 관련도순으로 조회, type을 주면 해당 종류만 조회")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "검색 성공"),
+            @ApiResponse(responseCode = "400", description = "잘못된 검색 대상 입력"),
+            @ApiResponse(responseCode = "503", description = "기동 직후 검색 인덱스를 준비하는 중")
+    })
+    @GetMapping("/search")
+    public ResponseEntity search(@RequestParam("query") String query,
+                                 @RequestParam(value = "type", required = false) SearchType type,
+                                 @RequestParam(value = "page", defaultValue = "0") int page,
+                                 @RequestParam(value = "size", defaultValue = "20") int size) {
+        int pageNum = Math.min(Math.max(page, 0), MAX_PAGE);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        SearchResultDto searchResultDto = searchService.search(query, type, pageNum, pageSize);
+        return new ResponseEntity(searchResultDto, HttpStatus.OK);
+    }
+}
@@ -26,8 +26,22 @@ import java.util.stream.Collectors;
 @RestController
 public class TopicController {
 
+    //자동완성 한번에 돌려주는 최대 개수
+    private static final int MAX_AUTOCOMPLETE_LIMIT = 50;
+
     private final TopicService topicService;
 
+    @ApiOperation(value = "토픽 제목 자동완성", notes = "입력중인 글자(자모 단위)로 시작하는 토픽 제목을 limit개까지 조회")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "토픽 제목 자동완성 조회 성공")
+    })
+    @GetMapping("/topics/autocomplete")
+    public ResponseEntity queryTopicAutocomplete(@RequestParam("prefix") String prefix,
+                                                 @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        List<TopicTitleDto> topicTitleList = topicService.queryTopicAutocomplete(prefix, Math.min(Math.max(limit, 1), MAX_AUTOCOMPLETE_LIMIT)).stream().map(t -> new TopicTitleDto(t)).collect(Collectors.toList());
+        return new ResponseEntity(topicTitleList, HttpStatus.OK);
+    }
+
     @ApiOperation(value = "각 토픽에 대한 상세정보 조회")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "토픽 상세정보 조회 성공")
@@ -0,0 +1,54 @@
+package Project.OpenBook.Dataset;
+
+import Project.OpenBook.Dto.bulk.BulkImportResultDto;
+import Project.OpenBook.Service.BulkImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * import.file을 지정해서 실행하면 기동 시 해당 파일을 대량 입력
+ * 형식은 import.format이 없으면 확장자로 판단 (.csv -> csv, 나머지 -> ndjson)
+ * ex) ./gradlew bootRun --args='--import.file=/data/topics.ndjson'
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "import.file")
+public class BulkImportRunner implements ApplicationRunner {
+
+    private final BulkImportService bulkImportService;
+
+    @Value("${import.file}")
+    private String file;
+
+    @Value("${import.format:}")
+    private String format;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        Path path = Path.of(file);
+        String inputFormat = format;
+        if (inputFormat.isEmpty()) {
+            inputFormat = path.getFileName().toString().toLowerCase().endsWith(".csv") ? BulkImportService.CSV
+                    : BulkImportService.NDJSON;
+        }
+
+        BulkImportResultDto resultDto;
+        try (InputStream in = Files.newInputStream(path)) {
+            resultDto = bulkImportService.importRows(in, inputFormat);
+        }
+        log.info("대량 입력 {} {}줄 성공={} 실패={}", path, resultDto.getLineCount(), resultDto.getSuccessCount(),
+                resultDto.getErrorCount());
+        resultDto.getErrorList().forEach(e -> log.info("{}번째 줄: {}", e.getLine(), e.getErrorMessage()));
+    }
+}
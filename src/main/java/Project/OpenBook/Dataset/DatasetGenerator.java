@@ -0,0 +1,467 @@
+package Project.OpenBook.Dataset;
+
+import Project.OpenBook.Utils.HashUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * 부하 테스트와 벤치마크에 사용할 대량의 데이터를 JDBC 배치 insert로 생성
+ * 챕터, 카테고리, 토픽(연도 구간), 선지, 보기, dup_content, dup_date, 키워드, 회원, 문제, 오답노트, 북마크를 만듦
+ * 각 테이블의 id는 현재 최대 id 다음부터 직접 지정하므로 기존 데이터가 있어도 추가로 생성할 수 있음
+ *
+ * MariaDB에서는 JDBC url에 useBulkStmts/rewriteBatchedStatements를 켜야 배치가 한번에 전송됨
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DatasetGenerator {
+
+    public static final List<String> CATEGORIES = Arrays.asList("사건", "인물", "국가", "제도", "유물", "문화");
+    //카테고리별 토픽 비율
+    private static final double[] CATEGORY_WEIGHTS = {0.4, 0.25, 0.05, 0.1, 0.1, 0.1};
+
+    private static final int MIN_YEAR = -2333;
+    private static final int MAX_YEAR = 1945;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void generate(DatasetProperties properties) {
+        new Run(properties).generate();
+    }
+
+    /**
+     * 생성 한번에 필요한 상태 -> 토픽별 선지/보기 id 구간을 배열로 들고 있음
+     */
+    private class Run {
+        private final DatasetProperties properties;
+        private final Random rand;
+        private final String now = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd-HH:mm:ss"));
+
+        private long[] categoryIds;
+        private long[] chapterIds;
+        private long[] topicIds;
+        private int[] topicCategory;
+        private int[] startDates;
+        private int[] endDates;
+        //토픽 i의 선지 id는 choiceFrom[i] .. choiceFrom[i] + choiceCount[i] - 1
+        private long[] choiceFrom;
+        private int[] choiceCount;
+        private long[] descriptionFrom;
+        private int[] descriptionCount;
+        private long[] questionIds;
+        private long[] customerIds;
+
+        private Run(DatasetProperties properties) {
+            this.properties = properties;
+            this.rand = new Random(properties.getSeed());
+        }
+
+        private void generate() {
+            long begin = System.currentTimeMillis();
+            insertCategories();
+            insertChapters();
+            insertTopics();
+            insertChoices();
+            insertDescriptions();
+            insertDupContents();
+            insertDupDates();
+            insertKeywords();
+            insertCustomers();
+            insertQuestions();
+            insertAnswerNotes();
+            insertBookmarks();
+            log.info("dataset 생성 완료 seed={} {}ms", properties.getSeed(), System.currentTimeMillis() - begin);
+        }
+
+        private void insertCategories() {
+            categoryIds = new long[CATEGORIES.size()];
+            for (int i = 0; i < CATEGORIES.size(); i++) {
+                String name = CATEGORIES.get(i);
+                List<Long> idList = jdbcTemplate.queryForList("select id from category where name = ?", Long.class, name);
+                if (idList.isEmpty()) {
+                    jdbcTemplate.update("insert into category (name, created_time, modified_time) values (?, ?, ?)", name, now, now);
+                    idList = jdbcTemplate.queryForList("select id from category where name = ?", Long.class, name);
+                }
+                categoryIds[i] = idList.get(0);
+            }
+        }
+
+        private void insertChapters() {
+            long id = nextId("chapter");
+            int number = jdbcTemplate.queryForObject("select coalesce(max(number), 0) from chapter", Integer.class) + 1;
+            chapterIds = new long[properties.getChapters()];
+            try (BatchWriter writer = writer("insert into chapter (id, number, title, created_time, modified_time) values (?, ?, ?, ?, ?)")) {
+                for (int i = 0; i < chapterIds.length; i++, id++, number++) {
+                    chapterIds[i] = id;
+                    writer.add(id, number, number + "단원 " + text(2, 6), now, now);
+                }
+            }
+        }
+
+        /**
+         * 연도는 근현대로 갈수록 많아지도록, 기간은 35%가 한 해에 일어난 사건이고 나머지는 평균 40년
+         * 단원은 시작연도 순서대로 나눔
+         */
+        private void insertTopics() {
+            int n = properties.getTopics();
+            topicIds = new long[n];
+            topicCategory = new int[n];
+            startDates = new int[n];
+            endDates = new int[n];
+            for (int i = 0; i < n; i++) {
+                startDates[i] = MAX_YEAR - (int) (Math.pow(rand.nextDouble(), 2.5) * (MAX_YEAR - MIN_YEAR));
+                int length = rand.nextDouble() < 0.35 ? 0 : Math.min(500, (int) exponential(40));
+                endDates[i] = Math.min(MAX_YEAR, startDates[i] + length);
+                topicCategory[i] = pick(CATEGORY_WEIGHTS);
+            }
+
+            Integer[] order = new Integer[n];
+            for (int i = 0; i < n; i++) order[i] = i;
+            Arrays.sort(order, Comparator.comparingInt(i -> startDates[i]));
+            int[] chapterOf = new int[n];
+            for (int rank = 0; rank < n; rank++) {
+                chapterOf[order[rank]] = (int) ((long) rank * chapterIds.length / n);
+            }
+
+            long id = nextId("topic");
+            try (BatchWriter writer = writer("insert into topic (id, title, start_date, end_date, question_num, choice_num, detail, chapter_id, category_id, created_time, modified_time) " +
+                    "values (?, ?, ?, ?, 0, 0, ?, ?, ?, ?, ?)")) {
+                for (int i = 0; i < n; i++, id++) {
+                    topicIds[i] = id;
+                    writer.add(id, text(2, 8) + "#" + id, startDates[i], endDates[i], text(20, 80),
+                            chapterIds[chapterOf[i]], categoryIds[topicCategory[i]], now, now);
+                }
+            }
+        }
+
+        private void insertChoices() {
+            choiceCount = allocate(properties.getChoicesPerTopic());
+            choiceFrom = new long[topicIds.length];
+            long id = nextId("choice");
+            try (BatchWriter writer = writer("insert into choice (id, content, content_hash, topic_id, created_time, modified_time) values (?, ?, ?, ?, ?, ?)")) {
+                for (int i = 0; i < topicIds.length; i++) {
+                    choiceFrom[i] = id;
+                    for (int c = 0; c < choiceCount[i]; c++, id++) {
+                        String content = text(10, 40) + "#" + id;
+                        writer.add(id, content, HashUtils.contentHash(content), topicIds[i], now, now);
+                    }
+                }
+            }
+        }
+
+        private void insertDescriptions() {
+            descriptionCount = allocate(properties.getDescriptionsPerTopic());
+            descriptionFrom = new long[topicIds.length];
+            long id = nextId("description");
+            try (BatchWriter writer = writer("insert into description (id, content, content_hash, topic_id, created_time, modified_time) values (?, ?, ?, ?, ?, ?)")) {
+                for (int i = 0; i < topicIds.length; i++) {
+                    descriptionFrom[i] = id;
+                    for (int d = 0; d < descriptionCount[i]; d++, id++) {
+                        String content = text(30, 120) + "#" + id;
+                        writer.add(id, content, HashUtils.contentHash(content), topicIds[i], now, now);
+                    }
+                }
+            }
+        }
+
+        //보기와 내용이 겹치는 선지는 같은 토픽의 선지에서 고름
+        private void insertDupContents() {
+            try (BatchWriter writer = writer("insert into dup_content (description_id, choice_id, created_time, modified_time) values (?, ?, ?, ?)")) {
+                for (int i = 0; i < topicIds.length; i++) {
+                    for (int d = 0; d < descriptionCount[i]; d++) {
+                        int k = Math.min(choiceCount[i], geometric(properties.getDupContentsPerDescription()));
+                        for (int c : distinct(choiceCount[i], k)) {
+                            writer.add(descriptionFrom[i] + d, choiceFrom[i] + c, now, now);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * 정답 토픽의 기간이 보기 토픽의 기간 안에 완전히 포함되는 쌍
+         * 시작연도순으로 정렬한 뒤 각 토픽의 종료연도 전에 시작한 토픽들만 훑음
+         */
+        private void insertDupDates() {
+            Integer[] order = new Integer[topicIds.length];
+            for (int i = 0; i < order.length; i++) order[i] = i;
+            Arrays.sort(order, Comparator.comparingInt(i -> startDates[i]));
+
+            try (BatchWriter writer = writer("insert into dup_date (answer_topic_id, description_topic_id, created_time, modified_time) values (?, ?, ?, ?)")) {
+                for (int a = 0; a < order.length; a++) {
+                    int outer = order[a];
+                    for (int b = a + 1; b < order.length && startDates[order[b]] < endDates[outer]; b++) {
+                        int inner = order[b];
+                        if (startDates[inner] > startDates[outer] && endDates[inner] < endDates[outer]) {
+                            writer.add(topicIds[inner], topicIds[outer], now, now);
+                        }
+                    }
+                }
+            }
+        }
+
+        private void insertKeywords() {
+            int n = properties.getKeywords();
+            if (n == 0) {
+                return;
+            }
+            long[] keywordIds = new long[n];
+            long id = nextId("keyword");
+            try (BatchWriter writer = writer("insert into keyword (id, name, created_time, modified_time) values (?, ?, ?, ?)")) {
+                for (int i = 0; i < n; i++, id++) {
+                    keywordIds[i] = id;
+                    writer.add(id, text(2, 6) + "#" + id, now, now);
+                }
+            }
+
+            ZipfSampler sampler = new ZipfSampler(n, properties.getSkew());
+            try (BatchWriter writer = writer("insert into topic_keyword (topic_id, keyword_id, created_time, modified_time) values (?, ?, ?, ?)")) {
+                for (long topicId : topicIds) {
+                    for (int k : sampler.distinct(Math.min(n, geometric(properties.getKeywordsPerTopic())))) {
+                        writer.add(topicId, keywordIds[k], now, now);
+                    }
+                }
+            }
+        }
+
+        private void insertCustomers() {
+            customerIds = new long[properties.getCustomers()];
+            long id = nextId("customer");
+            try (BatchWriter writer = writer("insert into customer (id, nick_name, solved_num, age, expertise, role, provider, is_new, is_subscribed, created_time, modified_time) " +
+                    "values (?, ?, 0, ?, ?, 'USER', 'kakao', 0, 1, ?, ?)")) {
+                for (int i = 0; i < customerIds.length; i++, id++) {
+                    customerIds[i] = id;
+                    writer.add(id, "user#" + id, 14 + rand.nextInt(50), 1 + rand.nextInt(5), now, now);
+                }
+            }
+        }
+
+        /**
+         * 정답 토픽의 선지 1개와 같은 카테고리 다른 토픽의 선지 4개, 정답 토픽의 보기 1개로 문제를 만듦
+         */
+        private void insertQuestions() {
+            int n = properties.getQuestions();
+            List<List<Integer>> categoryTopics = new ArrayList<>();
+            for (int c = 0; c < categoryIds.length; c++) categoryTopics.add(new ArrayList<>());
+            for (int i = 0; i < topicIds.length; i++) {
+                if (descriptionCount[i] > 0) categoryTopics.get(topicCategory[i]).add(i);
+            }
+
+            List<Long> questionIdList = new ArrayList<>();
+            long id = nextId("question");
+            try (BatchWriter questionWriter = writer("insert into question (id, prompt, answer_choice_id, type, category_id, created_time, modified_time) values (?, ?, ?, ?, ?, ?, ?)");
+                 BatchWriter choiceWriter = writer("insert into question_choice (question_id, choice_id, created_time, modified_time) values (?, ?, ?, ?)");
+                 BatchWriter descriptionWriter = writer("insert into question_description (question_id, description_id, created_time, modified_time) values (?, ?, ?, ?)")) {
+                for (int q = 0; q < n; q++) {
+                    List<Integer> topicList = categoryTopics.get(pick(CATEGORY_WEIGHTS));
+                    if (topicList.size() < 5) {
+                        continue;
+                    }
+                    List<Integer> picked = new ArrayList<>();
+                    for (int idx : distinct(topicList.size(), 5)) picked.add(topicList.get(idx));
+
+                    int answerTopic = picked.get(0);
+                    long answerChoiceId = choiceFrom[answerTopic] + rand.nextInt(choiceCount[answerTopic]);
+                    long descriptionId = descriptionFrom[answerTopic] + rand.nextInt(descriptionCount[answerTopic]);
+
+                    questionWriter.add(id, text(10, 30), answerChoiceId, 1 + rand.nextInt(4), categoryIds[topicCategory[answerTopic]], now, now);
+                    for (int p = 1; p < picked.size(); p++) {
+                        int topic = picked.get(p);
+                        choiceWriter.add(id, choiceFrom[topic] + rand.nextInt(choiceCount[topic]), now, now);
+                    }
+                    choiceWriter.add(id, answerChoiceId, now, now);
+                    descriptionWriter.add(id, descriptionId, now, now);
+                    questionIdList.add(id);
+                    id++;
+                }
+            }
+            questionIds = questionIdList.stream().mapToLong(Long::longValue).toArray();
+        }
+
+        //많이 틀리는 문제는 일부에 몰리도록 zipf 분포로 고름
+        private void insertAnswerNotes() {
+            if (questionIds.length == 0) {
+                return;
+            }
+            ZipfSampler sampler = new ZipfSampler(questionIds.length, properties.getSkew());
+            try (BatchWriter writer = writer("insert into answer_note (customer_id, question_id, created_time, modified_time) values (?, ?, ?, ?)")) {
+                for (long customerId : customerIds) {
+                    int k = Math.min(questionIds.length, geometric(properties.getAnswerNotesPerCustomer()));
+                    for (int q : sampler.distinct(k)) {
+                        writer.add(customerId, questionIds[q], now, now);
+                    }
+                }
+            }
+        }
+
+        private void insertBookmarks() {
+            ZipfSampler sampler = new ZipfSampler(topicIds.length, properties.getSkew());
+            try (BatchWriter writer = writer("insert into bookmark (customer_id, topic_id, created_time, modified_time) values (?, ?, ?, ?)")) {
+                for (long customerId : customerIds) {
+                    int k = Math.min(topicIds.length, geometric(properties.getBookmarksPerCustomer()));
+                    for (int t : sampler.distinct(k)) {
+                        writer.add(customerId, topicIds[t], now, now);
+                    }
+                }
+            }
+        }
+
+        /**
+         * 토픽별 개수를 평균 mean이 되도록 zipf 분포로 배분 (토픽마다 최소 1개)
+         * 인기 순위는 토픽마다 무작위로 섞음
+         */
+        private int[] allocate(int mean) {
+            int n = topicIds.length;
+            int[] counts = new int[n];
+            if (n == 0) {
+                return counts;
+            }
+            double[] weights = new double[n];
+            double sum = 0;
+            for (int rank = 0; rank < n; rank++) {
+                weights[rank] = 1.0 / Math.pow(rank + 1, properties.getSkew());
+                sum += weights[rank];
+            }
+            int[] ranks = distinct(n, n);
+            double total = (double) mean * n;
+            for (int i = 0; i < n; i++) {
+                double expected = total * weights[ranks[i]] / sum;
+                int count = (int) expected + (rand.nextDouble() < expected - (int) expected ? 1 : 0);
+                counts[i] = Math.max(1, count);
+            }
+            return counts;
+        }
+
+        //[0, n)에서 중복 없이 k개를 고름 -> 부분 Fisher-Yates
+        private int[] distinct(int n, int k) {
+            Map<Integer, Integer> swapMap = new HashMap<>();
+            int[] result = new int[k];
+            for (int i = 0; i < k; i++) {
+                int j = i + rand.nextInt(n - i);
+                result[i] = swapMap.getOrDefault(j, j);
+                swapMap.put(j, swapMap.getOrDefault(i, i));
+            }
+            return result;
+        }
+
+        private int pick(double[] weights) {
+            double r = rand.nextDouble(), acc = 0;
+            for (int i = 0; i < weights.length; i++) {
+                acc += weights[i];
+                if (r < acc) return i;
+            }
+            return weights.length - 1;
+        }
+
+        private double exponential(double mean) {
+            return -mean * Math.log(1 - rand.nextDouble());
+        }
+
+        //평균이 mean인 기하분포 (0 이상)
+        private int geometric(int mean) {
+            if (mean <= 0) {
+                return 0;
+            }
+            double p = 1.0 / (mean + 1);
+            return (int) (Math.log(1 - rand.nextDouble()) / Math.log(1 - p));
+        }
+
+        //무작위 한글 음절로 이루어진 문장
+        private String text(int minLength, int maxLength) {
+            int length = minLength + rand.nextInt(maxLength - minLength + 1);
+            StringBuilder sb = new StringBuilder(length);
+            for (int i = 0; i < length; i++) {
+                if (i > 0 && rand.nextInt(5) == 0) {
+                    sb.append(' ');
+                } else {
+                    sb.append((char) (0xAC00 + rand.nextInt(0xD7A3 - 0xAC00 + 1)));
+                }
+            }
+            return sb.toString();
+        }
+
+        private long nextId(String table) {
+            return jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table, Long.class) + 1;
+        }
+
+        private BatchWriter writer(String sql) {
+            return new BatchWriter(sql, properties.getBatchSize());
+        }
+
+        /**
+         * [0, n) 범위를 zipf 분포로 추출 -> 누적 가중치 배열에서 이분탐색
+         */
+        private class ZipfSampler {
+            private final double[] cumulative;
+
+            private ZipfSampler(int n, double skew) {
+                cumulative = new double[n];
+                double sum = 0;
+                for (int i = 0; i < n; i++) {
+                    sum += 1.0 / Math.pow(i + 1, skew);
+                    cumulative[i] = sum;
+                }
+            }
+
+            private int next() {
+                double r = rand.nextDouble() * cumulative[cumulative.length - 1];
+                int idx = Arrays.binarySearch(cumulative, r);
+                return Math.min(cumulative.length - 1, idx >= 0 ? idx : -idx - 1);
+            }
+
+            private int[] distinct(int k) {
+                Set<Integer> picked = new LinkedHashSet<>();
+                //인기 항목에 몰리면 중복이 많아지므로 시도 횟수를 제한하고 부족하면 균등하게 채움
+                for (int i = 0; i < k * 10 && picked.size() < k; i++) {
+                    picked.add(next());
+                }
+                while (picked.size() < k) {
+                    picked.add(rand.nextInt(cumulative.length));
+                }
+                return picked.stream().mapToInt(Integer::intValue).toArray();
+            }
+        }
+    }
+
+    /**
+     * batchSize개씩 모아서 batchUpdate
+     */
+    private class BatchWriter implements AutoCloseable {
+        private final String sql;
+        private final int batchSize;
+        private final List<Object[]> rows = new ArrayList<>();
+        private long count;
+
+        private BatchWriter(String sql, int batchSize) {
+            this.sql = sql;
+            this.batchSize = batchSize;
+        }
+
+        private void add(Object... row) {
+            rows.add(row);
+            if (rows.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                count += rows.size();
+                rows.clear();
+            }
+        }
+
+        @Override
+        public void close() {
+            flush();
+            log.info("{} rows : {}", sql.substring(0, sql.indexOf('(')).trim(), count);
+        }
+    }
+}
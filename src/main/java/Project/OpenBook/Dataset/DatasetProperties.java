@@ -0,0 +1,47 @@
+package Project.OpenBook.Dataset;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 부하/벤치마크용 데이터 규모 설정 -> dataset.* 프로퍼티로 변경
+ * xxxPerYyy 값은 평균이고, 실제 개수는 인기도(zipf) 분포를 따라 토픽/문제마다 다르게 배분
+ */
+@Component
+@ConfigurationProperties(prefix = "dataset")
+@Getter
+@Setter
+public class DatasetProperties {
+
+    //같은 seed와 설정이면 항상 같은 데이터가 만들어짐
+    private long seed = 42L;
+
+    private int chapters = 30;
+
+    private int topics = 1000;
+
+    private int choicesPerTopic = 5;
+
+    private int descriptionsPerTopic = 3;
+
+    private int dupContentsPerDescription = 1;
+
+    private int keywords = 2000;
+
+    private int keywordsPerTopic = 3;
+
+    private int customers = 100;
+
+    private int questions = 1000;
+
+    private int answerNotesPerCustomer = 20;
+
+    private int bookmarksPerCustomer = 10;
+
+    //인기도 분포의 기울기 -> 0이면 균등, 클수록 일부 토픽/문제에 몰림
+    private double skew = 0.8;
+
+    private int batchSize = 1000;
+}
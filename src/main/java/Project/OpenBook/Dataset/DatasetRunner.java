@@ -0,0 +1,59 @@
+package Project.OpenBook.Dataset;
+
+import Project.OpenBook.Cache.ChoiceSimilarityIndex;
+import Project.OpenBook.Cache.ContentDupChecker;
+import Project.OpenBook.Cache.DupDateGraph;
+import Project.OpenBook.Cache.KeywordTopicIndex;
+import Project.OpenBook.Cache.ReferenceDictionary;
+import Project.OpenBook.Cache.QuestionCatalog;
+import Project.OpenBook.Cache.QuestionCache;
+import Project.OpenBook.Cache.QuestionPool;
+import Project.OpenBook.Cache.SearchIndex;
+import Project.OpenBook.Service.TopicCounterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * dataset.generate=true로 실행하면 기동 시 DatasetProperties 규모의 데이터를 생성
+ * ex) ./gradlew bootRun --args='--spring.profiles.active=test --dataset.generate=true --dataset.topics=10000 --dataset.choices-per-topic=100'
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "dataset.generate", havingValue = "true")
+public class DatasetRunner implements ApplicationRunner {
+
+    private final DatasetGenerator datasetGenerator;
+    private final DatasetProperties datasetProperties;
+    private final QuestionCatalog questionCatalog;
+    private final DupDateGraph dupDateGraph;
+    private final ChoiceSimilarityIndex choiceSimilarityIndex;
+    private final QuestionCache questionCache;
+    private final QuestionPool questionPool;
+    private final SearchIndex searchIndex;
+    private final KeywordTopicIndex keywordTopicIndex;
+    private final ReferenceDictionary referenceDictionary;
+    private final ContentDupChecker contentDupChecker;
+    private final TopicCounterService topicCounterService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        datasetGenerator.generate(datasetProperties);
+
+        //JDBC로 직접 넣었으므로 메모리 인덱스와 토픽별 개수를 다시 계산
+        topicCounterService.reconcile();
+        questionCatalog.reload();
+        dupDateGraph.reload();
+        choiceSimilarityIndex.rebuild();
+        searchIndex.rebuild();
+        keywordTopicIndex.reload();
+        referenceDictionary.clear();
+        contentDupChecker.reload();
+        questionCache.evictAll();
+        questionPool.evictAll();
+    }
+}
@@ -1,5 +1,6 @@
 package Project.OpenBook.Domain;
 
+import Project.OpenBook.Utils.HashUtils;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -9,6 +10,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(indexes = @Index(name = "idx_choice_content_hash", columnList = "content_hash"))
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Choice extends BaseEntity{
@@ -19,6 +21,9 @@ public class Choice extends BaseEntity{
     @Column(nullable = false,unique = true)
     private String content;
 
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "topic_id")
     private Topic topic;
@@ -28,16 +33,19 @@ public class Choice extends BaseEntity{
 
     public Choice(String content, Topic topic) {
         this.content = content;
+        this.contentHash = HashUtils.contentHash(content);
         this.topic = topic;
     }
 
     public Choice updateContent(String content) {
         this.content = content;
+        this.contentHash = HashUtils.contentHash(content);
         return this;
     }
 
     public Choice updateChoice(String content,Topic topic) {
         this.content = content;
+        this.contentHash = HashUtils.contentHash(content);
         this.topic = topic;
         return this;
     }
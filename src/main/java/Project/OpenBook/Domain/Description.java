@@ -1,5 +1,6 @@
 package Project.OpenBook.Domain;
 
+import Project.OpenBook.Utils.HashUtils;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -9,6 +10,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(indexes = @Index(name = "idx_description_content_hash", columnList = "content_hash"))
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Description extends BaseEntity{
@@ -20,6 +22,9 @@ public class Description extends BaseEntity{
     @Lob
     private String content;
 
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "topic_id")
     private Topic topic;
@@ -29,16 +34,19 @@ public class Description extends BaseEntity{
 
     public Description(String content, Topic topic) {
         this.content = content;
+        this.contentHash = HashUtils.contentHash(content);
         this.topic = topic;
     }
 
     public Description updateContent(String content){
         this.content  = content;
+        this.contentHash = HashUtils.contentHash(content);
         return this;
     }
 
     public Description updateDescription(String content, Topic topic) {
         this.content = content;
+        this.contentHash = HashUtils.contentHash(content);
         this.topic = topic;
         return this;
     }
@@ -27,12 +27,23 @@ public class Topic extends BaseEntity{
 
     private Integer startDate;
     private Integer endDate;
+    //개수 컬럼은 TopicCounterService에서 SQL로만 증감 -> 엔티티 수정 시에는 덮어쓰지 않음
     @ColumnDefault(value = "0")
+    @Column(updatable = false)
     private int questionNum;
 
     @ColumnDefault(value="0")
+    @Column(updatable = false)
     private int choiceNum;
 
+    @ColumnDefault(value = "0")
+    @Column(updatable = false)
+    private int descriptionNum;
+
+    @ColumnDefault(value = "0")
+    @Column(updatable = false)
+    private int keywordNum;
+
     @Lob
     private String detail;
 
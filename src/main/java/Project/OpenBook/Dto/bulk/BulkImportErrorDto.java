@@ -0,0 +1,13 @@
+package Project.OpenBook.Dto.bulk;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportErrorDto {
+    private long line;
+    private String errorMessage;
+}
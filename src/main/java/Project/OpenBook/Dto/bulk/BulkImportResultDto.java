@@ -0,0 +1,23 @@
+package Project.OpenBook.Dto.bulk;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 대량 입력 진행 상황/결과
+ * errorList는 앞에서부터 최대 1000개까지만 담고, 전체 개수는 errorCount
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResultDto {
+    private String importId;
+    private long lineCount;
+    private long successCount;
+    private long errorCount;
+    private boolean done;
+    private List<BulkImportErrorDto> errorList;
+}
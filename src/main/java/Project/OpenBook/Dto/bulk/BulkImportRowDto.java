@@ -0,0 +1,28 @@
+package Project.OpenBook.Dto.bulk;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 대량 입력 파일의 한 행
+ * type에 따라 사용하는 필드가 다름
+ * chapter -> number, title
+ * topic -> title, chapter, category, startDate, endDate, detail
+ * choice, description -> topic, content
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportRowDto {
+    private String type;
+    private Integer number;
+    private String title;
+    private Integer chapter;
+    private String category;
+    private Integer startDate;
+    private Integer endDate;
+    private String detail;
+    private String topic;
+    private String content;
+}
@@ -0,0 +1,17 @@
+package Project.OpenBook.Dto.choice;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChoiceContentTopicIdDto {
+
+    private Long id;
+
+    private String content;
+
+    private Long topicId;
+}
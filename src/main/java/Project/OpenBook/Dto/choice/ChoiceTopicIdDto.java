@@ -0,0 +1,15 @@
+package Project.OpenBook.Dto.choice;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChoiceTopicIdDto {
+
+    private Long id;
+
+    private Long topicId;
+}
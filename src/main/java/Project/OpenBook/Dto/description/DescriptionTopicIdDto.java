@@ -0,0 +1,15 @@
+package Project.OpenBook.Dto.description;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DescriptionTopicIdDto {
+
+    private Long id;
+
+    private Long topicId;
+}
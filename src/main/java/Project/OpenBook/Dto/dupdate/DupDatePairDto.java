@@ -0,0 +1,26 @@
+package Project.OpenBook.Dto.dupdate;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DupDatePairDto {
+
+    private Long id;
+
+    private Long answerTopicId;
+
+    private Long descriptionTopicId;
+
+    //정답 토픽의 카테고리 이름 -> DupDateGraph에서 카테고리별로 나눌때만 사용
+    private String answerCategory;
+
+    public DupDatePairDto(Long id, Long answerTopicId, Long descriptionTopicId) {
+        this.id = id;
+        this.answerTopicId = answerTopicId;
+        this.descriptionTopicId = descriptionTopicId;
+    }
+}
@@ -0,0 +1,13 @@
+package Project.OpenBook.Dto.error;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class DupContentErrorDto {
+    private String errorMessage;
+    private String content;
+}
@@ -0,0 +1,15 @@
+package Project.OpenBook.Dto.keyword;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopicKeywordIdDto {
+
+    private Long topicId;
+
+    private Long keywordId;
+}
@@ -0,0 +1,29 @@
+package Project.OpenBook.Dto.question;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuestionBatchDto {
+
+    @NotBlank(message = "카테고리 이름을 입력해주세요")
+    private String categoryName;
+
+    @NotEmpty(message = "하나 이상의 문제 유형을 입력해주세요.")
+    private List<Long> typeList;
+
+    @Min(value = 1, message = "생성할 문제 수를 입력해주세요.")
+    @Max(value = 100, message = "한번에 생성할 수 있는 문제는 최대 100개입니다.")
+    private int count;
+}
@@ -0,0 +1,27 @@
+package Project.OpenBook.Dto.question;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuestionCacheStatDto {
+
+    private int size;
+
+    private long weight;
+
+    private long maxWeight;
+
+    private long hitCount;
+
+    private long missCount;
+
+    private long evictCount;
+
+    private long invalidateCount;
+
+    private double hitRate;
+}
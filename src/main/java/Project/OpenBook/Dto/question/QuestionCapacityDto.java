@@ -0,0 +1,26 @@
+package Project.OpenBook.Dto.question;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuestionCapacityDto {
+
+    private Integer chapterNum;
+
+    private int topicCount;
+
+    private int descriptionCount;
+
+    private int choiceCount;
+
+    //유형별로 정답 토픽이 될 수 있는 토픽 수
+    private int type1TopicCount;
+
+    private int type3TopicCount;
+
+    private int type4TopicCount;
+}
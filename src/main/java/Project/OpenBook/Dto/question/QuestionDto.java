@@ -3,6 +3,7 @@ package Project.OpenBook.Dto.question;
 import Project.OpenBook.Domain.Question;
 import Project.OpenBook.Dto.choice.ChoiceContentIdDto;
 import Project.OpenBook.Dto.description.DescriptionContentIdDto;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
 import javax.validation.constraints.NotBlank;
@@ -30,6 +31,10 @@ public class QuestionDto {
     @NotNull(message = "정답 ID를 입력해주세요.")
     private Long answerChoiceId;
 
+    //임의로 생성한 문제에만 있음 -> POST /admin/questions/drafts/{draftId}로 저장
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String draftId;
+
     @Builder
     public QuestionDto(Long id,Long type, String prompt, String categoryName, DescriptionContentIdDto description, List<ChoiceContentIdDto> choiceList, Long answerChoiceId) {
         this.id = id;
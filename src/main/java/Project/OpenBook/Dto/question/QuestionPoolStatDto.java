@@ -0,0 +1,27 @@
+package Project.OpenBook.Dto.question;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuestionPoolStatDto {
+
+    private Long type;
+
+    private String categoryName;
+
+    private int size;
+
+    private int capacity;
+
+    private long hitCount;
+
+    private long missCount;
+
+    private long evictCount;
+
+    private double hitRate;
+}
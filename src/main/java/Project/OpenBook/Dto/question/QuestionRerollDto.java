@@ -0,0 +1,22 @@
+package Project.OpenBook.Dto.question;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuestionRerollDto {
+
+    //다시 뽑을 선지의 위치 (choiceList의 index)
+    private List<Integer> choiceSlotList = new ArrayList<>();
+
+    //보기를 다시 뽑을지 여부
+    private boolean description;
+}
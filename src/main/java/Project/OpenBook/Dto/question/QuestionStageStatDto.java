@@ -0,0 +1,19 @@
+package Project.OpenBook.Dto.question;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuestionStageStatDto {
+
+    private String stage;
+
+    private long count;
+
+    private double avgMillis;
+
+    private double maxMillis;
+}
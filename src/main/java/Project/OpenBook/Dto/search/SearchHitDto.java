@@ -0,0 +1,23 @@
+package Project.OpenBook.Dto.search;
+
+import Project.OpenBook.Constants.SearchType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHitDto {
+
+    private SearchType type;
+
+    private Long id;
+
+    private String topicTitle;
+
+    //검색어가 처음 나오는 부분 주변만 잘라냄
+    private String snippet;
+
+    private double score;
+}
@@ -0,0 +1,21 @@
+package Project.OpenBook.Dto.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResultDto {
+
+    private int totalCount;
+
+    private int page;
+
+    private int size;
+
+    private List<SearchHitDto> hitList;
+}
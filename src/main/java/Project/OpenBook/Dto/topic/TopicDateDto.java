@@ -0,0 +1,23 @@
+package Project.OpenBook.Dto.topic;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopicDateDto {
+
+    private Long id;
+
+    private String title;
+
+    private String category;
+
+    private Integer startDate;
+
+    private Integer endDate;
+
+    private Integer chapterNum;
+}
@@ -1,6 +1,8 @@
 package Project.OpenBook.Handler;
 
+import Project.OpenBook.Dto.error.DupContentErrorDto;
 import Project.OpenBook.Utils.CustomException;
+import Project.OpenBook.Utils.DupContentException;
 import Project.OpenBook.Dto.error.ErrorDto;
 import Project.OpenBook.Dto.error.ErrorMsgDto;
 import org.springframework.http.HttpStatus;
@@ -24,6 +26,16 @@ public class GlobalExceptionHandler {
         return new ResponseEntity(errorMsgDtoList, ex.getErrorCode().getStatusCode());
     }
 
+    //중복된 내용마다 하나씩 반환
+    @ExceptionHandler({ DupContentException.class })
+    protected ResponseEntity handleDupContentException(DupContentException ex) {
+        String errorMessage = ex.getErrorCode().getErrorMessage();
+        List<DupContentErrorDto> errorDtoList = ex.getContentList().stream()
+                .map(content -> new DupContentErrorDto(errorMessage, content))
+                .collect(Collectors.toList());
+        return new ResponseEntity(errorDtoList, ex.getErrorCode().getStatusCode());
+    }
+
     @ExceptionHandler({ Exception.class })
     protected ResponseEntity handleServerException(Exception ex) {
         return new ResponseEntity(HttpStatus.INTERNAL_SERVER_ERROR);
@@ -0,0 +1,48 @@
+package Project.OpenBook.Handler;
+
+import Project.OpenBook.Service.BulkImportService;
+import Project.OpenBook.Utils.CustomException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static Project.OpenBook.Constants.ErrorCode.IMPORT_IN_PROGRESS;
+
+/**
+ * 대량 입력이 진행 중이면 관리자 쓰기 요청을 409로 거절
+ * 대량 입력은 max(id) + 1부터 id 블록을 잡으므로 그 사이 IDENTITY insert가 끼어들면 id가 겹침
+ * 이미 진행 중인 쓰기 요청이 있으면 대량 입력이 그 요청이 끝날 때까지 기다림
+ */
+@Component
+@RequiredArgsConstructor
+public class ImportLockInterceptor implements HandlerInterceptor {
+
+    private static final String LOCKED = ImportLockInterceptor.class.getName() + ".LOCKED";
+
+    private final BulkImportService bulkImportService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String method = request.getMethod();
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method)) {
+            return true;
+        }
+        if (!bulkImportService.tryLockAdminWrite()) {
+            throw new CustomException(IMPORT_IN_PROGRESS);
+        }
+        request.setAttribute(LOCKED, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(LOCKED) != null) {
+            request.removeAttribute(LOCKED);
+            bulkImportService.unlockAdminWrite();
+        }
+    }
+}
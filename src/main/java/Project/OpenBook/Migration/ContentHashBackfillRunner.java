@@ -0,0 +1,65 @@
+package Project.OpenBook.Migration;
+
+import Project.OpenBook.Repository.contenthash.ContentHashJdbcRepository;
+import Project.OpenBook.Utils.HashUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * content_hash 컬럼이 추가되기 전에 저장된 선지, 보기의 해시를 기동 시 채움
+ * batch-size개씩 id 순서로 읽고 갱신하므로 중간에 중단되어도 다음 기동때 이어서 진행
+ * 채울 행이 없으면 테이블마다 쿼리 한번으로 끝남
+ */
+@Slf4j
+@Component
+@Order(0)
+public class ContentHashBackfillRunner implements ApplicationRunner {
+
+    private static final String[] TABLES = {"choice", "description"};
+
+    private final ContentHashJdbcRepository contentHashJdbcRepository;
+    private final int batchSize;
+
+    public ContentHashBackfillRunner(ContentHashJdbcRepository contentHashJdbcRepository,
+                                     @Value("${migration.content-hash.batch-size:1000}") int batchSize) {
+        this.contentHashJdbcRepository = contentHashJdbcRepository;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        for (String table : TABLES) {
+            backfill(table);
+        }
+    }
+
+    private void backfill(String table) {
+        long begin = System.currentTimeMillis();
+        long afterId = 0;
+        int count = 0;
+        while (true) {
+            Map<Long, String> contentMap = contentHashJdbcRepository.queryMissingHashes(table, afterId, batchSize);
+            if (contentMap.isEmpty()) {
+                break;
+            }
+            Map<Long, String> hashMap = new LinkedHashMap<>();
+            contentMap.forEach((id, content) -> hashMap.put(id, HashUtils.contentHash(content)));
+            contentHashJdbcRepository.batchUpdateHashes(table, hashMap);
+
+            count += hashMap.size();
+            for (Long id : hashMap.keySet()) {
+                afterId = id;
+            }
+        }
+        if (count > 0) {
+            log.info("{} content_hash 채움 {}건 {}ms", table, count, System.currentTimeMillis() - begin);
+        }
+    }
+}
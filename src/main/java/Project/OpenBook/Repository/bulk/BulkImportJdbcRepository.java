@@ -0,0 +1,44 @@
+package Project.OpenBook.Repository.bulk;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 대량 입력용 JDBC 배치 insert -> id는 IdBlockAllocator에서 받아서 직접 지정
+ * 각 행은 insert 문의 ? 순서대로 담긴 배열
+ */
+@Repository
+@RequiredArgsConstructor
+public class BulkImportJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    //id, number, title, created_time, modified_time
+    public void batchInsertChapters(List<Object[]> rowList) {
+        batchInsert("insert into chapter (id, number, title, created_time, modified_time) values (?, ?, ?, ?, ?)", rowList);
+    }
+
+    //id, title, start_date, end_date, detail, chapter_id, category_id, created_time, modified_time
+    public void batchInsertTopics(List<Object[]> rowList) {
+        batchInsert("insert into topic (id, title, start_date, end_date, question_num, choice_num, detail, chapter_id, category_id, created_time, modified_time) " +
+                "values (?, ?, ?, ?, 0, 0, ?, ?, ?, ?, ?)", rowList);
+    }
+
+    //id, content, content_hash, topic_id, created_time, modified_time
+    public void batchInsertChoices(List<Object[]> rowList) {
+        batchInsert("insert into choice (id, content, content_hash, topic_id, created_time, modified_time) values (?, ?, ?, ?, ?, ?)", rowList);
+    }
+
+    public void batchInsertDescriptions(List<Object[]> rowList) {
+        batchInsert("insert into description (id, content, content_hash, topic_id, created_time, modified_time) values (?, ?, ?, ?, ?, ?)", rowList);
+    }
+
+    private void batchInsert(String sql, List<Object[]> rowList) {
+        if (!rowList.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rowList);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package Project.OpenBook.Repository.bulk;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JDBC 배치 insert에 사용할 id를 테이블별로 blockSize개씩 미리 잡아두고 나눠줌 (pooled 방식)
+ * 블록을 새로 잡을 때 현재 최대 id를 다시 읽음 -> 대량 입력을 시작할 때 reset으로 남은 블록을 버리므로
+ * 이전 입력 이후에 IDENTITY로 들어간 행과는 겹치지 않음
+ * MariaDB와 H2(MySQL 모드)는 id를 직접 넣으면 AUTO_INCREMENT도 그 다음 값으로 올라감
+ * 한 입력 안에서 블록을 쓰는 도중에 같은 테이블에 IDENTITY insert가 일어나면 겹칠 수 있으므로
+ * 대량 입력 중에는 ImportLockInterceptor가 관리자 쓰기 요청을 막음
+ */
+@Component
+public class IdBlockAllocator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int blockSize;
+
+    private final Map<String, long[]> blockMap = new HashMap<>();
+
+    public IdBlockAllocator(JdbcTemplate jdbcTemplate, @Value("${import.id-block-size:1000}") int blockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * table은 코드 안의 상수만 받음
+     */
+    public synchronized long next(String table) {
+        //[다음 id, 블록 끝(미포함)]
+        long[] block = blockMap.computeIfAbsent(table, t -> new long[]{0, 0});
+        if (block[0] >= block[1]) {
+            long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+            block[0] = Math.max(block[0], maxId + 1);
+            block[1] = block[0] + blockSize;
+        }
+        return block[0]++;
+    }
+
+    /**
+     * 남은 블록을 버림 -> 다음 next에서 최대 id를 다시 읽음
+     */
+    public synchronized void reset() {
+        blockMap.clear();
+    }
+}
@@ -2,11 +2,13 @@ package Project.OpenBook.Repository.choice;
 
 import Project.OpenBook.Domain.Category;
 import Project.OpenBook.Domain.Choice;
-import Project.OpenBook.Domain.Topic;
+import Project.OpenBook.Dto.choice.ChoiceContentIdDto;
+import Project.OpenBook.Dto.choice.ChoiceContentTopicIdDto;
+import Project.OpenBook.Dto.choice.ChoiceTopicIdDto;
 import Project.OpenBook.Dto.choice.DupChoiceDto;
 
-import javax.transaction.Transactional;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface ChoiceRepositoryCustom {
@@ -15,30 +17,29 @@ public interface ChoiceRepositoryCustom {
 
     public Choice queryChoiceByContent(String content);
 
+    public List<String> queryChoiceContentsIn(Collection<String> contentList);
+
+    public List<String> queryChoiceContentHashes();
+
 
 
     public Choice queryRandChoiceByChoice(Long choiceId);
 
     public List<Choice> queryChoicesById(List<Long> choiceIdList);
 
-    public Choice queryRandChoiceByTopic(Long topicId, Long descriptionId);
-
-    public List<Choice> queryRandChoicesByCategory(String exceptTopicTitle, String categoryName, int num);
+    public Category queryCategoryByChoice(Long choiceId);
 
-    public List<Choice> queryRandChoicesByCategory(String categoryName, int num);
+    public Choice queryRandChoiceByTime(Integer startDate, Integer endDate);
 
-    @Transactional
-    public List<Choice> queryChoicesType2(Topic answerTopic, Topic descriptionTopic, int num, int interval, String categoryName);
+    public List<ChoiceTopicIdDto> queryChoiceTopicIds();
 
-    @Transactional
-    public List<Choice> queryChoicesType3(String topicTitle, Integer startDate,Integer endDate, int num, int interval, String categoryName);
+    public List<Long> queryChoiceIdsByTopic(Long topicId);
 
-    @Transactional
-    public List<Choice> queryChoicesType4(String topicTitle, Integer startDate,Integer endDate, int num, int interval, String categoryName);
+    public List<ChoiceContentIdDto> queryChoiceContentsById(List<Long> choiceIdList);
 
-    public Category queryCategoryByChoice(Long choiceId);
+    public List<ChoiceContentTopicIdDto> queryChoiceContentTopicIds();
 
-    public Choice queryRandChoiceByTime(Integer startDate, Integer endDate);
+    public List<ChoiceTopicIdDto> queryChoiceTopicIdsById(List<Long> choiceIdList);
 
 
 }
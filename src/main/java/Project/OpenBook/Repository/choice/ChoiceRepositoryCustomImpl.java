@@ -1,24 +1,28 @@
 package Project.OpenBook.Repository.choice;
 
 import Project.OpenBook.Domain.*;
+import Project.OpenBook.Dto.choice.ChoiceContentIdDto;
+import Project.OpenBook.Dto.choice.ChoiceContentTopicIdDto;
+import Project.OpenBook.Dto.choice.ChoiceTopicIdDto;
 import Project.OpenBook.Dto.choice.DupChoiceDto;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.core.types.dsl.Expressions;
-import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import Project.OpenBook.Utils.HashUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import static Project.OpenBook.Domain.QCategory.category;
 import static Project.OpenBook.Domain.QChoice.choice;
-import static Project.OpenBook.Domain.QDupContent.dupContent;
 import static Project.OpenBook.Domain.QDupDate.dupDate;
 import static Project.OpenBook.Domain.QTopic.topic;
 
@@ -39,10 +43,32 @@ public class ChoiceRepositoryCustomImpl implements ChoiceRepositoryCustom{
     @Override
     public Choice queryChoiceByContent(String content) {
         return queryFactory.selectFrom(choice)
-                .where(choice.content.eq(content))
+                .where(choice.contentHash.eq(HashUtils.contentHash(content)),
+                        choice.content.eq(content))
                 .fetchOne();
     }
 
+    @Override
+    public List<String> queryChoiceContentsIn(Collection<String> contentList) {
+        //해시로 찾은 뒤 내용이 같은 것만 반환
+        Set<String> contentSet = new HashSet<>(contentList);
+        List<String> hashList = contentSet.stream().map(HashUtils::contentHash).collect(Collectors.toList());
+        return queryFactory.select(choice.content)
+                .from(choice)
+                .where(choice.contentHash.in(hashList))
+                .fetch().stream()
+                .filter(contentSet::contains)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<String> queryChoiceContentHashes() {
+        return queryFactory.select(choice.contentHash)
+                .from(choice)
+                .where(choice.contentHash.isNotNull())
+                .fetch();
+    }
+
     @Override
     public Choice queryRandChoiceByChoice(Long choiceId) {
         QChoice choice1 = new QChoice("choice1");
@@ -56,120 +82,76 @@ public class ChoiceRepositoryCustomImpl implements ChoiceRepositoryCustom{
     }
 
     @Override
-    public Choice queryRandChoiceByTopic(Long topicId, Long descriptionId) {
+    public Choice queryRandChoiceByTime(Integer startDate, Integer endDate) {
         return queryFactory.selectFrom(choice)
-                .where(choice.topic.id.eq(topicId))
-                .where(choice.id.notIn(
-                        JPAExpressions.select(dupContent.choice.id)
-                                .from(dupContent)
-                                .where(dupContent.description.id.eq(descriptionId))
-                ))
+                .where(choice.topic.startDate.gt(startDate).or(choice.topic.endDate.lt(endDate)))
                 .orderBy(Expressions.numberTemplate(Double.class, "function('rand')").asc())
                 .limit(1)
                 .fetchOne();
-    }
 
-    @Override
-    public List<Choice> queryRandChoicesByCategory(String exceptTopicTitle, String categoryName, int num) {
-        return queryFactory.selectFrom(choice)
-                .where(choice.topic.category.name.eq(categoryName))
-                .where(choice.topic.title.ne(exceptTopicTitle))
-                .orderBy(Expressions.numberTemplate(Double.class, "function('rand')").asc())
-                .limit(num)
-                .fetch();
     }
 
     @Override
-    public List<Choice> queryRandChoicesByCategory(String categoryName, int num) {
+    public List<Choice> queryChoiceByTopicTitle(String topicTitle) {
         return queryFactory.selectFrom(choice)
-                .where(choice.topic.category.name.eq(categoryName))
-                .where(choice.topic.startDate.eq(choice.topic.endDate))
-                .orderBy(Expressions.numberTemplate(Double.class, "function('rand')").asc())
-                .orderBy(choice.topic.startDate.asc())
-                .limit(num)
+                .where(choice.topic.title.eq(topicTitle))
                 .fetch();
     }
 
     @Override
-    public Choice queryRandChoiceByTime(Integer startDate, Integer endDate) {
-        return queryFactory.selectFrom(choice)
-                .where(choice.topic.startDate.gt(startDate).or(choice.topic.endDate.lt(endDate)))
-                .orderBy(Expressions.numberTemplate(Double.class, "function('rand')").asc())
-                .limit(1)
+    public Category queryCategoryByChoice(Long choiceId) {
+        return queryFactory.select(category)
+                .from(category, choice, topic)
+                .where(choice.topic.id.eq(topic.id))
+                .where(topic.category.id.eq(category.id))
+                .where(choice.id.eq(choiceId))
                 .fetchOne();
-
     }
 
     @Override
-    public List<Choice> queryChoiceByTopicTitle(String topicTitle) {
-        return queryFactory.selectFrom(choice)
-                .where(choice.topic.title.eq(topicTitle))
-                .fetch();
+    public List<ChoiceTopicIdDto> queryChoiceTopicIds() {
+        return queryFactory.select(choice.id, choice.topic.id)
+                .from(choice)
+                .fetch().stream()
+                .map(t -> new ChoiceTopicIdDto(t.get(choice.id), t.get(choice.topic.id)))
+                .collect(Collectors.toList());
     }
 
     @Override
-    public List<Choice> queryChoicesType2(Topic answerTopic, Topic descriptionTopic, int num, int interval, String categoryName) {
-        List<Choice> choiceList = queryFactory.selectFrom(choice)
-                .where(choice.topic.category.name.eq(categoryName))
-                .where(choice.topic.endDate.lt(descriptionTopic.getStartDate()))
-                .where(choice.topic.startDate.gt(descriptionTopic.getEndDate()))
-                .orderBy(Expressions.numberTemplate(Double.class, "function('rand')").asc())
-                .limit(num-1)
+    public List<Long> queryChoiceIdsByTopic(Long topicId) {
+        return queryFactory.select(choice.id)
+                .from(choice)
+                .where(choice.topic.id.eq(topicId))
                 .fetch();
-        Choice answerChoice = queryFactory.selectFrom(choice)
-                .where(choice.topic.eq(answerTopic))
-                .orderBy(Expressions.numberTemplate(Double.class, "function('rand')").asc())
-                .limit(1)
-                .fetchOne();
-        choiceList.add(answerChoice);
-        return choiceList;
     }
+
     @Override
-    public List<Choice> queryChoicesType3(String topicTitle, Integer startDate,Integer endDate, int num, int interval, String categoryName) {
-        List<Choice> choiceList = queryFactory.selectFrom(choice)
-                .where(choice.topic.endDate.lt(startDate))
-                .where(choice.topic.category.name.eq(categoryName))
-                .orderBy(Expressions.numberTemplate(Double.class, "function('rand')").asc())
-                .limit(num-1)
-                .fetch();
-        Choice answerChoice = queryFactory.selectFrom(choice)
-                .where(choice.topic.title.ne(topicTitle))
-                .where(choice.topic.category.name.eq(categoryName))
-                .where(choice.topic.startDate.goe(endDate))
-                .orderBy(Expressions.numberTemplate(Double.class, "function('rand')").asc())
-                .limit(1)
-                .fetchOne();
-        choiceList.add(answerChoice);
-        return choiceList;
+    public List<ChoiceContentIdDto> queryChoiceContentsById(List<Long> choiceIdList) {
+        return queryFactory.select(choice.content, choice.id)
+                .from(choice)
+                .where(choice.id.in(choiceIdList))
+                .fetch().stream()
+                .map(t -> new ChoiceContentIdDto(t.get(choice.content), t.get(choice.id)))
+                .collect(Collectors.toList());
     }
 
     @Override
-    public List<Choice> queryChoicesType4(String topicTitle, Integer startDate,Integer endDate, int num, int interval, String categoryName) {
-        List<Choice> choiceList = queryFactory.selectFrom(choice)
-                .where(choice.topic.startDate.gt(endDate))
-                .where(choice.topic.category.name.eq(categoryName))
-                .orderBy(Expressions.numberTemplate(Double.class, "function('rand')").asc())
-                .limit(num-1)
-                .fetch();
-        Choice answerChoice = queryFactory.selectFrom(choice)
-                .where(choice.topic.title.ne(topicTitle))
-                .where(choice.topic.category.name.eq(categoryName))
-                .where(choice.topic.endDate.loe(startDate))
-                .orderBy(Expressions.numberTemplate(Double.class, "function('rand')").asc())
-                .limit(1)
-                .fetchOne();
-        choiceList.add(answerChoice);
-        return choiceList;
+    public List<ChoiceTopicIdDto> queryChoiceTopicIdsById(List<Long> choiceIdList) {
+        return queryFactory.select(choice.id, choice.topic.id)
+                .from(choice)
+                .where(choice.id.in(choiceIdList))
+                .fetch().stream()
+                .map(t -> new ChoiceTopicIdDto(t.get(choice.id), t.get(choice.topic.id)))
+                .collect(Collectors.toList());
     }
 
     @Override
-    public Category queryCategoryByChoice(Long choiceId) {
-        return queryFactory.select(category)
-                .from(category, choice, topic)
-                .where(choice.topic.id.eq(topic.id))
-                .where(topic.category.id.eq(category.id))
-                .where(choice.id.eq(choiceId))
-                .fetchOne();
+    public List<ChoiceContentTopicIdDto> queryChoiceContentTopicIds() {
+        return queryFactory.select(choice.id, choice.content, choice.topic.id)
+                .from(choice)
+                .fetch().stream()
+                .map(t -> new ChoiceContentTopicIdDto(t.get(choice.id), t.get(choice.content), t.get(choice.topic.id)))
+                .collect(Collectors.toList());
     }
 
     private BooleanExpression notInDateBetween(Integer ansStartDate, Integer ansEndDate) {
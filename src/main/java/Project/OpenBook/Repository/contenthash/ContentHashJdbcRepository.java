@@ -0,0 +1,42 @@
+package Project.OpenBook.Repository.contenthash;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * choice, description 테이블의 content_hash 컬럼을 JDBC 배치로 채움
+ * 테이블 이름은 ContentHashBackfillRunner의 상수만 받음
+ */
+@Repository
+@RequiredArgsConstructor
+public class ContentHashJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * content_hash가 비어있는 행 (id -> content, id 오름차순)
+     */
+    public Map<Long, String> queryMissingHashes(String table, long afterId, int limit) {
+        Map<Long, String> contentMap = new LinkedHashMap<>();
+        jdbcTemplate.query("select id, content from " + table + " where content_hash is null and id > ? order by id limit ?",
+                rs -> {
+                    contentMap.put(rs.getLong(1), rs.getString(2));
+                }, afterId, limit);
+        return contentMap;
+    }
+
+    public void batchUpdateHashes(String table, Map<Long, String> hashMap) {
+        List<Map.Entry<Long, String>> entryList = new ArrayList<>(hashMap.entrySet());
+        jdbcTemplate.batchUpdate("update " + table + " set content_hash = ? where id = ?",
+                entryList, entryList.size(), (ps, entry) -> {
+                    ps.setString(1, entry.getValue());
+                    ps.setLong(2, entry.getKey());
+                });
+    }
+}
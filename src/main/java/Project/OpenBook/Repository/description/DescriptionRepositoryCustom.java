@@ -2,18 +2,32 @@ package Project.OpenBook.Repository.description;
 
 import Project.OpenBook.Domain.Description;
 import Project.OpenBook.Dto.choice.DupChoiceDto;
+import Project.OpenBook.Dto.description.DescriptionContentIdDto;
+import Project.OpenBook.Dto.description.DescriptionTopicIdDto;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 public interface DescriptionRepositoryCustom {
 
-    public Description findRandDescriptionByTopic(String topicTitle);
-
     public Description queryRandDescriptionByDescription(Long descriptionId);
 
     public List<Description> findDescriptionsByTopic(String topicTitle);
 
-    public List<DupChoiceDto> queryDupChoices(Long descriptionId, String topicTitle);
+    public List<DupChoiceDto> queryDupChoices(Set<Long> dupChoiceIdSet, String topicTitle);
 
     public Description queryDescriptionByContent(String content);
+
+    public List<String> queryDescriptionContentsIn(Collection<String> contentList);
+
+    public List<String> queryDescriptionContentHashes();
+
+    public List<DescriptionTopicIdDto> queryDescriptionTopicIds();
+
+    public List<Long> queryDescriptionIdsByTopic(Long topicId);
+
+    public List<DescriptionContentIdDto> queryDescriptionContentsById(List<Long> descriptionIdList);
+
+    public Long queryDescriptionTopicId(Long descriptionId);
 }
@@ -5,20 +5,24 @@ import Project.OpenBook.Domain.Description;
 import Project.OpenBook.Domain.QChoice;
 import Project.OpenBook.Domain.QDescription;
 import Project.OpenBook.Dto.choice.DupChoiceDto;
+import Project.OpenBook.Dto.description.DescriptionContentIdDto;
+import Project.OpenBook.Dto.description.DescriptionTopicIdDto;
 import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.core.types.dsl.MathExpressions;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import Project.OpenBook.Utils.HashUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import static Project.OpenBook.Domain.QChoice.choice;
 import static Project.OpenBook.Domain.QDescription.description;
-import static Project.OpenBook.Domain.QDupContent.dupContent;
 
 @Repository
 @RequiredArgsConstructor
@@ -26,15 +30,6 @@ public class DescriptionRepositoryCustomImpl implements DescriptionRepositoryCus
 
     private final JPAQueryFactory queryFactory;
 
-    @Override
-    public Description findRandDescriptionByTopic(String topicTitle) {
-        return queryFactory.selectFrom(description)
-                .where(description.topic.title.eq(topicTitle))
-                .orderBy(Expressions.numberTemplate(Double.class, "function('rand')").asc())
-                .limit(1)
-                .fetchOne();
-    }
-
     @Override
     public Description queryRandDescriptionByDescription(Long descriptionId) {
         QDescription des1 = new QDescription("description1");
@@ -55,15 +50,11 @@ public class DescriptionRepositoryCustomImpl implements DescriptionRepositoryCus
     }
 
     @Override
-    public List<DupChoiceDto> queryDupChoices(Long descriptionId, String topicTitle) {
+    public List<DupChoiceDto> queryDupChoices(Set<Long> dupChoiceIdSet, String topicTitle) {
         List<Choice> topicChoiceList = queryFactory.select(choice)
                 .from(choice)
                 .where(choice.topic.title.eq(topicTitle))
                 .fetch();
-        Set<Long> dupChoiceIdSet = queryFactory.select(dupContent.choice.id)
-                .from(dupContent)
-                .where(dupContent.description.id.eq(descriptionId))
-                .fetch().stream().collect(Collectors.toSet());
 
         List<DupChoiceDto> dupChoiceDtoList = new ArrayList<>();
 
@@ -82,7 +73,64 @@ public class DescriptionRepositoryCustomImpl implements DescriptionRepositoryCus
     @Override
     public Description queryDescriptionByContent(String content) {
         return queryFactory.selectFrom(description)
-                .where(description.content.eq(content))
+                .where(description.contentHash.eq(HashUtils.contentHash(content)),
+                        description.content.eq(content))
+                .fetchOne();
+    }
+
+    @Override
+    public List<String> queryDescriptionContentsIn(Collection<String> contentList) {
+        //해시로 찾은 뒤 내용이 같은 것만 반환
+        Set<String> contentSet = new HashSet<>(contentList);
+        List<String> hashList = contentSet.stream().map(HashUtils::contentHash).collect(Collectors.toList());
+        return queryFactory.select(description.content)
+                .from(description)
+                .where(description.contentHash.in(hashList))
+                .fetch().stream()
+                .filter(contentSet::contains)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<String> queryDescriptionContentHashes() {
+        return queryFactory.select(description.contentHash)
+                .from(description)
+                .where(description.contentHash.isNotNull())
+                .fetch();
+    }
+
+    @Override
+    public List<DescriptionTopicIdDto> queryDescriptionTopicIds() {
+        return queryFactory.select(description.id, description.topic.id)
+                .from(description)
+                .fetch().stream()
+                .map(t -> new DescriptionTopicIdDto(t.get(description.id), t.get(description.topic.id)))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Long> queryDescriptionIdsByTopic(Long topicId) {
+        return queryFactory.select(description.id)
+                .from(description)
+                .where(description.topic.id.eq(topicId))
+                .fetch();
+    }
+
+    @Override
+    public List<DescriptionContentIdDto> queryDescriptionContentsById(List<Long> descriptionIdList) {
+        return queryFactory.select(description.id, description.content)
+                .from(description)
+                .where(description.id.in(descriptionIdList))
+                .fetch().stream()
+                .map(t -> new DescriptionContentIdDto(t.get(description.id), t.get(description.content)))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Long queryDescriptionTopicId(Long descriptionId) {
+        return queryFactory.select(description.topic.id)
+                .from(description)
+                .where(description.id.eq(descriptionId))
                 .fetchOne();
     }
 }
@@ -12,4 +12,6 @@ public interface DupContentRepositoryCustom {
     public DupContent queryDupContent(Long descriptionId, Long choiceId);
 
     public List<Choice> queryDupContentChoices(Long descriptionId);
+
+    public List<Long> queryDupContentChoiceIds(Long descriptionId);
 }
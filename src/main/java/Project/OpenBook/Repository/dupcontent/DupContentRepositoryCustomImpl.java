@@ -33,6 +33,14 @@ public class DupContentRepositoryCustomImpl implements DupContentRepositoryCusto
                 .fetch();
     }
 
+    @Override
+    public List<Long> queryDupContentChoiceIds(Long descriptionId) {
+        return queryFactory.select(dupContent.choice.id)
+                .from(dupContent)
+                .where(dupContent.description.id.eq(descriptionId))
+                .fetch();
+    }
+
     @Override
     public DupContent queryDupContent(Long descriptionId, Long choiceId) {
         return queryFactory.selectFrom(dupContent)
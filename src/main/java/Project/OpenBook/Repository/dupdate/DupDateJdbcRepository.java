@@ -0,0 +1,62 @@
+package Project.OpenBook.Repository.dupdate;
+
+import Project.OpenBook.Dto.dupdate.DupDatePairDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * dup_date 테이블을 JDBC 배치로 수정
+ * DupDate의 id가 IDENTITY 전략이라 saveAll로는 배치 insert가 되지 않기 때문에 사용
+ */
+@Repository
+@RequiredArgsConstructor
+public class DupDateJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 정답 토픽의 카테고리 이름도 같이 조회
+     */
+    public List<DupDatePairDto> queryAllPairs() {
+        return jdbcTemplate.query(
+                "select d.id, d.answer_topic_id, d.description_topic_id, c.name from dup_date d " +
+                        "join topic t on t.id = d.answer_topic_id " +
+                        "left join category c on c.id = t.category_id",
+                (rs, rowNum) -> new DupDatePairDto(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getString(4)));
+    }
+
+    public List<DupDatePairDto> queryPairsByTopic(Long topicId) {
+        return jdbcTemplate.query(
+                "select id, answer_topic_id, description_topic_id from dup_date " +
+                        "where answer_topic_id = ? or description_topic_id = ?",
+                (rs, rowNum) -> new DupDatePairDto(rs.getLong(1), rs.getLong(2), rs.getLong(3)),
+                topicId, topicId);
+    }
+
+    public void batchInsert(List<DupDatePairDto> pairList) {
+        String now = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd-HH:mm:ss"));
+        jdbcTemplate.batchUpdate(
+                "insert into dup_date (answer_topic_id, description_topic_id, created_time, modified_time) values (?, ?, ?, ?)",
+                pairList, pairList.size(), (ps, pair) -> {
+                    ps.setLong(1, pair.getAnswerTopicId());
+                    ps.setLong(2, pair.getDescriptionTopicId());
+                    ps.setString(3, now);
+                    ps.setString(4, now);
+                });
+    }
+
+    public void batchDelete(List<Long> idList) {
+        jdbcTemplate.batchUpdate("delete from dup_date where id = ?",
+                idList, idList.size(), (ps, id) -> ps.setLong(1, id));
+    }
+
+    public int deleteByTopic(Long topicId) {
+        return jdbcTemplate.update("delete from dup_date where answer_topic_id = ? or description_topic_id = ?",
+                topicId, topicId);
+    }
+}
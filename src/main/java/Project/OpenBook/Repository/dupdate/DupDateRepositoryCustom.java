@@ -11,8 +11,4 @@ public interface DupDateRepositoryCustom {
     public List<Topic> queryDescriptionTopics(Integer startDate, Integer endDate);
 
     public List<DupDate> queryAllByTopic(String topicTitle);
-
-    public Topic queryRandomAnswerTopic();
-
-    public Topic queryRandomDescriptionTopic(Topic answerTopic);
-}
+}
\ No newline at end of file
@@ -4,7 +4,6 @@ import Project.OpenBook.Domain.DupDate;
 import Project.OpenBook.Domain.QDupDate;
 import Project.OpenBook.Domain.QTopic;
 import Project.OpenBook.Domain.Topic;
-import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
@@ -41,23 +40,4 @@ public class DupDateRepositoryCustomImpl implements DupDateRepositoryCustom{
                 .where(dupDate.answerTopic.title.eq(topicTitle).or(dupDate.descriptionTopic.title.eq(topicTitle)))
                 .fetch();
     }
-
-    @Override
-    public Topic queryRandomAnswerTopic() {
-        return queryFactory.selectDistinct(dupDate.answerTopic)
-                .from(dupDate)
-                .orderBy(Expressions.numberTemplate(Double.class, "function('rand')").asc())
-                .limit(1)
-                .fetchOne();
-    }
-
-    @Override
-    public Topic queryRandomDescriptionTopic(Topic answerTopic) {
-        return queryFactory.selectDistinct(dupDate.descriptionTopic)
-                .from(dupDate)
-                .where(dupDate.answerTopic.eq(answerTopic))
-                .orderBy(Expressions.numberTemplate(Double.class, "function('rand')").asc())
-                .limit(1)
-                .fetchOne();
-    }
-}
+}
\ No newline at end of file
@@ -11,4 +11,6 @@ public interface KeywordRepositoryCustom {
     public List<String> queryKeywordTopic(String keywordName);
 
     public List<Keyword> queryKeywordsList(List<String> keywordNameList);
+
+    public List<String> queryKeywordNames();
 }
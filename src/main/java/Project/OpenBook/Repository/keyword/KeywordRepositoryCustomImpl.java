@@ -36,4 +36,11 @@ public class KeywordRepositoryCustomImpl implements KeywordRepositoryCustom{
                 .where(keyword.name.in(keywordNameList))
                 .fetch();
     }
+
+    @Override
+    public List<String> queryKeywordNames() {
+        return queryFactory.select(keyword.name)
+                .from(keyword)
+                .fetch();
+    }
 }
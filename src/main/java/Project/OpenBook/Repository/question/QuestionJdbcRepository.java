@@ -0,0 +1,51 @@
+package Project.OpenBook.Repository.question;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * question_choice, question_description 테이블을 JDBC 배치로 저장
+ * 엔티티를 조회하지 않고 id만으로 저장하기 위해 사용
+ */
+@Repository
+@RequiredArgsConstructor
+public class QuestionJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void batchInsertChoices(Long questionId, List<Long> choiceIdList) {
+        String now = now();
+        jdbcTemplate.batchUpdate(
+                "insert into question_choice (question_id, choice_id, created_time, modified_time) values (?, ?, ?, ?)",
+                choiceIdList, choiceIdList.size(), (ps, choiceId) -> {
+                    ps.setLong(1, questionId);
+                    ps.setLong(2, choiceId);
+                    ps.setString(3, now);
+                    ps.setString(4, now);
+                });
+    }
+
+    public void insertDescription(Long questionId, Long descriptionId) {
+        String now = now();
+        jdbcTemplate.update(
+                "insert into question_description (question_id, description_id, created_time, modified_time) values (?, ?, ?, ?)",
+                questionId, descriptionId, now, now);
+    }
+
+    /**
+     * 문제를 지우기 전에 호출 -> 외래키 때문에 선지, 보기 연결을 먼저 지움
+     */
+    public void deleteByQuestion(Long questionId) {
+        jdbcTemplate.update("delete from question_choice where question_id = ?", questionId);
+        jdbcTemplate.update("delete from question_description where question_id = ?", questionId);
+    }
+
+    private String now() {
+        return LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd-HH:mm:ss"));
+    }
+}
@@ -2,7 +2,15 @@ package Project.OpenBook.Repository.question;
 
 import Project.OpenBook.Dto.question.QuestionDto;
 
+import java.util.List;
+import java.util.function.Consumer;
+
 public interface QuestionRepositoryCustom {
 
     public QuestionDto findQuestionById(Long id);
+
+    public List<QuestionDto> findQuestionsById(List<Long> idList);
+
+    public long scrollQuestions(String categoryName, Long type, String modifiedSince, int fetchSize,
+                                Consumer<QuestionDto> consumer);
 }
@@ -4,15 +4,22 @@ import Project.OpenBook.Domain.*;
 import Project.OpenBook.Dto.choice.ChoiceContentIdDto;
 import Project.OpenBook.Dto.description.DescriptionContentIdDto;
 import Project.OpenBook.Dto.question.QuestionDto;
+import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.Tuple;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.query.Query;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.*;
+import java.util.function.Consumer;
 
+import static Project.OpenBook.Domain.QCategory.category;
 import static Project.OpenBook.Domain.QChoice.choice;
+import static Project.OpenBook.Domain.QDescription.description;
+import static Project.OpenBook.Domain.QQuestion.question;
 import static Project.OpenBook.Domain.QQuestionChoice.questionChoice;
 import static Project.OpenBook.Domain.QQuestionDescription.questionDescription;
 
@@ -21,28 +28,141 @@ import static Project.OpenBook.Domain.QQuestionDescription.questionDescription;
 public class QuestionRepositoryCustomImpl implements QuestionRepositoryCustom{
     private final JPAQueryFactory queryFactory;
 
+    //IN 절 하나에 넣을 최대 문제 id 수
+    private final int chunkSize = 500;
+
     @Override
     public QuestionDto findQuestionById(Long id) {
-        Question question = queryFactory.selectFrom(QQuestion.question)
-                .where(QQuestion.question.id.eq(id))
-                .fetchOne();
-
-        List<Tuple> choices = queryFactory.select( choice.content, choice.id)
-                .from(questionChoice)
-                .join(questionChoice.choice, choice)
-                .where(questionChoice.question.id.eq(id))
-                .fetch();
-
-        Tuple description = queryFactory.select(QDescription.description.id, QDescription.description.content)
-                .from(questionDescription)
-                .join(questionDescription.description, QDescription.description)
-                .where(questionDescription.question.id.eq(id))
-                .fetchOne();
-
-        List<ChoiceContentIdDto> choiceList = choices.stream().map(c -> new ChoiceContentIdDto(c.get(0, String.class), c.get(1, Long.class))).collect(Collectors.toList());
-        DescriptionContentIdDto descriptionDto = new DescriptionContentIdDto(description.get(0, Long.class), description.get(1, String.class));
-
-        QuestionDto questionDto = new QuestionDto(question, choiceList, descriptionDto);
-        return questionDto;
+        List<QuestionDto> questionDtoList = findQuestionsById(Arrays.asList(id));
+        return questionDtoList.isEmpty() ? null : questionDtoList.get(0);
+    }
+
+    /**
+     * 문제, 카테고리, 선지, 보기를 조인 쿼리 하나로 조회 (문제 id 500개당 쿼리 1번)
+     * 결과는 입력받은 id 순서를 따르고, 존재하지 않는 id는 제외
+     */
+    @Override
+    public List<QuestionDto> findQuestionsById(List<Long> idList) {
+        List<Long> distinctIdList = new ArrayList<>(new LinkedHashSet<>(idList));
+        Map<Long, QuestionDto> questionMap = new HashMap<>();
+
+        for (int from = 0; from < distinctIdList.size(); from += chunkSize) {
+            List<Long> chunk = distinctIdList.subList(from, Math.min(from + chunkSize, distinctIdList.size()));
+            List<Tuple> rows = queryFactory.select(question.id, question.type, question.prompt, question.answerChoiceId,
+                            category.name, choice.id, choice.content, description.id, description.content)
+                    .from(question)
+                    .leftJoin(question.category, category)
+                    .leftJoin(questionChoice).on(questionChoice.question.eq(question))
+                    .leftJoin(questionChoice.choice, choice)
+                    .leftJoin(questionDescription).on(questionDescription.question.eq(question))
+                    .leftJoin(questionDescription.description, description)
+                    .where(question.id.in(chunk))
+                    .orderBy(question.id.asc(), questionChoice.id.asc())
+                    .fetch();
+
+            for (Tuple row : rows) {
+                QuestionDto questionDto = questionMap.computeIfAbsent(row.get(question.id), id -> QuestionDto.builder()
+                        .id(id)
+                        .type(row.get(question.type))
+                        .prompt(row.get(question.prompt))
+                        .answerChoiceId(row.get(question.answerChoiceId))
+                        .categoryName(row.get(category.name))
+                        .choiceList(new ArrayList<>())
+                        .build());
+
+                Long choiceId = row.get(choice.id);
+                if (choiceId != null && questionDto.getChoiceList().stream().noneMatch(c -> c.getId().equals(choiceId))) {
+                    questionDto.getChoiceList().add(new ChoiceContentIdDto(row.get(choice.content), choiceId));
+                }
+                Long descriptionId = row.get(description.id);
+                if (descriptionId != null && questionDto.getDescription() == null) {
+                    questionDto.setDescription(new DescriptionContentIdDto(descriptionId, row.get(description.content)));
+                }
+            }
+        }
+
+        List<QuestionDto> questionDtoList = new ArrayList<>();
+        for (Long id : distinctIdList) {
+            QuestionDto questionDto = questionMap.get(id);
+            if (questionDto != null) {
+                questionDtoList.add(questionDto);
+            }
+        }
+        return questionDtoList;
+    }
+
+    /**
+     * 조건에 맞는 문제를 id 순서로 한 줄씩 읽어서 consumer에 하나씩 넘김 -> 넘긴 문제의 수 반환
+     * 엔티티가 아닌 값만 조회하고 FORWARD_ONLY 스크롤로 fetchSize개씩 가져오므로 전체 문제 수와 관계없이 메모리 사용량이 일정
+     * 같은 문제의 행은 연속해서 나오므로 문제 id가 바뀔 때마다 이전 문제를 넘김
+     * 트랜잭션 안에서 호출해야 함
+     */
+    @Override
+    public long scrollQuestions(String categoryName, Long type, String modifiedSince, int fetchSize,
+                                Consumer<QuestionDto> consumer) {
+        BooleanBuilder builder = new BooleanBuilder();
+        if (categoryName != null) {
+            builder.and(category.name.eq(categoryName));
+        }
+        if (type != null) {
+            builder.and(question.type.eq(type));
+        }
+        if (modifiedSince != null) {
+            //yyyy-MM-dd-HH:mm:ss 형식이므로 문자열 비교 = 시간 비교
+            builder.and(question.modifiedTime.goe(modifiedSince));
+        }
+
+        Query<?> query = queryFactory.select(question.id, question.type, question.prompt, question.answerChoiceId,
+                        category.name, choice.id, choice.content, description.id, description.content)
+                .from(question)
+                .leftJoin(question.category, category)
+                .leftJoin(questionChoice).on(questionChoice.question.eq(question))
+                .leftJoin(questionChoice.choice, choice)
+                .leftJoin(questionDescription).on(questionDescription.question.eq(question))
+                .leftJoin(questionDescription.description, description)
+                .where(builder)
+                .orderBy(question.id.asc(), questionChoice.id.asc())
+                .createQuery()
+                .unwrap(Query.class)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true);
+
+        long count = 0;
+        QuestionDto current = null;
+        try (ScrollableResults results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                Object[] row = results.get();
+                Long id = (Long) row[0];
+                if (current == null || !current.getId().equals(id)) {
+                    if (current != null) {
+                        consumer.accept(current);
+                        count++;
+                    }
+                    current = QuestionDto.builder()
+                            .id(id)
+                            .type((Long) row[1])
+                            .prompt((String) row[2])
+                            .answerChoiceId((Long) row[3])
+                            .categoryName((String) row[4])
+                            .choiceList(new ArrayList<>())
+                            .build();
+                }
+
+                Long choiceId = (Long) row[5];
+                QuestionDto questionDto = current;
+                if (choiceId != null && questionDto.getChoiceList().stream().noneMatch(c -> c.getId().equals(choiceId))) {
+                    questionDto.getChoiceList().add(new ChoiceContentIdDto((String) row[6], choiceId));
+                }
+                Long descriptionId = (Long) row[7];
+                if (descriptionId != null && questionDto.getDescription() == null) {
+                    questionDto.setDescription(new DescriptionContentIdDto(descriptionId, (String) row[8]));
+                }
+            }
+        }
+        if (current != null) {
+            consumer.accept(current);
+            count++;
+        }
+        return count;
     }
 }
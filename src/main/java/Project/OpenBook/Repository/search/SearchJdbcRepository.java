@@ -0,0 +1,66 @@
+package Project.OpenBook.Repository.search;
+
+import Project.OpenBook.Cache.SearchIndex;
+import Project.OpenBook.Constants.SearchType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 검색 인덱스 전체 구축용 조회
+ * @Lob 컬럼을 엔티티로 한꺼번에 올리지 않도록 JDBC로 한 행씩 읽어서 넘김
+ */
+@Repository
+@RequiredArgsConstructor
+public class SearchJdbcRepository {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public interface DocumentHandler {
+        void handle(Long id, Long topicId, String text);
+    }
+
+    public void queryDocuments(SearchType type, DocumentHandler handler) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(selectSql(type));
+            ps.setFetchSize(FETCH_SIZE);
+            return ps;
+        }, (RowCallbackHandler) rs -> handler.handle(rs.getLong(1), rs.getLong(2), text(type, rs)));
+    }
+
+    public long countDocuments(SearchType type) {
+        Long count = jdbcTemplate.queryForObject("select count(*) from " + table(type), Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private String selectSql(SearchType type) {
+        switch (type) {
+            case TOPIC:
+                return "select id, id, title, detail from topic";
+            case DESCRIPTION:
+                return "select id, topic_id, content from description";
+            case CHOICE:
+                return "select id, topic_id, content from choice";
+            default:
+                return "select id, topic_id, name from sentence";
+        }
+    }
+
+    private String table(SearchType type) {
+        return type.name().toLowerCase();
+    }
+
+    private String text(SearchType type, ResultSet rs) throws SQLException {
+        if (type == SearchType.TOPIC) {
+            return SearchIndex.topicText(rs.getString(3), rs.getString(4));
+        }
+        return rs.getString(3);
+    }
+}
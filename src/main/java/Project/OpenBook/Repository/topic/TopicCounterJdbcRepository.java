@@ -0,0 +1,64 @@
+package Project.OpenBook.Repository.topic;
+
+import Project.OpenBook.Constants.TopicCounter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * topic의 개수 컬럼을 SQL로 직접 증감
+ * 엔티티 값을 읽어서 더하면 동시에 수정될 때 값을 잃어버리므로 col = col + ? 로만 수정
+ */
+@Repository
+@RequiredArgsConstructor
+public class TopicCounterJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void add(TopicCounter counter, Long topicId, int delta) {
+        jdbcTemplate.update("update topic set " + counter.getColumn() + " = " + counter.getColumn() + " + ? where id = ?",
+                delta, topicId);
+    }
+
+    /**
+     * 토픽 id -> 증감량
+     */
+    public void batchAdd(TopicCounter counter, Map<Long, Integer> deltaMap) {
+        List<Map.Entry<Long, Integer>> entryList = new ArrayList<>(deltaMap.entrySet());
+        jdbcTemplate.batchUpdate("update topic set " + counter.getColumn() + " = " + counter.getColumn() + " + ? where id = ?",
+                entryList, entryList.size(), (ps, entry) -> {
+                    ps.setInt(1, entry.getValue());
+                    ps.setLong(2, entry.getKey());
+                });
+    }
+
+    /**
+     * 정답 선지가 속한 토픽의 문제 수를 증감 -> 선지의 토픽을 따로 조회하지 않음
+     */
+    public void addQuestionByChoice(Long answerChoiceId, int delta) {
+        jdbcTemplate.update("update topic set question_num = question_num + ? " +
+                "where id = (select c.topic_id from choice c where c.id = ?)", delta, answerChoiceId);
+    }
+
+    public Long queryMaxTopicId() {
+        return jdbcTemplate.queryForObject("select coalesce(max(id), 0) from topic", Long.class);
+    }
+
+    /**
+     * id가 [fromId, toId]인 토픽의 개수를 실제 행 수로 다시 계산
+     * 5번 유형 문제의 answer_choice_id는 선지 id가 아니므로 문제 수에서 제외
+     */
+    public int reconcile(long fromId, long toId) {
+        return jdbcTemplate.update("update topic set " +
+                "choice_num = (select count(*) from choice c where c.topic_id = topic.id), " +
+                "description_num = (select count(*) from description d where d.topic_id = topic.id), " +
+                "keyword_num = (select count(*) from topic_keyword tk where tk.topic_id = topic.id), " +
+                "question_num = (select count(*) from question q join choice c on q.answer_choice_id = c.id " +
+                "where c.topic_id = topic.id and (q.type is null or q.type <> 5)) " +
+                "where id between ? and ?", fromId, toId);
+    }
+}
@@ -2,14 +2,13 @@ package Project.OpenBook.Repository.topic;
 
 import Project.OpenBook.Domain.Topic;
 import Project.OpenBook.Dto.topic.AdminChapterDto;
+import Project.OpenBook.Dto.topic.TopicDateDto;
 import Project.OpenBook.Dto.topic.TopicDto;
 
 import java.util.List;
 
 public interface  TopicRepositoryCustom {
 
-    public Topic queryRandTopicByCategory(String categoryName);
-
     public Topic queryTopicByDescription(Long descriptionId);
 
     public Topic queryTopicByChoice(Long choiceId);
@@ -19,4 +18,8 @@ public interface  TopicRepositoryCustom {
     public List<AdminChapterDto> queryAdminChapterDto(Integer chapterNum);
 
     public TopicDto queryTopicDto(String topicTitle);
+
+    public List<TopicDateDto> queryTopicDateDtos();
+
+    public TopicDateDto queryTopicDateDto(Long topicId);
 }
@@ -3,9 +3,9 @@ package Project.OpenBook.Repository.topic;
 import Project.OpenBook.Domain.*;
 import Project.OpenBook.Dto.chapter.ChapterTitleDto;
 import Project.OpenBook.Dto.topic.AdminChapterDto;
+import Project.OpenBook.Dto.topic.TopicDateDto;
 import Project.OpenBook.Dto.topic.TopicDto;
 import com.querydsl.core.Tuple;
-import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.core.types.dsl.MathExpressions;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
@@ -14,6 +14,7 @@ import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static Project.OpenBook.Domain.QCategory.category;
 import static Project.OpenBook.Domain.QChapter.chapter;
@@ -30,15 +31,6 @@ public class TopicRepositoryCustomImpl implements TopicRepositoryCustom{
     private final JPAQueryFactory queryFactory;
 
 
-    @Override
-    public Topic queryRandTopicByCategory(String categoryName) {
-         return queryFactory.selectFrom(topic)
-                .where(topic.category.name.eq(categoryName))
-                .orderBy(Expressions.numberTemplate(Double.class, "function('rand')").asc())
-                .limit(1)
-                .fetchOne();
-    }
-
     @Override
     public Topic queryTopicByDescription(Long descriptionId) {
         return queryFactory.select(topic)
@@ -68,31 +60,25 @@ public class TopicRepositoryCustomImpl implements TopicRepositoryCustom{
     }
 
 
+    /**
+     * 토픽에 저장된 개수 컬럼을 그대로 읽음 -> 선지/보기/키워드 테이블을 조인하지 않음
+     */
     @Override
     public List<AdminChapterDto> queryAdminChapterDto(Integer chapterNum) {
-        List<Tuple> result = queryFactory.select(topic.category.name, topic.title, topic.startDate, topic.endDate,
-                        description.countDistinct(), choice.countDistinct(), topicKeyword.countDistinct())
+        List<Tuple> result = queryFactory.select(category.name, topic.title, topic.startDate, topic.endDate,
+                        topic.descriptionNum, topic.choiceNum, topic.keywordNum)
                 .from(topic)
-                .leftJoin(topicKeyword).on(topic.id.eq(topicKeyword.topic.id))
-                .leftJoin(choice).on(topic.id.eq(choice.topic.id))
-                .leftJoin(description).on(topic.id.eq(description.topic.id))
-                .where(topic.chapter.number.eq(chapterNum))
-                .groupBy(topic.id)
+                .join(topic.chapter, chapter)
+                .join(topic.category, category)
+                .where(chapter.number.eq(chapterNum))
+                .orderBy(topic.id.asc())
                 .fetch();
 
         List<AdminChapterDto> adminChapterDtoList = new ArrayList<>();
         for (Tuple t : result) {
-            String category = t.get(topic.category.name);
-            String title = t.get(topic.title);
-            Integer startDate = t.get(topic.startDate);
-            Integer endDate = t.get(topic.endDate);
-            Long descriptionCount = t.get(description.countDistinct());
-            if(descriptionCount == null) descriptionCount = 0L;
-            Long choiceCount = t.get(choice.countDistinct());
-            if(choiceCount == null) choiceCount = 0L;
-            Long keywordCount = t.get(topicKeyword.countDistinct());
-            if(keywordCount == null) keywordCount = 0L;
-            AdminChapterDto adminChapterDto = new AdminChapterDto(category, title, startDate, endDate, descriptionCount, choiceCount, keywordCount);
+            AdminChapterDto adminChapterDto = new AdminChapterDto(t.get(category.name), t.get(topic.title),
+                    t.get(topic.startDate), t.get(topic.endDate), t.get(topic.descriptionNum).longValue(),
+                    t.get(topic.choiceNum).longValue(), t.get(topic.keywordNum).longValue());
             adminChapterDtoList.add(adminChapterDto);
         }
         return adminChapterDtoList;
@@ -118,4 +104,31 @@ public class TopicRepositoryCustomImpl implements TopicRepositoryCustom{
 
     }
 
+    @Override
+    public List<TopicDateDto> queryTopicDateDtos() {
+        return queryFactory.select(topic.id, topic.title, category.name, topic.startDate, topic.endDate, chapter.number)
+                .from(topic)
+                .leftJoin(topic.category, category)
+                .leftJoin(topic.chapter, chapter)
+                .fetch().stream()
+                .map(t -> new TopicDateDto(t.get(topic.id), t.get(topic.title), t.get(category.name),
+                        t.get(topic.startDate), t.get(topic.endDate), t.get(chapter.number)))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public TopicDateDto queryTopicDateDto(Long topicId) {
+        Tuple t = queryFactory.select(topic.id, topic.title, category.name, topic.startDate, topic.endDate, chapter.number)
+                .from(topic)
+                .leftJoin(topic.category, category)
+                .leftJoin(topic.chapter, chapter)
+                .where(topic.id.eq(topicId))
+                .fetchOne();
+        if (t == null) {
+            return null;
+        }
+        return new TopicDateDto(t.get(topic.id), t.get(topic.title), t.get(category.name),
+                t.get(topic.startDate), t.get(topic.endDate), t.get(chapter.number));
+    }
+
 }
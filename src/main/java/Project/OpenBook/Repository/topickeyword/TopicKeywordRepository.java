@@ -10,4 +10,6 @@ import java.util.Optional;
 public interface TopicKeywordRepository extends JpaRepository<TopicKeyword, Long>, TopicKeywordRepositoryCustom {
 
     public Optional<TopicKeyword> findByTopicAndKeyword(Topic topic, Keyword keyword);
+
+    public boolean existsByKeyword(Keyword keyword);
 }
@@ -3,6 +3,7 @@ package Project.OpenBook.Repository.topickeyword;
 import Project.OpenBook.Domain.Keyword;
 import Project.OpenBook.Domain.Topic;
 import Project.OpenBook.Domain.TopicKeyword;
+import Project.OpenBook.Dto.keyword.TopicKeywordIdDto;
 
 import java.util.List;
 
@@ -15,4 +16,6 @@ public interface TopicKeywordRepositoryCustom {
     public List<TopicKeyword> queryTopicKeyword(String topicTitle);
 
     public List<Topic> queryTopicsByKeyword(String keywordName);
+
+    public List<TopicKeywordIdDto> queryTopicKeywordIds();
 }
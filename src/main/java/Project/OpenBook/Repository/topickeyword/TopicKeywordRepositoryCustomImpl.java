@@ -2,11 +2,13 @@ package Project.OpenBook.Repository.topickeyword;
 
 import Project.OpenBook.Domain.Topic;
 import Project.OpenBook.Domain.TopicKeyword;
+import Project.OpenBook.Dto.keyword.TopicKeywordIdDto;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static Project.OpenBook.Domain.QTopicKeyword.topicKeyword;
 
@@ -45,4 +47,13 @@ public class TopicKeywordRepositoryCustomImpl implements TopicKeywordRepositoryC
                 .where(topicKeyword.keyword.name.eq(keywordName))
                 .fetch();
     }
+
+    @Override
+    public List<TopicKeywordIdDto> queryTopicKeywordIds() {
+        return queryFactory.select(topicKeyword.topic.id, topicKeyword.keyword.id)
+                .from(topicKeyword)
+                .fetch().stream()
+                .map(t -> new TopicKeywordIdDto(t.get(topicKeyword.topic.id), t.get(topicKeyword.keyword.id)))
+                .collect(Collectors.toList());
+    }
 }
@@ -1,5 +1,6 @@
 package Project.OpenBook.Service;
 
+import Project.OpenBook.Cache.ReferenceDictionary;
 import Project.OpenBook.Utils.CustomException;
 import Project.OpenBook.Domain.Bookmark;
 import Project.OpenBook.Domain.Customer;
@@ -22,6 +23,7 @@ public class BookmarkService {
     private final BookmarkRepository bookmarkRepository;
     private final CustomerRepository customerRepository;
     private final TopicRepository topicRepository;
+    private final ReferenceDictionary referenceDictionary;
 
 
     public Bookmark addBookmark(BookmarkDto bookmarkDto) {
@@ -32,9 +34,7 @@ public class BookmarkService {
             throw new CustomException(CUSTOMER_NOT_FOUND);
         });
 
-        Topic topic = topicRepository.findTopicByTitle(topicTitle).orElseThrow(() -> {
-            throw new CustomException(TOPIC_NOT_FOUND);
-        });
+        Topic topic = topicRepository.getReferenceById(checkTopic(topicTitle).getId());
 
         Bookmark bookmark = new Bookmark(customer, topic);
         bookmarkRepository.save(bookmark);
@@ -49,9 +49,7 @@ public class BookmarkService {
             throw new CustomException(CUSTOMER_NOT_FOUND);
         });
 
-        Topic topic = topicRepository.findTopicByTitle(topicTitle).orElseThrow(() -> {
-            throw new CustomException(TOPIC_NOT_FOUND);
-        });
+        checkTopic(topicTitle);
 
         Bookmark bookmark = bookmarkRepository.queryBookmark(customerId, topicTitle);
         bookmarkRepository.delete(bookmark);
@@ -66,4 +64,12 @@ public class BookmarkService {
         List<String> titleList = bookmarkList.stream().map(b -> b.getTopic().getTitle()).collect(Collectors.toList());
         return titleList;
     }
+
+    private ReferenceDictionary.TopicRef checkTopic(String topicTitle) {
+        ReferenceDictionary.TopicRef topic = referenceDictionary.getTopic(topicTitle);
+        if (topic == null) {
+            throw new CustomException(TOPIC_NOT_FOUND);
+        }
+        return topic;
+    }
 }
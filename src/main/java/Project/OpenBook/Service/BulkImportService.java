@@ -0,0 +1,576 @@
+package Project.OpenBook.Service;
+
+import Project.OpenBook.Cache.AutocompleteIndex;
+import Project.OpenBook.Cache.ChoiceSimilarityIndex;
+import Project.OpenBook.Cache.ContentDupChecker;
+import Project.OpenBook.Cache.KeywordTopicIndex;
+import Project.OpenBook.Cache.QuestionCatalog;
+import Project.OpenBook.Cache.ReferenceDictionary;
+import Project.OpenBook.Cache.SearchIndex;
+import Project.OpenBook.Constants.ErrorCode;
+import Project.OpenBook.Constants.SearchType;
+import Project.OpenBook.Constants.TopicCounter;
+import Project.OpenBook.Dto.bulk.BulkImportErrorDto;
+import Project.OpenBook.Dto.bulk.BulkImportResultDto;
+import Project.OpenBook.Dto.bulk.BulkImportRowDto;
+import Project.OpenBook.Dto.choice.ChoiceContentTopicIdDto;
+import Project.OpenBook.Repository.bulk.BulkImportJdbcRepository;
+import Project.OpenBook.Repository.bulk.IdBlockAllocator;
+import Project.OpenBook.Utils.CustomException;
+import Project.OpenBook.Utils.HashUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+import static Project.OpenBook.Constants.ErrorCode.*;
+
+/**
+ * 단원, 토픽, 선지, 보기 대량 입력 (NDJSON 또는 CSV)
+ * 파일을 한 줄씩 읽으면서 검증하고, batchSize개씩 모아서 JDBC 배치 insert
+ *
+ * 단원/카테고리/토픽 확인은 ReferenceDictionary와 이번 입력에서 추가한 목록으로, 내용 중복은 ContentDupChecker로 확인
+ * 잘못된 행은 줄 번호와 이유를 기록하고 건너뜀 -> 파일 전체를 중단하지 않음
+ * 배치 저장이 실패하면 해당 배치의 행만 실패로 기록
+ * dup_date와 메모리 인덱스는 파일을 다 읽은 뒤에 한번에 갱신
+ *
+ * CSV는 첫 열이 type이고 나머지 열은 type별로 BulkImportRowDto 주석의 순서를 따름, 첫 줄이 type으로 시작하면 헤더로 보고 건너뜀
+ */
+@Slf4j
+@Service
+public class BulkImportService {
+
+    public static final String NDJSON = "ndjson";
+    public static final String CSV = "csv";
+
+    private static final int MAX_ERROR_NUM = 1000;
+    private static final int MAX_PROGRESS_NUM = 100;
+
+    private final BulkImportJdbcRepository bulkImportJdbcRepository;
+    private final IdBlockAllocator idBlockAllocator;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final ReferenceDictionary referenceDictionary;
+    private final ContentDupChecker contentDupChecker;
+    private final DupDateService dupDateService;
+    private final TopicCounterService topicCounterService;
+    private final QuestionCatalog questionCatalog;
+    private final ChoiceSimilarityIndex choiceSimilarityIndex;
+    private final SearchIndex searchIndex;
+    private final AutocompleteIndex autocompleteIndex;
+    private final KeywordTopicIndex keywordTopicIndex;
+
+    private final int batchSize;
+    private final int progressInterval;
+
+    //가져오기 id -> 진행 상황, 최근 MAX_PROGRESS_NUM개만 보관
+    private final Map<String, Run> runMap = Collections.synchronizedMap(new LinkedHashMap<String, Run>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Run> eldest) {
+            return size() > MAX_PROGRESS_NUM;
+        }
+    });
+    //대량 입력은 쓰기 락, 관리자 쓰기 요청은 읽기 락 -> 대량 입력은 한번에 하나씩 실행되고,
+    //그 동안 IDENTITY insert가 끼어들어 IdBlockAllocator의 블록과 겹치는 일이 없음
+    private final ReentrantReadWriteLock importLock = new ReentrantReadWriteLock();
+
+    public BulkImportService(BulkImportJdbcRepository bulkImportJdbcRepository, IdBlockAllocator idBlockAllocator,
+                             PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                             ReferenceDictionary referenceDictionary, ContentDupChecker contentDupChecker,
+                             DupDateService dupDateService, TopicCounterService topicCounterService,
+                             QuestionCatalog questionCatalog,
+                             ChoiceSimilarityIndex choiceSimilarityIndex, SearchIndex searchIndex,
+                             AutocompleteIndex autocompleteIndex, KeywordTopicIndex keywordTopicIndex,
+                             @Value("${import.batch-size:1000}") int batchSize,
+                             @Value("${import.progress-interval:10000}") int progressInterval) {
+        this.bulkImportJdbcRepository = bulkImportJdbcRepository;
+        this.idBlockAllocator = idBlockAllocator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.referenceDictionary = referenceDictionary;
+        this.contentDupChecker = contentDupChecker;
+        this.dupDateService = dupDateService;
+        this.topicCounterService = topicCounterService;
+        this.questionCatalog = questionCatalog;
+        this.choiceSimilarityIndex = choiceSimilarityIndex;
+        this.searchIndex = searchIndex;
+        this.autocompleteIndex = autocompleteIndex;
+        this.keywordTopicIndex = keywordTopicIndex;
+        this.batchSize = batchSize;
+        this.progressInterval = progressInterval;
+    }
+
+    public BulkImportResultDto importRows(InputStream in, String format) {
+        if (!NDJSON.equals(format) && !CSV.equals(format)) {
+            throw new CustomException(INVALID_PARAMETER);
+        }
+        Run run = new Run(UUID.randomUUID().toString(), format);
+        runMap.put(run.importId, run);
+        //진행 중인 관리자 쓰기 요청이 끝날 때까지 기다림
+        importLock.writeLock().lock();
+        try {
+            //이전 입력에서 남은 id 블록은 그 사이 관리자 입력과 겹칠 수 있으므로 버림
+            idBlockAllocator.reset();
+            run.execute(in);
+        } finally {
+            importLock.writeLock().unlock();
+        }
+        return run.toDto();
+    }
+
+    /**
+     * 관리자 쓰기 요청을 시작하기 전에 호출, 대량 입력이 진행 중이면 false
+     * true를 받은 경우 요청이 끝날 때 같은 스레드에서 unlockAdminWrite를 호출해야 함
+     */
+    public boolean tryLockAdminWrite() {
+        return importLock.readLock().tryLock();
+    }
+
+    public void unlockAdminWrite() {
+        importLock.readLock().unlock();
+    }
+
+    /**
+     * 다른 요청에서 진행 중인 가져오기의 상황을 조회
+     */
+    public BulkImportResultDto queryProgress(String importId) {
+        Run run = runMap.get(importId);
+        if (run == null) {
+            throw new CustomException(IMPORT_NOT_FOUND);
+        }
+        return run.toDto();
+    }
+
+    /**
+     * 가져오기 한번에 필요한 상태
+     */
+    private class Run {
+        private final String importId;
+        private final String format;
+        private final String now = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd-HH:mm:ss"));
+
+        //이번 입력에서 추가한 단원 번호 -> id, 토픽 제목 -> id
+        private final Map<Integer, Long> chapterIdMap = new HashMap<>();
+        private final Map<String, Long> topicIdMap = new HashMap<>();
+        private final List<NewTopic> newTopicList = new ArrayList<>();
+
+        //아직 저장하지 않은 행
+        private final List<PendingRow> chapterRowList = new ArrayList<>();
+        private final List<PendingRow> topicRowList = new ArrayList<>();
+        private final List<PendingContent> choiceList = new ArrayList<>();
+        private final List<PendingContent> descriptionList = new ArrayList<>();
+
+        private final List<BulkImportErrorDto> errorList = new ArrayList<>();
+        private volatile long lineCount;
+        private volatile long successCount;
+        private volatile long errorCount;
+        private volatile boolean done;
+
+        private Run(String importId, String format) {
+            this.importId = importId;
+            this.format = format;
+        }
+
+        private void execute(InputStream in) {
+            long begin = System.currentTimeMillis();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lineCount++;
+                    if (!line.isBlank()) {
+                        readLine(line);
+                    }
+                    if (pendingSize() >= batchSize) {
+                        flush();
+                    }
+                    if (lineCount % progressInterval == 0) {
+                        log.info("대량 입력 {} 진행 {}줄 성공={} 실패={}", importId, lineCount, successCount, errorCount);
+                    }
+                }
+                flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                //중간에 끊겨도 저장된 행은 인덱스에 반영
+                refreshIndexes();
+                done = true;
+                log.info("대량 입력 {} 완료 {}줄 성공={} 실패={} {}ms", importId, lineCount, successCount, errorCount,
+                        System.currentTimeMillis() - begin);
+            }
+        }
+
+        private void readLine(String line) {
+            long lineNo = lineCount;
+            BulkImportRowDto row;
+            try {
+                row = NDJSON.equals(format) ? objectMapper.readValue(line, BulkImportRowDto.class) : parseCsv(line);
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                error(lineNo, INVALID_IMPORT_ROW);
+                return;
+            }
+            if (row == null) {
+                //CSV 헤더
+                return;
+            }
+            try {
+                addRow(lineNo, row);
+            } catch (CustomException e) {
+                error(lineNo, e.getErrorCode());
+            }
+        }
+
+        private void addRow(long lineNo, BulkImportRowDto row) {
+            String type = row.getType() == null ? "" : row.getType();
+            switch (type) {
+                case "chapter":
+                    addChapter(lineNo, row);
+                    break;
+                case "topic":
+                    addTopic(lineNo, row);
+                    break;
+                case "choice":
+                    choiceList.add(new PendingContent(lineNo, checkTopic(row.getTopic()), checkContent(row.getContent())));
+                    break;
+                case "description":
+                    descriptionList.add(new PendingContent(lineNo, checkTopic(row.getTopic()), checkContent(row.getContent())));
+                    break;
+                default:
+                    throw new CustomException(INVALID_IMPORT_ROW);
+            }
+        }
+
+        private void addChapter(long lineNo, BulkImportRowDto row) {
+            Integer number = row.getNumber();
+            if (number == null || isBlank(row.getTitle())) {
+                throw new CustomException(INVALID_IMPORT_ROW);
+            }
+            if (chapterIdMap.containsKey(number) || referenceDictionary.getChapter(number) != null) {
+                throw new CustomException(DUP_CHAPTER_NUM);
+            }
+            long id = idBlockAllocator.next("chapter");
+            chapterIdMap.put(number, id);
+            chapterRowList.add(new PendingRow(lineNo, number, new Object[]{id, number, row.getTitle(), now, now}));
+        }
+
+        private void addTopic(long lineNo, BulkImportRowDto row) {
+            String title = row.getTitle();
+            if (isBlank(title) || row.getChapter() == null || isBlank(row.getCategory())) {
+                throw new CustomException(INVALID_IMPORT_ROW);
+            }
+            Integer startDate = row.getStartDate();
+            Integer endDate = row.getEndDate();
+            if (startDate != null && endDate != null && startDate > endDate) {
+                throw new CustomException(INVALID_PARAMETER);
+            }
+            if (topicIdMap.containsKey(title) || referenceDictionary.getTopic(title) != null) {
+                throw new CustomException(DUP_TOPIC_TITLE);
+            }
+            Long chapterId = chapterIdMap.get(row.getChapter());
+            if (chapterId == null) {
+                ReferenceDictionary.ChapterRef chapter = referenceDictionary.getChapter(row.getChapter());
+                if (chapter == null) {
+                    throw new CustomException(CHAPTER_NOT_FOUND);
+                }
+                chapterId = chapter.getId();
+            }
+            ReferenceDictionary.CategoryRef category = referenceDictionary.getCategory(row.getCategory());
+            if (category == null) {
+                throw new CustomException(CATEGORY_NOT_FOUND);
+            }
+
+            long id = idBlockAllocator.next("topic");
+            topicIdMap.put(title, id);
+            topicRowList.add(new PendingRow(lineNo, title,
+                    new Object[]{id, title, startDate, endDate, row.getDetail(), chapterId, category.getId(), now, now}));
+        }
+
+        private Long checkTopic(String topicTitle) {
+            if (isBlank(topicTitle)) {
+                throw new CustomException(INVALID_IMPORT_ROW);
+            }
+            Long topicId = topicIdMap.get(topicTitle);
+            if (topicId != null) {
+                return topicId;
+            }
+            ReferenceDictionary.TopicRef topic = referenceDictionary.getTopic(topicTitle);
+            if (topic == null) {
+                throw new CustomException(TOPIC_NOT_FOUND);
+            }
+            return topic.getId();
+        }
+
+        private String checkContent(String content) {
+            if (isBlank(content)) {
+                throw new CustomException(INVALID_IMPORT_ROW);
+            }
+            return content;
+        }
+
+        private int pendingSize() {
+            return chapterRowList.size() + topicRowList.size() + choiceList.size() + descriptionList.size();
+        }
+
+        /**
+         * 모아둔 행을 단원 -> 토픽 -> 선지 -> 보기 순서로 한 트랜잭션에서 저장
+         * 선지/보기 내용 중복은 이 시점에 배치 전체를 한번에 확인
+         */
+        private void flush() {
+            if (pendingSize() == 0) {
+                return;
+            }
+            List<Object[]> choiceRowList = new ArrayList<>();
+            List<ChoiceContentTopicIdDto> choiceDtoList = new ArrayList<>();
+            List<Object[]> descriptionRowList = new ArrayList<>();
+            List<PendingContent> savedChoiceList = filterDupContents(choiceList, true);
+            List<PendingContent> savedDescriptionList = filterDupContents(descriptionList, false);
+            for (PendingContent choice : savedChoiceList) {
+                long id = idBlockAllocator.next("choice");
+                choice.id = id;
+                choiceRowList.add(new Object[]{id, choice.content, HashUtils.contentHash(choice.content), choice.topicId, now, now});
+                choiceDtoList.add(new ChoiceContentTopicIdDto(id, choice.content, choice.topicId));
+            }
+            for (PendingContent description : savedDescriptionList) {
+                long id = idBlockAllocator.next("description");
+                description.id = id;
+                descriptionRowList.add(new Object[]{id, description.content, HashUtils.contentHash(description.content),
+                        description.topicId, now, now});
+            }
+
+            List<Object[]> chapterRows = new ArrayList<>();
+            chapterRowList.forEach(r -> chapterRows.add(r.values));
+            List<Object[]> topicRows = new ArrayList<>();
+            topicRowList.forEach(r -> topicRows.add(r.values));
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    bulkImportJdbcRepository.batchInsertChapters(chapterRows);
+                    bulkImportJdbcRepository.batchInsertTopics(topicRows);
+                    bulkImportJdbcRepository.batchInsertChoices(choiceRowList);
+                    bulkImportJdbcRepository.batchInsertDescriptions(descriptionRowList);
+                    topicCounterService.addAll(TopicCounter.CHOICE, countByTopic(savedChoiceList));
+                    topicCounterService.addAll(TopicCounter.DESCRIPTION, countByTopic(savedDescriptionList));
+                });
+            } catch (DataAccessException e) {
+                log.warn("대량 입력 {} 배치 저장 실패", importId, e);
+                //이 배치에서 추가한 단원/토픽은 없던 것으로 처리
+                chapterRowList.forEach(r -> {
+                    chapterIdMap.remove((Integer) r.key);
+                    error(r.lineNo, IMPORT_SAVE_FAIL);
+                });
+                topicRowList.forEach(r -> {
+                    topicIdMap.remove((String) r.key);
+                    error(r.lineNo, IMPORT_SAVE_FAIL);
+                });
+                savedChoiceList.forEach(c -> error(c.lineNo, IMPORT_SAVE_FAIL));
+                savedDescriptionList.forEach(d -> error(d.lineNo, IMPORT_SAVE_FAIL));
+                clearPending();
+                return;
+            }
+
+            successCount += chapterRows.size() + topicRows.size() + choiceRowList.size() + descriptionRowList.size();
+            for (PendingRow topicRow : topicRowList) {
+                Object[] values = topicRow.values;
+                newTopicList.add(new NewTopic((Long) values[0], (String) values[1], (String) values[4]));
+            }
+            contentDupChecker.addChoices(savedChoiceList.stream().map(c -> c.content).collect(Collectors.toList()));
+            contentDupChecker.addDescriptions(savedDescriptionList.stream().map(d -> d.content).collect(Collectors.toList()));
+            choiceSimilarityIndex.addChoices(choiceDtoList);
+            savedChoiceList.forEach(c -> searchIndex.index(SearchType.CHOICE, c.id, c.topicId, c.content));
+            savedDescriptionList.forEach(d -> searchIndex.index(SearchType.DESCRIPTION, d.id, d.topicId, d.content));
+            clearPending();
+        }
+
+        /**
+         * 배치 안에서 두번째 이후로 나온 내용과 이미 저장된 내용을 실패로 기록하고 나머지를 반환
+         */
+        private List<PendingContent> filterDupContents(List<PendingContent> pendingList, boolean choice) {
+            ErrorCode errorCode = choice ? DUP_CHOICE_CONTENT : DUP_DESCRIPTION_CONTENT;
+            Set<String> contentSet = new HashSet<>();
+            List<PendingContent> uniqueList = new ArrayList<>();
+            for (PendingContent pending : pendingList) {
+                if (contentSet.add(pending.content)) {
+                    uniqueList.add(pending);
+                } else {
+                    error(pending.lineNo, errorCode);
+                }
+            }
+            String[] contentArr = uniqueList.stream().map(p -> p.content).toArray(String[]::new);
+            List<String> dupList = choice ? contentDupChecker.findDupChoices(contentArr)
+                    : contentDupChecker.findDupDescriptions(contentArr);
+            Set<String> dupSet = new HashSet<>(dupList);
+
+            List<PendingContent> savedList = new ArrayList<>();
+            for (PendingContent pending : uniqueList) {
+                if (dupSet.contains(pending.content)) {
+                    error(pending.lineNo, errorCode);
+                } else {
+                    savedList.add(pending);
+                }
+            }
+            return savedList;
+        }
+
+        private Map<Long, Integer> countByTopic(List<PendingContent> pendingList) {
+            Map<Long, Integer> countMap = new HashMap<>();
+            pendingList.forEach(p -> countMap.merge(p.topicId, 1, Integer::sum));
+            return countMap;
+        }
+
+        private void clearPending() {
+            chapterRowList.clear();
+            topicRowList.clear();
+            choiceList.clear();
+            descriptionList.clear();
+        }
+
+        private void refreshIndexes() {
+            if (successCount == 0) {
+                return;
+            }
+            referenceDictionary.clear();
+            for (NewTopic topic : newTopicList) {
+                autocompleteIndex.replaceTopic(null, topic.title);
+                keywordTopicIndex.putTopic(topic.id, topic.title);
+                searchIndex.indexTopic(topic.id, topic.title, topic.detail);
+            }
+            if (!newTopicList.isEmpty()) {
+                dupDateService.addTopics(newTopicList.stream().map(t -> t.id).collect(Collectors.toList()));
+            }
+            questionCatalog.reload();
+        }
+
+        private synchronized void error(long lineNo, ErrorCode errorCode) {
+            errorCount++;
+            if (errorList.size() < MAX_ERROR_NUM) {
+                errorList.add(new BulkImportErrorDto(lineNo, errorCode.getErrorMessage()));
+            }
+        }
+
+        private synchronized BulkImportResultDto toDto() {
+            return new BulkImportResultDto(importId, lineCount, successCount, errorCount, done, new ArrayList<>(errorList));
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * CSV 한 줄 -> 큰따옴표로 감싼 값 안의 쉼표와 "" 이스케이프를 처리, 줄바꿈이 들어간 값은 지원하지 않음
+     * 헤더면 null
+     */
+    private static BulkImportRowDto parseCsv(String line) {
+        List<String> valueList = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        sb.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    sb.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                valueList.add(sb.toString());
+                sb.setLength(0);
+            } else {
+                sb.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("닫히지 않은 따옴표");
+        }
+        valueList.add(sb.toString());
+
+        String type = valueList.get(0).trim();
+        switch (type) {
+            case "type":
+                return null;
+            case "chapter":
+                return new BulkImportRowDto(type, toInteger(valueList, 1), value(valueList, 2), null, null, null, null, null, null, null);
+            case "topic":
+                return new BulkImportRowDto(type, null, value(valueList, 1), toInteger(valueList, 2), value(valueList, 3),
+                        toInteger(valueList, 4), toInteger(valueList, 5), value(valueList, 6), null, null);
+            case "choice":
+            case "description":
+                return new BulkImportRowDto(type, null, null, null, null, null, null, null, value(valueList, 1), value(valueList, 2));
+            default:
+                return new BulkImportRowDto(type, null, null, null, null, null, null, null, null, null);
+        }
+    }
+
+    //빈 값은 null
+    private static String value(List<String> valueList, int index) {
+        if (index >= valueList.size() || valueList.get(index).isEmpty()) {
+            return null;
+        }
+        return valueList.get(index);
+    }
+
+    private static Integer toInteger(List<String> valueList, int index) {
+        String value = value(valueList, index);
+        return value == null ? null : Integer.valueOf(value.trim());
+    }
+
+    private static class PendingRow {
+        private final long lineNo;
+        //단원 번호 또는 토픽 제목
+        private final Object key;
+        private final Object[] values;
+
+        private PendingRow(long lineNo, Object key, Object[] values) {
+            this.lineNo = lineNo;
+            this.key = key;
+            this.values = values;
+        }
+    }
+
+    private static class PendingContent {
+        private final long lineNo;
+        private final Long topicId;
+        private final String content;
+        private Long id;
+
+        private PendingContent(long lineNo, Long topicId, String content) {
+            this.lineNo = lineNo;
+            this.topicId = topicId;
+            this.content = content;
+        }
+    }
+
+    private static class NewTopic {
+        private final Long id;
+        private final String title;
+        private final String detail;
+
+        private NewTopic(Long id, String title, String detail) {
+            this.id = id;
+            this.title = title;
+            this.detail = detail;
+        }
+    }
+}
@@ -1,5 +1,10 @@
 package Project.OpenBook.Service;
 
+import Project.OpenBook.Cache.DupDateGraph;
+import Project.OpenBook.Cache.QuestionCache;
+import Project.OpenBook.Cache.QuestionCatalog;
+import Project.OpenBook.Cache.QuestionPool;
+import Project.OpenBook.Cache.ReferenceDictionary;
 import Project.OpenBook.Utils.CustomException;
 import Project.OpenBook.Domain.Category;
 import Project.OpenBook.Domain.Topic;
@@ -22,6 +27,12 @@ public class CategoryService {
     private final CategoryRepository categoryRepository;
     private final TopicRepository topicRepository;
 
+    private final QuestionCatalog questionCatalog;
+    private final QuestionPool questionPool;
+    private final QuestionCache questionCache;
+    private final ReferenceDictionary referenceDictionary;
+    private final DupDateGraph dupDateGraph;
+
 
     public List<String> queryCategories() {
         List<Category> all = categoryRepository.findAll();
@@ -33,6 +44,7 @@ public class CategoryService {
 
         Category category = new Category(categoryName);
         categoryRepository.save(category);
+        referenceDictionary.invalidate();
         return category;
     }
 
@@ -45,6 +57,12 @@ public class CategoryService {
         checkDupCategoryName(afterName);
 
         category.changeName(afterName);
+        referenceDictionary.invalidate();
+        questionCatalog.refreshAll();
+        dupDateGraph.refreshAll();
+        questionPool.evictAll();
+        questionPool.removeCategory(prevName);
+        questionCache.evictAll();
         return category;
     }
 
@@ -57,6 +75,8 @@ public class CategoryService {
         }
 
         categoryRepository.delete(category);
+        referenceDictionary.invalidate();
+        questionPool.removeCategory(categoryName);
     }
 
 
@@ -67,9 +87,9 @@ public class CategoryService {
     }
 
     private void checkDupCategoryName(String categoryName) {
-        categoryRepository.findCategoryByName(categoryName).ifPresent(c -> {
+        if (referenceDictionary.getCategory(categoryName) != null) {
             throw new CustomException(DUP_CATEGORY_NAME);
-        });
+        }
     }
 
 
@@ -1,5 +1,6 @@
 package Project.OpenBook.Service;
 
+import Project.OpenBook.Cache.ReferenceDictionary;
 import Project.OpenBook.Dto.topic.AdminChapterDto;
 import Project.OpenBook.Utils.CustomException;
 import Project.OpenBook.Domain.Chapter;
@@ -21,6 +22,7 @@ public class ChapterService {
 
     private final ChapterRepository chapterRepository;
     private final TopicRepository topicRepository;
+    private final ReferenceDictionary referenceDictionary;
 
 
     public Chapter createChapter(String title, int number) {
@@ -32,6 +34,7 @@ public class ChapterService {
                 .build();
 
         chapterRepository.save(newChapter);
+        referenceDictionary.invalidate();
 
         return newChapter;
     }
@@ -41,7 +44,7 @@ public class ChapterService {
     }
 
     public List<AdminChapterDto> queryTopicsInChapter(int number) {
-        checkChapter(number);
+        checkChapterRef(number);
         return topicRepository.queryAdminChapterDto(number);
     }
 
@@ -52,6 +55,7 @@ public class ChapterService {
         Chapter chapter = checkChapter(num);
 
         Chapter updateChapter = chapter.updateChapter(inputTitle, inputNum);
+        referenceDictionary.invalidate();
         return updateChapter;
     }
 
@@ -67,17 +71,25 @@ public class ChapterService {
         //TODO : 학습분석을 구현하면 해당 학습분석을 처리하는 구문필요
 
         chapterRepository.delete(chapter);
+        referenceDictionary.invalidate();
         return true;
     }
     public String queryChapterTitle(Integer num) {
-        Chapter chapter = checkChapter(num);
-        return chapter.getTitle();
+        return checkChapterRef(num).getTitle();
     }
 
     private void checkChapterNum(int number) {
-        chapterRepository.findOneByNumber(number).ifPresent(c -> {
+        if (referenceDictionary.getChapter(number) != null) {
             throw new CustomException(DUP_CHAPTER_NUM);
-        });
+        }
+    }
+
+    private ReferenceDictionary.ChapterRef checkChapterRef(int num) {
+        ReferenceDictionary.ChapterRef chapter = referenceDictionary.getChapter(num);
+        if (chapter == null) {
+            throw new CustomException(CHAPTER_NOT_FOUND);
+        }
+        return chapter;
     }
 
     private Chapter checkChapter(int num) {
@@ -1,13 +1,25 @@
 package Project.OpenBook.Service;
 
+import Project.OpenBook.Cache.ChoiceSimilarityIndex;
+import Project.OpenBook.Cache.QuestionCache;
+import Project.OpenBook.Cache.QuestionCatalog;
+import Project.OpenBook.Cache.QuestionDraftCache;
+import Project.OpenBook.Cache.QuestionPool;
+import Project.OpenBook.Cache.SearchIndex;
+import Project.OpenBook.Constants.SearchType;
+import Project.OpenBook.Constants.TopicCounter;
 import Project.OpenBook.Utils.CustomException;
+import Project.OpenBook.Utils.DupContentException;
 import Project.OpenBook.Domain.Choice;
 import Project.OpenBook.Domain.Topic;
 import Project.OpenBook.Dto.choice.ChoiceDto;
 import Project.OpenBook.Dto.choice.ChoiceAddDto;
+import Project.OpenBook.Dto.choice.ChoiceContentTopicIdDto;
 import Project.OpenBook.Dto.choice.ChoiceUpdateDto;
 import Project.OpenBook.Repository.topic.TopicRepository;
 import Project.OpenBook.Repository.choice.ChoiceRepository;
+import Project.OpenBook.Cache.ContentDupChecker;
+import Project.OpenBook.Cache.ReferenceDictionary;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -24,6 +36,16 @@ public class ChoiceService {
     private final ChoiceRepository choiceRepository;
     private final TopicRepository topicRepository;
 
+    private final QuestionCatalog questionCatalog;
+    private final QuestionPool questionPool;
+    private final QuestionCache questionCache;
+    private final QuestionDraftCache questionDraftCache;
+    private final ChoiceSimilarityIndex choiceSimilarityIndex;
+    private final SearchIndex searchIndex;
+    private final ReferenceDictionary referenceDictionary;
+    private final ContentDupChecker contentDupChecker;
+    private final TopicCounterService topicCounterService;
+
     public List<ChoiceDto> queryChoicesByTopic(String topicTitle) {
         List<Choice> choiceList = choiceRepository.queryChoiceByTopicTitle(topicTitle);
         List<ChoiceDto> choiceDtoList = choiceList.stream().map(c -> new ChoiceDto(c)).collect(Collectors.toList());
@@ -47,16 +69,27 @@ public class ChoiceService {
         }
         return new ChoiceDto(choice);
     }
+
+    @Transactional
     public void addChoices(ChoiceAddDto choiceAddDto) {
 
-        Topic topic = topicRepository.findTopicByTitle(choiceAddDto.getTopicTitle()).orElseThrow(() -> {
+        ReferenceDictionary.TopicRef topicRef = referenceDictionary.getTopic(choiceAddDto.getTopicTitle());
+        if (topicRef == null) {
             throw new CustomException(TOPIC_NOT_FOUND);
-        });
+        }
+        Topic topic = topicRepository.getReferenceById(topicRef.getId());
 
         String[] contentArr = choiceAddDto.getChoiceArr();
         dupChoice(contentArr);
         List<Choice> choiceList = Arrays.stream(contentArr).map(c -> new Choice(c, topic)).collect(Collectors.toList());
         choiceRepository.saveAll(choiceList);
+        topicCounterService.add(TopicCounter.CHOICE, topic.getId(), choiceList.size());
+        contentDupChecker.addChoices(Arrays.asList(contentArr));
+        questionCatalog.refreshTopic(topic.getId());
+        choiceSimilarityIndex.addChoices(choiceList.stream()
+                .map(c -> new ChoiceContentTopicIdDto(c.getId(), c.getContent(), topic.getId()))
+                .collect(Collectors.toList()));
+        choiceList.forEach(c -> searchIndex.index(SearchType.CHOICE, c.getId(), topic.getId(), c.getContent()));
     }
 
     @Transactional
@@ -65,14 +98,28 @@ public class ChoiceService {
         String[] choiceContentArr = {choiceUpdateDto.getContent()};
         dupChoice(choiceContentArr);
         Choice updatedChoice = choice.updateContent(choiceUpdateDto.getContent());
+        contentDupChecker.addChoices(Arrays.asList(choiceContentArr));
+        questionPool.evictChoice(choiceId);
+        questionCache.evictChoice(choiceId);
+        choiceSimilarityIndex.addChoices(Arrays.asList(
+                new ChoiceContentTopicIdDto(choiceId, updatedChoice.getContent(), choice.getTopic().getId())));
+        searchIndex.index(SearchType.CHOICE, choiceId, choice.getTopic().getId(), updatedChoice.getContent());
         return updatedChoice;
     }
 
 
     @Transactional
     public Boolean deleteChoice(Long choiceId) {
-        checkChoice(choiceId);
-        choiceRepository.deleteById(choiceId);
+        Choice choice = checkChoice(choiceId);
+        Long topicId = choice.getTopic().getId();
+        choiceRepository.delete(choice);
+        topicCounterService.add(TopicCounter.CHOICE, topicId, -1);
+        questionCatalog.refreshTopic(topicId);
+        questionPool.evictChoice(choiceId);
+        questionCache.evictChoice(choiceId);
+        choiceSimilarityIndex.removeChoice(choiceId);
+        questionDraftCache.evictChoice(choiceId);
+        searchIndex.remove(SearchType.CHOICE, choiceId);
         return true;
     }
 
@@ -83,10 +130,9 @@ public class ChoiceService {
     }
 
     private void dupChoice(String[] choiceContentArr) {
-        for (String content : choiceContentArr) {
-            if (choiceRepository.queryChoiceByContent(content) != null) {
-                throw new CustomException(DUP_CHOICE_CONTENT);
-            }
+        List<String> dupList = contentDupChecker.findDupChoices(choiceContentArr);
+        if (!dupList.isEmpty()) {
+            throw new DupContentException(DUP_CHOICE_CONTENT, dupList);
         }
     }
 
@@ -1,8 +1,17 @@
 package Project.OpenBook.Service;
 
+import Project.OpenBook.Cache.DupContentExclusionCache;
+import Project.OpenBook.Cache.QuestionCache;
+import Project.OpenBook.Cache.QuestionCatalog;
+import Project.OpenBook.Cache.QuestionDraftCache;
+import Project.OpenBook.Cache.QuestionPool;
+import Project.OpenBook.Cache.SearchIndex;
+import Project.OpenBook.Constants.SearchType;
+import Project.OpenBook.Constants.TopicCounter;
 import Project.OpenBook.Dto.choice.ChoiceDto;
 import Project.OpenBook.Dto.choice.DupChoiceDto;
 import Project.OpenBook.Utils.CustomException;
+import Project.OpenBook.Utils.DupContentException;
 import Project.OpenBook.Domain.Description;
 import Project.OpenBook.Domain.Topic;
 import Project.OpenBook.Dto.description.DescriptionCreateDto;
@@ -10,12 +19,15 @@ import Project.OpenBook.Dto.description.DescriptionDto;
 import Project.OpenBook.Dto.description.DescriptionUpdateDto;
 import Project.OpenBook.Repository.description.DescriptionRepository;
 import Project.OpenBook.Repository.topic.TopicRepository;
+import Project.OpenBook.Cache.ContentDupChecker;
+import Project.OpenBook.Cache.ReferenceDictionary;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static Project.OpenBook.Constants.ErrorCode.*;
@@ -27,6 +39,16 @@ public class DescriptionService {
     private final DescriptionRepository descriptionRepository;
     private final TopicRepository topicRepository;
 
+    private final QuestionCatalog questionCatalog;
+    private final QuestionPool questionPool;
+    private final QuestionCache questionCache;
+    private final QuestionDraftCache questionDraftCache;
+    private final DupContentExclusionCache dupContentExclusionCache;
+    private final TopicCounterService topicCounterService;
+    private final SearchIndex searchIndex;
+    private final ReferenceDictionary referenceDictionary;
+    private final ContentDupChecker contentDupChecker;
+
 
     public DescriptionDto queryDescription(Long descriptionId) {
 
@@ -59,6 +81,10 @@ public class DescriptionService {
         Topic topic = checkTopic(topicTitle);
         List<Description> descriptionList = Arrays.stream(contentList).map(c -> new Description(c, topic)).collect(Collectors.toList());
         descriptionRepository.saveAll(descriptionList);
+        topicCounterService.add(TopicCounter.DESCRIPTION, topic.getId(), descriptionList.size());
+        contentDupChecker.addDescriptions(Arrays.asList(contentList));
+        questionCatalog.refreshTopic(topic.getId());
+        descriptionList.forEach(d -> searchIndex.index(SearchType.DESCRIPTION, d.getId(), topic.getId(), d.getContent()));
         return descriptionList;
     }
 
@@ -71,13 +97,25 @@ public class DescriptionService {
         dupDescription(descriptionContentList);
 
         Description updateDescription = description.updateContent(descriptionUpdateDto.getContent());
+        contentDupChecker.addDescriptions(Arrays.asList(descriptionContentList));
+        questionPool.evictDescription(descriptionId);
+        questionCache.evictDescription(descriptionId);
+        searchIndex.index(SearchType.DESCRIPTION, descriptionId, description.getTopic().getId(), updateDescription.getContent());
         return updateDescription;
     }
 
     @Transactional
     public boolean deleteDescription(Long descriptionId) {
-        checkDescription(descriptionId);
-        descriptionRepository.deleteById(descriptionId);
+        Description description = checkDescription(descriptionId);
+        Long topicId = description.getTopic().getId();
+        descriptionRepository.delete(description);
+        topicCounterService.add(TopicCounter.DESCRIPTION, topicId, -1);
+        questionCatalog.refreshTopic(topicId);
+        questionPool.evictDescription(descriptionId);
+        questionCache.evictDescription(descriptionId);
+        dupContentExclusionCache.evict(descriptionId);
+        questionDraftCache.evictDescription(descriptionId);
+        searchIndex.remove(SearchType.DESCRIPTION, descriptionId);
         return true;
     }
 
@@ -91,20 +129,23 @@ public class DescriptionService {
         checkDescription(descriptionId);
         checkTopic(topicTitle);
 
-        return descriptionRepository.queryDupChoices(descriptionId, topicTitle);
+        Set<Long> dupChoiceIdSet = dupContentExclusionCache.getExcludedChoiceIds(descriptionId);
+        return descriptionRepository.queryDupChoices(dupChoiceIdSet, topicTitle);
     }
 
+    //토픽은 사전에서 id만 확인하고 연관관계에는 프록시를 사용
     private Topic checkTopic(String topicTitle) {
-        return topicRepository.findTopicByTitle(topicTitle).orElseThrow(() -> {
+        ReferenceDictionary.TopicRef topic = referenceDictionary.getTopic(topicTitle);
+        if (topic == null) {
             throw new CustomException(TOPIC_NOT_FOUND);
-        });
+        }
+        return topicRepository.getReferenceById(topic.getId());
     }
 
     private void dupDescription(String[] descriptionContentArr) {
-        for (String content : descriptionContentArr) {
-            if (descriptionRepository.queryDescriptionByContent(content) != null) {
-                throw new CustomException(DUP_DESCRIPTION_CONTENT);
-            }
+        List<String> dupList = contentDupChecker.findDupDescriptions(descriptionContentArr);
+        if (!dupList.isEmpty()) {
+            throw new DupContentException(DUP_DESCRIPTION_CONTENT, dupList);
         }
     }
 }
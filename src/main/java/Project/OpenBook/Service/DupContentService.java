@@ -1,5 +1,7 @@
 package Project.OpenBook.Service;
 
+import Project.OpenBook.Cache.DupContentExclusionCache;
+import Project.OpenBook.Cache.QuestionPool;
 import Project.OpenBook.Utils.CustomException;
 import Project.OpenBook.Domain.Choice;
 import Project.OpenBook.Domain.Description;
@@ -30,6 +32,9 @@ public class DupContentService {
 
     private final ChoiceRepository choiceRepository;
 
+    private final QuestionPool questionPool;
+    private final DupContentExclusionCache dupContentExclusionCache;
+
     public List<ChoiceDto> queryDupContentChoices(Long descriptionId) {
         checkDescription(descriptionId);
         List<ChoiceDto> choiceDtoList = new ArrayList<>();
@@ -48,11 +53,10 @@ public class DupContentService {
             throw new CustomException(CHOICE_NOT_FOUND);
         }
 
-        //해당 보기와 내용이 겹치다고 이미 저장해놓은 선지 id 집합 -> 해당 집합에 새로 받은 id가 존재하면 따로 저장하지않음.
-        Set<Long> dupContentIdSet = dupContentRepository.queryDupContentChoices(descriptionId).stream().map(c -> c.getId()).collect(Collectors.toSet());
+        //해당 보기와 내용이 겹치다고 이미 저장해놓은 선지는 따로 저장하지않음.
         List<DupContent> dupContentList = new ArrayList<>();
         for (Choice choice : choiceList) {
-            if(dupContentIdSet.contains(choice.getId())){
+            if(dupContentExclusionCache.isExcluded(descriptionId, choice.getId())){
                 continue;
             }
             DupContent dupContent = new DupContent(description, choice);
@@ -60,6 +64,9 @@ public class DupContentService {
         }
 
         dupContentRepository.saveAll(dupContentList);
+        dupContentExclusionCache.addExclusions(descriptionId,
+                dupContentList.stream().map(d -> d.getChoice().getId()).collect(Collectors.toList()));
+        questionPool.evictDescription(descriptionId);
         return dupContentList;
     }
 
@@ -72,6 +79,8 @@ public class DupContentService {
             throw new CustomException(NOT_SAVED_CHOICE);
         }
         dupContentRepository.delete(dupContent);
+        dupContentExclusionCache.removeExclusion(descriptionId, choiceId);
+        questionPool.evictDescription(descriptionId);
     }
 
     private Choice checkChoice(Long choiceId) {
@@ -0,0 +1,144 @@
+package Project.OpenBook.Service;
+
+import Project.OpenBook.Cache.DupDateGraph;
+import Project.OpenBook.Dto.dupdate.DupDatePairDto;
+import Project.OpenBook.Dto.topic.TopicDateDto;
+import Project.OpenBook.Repository.dupdate.DupDateJdbcRepository;
+import Project.OpenBook.Repository.topic.TopicRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * dup_date(정답 토픽의 기간이 보기 토픽의 기간 안에 완전히 포함되는 쌍) 관리
+ * 토픽이 추가/수정되면 해당 토픽이 포함된 쌍만 다시 계산해서 바뀐 쌍만 배치로 insert/delete
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DupDateService {
+
+    private final TopicRepository topicRepository;
+    private final DupDateJdbcRepository dupDateJdbcRepository;
+    private final DupDateGraph dupDateGraph;
+
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    /**
+     * 토픽 추가/수정이 커밋된 이후에 호출 -> 요청 스레드가 아닌 dupDateExecutor에서 실행
+     */
+    @Async("dupDateExecutor")
+    public void refreshTopic(Long topicId) {
+        try {
+            applyTopic(topicId);
+        } catch (RuntimeException e) {
+            log.error("dup_date 갱신 실패 topicId={}", topicId, e);
+        }
+    }
+
+    /**
+     * 토픽 삭제 전에 호출 -> 외래키 때문에 같은 트랜잭션에서 먼저 지워야 함
+     */
+    public void deleteTopic(Long topicId) {
+        dupDateJdbcRepository.deleteByTopic(topicId);
+        dupDateGraph.removeTopic(topicId);
+    }
+
+    /**
+     * 대량 입력으로 새로 추가된 토픽들의 쌍을 한번에 계산해서 insert
+     * 토픽 목록을 한번만 읽고, 메모리 그래프도 마지막에 한번만 다시 읽음
+     */
+    public void addTopics(Collection<Long> topicIdCollection) {
+        Set<Long> topicIdSet = new HashSet<>(topicIdCollection);
+        List<TopicDateDto> topicList = topicRepository.queryTopicDateDtos().stream()
+                .filter(t -> t.getStartDate() != null && t.getEndDate() != null)
+                .sorted(Comparator.comparing(TopicDateDto::getStartDate))
+                .collect(Collectors.toList());
+
+        //새 토픽끼리의 쌍은 양쪽에서 한번씩 계산되므로 Set으로 중복 제거
+        Set<List<Long>> pairSet = new LinkedHashSet<>();
+        for (TopicDateDto topic : topicList) {
+            if (topicIdSet.contains(topic.getId())) {
+                pairSet.addAll(computePairs(topicList, topic));
+            }
+        }
+
+        List<DupDatePairDto> insertList = pairSet.stream()
+                .map(key -> new DupDatePairDto(null, key.get(0), key.get(1)))
+                .collect(Collectors.toList());
+        for (int from = 0; from < insertList.size(); from += INSERT_BATCH_SIZE) {
+            dupDateJdbcRepository.batchInsert(insertList.subList(from, Math.min(from + INSERT_BATCH_SIZE, insertList.size())));
+        }
+        dupDateGraph.reload();
+    }
+
+    private void applyTopic(Long topicId) {
+        List<TopicDateDto> topicList = topicRepository.queryTopicDateDtos().stream()
+                .filter(t -> t.getStartDate() != null && t.getEndDate() != null)
+                .sorted(Comparator.comparing(TopicDateDto::getStartDate))
+                .collect(Collectors.toList());
+
+        Set<List<Long>> expectedPairSet = new HashSet<>();
+        topicList.stream()
+                .filter(t -> t.getId().equals(topicId))
+                .findFirst()
+                .ifPresent(target -> expectedPairSet.addAll(computePairs(topicList, target)));
+
+        //이미 있는 쌍은 그대로 두고, 없어진 쌍(또는 중복으로 들어간 쌍)만 삭제
+        List<Long> deleteIdList = new ArrayList<>();
+        Set<List<Long>> existPairSet = new HashSet<>();
+        for (DupDatePairDto pair : dupDateJdbcRepository.queryPairsByTopic(topicId)) {
+            List<Long> key = Arrays.asList(pair.getAnswerTopicId(), pair.getDescriptionTopicId());
+            if (!expectedPairSet.contains(key) || !existPairSet.add(key)) {
+                deleteIdList.add(pair.getId());
+            }
+        }
+
+        List<DupDatePairDto> insertList = expectedPairSet.stream()
+                .filter(key -> !existPairSet.contains(key))
+                .map(key -> new DupDatePairDto(null, key.get(0), key.get(1)))
+                .collect(Collectors.toList());
+
+        if (!deleteIdList.isEmpty()) {
+            dupDateJdbcRepository.batchDelete(deleteIdList);
+        }
+        if (!insertList.isEmpty()) {
+            dupDateJdbcRepository.batchInsert(insertList);
+        }
+
+        Map<Long, String> categoryMap = new HashMap<>();
+        topicList.forEach(t -> categoryMap.put(t.getId(), t.getCategory()));
+        List<DupDatePairDto> pairList = expectedPairSet.stream()
+                .map(key -> new DupDatePairDto(null, key.get(0), key.get(1), categoryMap.get(key.get(0))))
+                .collect(Collectors.toList());
+        dupDateGraph.replaceTopic(topicId, pairList);
+    }
+
+    /**
+     * 시작연도순으로 정렬된 토픽 목록을 훑으며 target이 포함된 쌍을 계산 -> [정답 토픽 id, 보기 토픽 id]
+     * target보다 먼저 시작한 토픽은 target보다 늦게 끝나면 보기 토픽
+     * target보다 늦게 시작한 토픽은 target의 종료연도 전에 시작한 것만 보면 되고, target보다 일찍 끝나면 정답 토픽
+     */
+    private List<List<Long>> computePairs(List<TopicDateDto> sortedTopicList, TopicDateDto target) {
+        int start = target.getStartDate();
+        int end = target.getEndDate();
+        List<List<Long>> pairList = new ArrayList<>();
+
+        for (TopicDateDto topic : sortedTopicList) {
+            int topicStart = topic.getStartDate();
+            if (topicStart >= end) {
+                break;
+            }
+            if (topicStart < start && topic.getEndDate() > end) {
+                pairList.add(Arrays.asList(target.getId(), topic.getId()));
+            } else if (topicStart > start && topic.getEndDate() < end) {
+                pairList.add(Arrays.asList(topic.getId(), target.getId()));
+            }
+        }
+        return pairList;
+    }
+}
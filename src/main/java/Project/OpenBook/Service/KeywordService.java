@@ -1,5 +1,7 @@
 package Project.OpenBook.Service;
 
+import Project.OpenBook.Cache.AutocompleteIndex;
+import Project.OpenBook.Cache.KeywordTopicIndex;
 import Project.OpenBook.Constants.ErrorCode;
 import Project.OpenBook.Domain.Keyword;
 import Project.OpenBook.Domain.Topic;
@@ -10,6 +12,8 @@ import Project.OpenBook.Utils.CustomException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import javax.transaction.Transactional;
+
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -21,6 +25,8 @@ public class KeywordService {
 
     private final KeywordRepository keywordRepository;
     private final TopicKeywordRepository topicKeywordRepository;
+    private final AutocompleteIndex autocompleteIndex;
+    private final KeywordTopicIndex keywordTopicIndex;
 
     public List<String> queryKeywords() {
         return keywordRepository.findAll().stream().map(k -> k.getName()).collect(Collectors.toList());
@@ -31,6 +37,8 @@ public class KeywordService {
 
         Keyword keyword = new Keyword(name);
         keywordRepository.save(keyword);
+        autocompleteIndex.replaceKeyword(null, name);
+        keywordTopicIndex.putKeyword(keyword.getId(), name);
         return keyword;
     }
 
@@ -40,22 +48,34 @@ public class KeywordService {
         checkDupKeyword(afterName);
 
         keyword.changeName(afterName);
+        autocompleteIndex.replaceKeyword(prevName, afterName);
+        keywordTopicIndex.putKeyword(keyword.getId(), afterName);
         return keyword;
     }
 
 
+    //연결 확인은 메모리 인덱스가 아닌 같은 트랜잭션 안의 DB 조회로 -> 아직 인덱스에 반영되지 않은 연결도 확인
+    @Transactional
     public void deleteKeyword(String keywordName) {
         Keyword keyword = checkKeyword(keywordName);
-        List<String> topicList = keywordRepository.queryKeywordTopic(keywordName);
-        if(!topicList.isEmpty()){
+        if(topicKeywordRepository.existsByKeyword(keyword)){
             throw new CustomException(KEYWORD_HAS_TOPIC);
         }
         keywordRepository.delete(keyword);
+        autocompleteIndex.replaceKeyword(keywordName, null);
+        keywordTopicIndex.removeKeyword(keyword.getId());
+    }
+
+    public List<String> queryKeywordAutocomplete(String prefix, int limit) {
+        return autocompleteIndex.searchKeywords(prefix, limit);
     }
 
     public List<String> queryKeywordTopic(String keywordName) {
-        checkKeyword(keywordName);
-        return keywordRepository.queryKeywordTopic(keywordName);
+        Long keywordId = keywordTopicIndex.getKeywordId(keywordName);
+        if (keywordId == null) {
+            throw new CustomException(KEYWORD_NOT_FOUND);
+        }
+        return keywordTopicIndex.getTopicTitles(keywordId);
     }
 
 
@@ -0,0 +1,93 @@
+package Project.OpenBook.Service;
+
+import Project.OpenBook.Cache.ReferenceDictionary;
+import Project.OpenBook.Repository.question.QuestionRepository;
+import Project.OpenBook.Utils.CustomException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.zip.GZIPOutputStream;
+
+import static Project.OpenBook.Constants.ErrorCode.*;
+
+/**
+ * 문제 전체 내보내기 -> 문제 하나당 한 줄인 NDJSON을 gzip으로 압축해서 씀
+ * DB에서 스크롤로 읽은 문제를 바로 쓰므로 문제 수와 관계없이 메모리 사용량이 일정
+ */
+@Slf4j
+@Service
+public class QuestionExportService {
+
+    private final QuestionRepository questionRepository;
+    private final ReferenceDictionary referenceDictionary;
+    private final ObjectMapper objectMapper;
+    //문제마다 응답을 flush하지 않음
+    private final ObjectWriter objectWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final int fetchSize;
+
+    public QuestionExportService(QuestionRepository questionRepository, ReferenceDictionary referenceDictionary,
+                                 ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                                 @Value("${question.export.fetch-size:500}") int fetchSize) {
+        this.questionRepository = questionRepository;
+        this.referenceDictionary = referenceDictionary;
+        this.objectMapper = objectMapper;
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * 응답을 쓰기 시작하면 상태 코드를 바꿀 수 없으므로 조건은 미리 확인
+     */
+    public void checkFilter(String categoryName, Long type) {
+        if (categoryName != null && referenceDictionary.getCategory(categoryName) == null) {
+            throw new CustomException(CATEGORY_NOT_FOUND);
+        }
+        if (type != null && (type < 1 || type > 5)) {
+            throw new CustomException(INVALID_PARAMETER);
+        }
+    }
+
+    /**
+     * modifiedSince 이후에 수정된 문제만 (문제 자체의 수정 시간 기준)
+     */
+    public long exportQuestions(String categoryName, Long type, LocalDateTime modifiedSince, OutputStream out) {
+        String since = modifiedSince == null ? null
+                : modifiedSince.format(DateTimeFormatter.ofPattern("yyyy-MM-dd-HH:mm:ss"));
+        long begin = System.currentTimeMillis();
+
+        Long count;
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, 1 << 16);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(gzip)) {
+            count = transactionTemplate.execute(status ->
+                    questionRepository.scrollQuestions(categoryName, type, since, fetchSize, questionDto -> {
+                        try {
+                            objectWriter.writeValue(generator, questionDto);
+                            generator.writeRaw('\n');
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        log.info("문제 내보내기 {}개 {}ms (category={}, type={}, since={})", count,
+                System.currentTimeMillis() - begin, categoryName, type, since);
+        return count;
+    }
+}
@@ -0,0 +1,39 @@
+package Project.OpenBook.Service;
+
+import Project.OpenBook.Cache.QuestionPool;
+import Project.OpenBook.Dto.question.QuestionDto;
+import Project.OpenBook.Utils.CustomException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * QuestionPool의 비어있는 자리를 백그라운드에서 채움
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "question.pool.enabled", havingValue = "true", matchIfMissing = true)
+public class QuestionPoolProducer {
+
+    private final QuestionService questionService;
+    private final QuestionPool questionPool;
+
+    @Scheduled(fixedDelayString = "${question.pool.fill-delay:1000}")
+    public void fill() {
+        questionPool.queryShortage().forEach((key, shortage) -> {
+            for (int i = 0; i < shortage; i++) {
+                try {
+                    long generation = questionPool.generation();
+                    QuestionDto questionDto = questionService.generateQuestion(key.getType(), key.getCategoryName());
+                    if (!questionPool.offer(key.getType(), key.getCategoryName(), generation, questionDto)) {
+                        break;
+                    }
+                } catch (CustomException e) {
+                    //선지나 보기가 부족해서 만들 수 없는 경우 -> 다음 주기에 다시 시도
+                    break;
+                }
+            }
+        });
+    }
+}
@@ -1,27 +1,49 @@
 package Project.OpenBook.Service;
 
+import Project.OpenBook.Cache.ChoiceSimilarityIndex;
+import Project.OpenBook.Cache.DupContentExclusionCache;
+import Project.OpenBook.Cache.DupDateGraph;
+import Project.OpenBook.Cache.QuestionCache;
+import Project.OpenBook.Cache.QuestionCatalog;
+import Project.OpenBook.Cache.QuestionDraftCache;
+import Project.OpenBook.Cache.QuestionPool;
+import Project.OpenBook.Cache.ReferenceDictionary;
 import Project.OpenBook.Repository.QuestionChoiceRepository;
 import Project.OpenBook.Repository.QuestionDescriptionRepository;
 import Project.OpenBook.Utils.CustomException;
+import Project.OpenBook.Utils.StageTimer;
 import Project.OpenBook.Domain.*;
 import Project.OpenBook.Dto.choice.ChoiceContentIdDto;
 import Project.OpenBook.Dto.description.DescriptionContentIdDto;
+import Project.OpenBook.Dto.question.QuestionCacheStatDto;
+import Project.OpenBook.Dto.question.QuestionCapacityDto;
 import Project.OpenBook.Dto.question.QuestionDto;
+import Project.OpenBook.Dto.question.QuestionPoolStatDto;
+import Project.OpenBook.Dto.question.QuestionRerollDto;
+import Project.OpenBook.Dto.question.QuestionStageStatDto;
+import Project.OpenBook.Dto.topic.TopicDateDto;
 import Project.OpenBook.Repository.category.CategoryRepository;
-import Project.OpenBook.Repository.dupdate.DupDateRepository;
+import Project.OpenBook.Repository.question.QuestionJdbcRepository;
 import Project.OpenBook.Repository.question.QuestionRepository;
 import Project.OpenBook.Repository.choice.ChoiceRepository;
 import Project.OpenBook.Repository.description.DescriptionRepository;
 import Project.OpenBook.Repository.topic.TopicRepository;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.transaction.Transactional;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.LongPredicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static Project.OpenBook.Constants.ErrorCode.*;
@@ -35,73 +57,230 @@ public class QuestionService {
     private final DescriptionRepository descriptionRepository;
 
     private final QuestionRepository questionRepository;
+    private final QuestionJdbcRepository questionJdbcRepository;
 
     private final QuestionChoiceRepository questionChoiceRepository;
     private final QuestionDescriptionRepository questionDescriptionRepository;
 
     private final CategoryRepository categoryRepository;
 
-    private final DupDateRepository dupDateRepository;
+    private final DupDateGraph dupDateGraph;
+    private final DupContentExclusionCache dupContentExclusionCache;
+
+    private final QuestionCatalog questionCatalog;
+    private final QuestionPool questionPool;
+    private final QuestionCache questionCache;
+    private final QuestionDraftCache questionDraftCache;
+    private final ChoiceSimilarityIndex choiceSimilarityIndex;
+    private final ReferenceDictionary referenceDictionary;
+    private final TopicCounterService topicCounterService;
     private final Environment env;
 
-    private final int choiceNum = 5;
+    private final PlatformTransactionManager transactionManager;
+    @Qualifier("questionFetchExecutor")
+    private final Executor questionFetchExecutor;
+    private final StageTimer stageTimer = new StageTimer();
 
-    @Transactional
+    private final int choiceNum = 5;
+    //여러개 생성할 때 선지/보기 내용을 한번에 조회하는 문제 수
+    private final int batchChunkSize = 10;
+    //여러 문제 조회에서 한번에 받을 수 있는 id 수
+    private final int maxQueryIdNum = 100;
+
+    /**
+     * 문제 생성은 메모리 인덱스에서 id를 고르고 내용만 DB에서 읽으므로 트랜잭션을 잡지 않음
+     * DB 조회는 fetch로 각각 읽기 전용 트랜잭션에서 실행
+     */
     public QuestionDto makeQuestionTimeAndDescription(Long type, String categoryName, String topicTitle) {
 
-        checkCategory(categoryName);
-        Topic answerTopic = null;
+        //카테고리 확인과 정답 토픽 조회는 사전에서 처리
+        Long categoryId = checkCategory(categoryName).getId();
+        checkType(type);
+
         //정답 토픽 선정
-        if (topicTitle != null) {
-            answerTopic = checkTopic(topicTitle);
-        }else{
-            answerTopic = topicRepository.queryRandTopicByCategory(categoryName);
+        Long answerTopicId = topicTitle == null ? null : checkTopic(topicTitle).getId();
+        //서비스를 거치지 않고 추가된 토픽이면 카탈로그에 없으므로 DB에서 다시 확인
+        if (answerTopicId != null && questionCatalog.findTopic(answerTopicId) == null) {
+            throw new CustomException(TOPIC_NOT_FOUND);
+        }
+        if (answerTopicId == null) {
+            //토픽을 지정하지 않은 경우 미리 만들어둔 문제가 있으면 바로 반환
+            QuestionDto pooledQuestion = questionPool.poll(type, categoryName);
+            if (pooledQuestion != null) {
+                return registerDraft(pooledQuestion, categoryId);
+            }
         }
 
-        TempQ tempQ = null;
-        if (type == 1) {
-            tempQ = makeDescriptionQuestion(answerTopic);
-        } else if (type == 2) {
-            tempQ = makeTimeType2Question();
-        } else if (type > 2 && type <= 4) {
-            tempQ = makeTimeType34Question(answerTopic, type);
-        } else if (type == 5) {
-            tempQ = makeTimeFlowQuestion(type);
+        Long topicId = answerTopicId;
+        TempQ tempQ = stageTimer.time("draw", () -> makeTempQ(type, categoryName, topicId));
+        return registerDraft(toQuestionDtoList(categoryName, Arrays.asList(tempQ)).get(0), categoryId);
+    }
+
+    /**
+     * 미리 만들어둘 문제를 생성 -> QuestionPool을 거치지 않음
+     */
+    public QuestionDto generateQuestion(Long type, String categoryName) {
+        checkCategory(categoryName);
+        TempQ tempQ = stageTimer.time("draw", () -> makeTempQ(type, categoryName, null));
+        return toQuestionDtoList(categoryName, Arrays.asList(tempQ)).get(0);
+    }
+
+    public List<QuestionPoolStatDto> queryQuestionPoolStats() {
+        return questionPool.queryStats();
+    }
+
+    public List<QuestionStageStatDto> queryQuestionStageStats() {
+        return stageTimer.queryStats();
+    }
+
+    public List<QuestionCapacityDto> queryQuestionCapacity() {
+        return questionCatalog.queryCapacity();
+    }
+
+    /**
+     * 응답을 쓰기 시작하면 상태 코드를 바꿀 수 없으므로 카테고리와 문제 유형은 미리 확인
+     */
+    public void checkQuestionBatch(String categoryName, List<Long> typeList) {
+        checkCategory(categoryName);
+        for (Long type : typeList) {
+            checkType(type);
         }
+    }
 
-        if (tempQ.choiceList.size() != 5) {
-            throw new CustomException(NOT_ENOUGH_CHOICE);
+    /**
+     * 같은 카테고리의 문제를 여러개 생성해서 만들어지는 대로 consumer에 넘김
+     * 문제 유형은 typeList를 순서대로 돌아가며 사용하고, 선지/보기 내용은 batchChunkSize개씩 묶어서 한번에 조회
+     * 선지가 부족해서 만들수 없는 문제는 건너뜀
+     * @return 생성한 문제 수
+     */
+    public int makeQuestions(String categoryName, List<Long> typeList, int count, Consumer<QuestionDto> consumer) {
+        Category category = checkCategory(categoryName);
+
+        int made = 0;
+        for (int from = 0; from < count; from += batchChunkSize) {
+            List<TempQ> tempQList = new ArrayList<>();
+            for (int i = from; i < Math.min(from + batchChunkSize, count); i++) {
+                Long type = typeList.get(i % typeList.size());
+                try {
+                    tempQList.add(stageTimer.time("draw", () -> makeTempQ(type, categoryName, null)));
+                } catch (CustomException e) {
+                    //해당 유형의 문제를 만들 수 없는 경우 -> 다음 문제로 넘어감
+                }
+            }
+            if (tempQList.isEmpty()) {
+                continue;
+            }
+            for (QuestionDto questionDto : toQuestionDtoList(categoryName, tempQList)) {
+                consumer.accept(registerDraft(questionDto, category.getId()));
+                made++;
+            }
         }
+        return made;
+    }
 
-        List<ChoiceContentIdDto> choiceList = new ArrayList<>();
-        Long answerId = null;
-        DescriptionContentIdDto descriptionContentIdDto = new DescriptionContentIdDto(tempQ.description.getId(), tempQ.description.getContent());
+    /**
+     * 관리자에게 보여줄 문제를 초안으로 보관하고 draftId를 붙임
+     */
+    private QuestionDto registerDraft(QuestionDto questionDto, Long categoryId) {
+        String draftId = questionDraftCache.put(new QuestionDraftCache.Draft(questionDto, categoryId));
+        questionDto.setDraftId(draftId);
+        return questionDto;
+    }
 
-        if(type >= 1 && type <= 4){
-            choiceList = tempQ.choiceList.stream().map(c -> new ChoiceContentIdDto(c.getContent(), c.getId())).collect(Collectors.toList());
-            answerId = choiceList.get(choiceNum-1).getId();
+    private TempQ makeTempQ(Long type, String categoryName, Long answerTopicId) {
+        checkType(type);
+        //2번 유형은 dup_date 쌍에서 정답 토픽을 고르고, 5번 유형은 정답 토픽을 쓰지 않으므로 미리 뽑지 않음
+        if (type == 2) {
+            return checkTempQ(makeTimeType2Question(categoryName, answerTopicId));
         } else if (type == 5) {
-            int index = tempQ.choiceList.indexOf(null);
-            answerId = Integer.toUnsignedLong(index);
-            choiceList.subList(index, index + 1).clear();
+            return checkTempQ(makeTimeFlowQuestion(type));
         }
 
-        return QuestionDto.builder()
-                .categoryName(categoryName)
-                .answerChoiceId(answerId)
-                .prompt(tempQ.prompt)
-                .type(type)
-                .description(descriptionContentIdDto)
-                .choiceList(choiceList)
-                .build();
+        //정답 토픽 선정 -> 보기, 선지가 부족해서 문제를 만들 수 없는 토픽은 추출 전에 걸러냄
+        if (answerTopicId == null) {
+            answerTopicId = questionCatalog.drawFeasibleTopic(categoryName, type);
+            if (answerTopicId == null) {
+                throw new CustomException(CATEGORY_NOT_FEASIBLE);
+            }
+        } else if (!questionCatalog.isFeasible(answerTopicId, type)) {
+            throw new CustomException(TOPIC_NOT_FEASIBLE);
+        }
+
+        if (type == 1) {
+            return checkTempQ(makeDescriptionQuestion(answerTopicId));
+        }
+        return checkTempQ(makeTimeType34Question(answerTopicId, type));
+    }
+
+    private TempQ checkTempQ(TempQ tempQ) {
+        if (tempQ.choiceIdList.size() != 5) {
+            throw new CustomException(NOT_ENOUGH_CHOICE);
+        }
+        if (tempQ.descriptionId == null) {
+            throw new CustomException(QUESTION_ERROR);
+        }
+        return tempQ;
+    }
+
+    /**
+     * 생성된 문제들의 선지와 보기 내용을 IN 쿼리 한번씩으로 조회해서 QuestionDto로 변환
+     */
+    private List<QuestionDto> toQuestionDtoList(String categoryName, List<TempQ> tempQList) {
+        Set<Long> choiceIdSet = new HashSet<>();
+        Set<Long> descriptionIdSet = new HashSet<>();
+        for (TempQ tempQ : tempQList) {
+            tempQ.choiceIdList.stream().filter(id -> id != null).forEach(choiceIdSet::add);
+            descriptionIdSet.add(tempQ.descriptionId);
+        }
+
+        //선지 내용과 보기 내용 조회는 서로 독립적이므로 동시에 실행
+        CompletableFuture<Map<Long, ChoiceContentIdDto>> choiceFuture = fetch("choice", () ->
+                choiceRepository.queryChoiceContentsById(new ArrayList<>(choiceIdSet)).stream()
+                        .collect(Collectors.toMap(c -> c.getId(), c -> c)));
+        CompletableFuture<Map<Long, DescriptionContentIdDto>> descriptionFuture = fetch("description", () ->
+                descriptionRepository.queryDescriptionContentsById(new ArrayList<>(descriptionIdSet)).stream()
+                        .collect(Collectors.toMap(d -> d.getId(), d -> d)));
+        Map<Long, ChoiceContentIdDto> choiceMap = join(choiceFuture);
+        Map<Long, DescriptionContentIdDto> descriptionMap = join(descriptionFuture);
+
+        List<QuestionDto> questionDtoList = new ArrayList<>();
+        for (TempQ tempQ : tempQList) {
+            Long type = tempQ.type;
+            List<ChoiceContentIdDto> choiceList = new ArrayList<>();
+            Long answerId = null;
+
+            DescriptionContentIdDto descriptionContentIdDto = descriptionMap.get(tempQ.descriptionId);
+            if (descriptionContentIdDto == null) {
+                throw new CustomException(DESCRIPTION_NOT_FOUND);
+            }
+
+            if(type >= 1 && type <= 4){
+                choiceList = toChoiceList(tempQ.choiceIdList, choiceMap);
+                answerId = choiceList.get(choiceNum-1).getId();
+            } else if (type == 5) {
+                int index = tempQ.choiceIdList.indexOf(null);
+                answerId = Integer.toUnsignedLong(index);
+                choiceList.subList(index, index + 1).clear();
+            }
+
+            questionDtoList.add(QuestionDto.builder()
+                    .categoryName(categoryName)
+                    .answerChoiceId(answerId)
+                    .prompt(tempQ.prompt)
+                    .type(type)
+                    .description(descriptionContentIdDto)
+                    .choiceList(choiceList)
+                    .build());
+        }
+        return questionDtoList;
     }
 
 
     //특정 주제에 대한 설명으로 옳은것을 찾는 문제생성 메서드
-    private TempQ makeDescriptionQuestion(Topic answerTopic) {
+    private TempQ makeDescriptionQuestion(Long answerTopicId) {
+        TopicDateDto answerTopic = checkTopic(answerTopicId);
 
-        String title = answerTopic.getTitle();
-        String categoryName = answerTopic.getCategory().getName();
+        String categoryName = answerTopic.getCategory();
 
         //문제 생성
         String prefix = env.getProperty("description.prefix",String.class);
@@ -109,55 +288,78 @@ public class QuestionService {
         String prompt = prefix + " " +  categoryName + suffix;
 
         //정답 주제에 대한 보기와 선지를 가져옴
-        Description description = descriptionRepository.findRandDescriptionByTopic(title);
-        Choice answerChoice = choiceRepository.queryRandChoiceByTopic(answerTopic.getId(),description.getId());
-
-        //정답 주제와 같은 카테고리를 가진 나머지 주제들에서 선지를 가져옴
-        List<Choice> choiceList = choiceRepository.queryRandChoicesByCategory(title, categoryName, choiceNum-1);
-        choiceList.add(answerChoice);
+        Long descriptionId = questionCatalog.drawDescription(answerTopicId);
+        Long answerChoiceId = questionCatalog.drawChoice(answerTopicId, dupContentExclusionCache.exclusionOf(descriptionId));
+
+        //정답 선지와 내용, 시기가 비슷한 다른 주제의 선지를 오답으로 우선 사용
+        List<Long> choiceIdList = choiceSimilarityIndex.drawSimilarChoices(answerChoiceId, categoryName, answerTopicId, choiceNum-1);
+        //부족하면 정답 주제와 같은 카테고리를 가진 나머지 주제들에서 선지를 가져옴
+        if (choiceIdList.size() < choiceNum-1) {
+            for (Long choiceId : questionCatalog.drawChoicesByCategory(categoryName, answerTopicId, choiceNum-1)) {
+                if (choiceIdList.size() < choiceNum-1 && !choiceIdList.contains(choiceId)) {
+                    choiceIdList.add(choiceId);
+                }
+            }
+        }
+        addIfPresent(choiceIdList, answerChoiceId);
 
-        return new TempQ(prompt, description, choiceList);
+        return new TempQ(1L, prompt, descriptionId, choiceIdList);
     }
 
-    private TempQ makeTimeType34Question(Topic answerTopic, Long type) {
-        String title = answerTopic.getTitle();
-        String categoryName = answerTopic.getCategory().getName();
+    private TempQ makeTimeType34Question(Long answerTopicId, Long type) {
+        TopicDateDto answerTopic = checkTopic(answerTopicId);
+
+        String categoryName = answerTopic.getCategory();
         Integer startDate = answerTopic.getStartDate();
         Integer endDate = answerTopic.getEndDate();
 
         String prompt = setPrompt(categoryName, type);
 
-        Description description = descriptionRepository.findRandDescriptionByTopic(title);
+        Long descriptionId = questionCatalog.drawDescription(answerTopicId);
 
-        List<Choice> choiceList = new ArrayList<>();
+        List<Long> choiceIdList = new ArrayList<>();
+        if (startDate == null || endDate == null) {
+            return new TempQ(type, prompt, descriptionId, choiceIdList);
+        }
         if (type == 3) {
             //보기에서 주어진 사건보다 나중에 발생한 사건 찾는 문제
-            choiceList = choiceRepository.queryChoicesType3(title, startDate, endDate,choiceNum, 0, categoryName);
+            choiceIdList = questionCatalog.drawChoicesEndedBefore(categoryName, startDate, choiceNum - 1);
+            addIfPresent(choiceIdList, questionCatalog.drawChoiceStartedFrom(categoryName, answerTopicId, endDate));
         } else if (type == 4) {
             //보기에 주어진 사건보다 이전에 발생한 사건 찾는 문제
-            choiceList = choiceRepository.queryChoicesType4(title, startDate,endDate, choiceNum, 0, categoryName);
+            choiceIdList = questionCatalog.drawChoicesStartedAfter(categoryName, endDate, choiceNum - 1);
+            addIfPresent(choiceIdList, questionCatalog.drawChoiceEndedUntil(categoryName, answerTopicId, startDate));
         }
 
-        return new TempQ(prompt, description, choiceList);
+        return new TempQ(type, prompt, descriptionId, choiceIdList);
     }
 
-    private TempQ makeTimeType2Question() {
+    private TempQ makeTimeType2Question(String category, Long selectedTopicId) {
 
-        Topic answerTopic = dupDateRepository.queryRandomAnswerTopic();
-        if (answerTopic == null) {
-            throw new CustomException(QUESTION_ERROR);
+        //지정된 토픽이 있으면 그 토픽을, 없으면 같은 카테고리의 토픽을 정답 토픽으로 하는 쌍 중에서 고름
+        long[] pair = selectedTopicId != null ? dupDateGraph.drawPairByAnswer(selectedTopicId)
+                : dupDateGraph.drawPair(category);
+        if (pair == null) {
+            throw new CustomException(selectedTopicId != null ? TOPIC_NOT_FEASIBLE : CATEGORY_NOT_FEASIBLE);
         }
-        Topic descriptionTopic = dupDateRepository.queryRandomDescriptionTopic(answerTopic);
+        TopicDateDto answerTopic = checkTopic(pair[0]);
+        TopicDateDto descriptionTopic = checkTopic(pair[1]);
 
-        String categoryName = answerTopic.getCategory().getName();
+        String categoryName = answerTopic.getCategory();
 
         String prompt = setPrompt(categoryName, 2L);
 
-        Description description = descriptionRepository.findRandDescriptionByTopic(descriptionTopic.getTitle());
+        Long descriptionId = questionCatalog.drawDescription(descriptionTopic.getId());
 
-        List<Choice> choiceList = choiceRepository.queryChoicesType2(answerTopic, descriptionTopic, choiceNum, 0, categoryName);
+        //보기 토픽의 기간과 겹치지 않는 토픽들에서 오답 선지를 가져옴
+        List<Long> choiceIdList = new ArrayList<>();
+        if (descriptionTopic.getStartDate() != null && descriptionTopic.getEndDate() != null) {
+            choiceIdList = questionCatalog.drawChoicesOutside(categoryName,
+                    descriptionTopic.getStartDate(), descriptionTopic.getEndDate(), choiceNum - 1);
+        }
+        addIfPresent(choiceIdList, questionCatalog.drawChoice(answerTopic.getId(), choiceId -> false));
 
-        return new TempQ(prompt, description, choiceList);
+        return new TempQ(2L, prompt, descriptionId, choiceIdList);
     }
 
 
@@ -165,14 +367,70 @@ public class QuestionService {
     public TempQ makeTimeFlowQuestion(Long type) {
         String prompt = setPrompt("사건", type);
 
-        List<Choice> choiceList = choiceRepository.queryRandChoicesByCategory("사건", 7);
+        List<Long> choiceIdList = questionCatalog.drawPointChoicesByCategory("사건", 7);
+        if (choiceIdList.size() < 7) {
+            throw new CustomException(NOT_ENOUGH_CHOICE);
+        }
         Random rand = new Random();
         int answerNum = rand.nextInt(5)+1;
-        Choice answerChoice = choiceList.get(answerNum);
-        Description description = descriptionRepository.findRandDescriptionByTopic(answerChoice.getTopic().getTitle());
-        choiceList.set(answerNum, null);
+        Long answerChoiceId = choiceIdList.get(answerNum);
+        Topic answerChoiceTopic = topicRepository.queryTopicByChoice(answerChoiceId);
+        Long descriptionId = questionCatalog.drawDescription(answerChoiceTopic.getId());
+        choiceIdList.set(answerNum, null);
+
+        return new TempQ(type, prompt, descriptionId, choiceIdList);
+    }
+
+    /**
+     * 선지 id 목록의 순서를 유지한채로 선지 내용 목록을 만듦
+     */
+    private List<ChoiceContentIdDto> toChoiceList(List<Long> choiceIdList, Map<Long, ChoiceContentIdDto> choiceMap) {
+        List<ChoiceContentIdDto> choiceList = new ArrayList<>();
+        for (Long choiceId : choiceIdList) {
+            ChoiceContentIdDto choice = choiceMap.get(choiceId);
+            if (choice == null) {
+                throw new CustomException(CHOICE_NOT_FOUND);
+            }
+            choiceList.add(choice);
+        }
+        return choiceList;
+    }
+
+    private void addIfPresent(List<Long> choiceIdList, Long choiceId) {
+        if (choiceId != null) {
+            choiceIdList.add(choiceId);
+        }
+    }
 
-        return new TempQ(prompt, description, choiceList);
+    /**
+     * 조회 하나를 questionFetchExecutor에서 실행 -> 스레드마다 읽기 전용 트랜잭션(커넥션)을 따로 사용
+     * 걸린 시간은 stage 이름으로 기록
+     */
+    private <T> CompletableFuture<T> fetch(String stage, Supplier<T> supplier) {
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        return CompletableFuture.supplyAsync(
+                () -> stageTimer.time(stage, () -> readOnlyTransaction.execute(status -> supplier.get())),
+                questionFetchExecutor);
+    }
+
+    //호출한 스레드에서 읽기 전용 트랜잭션으로 실행
+    private <T> T readOnly(Supplier<T> supplier) {
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        return readOnlyTransaction.execute(status -> supplier.get());
+    }
+
+    //조회중 발생한 CustomException은 감싸지 않고 그대로 던짐
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
     }
 
     @Transactional
@@ -211,10 +469,139 @@ public class QuestionService {
             throw new CustomException(DESCRIPTION_NOT_FOUND);
         });
         questionDescriptionRepository.save(new QuestionDescription(question, description));
+        topicCounterService.addQuestion(question.getType(), question.getAnswerChoiceId(), 1);
 
         return question;
     }
 
+    /**
+     * 초안의 여러 선지/보기를 한번에 다시 뽑음
+     * 각 자리는 원래 선지(보기)와 같은 토픽에서 다시 뽑고, 초안에 이미 있는 선지나 보기와 내용이 겹치는 선지는 제외
+     * 토픽 조회와 내용 조회를 한번씩만 하고 후보는 QuestionCatalog에서 가져옴
+     * 다시 뽑을 후보가 없는 자리는 그대로 둠
+     */
+    public QuestionDto rerollDraft(String draftId, QuestionRerollDto questionRerollDto) {
+        QuestionDraftCache.Draft draft = questionDraftCache.get(draftId);
+        if (draft == null) {
+            throw new CustomException(DRAFT_NOT_FOUND);
+        }
+        QuestionDto prev = draft.getQuestionDto();
+        List<Long> choiceIdList = draft.getChoiceIdList();
+        Set<Integer> slotSet = new TreeSet<>(questionRerollDto.getChoiceSlotList());
+        for (Integer slot : slotSet) {
+            if (slot == null || slot < 0 || slot >= choiceIdList.size() || choiceIdList.get(slot) == null) {
+                throw new CustomException(INVALID_PARAMETER);
+            }
+        }
+
+        //다시 뽑을 선지/보기가 속한 토픽을 한번에 조회
+        List<Long> slotChoiceIdList = slotSet.stream().map(choiceIdList::get).collect(Collectors.toList());
+        CompletableFuture<Map<Long, Long>> choiceTopicFuture = slotChoiceIdList.isEmpty() ? CompletableFuture.completedFuture(new HashMap<>())
+                : fetch("reroll-topic", () -> choiceRepository.queryChoiceTopicIdsById(slotChoiceIdList).stream()
+                        .collect(Collectors.toMap(c -> c.getId(), c -> c.getTopicId())));
+        CompletableFuture<Long> descriptionTopicFuture = !questionRerollDto.isDescription() ? CompletableFuture.completedFuture(null)
+                : fetch("reroll-topic", () -> descriptionRepository.queryDescriptionTopicId(draft.getDescriptionId()));
+        Map<Long, Long> choiceTopicMap = join(choiceTopicFuture);
+        Long descriptionTopicId = join(descriptionTopicFuture);
+
+        Set<Long> usedChoiceIdSet = new HashSet<>(choiceIdList);
+        Set<Long> keptChoiceIdSet = new HashSet<>(choiceIdList);
+        keptChoiceIdSet.removeAll(slotChoiceIdList);
+
+        //보기가 바뀌면 내용이 겹치는 선지가 달라지므로 보기를 먼저 뽑음 -> 그대로 둘 선지와 겹치지 않는 보기만 사용
+        Long descriptionId = draft.getDescriptionId();
+        if (descriptionTopicId != null) {
+            for (Long candidateId : shuffled(questionCatalog.getDescriptionIds(descriptionTopicId))) {
+                LongPredicate excluded = dupContentExclusionCache.exclusionOf(candidateId);
+                if (!candidateId.equals(descriptionId) && keptChoiceIdSet.stream().noneMatch(excluded::test)) {
+                    descriptionId = candidateId;
+                    break;
+                }
+            }
+        }
+        LongPredicate excluded = dupContentExclusionCache.exclusionOf(descriptionId);
+
+        List<Long> newChoiceIdList = new ArrayList<>(choiceIdList);
+        Long answerChoiceId = prev.getAnswerChoiceId();
+        for (Integer slot : slotSet) {
+            Long prevChoiceId = choiceIdList.get(slot);
+            Long topicId = choiceTopicMap.get(prevChoiceId);
+            if (topicId == null) {
+                continue;
+            }
+            for (Long candidateId : shuffled(questionCatalog.getChoiceIds(topicId))) {
+                if (!usedChoiceIdSet.contains(candidateId) && !excluded.test(candidateId)) {
+                    newChoiceIdList.set(slot, candidateId);
+                    usedChoiceIdSet.add(candidateId);
+                    if (prevChoiceId.equals(answerChoiceId)) {
+                        answerChoiceId = candidateId;
+                    }
+                    break;
+                }
+            }
+        }
+
+        //새로 뽑힌 선지/보기의 내용만 조회
+        List<Long> addedChoiceIdList = newChoiceIdList.stream().filter(id -> !choiceIdList.contains(id)).collect(Collectors.toList());
+        Long newDescriptionId = descriptionId.equals(draft.getDescriptionId()) ? null : descriptionId;
+        CompletableFuture<Map<Long, ChoiceContentIdDto>> choiceFuture = addedChoiceIdList.isEmpty() ? CompletableFuture.completedFuture(new HashMap<>())
+                : fetch("choice", () -> choiceRepository.queryChoiceContentsById(addedChoiceIdList).stream()
+                        .collect(Collectors.toMap(c -> c.getId(), c -> c)));
+        CompletableFuture<List<DescriptionContentIdDto>> descriptionFuture = newDescriptionId == null ? CompletableFuture.completedFuture(new ArrayList<>())
+                : fetch("description", () -> descriptionRepository.queryDescriptionContentsById(Arrays.asList(newDescriptionId)));
+        Map<Long, ChoiceContentIdDto> choiceMap = join(choiceFuture);
+        List<DescriptionContentIdDto> descriptionList = join(descriptionFuture);
+        for (ChoiceContentIdDto choice : prev.getChoiceList()) {
+            choiceMap.put(choice.getId(), choice);
+        }
+
+        QuestionDto questionDto = QuestionDto.builder()
+                .categoryName(prev.getCategoryName())
+                .answerChoiceId(answerChoiceId)
+                .prompt(prev.getPrompt())
+                .type(prev.getType())
+                .description(descriptionList.isEmpty() ? prev.getDescription() : descriptionList.get(0))
+                .choiceList(toChoiceList(newChoiceIdList, choiceMap))
+                .build();
+        questionDto.setDraftId(draftId);
+        if (!questionDraftCache.replace(draftId, new QuestionDraftCache.Draft(questionDto, draft.getCategoryId()))) {
+            throw new CustomException(DRAFT_NOT_FOUND);
+        }
+        return questionDto;
+    }
+
+    private static List<Long> shuffled(Set<Long> idSet) {
+        List<Long> idList = new ArrayList<>(idSet);
+        Collections.shuffle(idList);
+        return idList;
+    }
+
+    /**
+     * 생성해둔 초안을 그대로 저장 -> 카테고리, 선지, 보기를 다시 조회하지 않고 id로 바로 insert
+     * 저장에 실패하면 초안은 다시 사용할 수 있음
+     */
+    @Transactional
+    public Question addQuestionByDraft(String draftId) {
+        QuestionDraftCache.Draft draft = questionDraftCache.takeUntilRollback(draftId);
+        if (draft == null) {
+            throw new CustomException(DRAFT_NOT_FOUND);
+        }
+
+        QuestionDto questionDto = draft.getQuestionDto();
+        Question question = Question.builder()
+                .answerChoiceId(questionDto.getAnswerChoiceId())
+                .prompt(questionDto.getPrompt())
+                .type(questionDto.getType())
+                .category(categoryRepository.getReferenceById(draft.getCategoryId()))
+                .build();
+        questionRepository.save(question);
+
+        questionJdbcRepository.batchInsertChoices(question.getId(), draft.getChoiceIdList());
+        questionJdbcRepository.insertDescription(question.getId(), draft.getDescriptionId());
+        topicCounterService.addQuestion(question.getType(), question.getAnswerChoiceId(), 1);
+        return question;
+    }
+
     @Transactional
     public Question updateQuestion(Long questionId, QuestionDto questionDto) {
 
@@ -228,32 +615,113 @@ public class QuestionService {
             throw new CustomException(INVALID_PARAMETER);
         }
 
+        Long prevType = question.getType();
+        Long prevAnswerChoiceId = question.getAnswerChoiceId();
         Question updatedQuestion = question.updateQuestion(questionDto.getPrompt(), questionDto.getAnswerChoiceId(), type, category);
+        if (!Objects.equals(prevType, updatedQuestion.getType())
+                || !Objects.equals(prevAnswerChoiceId, updatedQuestion.getAnswerChoiceId())) {
+            topicCounterService.addQuestion(prevType, prevAnswerChoiceId, -1);
+            topicCounterService.addQuestion(updatedQuestion.getType(), updatedQuestion.getAnswerChoiceId(), 1);
+        }
+        questionCache.evictQuestion(questionId);
 
         return updatedQuestion;
     }
 
-    @Transactional
+    /**
+     * 캐시에 있으면 트랜잭션(커넥션) 없이 반환하고, 없는 문제만 읽기 전용 트랜잭션에서 조회
+     */
     public QuestionDto queryQuestion(Long id) {
-        return questionRepository.findQuestionById(id);
+        QuestionDto questionDto = questionCache.get(id);
+        if (questionDto != null) {
+            return questionDto;
+        }
+        long generation = questionCache.generation();
+        questionDto = readOnly(() -> loadQuestion(id));
+        questionCache.put(questionDto, generation);
+        return questionDto;
+    }
+
+    /**
+     * 직렬화된 문제 JSON 조회 -> 캐시에 있으면 직렬화 없이 그대로 반환
+     */
+    public byte[] queryQuestionJson(Long id) {
+        byte[] json = questionCache.getJson(id);
+        if (json != null) {
+            return json;
+        }
+        long generation = questionCache.generation();
+        return questionCache.put(readOnly(() -> loadQuestion(id)), generation);
     }
 
+    /**
+     * 여러 문제를 한번에 조회 -> 존재하지 않는 문제 id는 결과에서 제외
+     * 캐시에 없는 문제만 모아서 DB에서 조회, id는 최대 maxQueryIdNum개
+     */
+    public List<QuestionDto> queryQuestions(List<Long> idList) {
+        if (idList.size() > maxQueryIdNum) {
+            throw new CustomException(INVALID_PARAMETER);
+        }
+        Map<Long, QuestionDto> questionMap = new HashMap<>();
+        List<Long> missIdList = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(idList)) {
+            QuestionDto questionDto = questionCache.get(id);
+            if (questionDto == null) {
+                missIdList.add(id);
+            } else {
+                questionMap.put(id, questionDto);
+            }
+        }
+
+        if (!missIdList.isEmpty()) {
+            long generation = questionCache.generation();
+            List<QuestionDto> loadedList = readOnly(() -> questionRepository.findQuestionsById(missIdList));
+            for (QuestionDto questionDto : loadedList) {
+                questionCache.put(questionDto, generation);
+                questionMap.put(questionDto.getId(), questionDto);
+            }
+        }
+
+        return new LinkedHashSet<>(idList).stream()
+                .filter(questionMap::containsKey)
+                .map(questionMap::get)
+                .collect(Collectors.toList());
+    }
+
+    public QuestionCacheStatDto queryQuestionCacheStats() {
+        return questionCache.queryStats();
+    }
+
+    private QuestionDto loadQuestion(Long id) {
+        QuestionDto questionDto = questionRepository.findQuestionById(id);
+        if (questionDto == null) {
+            throw new CustomException(QUESTION_NOT_FOUND);
+        }
+        return questionDto;
+    }
+
+    @Transactional
     public boolean deleteQuestion(Long questionId) {
 
-        checkQuestion(questionId);
+        Question question = checkQuestion(questionId);
+        questionJdbcRepository.deleteByQuestion(questionId);
         questionRepository.deleteById(questionId);
+        topicCounterService.addQuestion(question.getType(), question.getAnswerChoiceId(), -1);
+        questionCache.evictQuestion(questionId);
         return true;
     }
 
     private class TempQ {
+        private Long type;
         private String prompt;
-        private Description description;
-        private List<Choice> choiceList;
+        private Long descriptionId;
+        private List<Long> choiceIdList;
 
-        public TempQ(String prompt, Description description, List<Choice> choiceList) {
+        public TempQ(Long type, String prompt, Long descriptionId, List<Long> choiceIdList) {
+            this.type = type;
             this.prompt = prompt;
-            this.description = description;
-            this.choiceList = choiceList;
+            this.descriptionId = descriptionId;
+            this.choiceIdList = choiceIdList;
         }
     }
 
@@ -274,16 +742,38 @@ public class QuestionService {
         return prompt;
     }
 
-    private Topic checkTopic(String topicTitle) {
-        return topicRepository.findTopicByTitle(topicTitle).orElseThrow(() -> {
+    private ReferenceDictionary.TopicRef checkTopic(String topicTitle) {
+        ReferenceDictionary.TopicRef topic = referenceDictionary.getTopic(topicTitle);
+        if (topic == null) {
             throw new CustomException(TOPIC_NOT_FOUND);
-        });
+        }
+        return topic;
+    }
+
+    private TopicDateDto checkTopic(Long topicId) {
+        if (topicId == null) {
+            throw new CustomException(QUESTION_ERROR);
+        }
+        TopicDateDto topic = questionCatalog.getTopic(topicId);
+        if (topic == null) {
+            throw new CustomException(TOPIC_NOT_FOUND);
+        }
+        return topic;
     }
 
+    private void checkType(Long type) {
+        if (type == null || type < 1 || type > 5) {
+            throw new CustomException(INVALID_PARAMETER);
+        }
+    }
+
+    //카테고리는 사전에서 id만 확인하고 연관관계에는 프록시를 사용
     private Category checkCategory(String categoryName) {
-        return categoryRepository.findCategoryByName(categoryName).orElseThrow(() ->{
+        ReferenceDictionary.CategoryRef category = referenceDictionary.getCategory(categoryName);
+        if (category == null) {
             throw new CustomException(CATEGORY_NOT_FOUND);
-        });
+        }
+        return categoryRepository.getReferenceById(category.getId());
     }
 
     private Question checkQuestion(Long questionId) {
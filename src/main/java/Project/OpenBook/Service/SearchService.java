@@ -0,0 +1,43 @@
+package Project.OpenBook.Service;
+
+import Project.OpenBook.Cache.QuestionCatalog;
+import Project.OpenBook.Cache.SearchIndex;
+import Project.OpenBook.Constants.SearchType;
+import Project.OpenBook.Dto.search.SearchHitDto;
+import Project.OpenBook.Dto.search.SearchResultDto;
+import Project.OpenBook.Dto.topic.TopicDateDto;
+import Project.OpenBook.Utils.CustomException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static Project.OpenBook.Constants.ErrorCode.SEARCH_INDEX_LOADING;
+
+@Service
+@RequiredArgsConstructor
+public class SearchService {
+
+    private final SearchIndex searchIndex;
+    private final QuestionCatalog questionCatalog;
+
+    /**
+     * page, size는 SearchController에서 범위를 맞춰서 넘김
+     */
+    public SearchResultDto search(String query, SearchType type, int pageNum, int pageSize) {
+        SearchIndex.Result result = searchIndex.search(query, type, pageNum, pageSize);
+        if (result == null) {
+            throw new CustomException(SEARCH_INDEX_LOADING);
+        }
+        List<SearchHitDto> hitList = result.getHitList().stream()
+                .map(h -> new SearchHitDto(h.getType(), h.getId(), topicTitle(h.getTopicId()), h.getSnippet(), h.getScore()))
+                .collect(Collectors.toList());
+        return new SearchResultDto(result.getTotalCount(), pageNum, pageSize, hitList);
+    }
+
+    private String topicTitle(Long topicId) {
+        TopicDateDto topic = questionCatalog.getTopic(topicId);
+        return topic == null ? null : topic.getTitle();
+    }
+}
@@ -1,5 +1,8 @@
 package Project.OpenBook.Service;
 
+import Project.OpenBook.Cache.ReferenceDictionary;
+import Project.OpenBook.Cache.SearchIndex;
+import Project.OpenBook.Constants.SearchType;
 import Project.OpenBook.Domain.Sentence;
 import Project.OpenBook.Domain.Topic;
 import Project.OpenBook.Dto.Sentence.SentenceCreateDto;
@@ -24,14 +27,20 @@ public class SentenceService {
 
     private final TopicRepository topicRepository;
 
+    private final SearchIndex searchIndex;
+    private final ReferenceDictionary referenceDictionary;
+
     @Transactional
     public void createSentence(SentenceCreateDto sentenceCreateDto) {
-        Topic topic = topicRepository.findTopicByTitle(sentenceCreateDto.getTopic()).orElseThrow(() -> {
+        ReferenceDictionary.TopicRef topicRef = referenceDictionary.getTopic(sentenceCreateDto.getTopic());
+        if (topicRef == null) {
             throw new CustomException(TOPIC_NOT_FOUND);
-        });
+        }
+        Topic topic = topicRepository.getReferenceById(topicRef.getId());
 
         Sentence sentence = new Sentence(sentenceCreateDto.getName(), topic);
         sentenceRepository.save(sentence);
+        searchIndex.index(SearchType.SENTENCE, sentence.getId(), topic.getId(), sentence.getName());
     }
 
     @Transactional
@@ -39,6 +48,7 @@ public class SentenceService {
         Sentence sentence = checkSentence(sentenceId);
 
         sentence.updateSentence(sentenceUpdateDto.getName());
+        searchIndex.index(SearchType.SENTENCE, sentenceId, sentence.getTopic().getId(), sentence.getName());
     }
 
     private Sentence checkSentence(Long sentenceId) {
@@ -50,6 +60,7 @@ public class SentenceService {
     public void deleteSentence(Long sentenceId) {
         Sentence sentence = checkSentence(sentenceId);
         sentenceRepository.delete(sentence);
+        searchIndex.remove(SearchType.SENTENCE, sentenceId);
 
     }
 }
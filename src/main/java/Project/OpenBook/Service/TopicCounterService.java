@@ -0,0 +1,73 @@
+package Project.OpenBook.Service;
+
+import Project.OpenBook.Constants.TopicCounter;
+import Project.OpenBook.Repository.topic.TopicCounterJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+/**
+ * 토픽별 선지, 보기, 키워드, 문제 수 관리
+ * 관리자 서비스에서 추가/삭제할 때 같은 트랜잭션 안에서 증감하고,
+ * JDBC로 직접 넣은 데이터나 누락된 증감은 주기적으로 실제 행 수로 다시 계산해서 맞춤
+ */
+@Slf4j
+@Service
+public class TopicCounterService {
+
+    private final TopicCounterJdbcRepository topicCounterJdbcRepository;
+    //한번에 다시 계산할 토픽 id 범위
+    private final int reconcileChunkSize;
+
+    public TopicCounterService(TopicCounterJdbcRepository topicCounterJdbcRepository,
+                               @Value("${topic.counter.reconcile-chunk-size:1000}") int reconcileChunkSize) {
+        this.topicCounterJdbcRepository = topicCounterJdbcRepository;
+        this.reconcileChunkSize = reconcileChunkSize;
+    }
+
+    public void add(TopicCounter counter, Long topicId, int delta) {
+        topicCounterJdbcRepository.add(counter, topicId, delta);
+    }
+
+    public void addAll(TopicCounter counter, Map<Long, Integer> deltaMap) {
+        if (!deltaMap.isEmpty()) {
+            topicCounterJdbcRepository.batchAdd(counter, deltaMap);
+        }
+    }
+
+    /**
+     * 5번 유형은 answerChoiceId가 선지 id가 아닌 정답 위치(0~4)이므로 정답 토픽이 없음 -> 세지 않음
+     */
+    public void addQuestion(Long type, Long answerChoiceId, int delta) {
+        if (type != null && type == 5) {
+            return;
+        }
+        topicCounterJdbcRepository.addQuestionByChoice(answerChoiceId, delta);
+    }
+
+    /**
+     * 토픽 id 범위별로 나눠서 각각 별도 문장으로 실행 -> 한번에 모든 토픽 행을 잠그지 않음
+     */
+    public void reconcile() {
+        long begin = System.currentTimeMillis();
+        long maxId = topicCounterJdbcRepository.queryMaxTopicId();
+        int topicNum = 0;
+        for (long fromId = 1; fromId <= maxId; fromId += reconcileChunkSize) {
+            topicNum += topicCounterJdbcRepository.reconcile(fromId, fromId + reconcileChunkSize - 1);
+        }
+        log.info("토픽 개수 재계산 {}개 {}ms", topicNum, System.currentTimeMillis() - begin);
+    }
+
+    @Scheduled(initialDelayString = "${topic.counter.reconcile-delay:3600000}",
+            fixedDelayString = "${topic.counter.reconcile-delay:3600000}")
+    public void scheduleReconcile() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.warn("토픽 개수 재계산 실패", e);
+        }
+    }
+}
@@ -1,16 +1,25 @@
 package Project.OpenBook.Service;
 
+import Project.OpenBook.Cache.AutocompleteIndex;
+import Project.OpenBook.Cache.ChoiceSimilarityIndex;
+import Project.OpenBook.Cache.KeywordTopicIndex;
+import Project.OpenBook.Cache.QuestionCatalog;
+import Project.OpenBook.Cache.QuestionPool;
+import Project.OpenBook.Cache.ReferenceDictionary;
+import Project.OpenBook.Cache.SearchIndex;
+import Project.OpenBook.Constants.SearchType;
+import Project.OpenBook.Constants.TopicCounter;
 import Project.OpenBook.Dto.keyword.KeywordDto;
 import Project.OpenBook.Dto.keyword.KeywordListDto;
 import Project.OpenBook.Repository.Sentence.SentenceRepository;
 import Project.OpenBook.Repository.topickeyword.TopicKeywordRepository;
 import Project.OpenBook.Repository.keyword.KeywordRepository;
 import Project.OpenBook.Utils.CustomException;
+import Project.OpenBook.Utils.TransactionUtils;
 import Project.OpenBook.Domain.*;
 import Project.OpenBook.Dto.topic.TopicDto;
 import Project.OpenBook.Repository.category.CategoryRepository;
 import Project.OpenBook.Repository.chapter.ChapterRepository;
-import Project.OpenBook.Repository.dupdate.DupDateRepository;
 import Project.OpenBook.Repository.choice.ChoiceRepository;
 import Project.OpenBook.Repository.description.DescriptionRepository;
 import Project.OpenBook.Repository.topic.TopicRepository;
@@ -22,6 +31,7 @@ import javax.transaction.Transactional;
 import java.util.ArrayList;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -36,7 +46,7 @@ public class TopicService {
     private final CategoryRepository categoryRepository;
     private final ChapterRepository chapterRepository;
 
-    private final DupDateRepository dupDateRepository;
+    private final DupDateService dupDateService;
 
     private final ChoiceRepository choiceRepository;
 
@@ -47,8 +57,17 @@ public class TopicService {
 
     private final SentenceRepository  sentenceRepository;
 
+    private final QuestionCatalog questionCatalog;
+    private final QuestionPool questionPool;
+    private final ChoiceSimilarityIndex choiceSimilarityIndex;
+    private final AutocompleteIndex autocompleteIndex;
+    private final SearchIndex searchIndex;
+    private final KeywordTopicIndex keywordTopicIndex;
+    private final ReferenceDictionary referenceDictionary;
+    private final TopicCounterService topicCounterService;
+
     public TopicDto queryTopic(String topicTitle) {
-        checkTopic(topicTitle);
+        checkTopicRef(topicTitle);
         TopicDto topicDto = topicRepository.queryTopicDto(topicTitle);
         return topicDto;
     }
@@ -71,8 +90,12 @@ public class TopicService {
                 .build();
         topicRepository.save(topic);
 
-        addDescriptionTopics(topic);
-        addAnswerTopics(topic);
+        refreshDupDate(topic);
+        questionCatalog.refreshTopic(topic.getId());
+        autocompleteIndex.replaceTopic(null, topic.getTitle());
+        keywordTopicIndex.putTopic(topic.getId(), topic.getTitle());
+        searchIndex.indexTopic(topic.getId(), topic.getTitle(), topic.getDetail());
+        referenceDictionary.invalidate();
         return topic;
     }
 
@@ -92,19 +115,29 @@ public class TopicService {
 
         boolean flag = false;
 
-        if(topic.getStartDate()!=topicDto.getStartDate() || topic.getEndDate() != topicDto.getEndDate()){
+        if(!Objects.equals(topic.getStartDate(), topicDto.getStartDate()) || !Objects.equals(topic.getEndDate(), topicDto.getEndDate())){
             flag = true;
         }
+        //기간이나 카테고리가 바뀌면 선지 유사도 점수가 달라짐
+        boolean similarityFlag = flag || topic.getCategory() == null || !Objects.equals(topic.getCategory().getId(), category.getId());
 
         topic.updateTopic(topicDto.getTitle(), topicDto.getStartDate(),topicDto.getEndDate(), topicDto.getDetail(),
                 chapter, category);
 
         if (flag) {
-            List<DupDate> dupDateList = dupDateRepository.queryAllByTopic(topic.getTitle());
-            dupDateRepository.deleteAllInBatch(dupDateList);
-            addDescriptionTopics(topic);
-            addAnswerTopics(topic);
+            refreshDupDate(topic);
+        }
+        questionCatalog.refreshTopic(topic.getId());
+        questionPool.evictTopic(topic.getId());
+        if (similarityFlag) {
+            choiceSimilarityIndex.refreshTopic(topic.getId());
         }
+        if (!topicTitle.equals(inputTitle)) {
+            autocompleteIndex.replaceTopic(topicTitle, inputTitle);
+            keywordTopicIndex.putTopic(topic.getId(), inputTitle);
+            referenceDictionary.invalidate();
+        }
+        searchIndex.indexTopic(topic.getId(), topic.getTitle(), topic.getDetail());
 
         return topic;
     }
@@ -127,7 +160,14 @@ public class TopicService {
             throw new CustomException(TOPIC_HAS_KEYWORD);
         }
 
+        dupDateService.deleteTopic(topic.getId());
         topicRepository.delete(topic);
+        questionCatalog.refreshTopic(topic.getId());
+        questionPool.evictTopic(topic.getId());
+        autocompleteIndex.replaceTopic(topicTitle, null);
+        keywordTopicIndex.removeTopic(topic.getId());
+        searchIndex.remove(SearchType.TOPIC, topic.getId());
+        referenceDictionary.invalidate();
         return true;
 
     }
@@ -141,38 +181,29 @@ public class TopicService {
 //        return Arrays.asList(split);
 //    }
 
-    private void addAnswerTopics(Topic topic) {
-        List<Topic> topicList = dupDateRepository.queryAnswerTopics(topic.getStartDate(), topic.getEndDate());
-        List<DupDate> dupDateList = new ArrayList<>();
-
-        for (Topic descriptionTopic : topicList) {
-            dupDateList.add(new DupDate(topic, descriptionTopic));
-        }
-        dupDateRepository.saveAll(dupDateList);
-    }
-
-    private void addDescriptionTopics(Topic topic) {
-        List<Topic> topicList = dupDateRepository.queryDescriptionTopics(topic.getStartDate(), topic.getEndDate());
-        List<DupDate> dupDateList = new ArrayList<>();
-
-        for (Topic descriptionTopic : topicList) {
-            dupDateList.add(new DupDate(topic, descriptionTopic));
-        }
-        dupDateRepository.saveAll(dupDateList);
+    /**
+     * 토픽의 기간이 바뀌면 커밋 이후에 dup_date를 비동기로 갱신
+     */
+    private void refreshDupDate(Topic topic) {
+        Long topicId = topic.getId();
+        TransactionUtils.afterCommit(() -> dupDateService.refreshTopic(topicId));
     }
 
+    //단원, 카테고리는 사전에서 id만 확인하고 연관관계에는 프록시를 사용
     private Chapter checkChapter(int num) {
-        return chapterRepository.findOneByNumber(num).orElseThrow(() -> {
+        ReferenceDictionary.ChapterRef chapter = referenceDictionary.getChapter(num);
+        if (chapter == null) {
             throw new CustomException(CHAPTER_NOT_FOUND);
-        });
+        }
+        return chapterRepository.getReferenceById(chapter.getId());
     }
 
-
-
     private Category checkCategory(String categoryName) {
-        return categoryRepository.findCategoryByName(categoryName).orElseThrow(() -> {
+        ReferenceDictionary.CategoryRef category = referenceDictionary.getCategory(categoryName);
+        if (category == null) {
             throw new CustomException(CATEGORY_NOT_FOUND);
-        });
+        }
+        return categoryRepository.getReferenceById(category.getId());
     }
 
     private Keyword checkKeyword(String keywordName) {
@@ -187,19 +218,34 @@ public class TopicService {
         });
     }
 
+    private ReferenceDictionary.TopicRef checkTopicRef(String topicTitle) {
+        ReferenceDictionary.TopicRef topic = referenceDictionary.getTopic(topicTitle);
+        if (topic == null) {
+            throw new CustomException(TOPIC_NOT_FOUND);
+        }
+        return topic;
+    }
+
     private void checkDupTopicTitle(String topicTitle) {
-        topicRepository.findTopicByTitle(topicTitle).ifPresent(t -> {
+        if (referenceDictionary.getTopic(topicTitle) != null) {
             throw new CustomException(DUP_TOPIC_TITLE);
-        });
+        }
+    }
+
+    public List<String> queryTopicAutocomplete(String prefix, int limit) {
+        return autocompleteIndex.searchTopics(prefix, limit);
     }
 
     public List<String> queryTopicKeywords(String topicTitle) {
-        checkTopic(topicTitle);
-        return topicRepository.queryTopicKeywords(topicTitle);
+        Long topicId = keywordTopicIndex.getTopicId(topicTitle);
+        if (topicId == null) {
+            throw new CustomException(TOPIC_NOT_FOUND);
+        }
+        return keywordTopicIndex.getKeywordNames(topicId);
     }
 
     public void addKeywords(String topicTitle, KeywordDto keywordDto) {
-        Topic topic = checkTopic(topicTitle);
+        Topic topic = topicRepository.getReferenceById(checkTopicRef(topicTitle).getId());
         String name = keywordDto.getName();
         Keyword keyword;
 
@@ -212,6 +258,8 @@ public class TopicService {
             TopicKeyword topicKeyword = topicKeywordRepository.queryTopicKeyword(topicTitle, name);
             if (topicKeyword == null) {
                 topicKeywordRepository.save(new TopicKeyword(topic, keyword));
+                topicCounterService.add(TopicCounter.KEYWORD, topic.getId(), 1);
+                keywordTopicIndex.link(topic.getId(), keyword.getId());
             }
         }else{
             //새로운 키워드의 경우
@@ -219,12 +267,16 @@ public class TopicService {
             keyword = new Keyword(name);
             keywordRepository.save(keyword);
             topicKeywordRepository.save(new TopicKeyword(topic, keyword));
+            topicCounterService.add(TopicCounter.KEYWORD, topic.getId(), 1);
+            autocompleteIndex.replaceKeyword(null, name);
+            keywordTopicIndex.putKeyword(keyword.getId(), name);
+            keywordTopicIndex.link(topic.getId(), keyword.getId());
         }
     }
 
     @Transactional
     public void deleteKeyword(String topicTitle, String keywordName) {
-        Topic topic = checkTopic(topicTitle);
+        Topic topic = topicRepository.getReferenceById(checkTopicRef(topicTitle).getId());
 
         Keyword keyword = checkKeyword(keywordName);
 
@@ -232,15 +284,19 @@ public class TopicService {
         if (topicKeywordOptional.isPresent()) {
             TopicKeyword topicKeyword = topicKeywordOptional.get();
             topicKeywordRepository.delete(topicKeyword);
-            List<Topic> topicList = topicKeywordRepository.queryTopicsByKeyword(keywordName);
-            if (topicList.isEmpty()) {
+            topicCounterService.add(TopicCounter.KEYWORD, topic.getId(), -1);
+            //이 토픽과의 연결이 마지막이었으면 키워드도 삭제 -> 삭제가 flush된 뒤 같은 트랜잭션에서 DB로 확인
+            keywordTopicIndex.unlink(topic.getId(), keyword.getId());
+            if (!topicKeywordRepository.existsByKeyword(keyword)) {
                 keywordRepository.delete(keyword);
+                autocompleteIndex.replaceKeyword(keywordName, null);
+                keywordTopicIndex.removeKeyword(keyword.getId());
             }
         }
     }
 
     public List<Sentence> queryTopicSentences(String topicTitle) {
-        checkTopic(topicTitle);
+        checkTopicRef(topicTitle);
         return sentenceRepository.queryByTopicTitle(topicTitle);
     }
 }
@@ -0,0 +1,19 @@
+package Project.OpenBook.Utils;
+
+import Project.OpenBook.Constants.ErrorCode;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 여러 내용을 한번에 추가할 때 중복되는 내용을 모두 담아서 던짐
+ */
+@Getter
+public class DupContentException extends CustomException {
+    private List<String> contentList;
+
+    public DupContentException(ErrorCode errorCode, List<String> contentList) {
+        super(errorCode);
+        this.contentList = contentList;
+    }
+}
@@ -0,0 +1,51 @@
+package Project.OpenBook.Utils;
+
+import Project.OpenBook.Dto.question.QuestionStageStatDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 단계별 실행 시간 누적 -> 여러 스레드에서 동시에 기록해도 락 없이 집계
+ */
+public class StageTimer {
+
+    private final Map<String, Stage> stageMap = new ConcurrentHashMap<>();
+
+    public <T> T time(String stage, Supplier<T> supplier) {
+        long start = System.nanoTime();
+        try {
+            return supplier.get();
+        } finally {
+            record(stage, System.nanoTime() - start);
+        }
+    }
+
+    public void record(String stage, long nanos) {
+        Stage s = stageMap.computeIfAbsent(stage, k -> new Stage());
+        s.count.increment();
+        s.totalNanos.add(nanos);
+        s.maxNanos.accumulate(nanos);
+    }
+
+    public List<QuestionStageStatDto> queryStats() {
+        List<QuestionStageStatDto> statList = new ArrayList<>();
+        stageMap.forEach((name, s) -> {
+            long count = s.count.sum();
+            double avgMillis = count == 0 ? 0 : s.totalNanos.sum() / 1_000_000.0 / count;
+            statList.add(new QuestionStageStatDto(name, count, avgMillis, s.maxNanos.get() / 1_000_000.0));
+        });
+        return statList;
+    }
+
+    private static class Stage {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    }
+}
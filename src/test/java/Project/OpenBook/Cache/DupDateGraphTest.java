@@ -0,0 +1,94 @@
+package Project.OpenBook.Cache;
+
+import Project.OpenBook.Dto.dupdate.DupDatePairDto;
+import Project.OpenBook.Repository.dupdate.DupDateJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DupDateGraphTest {
+
+    private static final int DRAW_COUNT = 40000;
+
+    private DupDateGraph dupDateGraph;
+
+    /**
+     * c1 : 1 -> 10 / 2 -> 10, 11, 12 (정답 토픽마다 쌍 수가 다름)
+     * c2 : 3 -> 10, 11
+     */
+    @BeforeEach
+    public void setting() {
+        DupDateJdbcRepository dupDateJdbcRepository = mock(DupDateJdbcRepository.class);
+        when(dupDateJdbcRepository.queryAllPairs()).thenReturn(Arrays.asList(
+                new DupDatePairDto(1L, 1L, 10L, "c1"),
+                new DupDatePairDto(2L, 2L, 10L, "c1"),
+                new DupDatePairDto(3L, 2L, 11L, "c1"),
+                new DupDatePairDto(4L, 2L, 12L, "c1"),
+                new DupDatePairDto(5L, 3L, 10L, "c2"),
+                new DupDatePairDto(6L, 3L, 11L, "c2")));
+        dupDateGraph = new DupDateGraph(dupDateJdbcRepository);
+    }
+
+    @DisplayName("카테고리의 모든 쌍이 같은 확률로 뽑힘 - 쌍이 적은 정답 토픽에 치우치지 않음")
+    @Test
+    public void drawPairUniform() {
+        Map<List<Long>, Integer> countMap = new HashMap<>();
+        for (int i = 0; i < DRAW_COUNT; i++) {
+            long[] pair = dupDateGraph.drawPair("c1");
+            countMap.merge(Arrays.asList(pair[0], pair[1]), 1, Integer::sum);
+        }
+
+        assertThat(countMap.keySet()).containsExactlyInAnyOrder(
+                Arrays.asList(1L, 10L), Arrays.asList(2L, 10L), Arrays.asList(2L, 11L), Arrays.asList(2L, 12L));
+        //쌍마다 기댓값 10000, 표준편차 약 87
+        for (int count : countMap.values()) {
+            assertThat(count).isBetween(DRAW_COUNT / 4 - 600, DRAW_COUNT / 4 + 600);
+        }
+    }
+
+    @DisplayName("정답 토픽을 지정하면 그 토픽의 쌍만 같은 확률로 뽑힘")
+    @Test
+    public void drawPairByAnswerUniform() {
+        Map<Long, Integer> countMap = new HashMap<>();
+        for (int i = 0; i < DRAW_COUNT; i++) {
+            long[] pair = dupDateGraph.drawPairByAnswer(2L);
+            assertThat(pair[0]).isEqualTo(2L);
+            countMap.merge(pair[1], 1, Integer::sum);
+        }
+
+        assertThat(countMap.keySet()).containsExactlyInAnyOrder(10L, 11L, 12L);
+        for (int count : countMap.values()) {
+            assertThat(count).isBetween(DRAW_COUNT / 3 - 600, DRAW_COUNT / 3 + 600);
+        }
+    }
+
+    @DisplayName("쌍이 없는 카테고리나 토픽 - null")
+    @Test
+    public void drawPairEmpty() {
+        assertThat(dupDateGraph.drawPair("c3")).isNull();
+        assertThat(dupDateGraph.drawPairByAnswer(10L)).isNull();
+    }
+
+    @DisplayName("토픽 교체 후에는 새 카테고리 구간에서 뽑힘")
+    @Test
+    public void replaceTopic() {
+        dupDateGraph.reload();
+        //토픽 1의 카테고리가 c2로 바뀐 경우
+        dupDateGraph.replaceTopic(1L, Arrays.asList(new DupDatePairDto(null, 1L, 10L, "c2")));
+
+        Set<Long> c1AnswerSet = new HashSet<>();
+        Set<Long> c2AnswerSet = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            c1AnswerSet.add(dupDateGraph.drawPair("c1")[0]);
+            c2AnswerSet.add(dupDateGraph.drawPair("c2")[0]);
+        }
+        assertThat(c1AnswerSet).containsExactly(2L);
+        assertThat(c2AnswerSet).containsExactlyInAnyOrder(1L, 3L);
+    }
+}
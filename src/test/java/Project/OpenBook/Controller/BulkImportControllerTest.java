@@ -0,0 +1,303 @@
+package Project.OpenBook.Controller;
+
+import Project.OpenBook.Cache.ContentDupChecker;
+import Project.OpenBook.Cache.DupDateGraph;
+import Project.OpenBook.Cache.ReferenceDictionary;
+import Project.OpenBook.Domain.*;
+import Project.OpenBook.Dto.bulk.BulkImportErrorDto;
+import Project.OpenBook.Dto.bulk.BulkImportResultDto;
+import Project.OpenBook.Dto.category.CategoryDto;
+import Project.OpenBook.Repository.category.CategoryRepository;
+import Project.OpenBook.Repository.chapter.ChapterRepository;
+import Project.OpenBook.Repository.choice.ChoiceRepository;
+import Project.OpenBook.Repository.description.DescriptionRepository;
+import Project.OpenBook.Repository.dupdate.DupDateRepository;
+import Project.OpenBook.Repository.topic.TopicRepository;
+import Project.OpenBook.Service.BulkImportService;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.*;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = { "spring.config.location=classpath:application-test.yml" })
+class BulkImportControllerTest {
+
+    @LocalServerPort
+    protected int port;
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Autowired
+    BulkImportService bulkImportService;
+
+    @Autowired
+    ReferenceDictionary referenceDictionary;
+
+    @Autowired
+    ContentDupChecker contentDupChecker;
+
+    @Autowired
+    DupDateGraph dupDateGraph;
+
+    @Autowired
+    ChapterRepository chapterRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    TopicRepository topicRepository;
+
+    @Autowired
+    ChoiceRepository choiceRepository;
+
+    @Autowired
+    DescriptionRepository descriptionRepository;
+
+    @Autowired
+    DupDateRepository dupDateRepository;
+
+    private final String prefix = "http://localhost:";
+
+    private String URL,suffix;
+
+    private void initConfig(){
+        URL = prefix + port + suffix;
+        restTemplate = restTemplate.withBasicAuth("admin1", "admin1");
+        restTemplate.getRestTemplate().setRequestFactory(new HttpComponentsClientHttpRequestFactory());
+    }
+
+    private void baseSetting(){
+        categoryRepository.saveAndFlush(new Category("c1"));
+        referenceDictionary.clear();
+        contentDupChecker.reload();
+    }
+
+    private void baseClear() {
+        dupDateRepository.deleteAllInBatch();
+        choiceRepository.deleteAllInBatch();
+        descriptionRepository.deleteAllInBatch();
+        topicRepository.deleteAllInBatch();
+        chapterRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+        referenceDictionary.clear();
+        contentDupChecker.reload();
+        dupDateGraph.reload();
+    }
+
+    private ResponseEntity<BulkImportResultDto> postImport(String format, String body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.TEXT_PLAIN);
+        return restTemplate.postForEntity(URL + "?format=" + format, new HttpEntity<>(body, headers),
+                BulkImportResultDto.class);
+    }
+
+    private List<String> choiceContents() {
+        return choiceRepository.findAll().stream()
+                .map(Choice::getContent)
+                .collect(Collectors.toList());
+    }
+
+    @Nested
+    @DisplayName("대량 입력 - POST /admin/imports")
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    public class importRows {
+
+        @BeforeAll
+        public void init(){
+            suffix = "/admin/imports";
+            initConfig();
+        }
+
+        @BeforeEach
+        public void setting(){
+            baseSetting();
+        }
+
+        @AfterEach
+        public void clear(){
+            baseClear();
+        }
+
+        @DisplayName("NDJSON 대량 입력 성공 - 잘못된 행은 건너뛰고 줄 번호와 함께 반환")
+        @Test
+        public void importNdjsonSuccess() {
+            String body = String.join("\n",
+                    "{\"type\":\"chapter\",\"number\":1,\"title\":\"ch1\"}",
+                    "{\"type\":\"chapter\",\"number\":1,\"title\":\"ch1-dup\"}",
+                    "{\"type\":\"topic\",\"title\":\"t1\",\"chapter\":1,\"category\":\"c1\",\"startDate\":100,\"endDate\":300,\"detail\":\"d1\"}",
+                    "{\"type\":\"topic\",\"title\":\"t2\",\"chapter\":1,\"category\":\"c1\",\"startDate\":150,\"endDate\":250}",
+                    "{\"type\":\"topic\",\"title\":\"t3\",\"chapter\":9,\"category\":\"c1\"}",
+                    "{\"type\":\"choice\",\"topic\":\"t1\",\"content\":\"choice1\"}",
+                    "{\"type\":\"choice\",\"topic\":\"t2\",\"content\":\"choice1\"}",
+                    "{\"type\":\"description\",\"topic\":\"t1\",\"content\":\"desc1\"}",
+                    "{\"type\":\"description\",\"topic\":\"t9\",\"content\":\"desc2\"}",
+                    "not json",
+                    "",
+                    "{\"type\":\"topic\",\"title\":\"t4\",\"chapter\":1,\"category\":\"c1\",\"startDate\":400,\"endDate\":500}");
+
+            ResponseEntity<BulkImportResultDto> response = postImport("ndjson", body);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            BulkImportResultDto resultDto = response.getBody();
+            assertThat(resultDto.isDone()).isTrue();
+            assertThat(resultDto.getLineCount()).isEqualTo(12L);
+            assertThat(resultDto.getSuccessCount()).isEqualTo(6L);
+            assertThat(resultDto.getErrorCount()).isEqualTo(5L);
+            List<Long> errorLineList = resultDto.getErrorList().stream()
+                    .map(BulkImportErrorDto::getLine)
+                    .sorted()
+                    .collect(Collectors.toList());
+            assertThat(errorLineList).isEqualTo(Arrays.asList(2L, 5L, 7L, 9L, 10L));
+
+            //DB 확인
+            assertThat(chapterRepository.findOneByNumber(1).get().getTitle()).isEqualTo("ch1");
+            Topic t1 = topicRepository.findTopicByTitle("t1").get();
+            Topic t2 = topicRepository.findTopicByTitle("t2").get();
+            assertThat(topicRepository.findTopicByTitle("t4").isPresent()).isTrue();
+            assertThat(topicRepository.findTopicByTitle("t3").isPresent()).isFalse();
+            assertThat(choiceContents()).isEqualTo(Arrays.asList("choice1"));
+            assertThat(descriptionRepository.findDescriptionsByTopic("t1").size()).isEqualTo(1);
+
+            //t2의 기간이 t1에 포함 -> (정답 t2, 보기 t1) 한 쌍
+            List<DupDate> dupDateList = dupDateRepository.findAll();
+            assertThat(dupDateList.size()).isEqualTo(1);
+            assertThat(dupDateList.get(0).getAnswerTopic().getId()).isEqualTo(t2.getId());
+            assertThat(dupDateList.get(0).getDescriptionTopic().getId()).isEqualTo(t1.getId());
+        }
+
+        @DisplayName("CSV 대량 입력 성공 - 헤더와 따옴표로 감싼 값 처리")
+        @Test
+        public void importCsvSuccess() {
+            String body = String.join("\n",
+                    "type,a,b,c,d,e,f",
+                    "chapter,1,ch1",
+                    "topic,t1,1,c1,100,200,\"detail, with comma\"",
+                    "choice,t1,\"say \"\"hi\"\"\"",
+                    "description,t1,desc1",
+                    "topic,t2,1,c1,300,200,");
+
+            ResponseEntity<BulkImportResultDto> response = postImport("csv", body);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            BulkImportResultDto resultDto = response.getBody();
+            assertThat(resultDto.getSuccessCount()).isEqualTo(4L);
+            assertThat(resultDto.getErrorCount()).isEqualTo(1L);
+            assertThat(resultDto.getErrorList().get(0).getLine()).isEqualTo(6L);
+
+            assertThat(topicRepository.findTopicByTitle("t1").get().getDetail()).isEqualTo("detail, with comma");
+            assertThat(choiceContents()).isEqualTo(Arrays.asList("say \"hi\""));
+        }
+
+        @DisplayName("이미 저장된 토픽과 내용이 겹치는 행은 실패 처리")
+        @Test
+        public void importFailDupExisting() {
+            postImport("ndjson", String.join("\n",
+                    "{\"type\":\"chapter\",\"number\":1,\"title\":\"ch1\"}",
+                    "{\"type\":\"topic\",\"title\":\"t1\",\"chapter\":1,\"category\":\"c1\"}",
+                    "{\"type\":\"choice\",\"topic\":\"t1\",\"content\":\"choice1\"}"));
+
+            ResponseEntity<BulkImportResultDto> response = postImport("ndjson", String.join("\n",
+                    "{\"type\":\"topic\",\"title\":\"t1\",\"chapter\":1,\"category\":\"c1\"}",
+                    "{\"type\":\"choice\",\"topic\":\"t1\",\"content\":\"choice1\"}",
+                    "{\"type\":\"choice\",\"topic\":\"t1\",\"content\":\"choice2\"}"));
+
+            BulkImportResultDto resultDto = response.getBody();
+            assertThat(resultDto.getSuccessCount()).isEqualTo(1L);
+            assertThat(resultDto.getErrorCount()).isEqualTo(2L);
+            assertThat(choiceContents().size()).isEqualTo(2);
+        }
+
+        @DisplayName("지원하지 않는 형식 입력 - 400")
+        @Test
+        public void importFailWrongFormat() {
+            ResponseEntity<String> response = restTemplate.postForEntity(URL + "?format=xml", "", String.class);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        }
+
+        @DisplayName("대량 입력 중 관리자 쓰기 요청 - 409, 입력이 끝나면 다시 성공")
+        @Test
+        public void adminWriteDuringImport() throws Exception {
+            String categoryURL = prefix + port + "/admin/categories";
+            PipedOutputStream out = new PipedOutputStream();
+            PipedInputStream in = new PipedInputStream(out);
+            //본문을 닫기 전까지 첫 줄을 기다리며 락을 잡고 있음
+            Thread importThread = new Thread(() -> bulkImportService.importRows(in, "ndjson"));
+            importThread.start();
+            while (bulkImportService.tryLockAdminWrite()) {
+                bulkImportService.unlockAdminWrite();
+                Thread.sleep(10);
+            }
+
+            ResponseEntity<String> response = restTemplate.postForEntity(categoryURL, new CategoryDto("c2"), String.class);
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+            assertThat(categoryRepository.findAll().size()).isEqualTo(1);
+
+            out.close();
+            importThread.join();
+
+            response = restTemplate.postForEntity(categoryURL, new CategoryDto("c2"), String.class);
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+            assertThat(categoryRepository.findAll().size()).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("대량 입력 진행 상황 조회 - GET /admin/imports/{importId}")
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    public class queryProgress {
+
+        @BeforeAll
+        public void init(){
+            suffix = "/admin/imports";
+            initConfig();
+        }
+
+        @BeforeEach
+        public void setting(){
+            baseSetting();
+        }
+
+        @AfterEach
+        public void clear(){
+            baseClear();
+        }
+
+        @DisplayName("진행 상황 조회 성공")
+        @Test
+        public void queryProgressSuccess() {
+            BulkImportResultDto importDto = postImport("ndjson", "{\"type\":\"chapter\",\"number\":1,\"title\":\"ch1\"}").getBody();
+
+            ResponseEntity<BulkImportResultDto> response = restTemplate.getForEntity(URL + "/" + importDto.getImportId(),
+                    BulkImportResultDto.class);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody().isDone()).isTrue();
+            assertThat(response.getBody().getSuccessCount()).isEqualTo(1L);
+        }
+
+        @DisplayName("존재하지 않는 가져오기 ID 입력 - 404")
+        @Test
+        public void queryProgressFail() {
+            ResponseEntity<String> response = restTemplate.getForEntity(URL + "/unknown", String.class);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        }
+    }
+}
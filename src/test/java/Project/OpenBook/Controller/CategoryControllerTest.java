@@ -1,5 +1,6 @@
 package Project.OpenBook.Controller;
 
+import Project.OpenBook.Cache.ReferenceDictionary;
 import Project.OpenBook.Domain.Category;
 import Project.OpenBook.Domain.Chapter;
 import Project.OpenBook.Domain.Topic;
@@ -52,6 +53,9 @@ class CategoryControllerTest {
     @Autowired
     ChoiceRepository choiceRepository;
 
+    @Autowired
+    ReferenceDictionary referenceDictionary;
+
     @Autowired
     TestRestTemplate restTemplate;
 
@@ -88,6 +92,7 @@ class CategoryControllerTest {
         @AfterEach
         public void clear() {
             categoryRepository.deleteAllInBatch();
+            referenceDictionary.clear();
         }
 
         @DisplayName("카테고리 전체 조회 성공")
@@ -115,6 +120,7 @@ class CategoryControllerTest {
         @BeforeAll
         public void init(){
             categoryRepository.deleteAllInBatch();
+            referenceDictionary.clear();
             suffix = "/admin/categories";
             initConfig();
         }
@@ -122,6 +128,7 @@ class CategoryControllerTest {
         @AfterEach
         public void clear() {
             categoryRepository.deleteAllInBatch();
+            referenceDictionary.clear();
         }
 
         @BeforeEach
@@ -179,6 +186,7 @@ class CategoryControllerTest {
         @AfterEach
         public void clear() {
             categoryRepository.deleteAllInBatch();
+            referenceDictionary.clear();
         }
 
         @BeforeEach
@@ -259,6 +267,7 @@ class CategoryControllerTest {
             topicRepository.deleteAllInBatch();
             chapterRepository.deleteAllInBatch();
             categoryRepository.deleteAllInBatch();
+            referenceDictionary.clear();
         }
 
         @BeforeEach
@@ -1,21 +1,30 @@
 package Project.OpenBook.Controller;
 
+import Project.OpenBook.Cache.ReferenceDictionary;
 
 import Project.OpenBook.Constants.ErrorCode;
 import Project.OpenBook.Domain.*;
 import Project.OpenBook.Dto.chapter.ChapterDto;
 import Project.OpenBook.Dto.chapter.ChapterListDto;
 import Project.OpenBook.Dto.chapter.ChapterTitleDto;
+import Project.OpenBook.Dto.choice.ChoiceAddDto;
+import Project.OpenBook.Dto.choice.ChoiceContentIdDto;
+import Project.OpenBook.Dto.description.DescriptionContentIdDto;
 import Project.OpenBook.Dto.error.ErrorDto;
 import Project.OpenBook.Dto.error.ErrorMsgDto;
+import Project.OpenBook.Dto.question.QuestionDto;
 import Project.OpenBook.Dto.topic.AdminChapterDto;
 import Project.OpenBook.Repository.category.CategoryRepository;
 import Project.OpenBook.Repository.chapter.ChapterRepository;
 import Project.OpenBook.Repository.choice.ChoiceRepository;
 import Project.OpenBook.Repository.description.DescriptionRepository;
+import Project.OpenBook.Repository.QuestionChoiceRepository;
+import Project.OpenBook.Repository.QuestionDescriptionRepository;
 import Project.OpenBook.Repository.keyword.KeywordRepository;
+import Project.OpenBook.Repository.question.QuestionRepository;
 import Project.OpenBook.Repository.topic.TopicRepository;
 import Project.OpenBook.Repository.topickeyword.TopicKeywordRepository;
+import Project.OpenBook.Service.TopicCounterService;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -31,6 +40,7 @@ import org.springframework.security.core.parameters.P;
 import org.springframework.test.context.TestPropertySource;
 
 import java.util.*;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
@@ -58,6 +68,21 @@ class ChapterControllerTest {
 
     @Autowired
     TopicKeywordRepository topicKeywordRepository;
+
+    @Autowired
+    QuestionRepository questionRepository;
+
+    @Autowired
+    QuestionChoiceRepository questionChoiceRepository;
+
+    @Autowired
+    QuestionDescriptionRepository questionDescriptionRepository;
+    @Autowired
+    ReferenceDictionary referenceDictionary;
+
+    @Autowired
+    TopicCounterService topicCounterService;
+
     @Autowired
     TestRestTemplate restTemplate;
 
@@ -92,6 +117,7 @@ class ChapterControllerTest {
         topicRepository.deleteAllInBatch();
         chapterRepository.deleteAllInBatch();
         categoryRepository.deleteAllInBatch();
+        referenceDictionary.clear();
     }
 
     @Nested
@@ -192,6 +218,9 @@ class ChapterControllerTest {
 
         @AfterEach
         public void clear(){
+            questionChoiceRepository.deleteAllInBatch();
+            questionDescriptionRepository.deleteAllInBatch();
+            questionRepository.deleteAllInBatch();
             topicKeywordRepository.deleteAllInBatch();
             keywordRepository.deleteAllInBatch();
             descriptionRepository.deleteAllInBatch();
@@ -222,6 +251,7 @@ class ChapterControllerTest {
             Description des2 = new Description("des2", t1);
             descriptionRepository.save(des1);
             descriptionRepository.save(des2);
+            topicCounterService.reconcile();
         }
 
 
@@ -237,6 +267,61 @@ class ChapterControllerTest {
             assertThat(body).usingRecursiveComparison().isEqualTo(Arrays.asList(expectBody));
         }
 
+        @DisplayName("해당 단원의 모든 토픽 조회 성공 - 선지 추가/삭제가 개수에 바로 반영")
+        @Test
+        public void queryChaptersTopicAfterChoiceChange() {
+            ResponseEntity<Void> addResponse = restTemplate.postForEntity(prefix + port + "/admin/choices/",
+                    new ChoiceAddDto("title1", new String[]{"choice3", "choice4"}), Void.class);
+            assertThat(addResponse.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+            Long choiceId = choiceRepository.queryChoiceByTopicTitle("title1").get(0).getId();
+            restTemplate.delete(prefix + port + "/admin/choices/" + choiceId);
+
+            ResponseEntity<List<AdminChapterDto>> response = restTemplate.exchange(URL + "1/topics", HttpMethod.GET, null, new ParameterizedTypeReference<List<AdminChapterDto>>() {
+            });
+            AdminChapterDto expectBody = new AdminChapterDto("유물", "title1", 1234, 2314, 2L, 3L, 2L);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody()).usingRecursiveComparison().isEqualTo(Arrays.asList(expectBody));
+        }
+
+        @DisplayName("5번 유형 문제 추가/삭제 - 정답 위치가 선지 id와 같아도 토픽의 문제 수가 바뀌지 않음")
+        @Test
+        public void queryChaptersTopicAfterType5Question() {
+            List<Choice> choiceList = new ArrayList<>(choiceRepository.queryChoiceByTopicTitle("title1"));
+            for (int i = 3; i <= 5; i++) {
+                choiceList.add(choiceRepository.save(new Choice("choice" + i, t1)));
+            }
+            Description description = descriptionRepository.findDescriptionsByTopic("title1").get(0);
+
+            //5번 유형의 answerChoiceId는 정답 위치 -> t1 선지의 id와 같은 값을 넣어서 겹치게 만듦
+            QuestionDto questionDto = QuestionDto.builder()
+                    .type(5L)
+                    .prompt("prompt")
+                    .categoryName("유물")
+                    .description(new DescriptionContentIdDto(description.getId(), description.getContent()))
+                    .choiceList(choiceList.stream().map(c -> new ChoiceContentIdDto(c.getContent(), c.getId())).collect(Collectors.toList()))
+                    .answerChoiceId(choiceList.get(0).getId())
+                    .build();
+            ResponseEntity<Long> addResponse = restTemplate.postForEntity(prefix + port + "/admin/questions", questionDto, Long.class);
+            assertThat(addResponse.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+            assertThat(topicRepository.findById(t1.getId()).get().getQuestionNum()).isEqualTo(0);
+
+            topicCounterService.reconcile();
+            assertThat(topicRepository.findById(t1.getId()).get().getQuestionNum()).isEqualTo(0);
+
+            restTemplate.delete(prefix + port + "/admin/questions/" + addResponse.getBody());
+            assertThat(questionRepository.count()).isEqualTo(0L);
+            assertThat(topicRepository.findById(t1.getId()).get().getQuestionNum()).isEqualTo(0);
+
+            ResponseEntity<List<AdminChapterDto>> response = restTemplate.exchange(URL + "1/topics", HttpMethod.GET, null, new ParameterizedTypeReference<List<AdminChapterDto>>() {
+            });
+            AdminChapterDto expectBody = new AdminChapterDto("유물", "title1", 1234, 2314, 2L, 5L, 2L);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody()).usingRecursiveComparison().isEqualTo(Arrays.asList(expectBody));
+        }
+
         @DisplayName("해당 단원의 모든 토픽 조회 실패 - 존재하지 않는 단원번호 입력")
         @Test
         public void queryChaptersTopicFail() {
@@ -432,6 +517,7 @@ class ChapterControllerTest {
         @Test
         public void deleteChapterSuccess() {
             topicRepository.deleteAllInBatch();
+            referenceDictionary.clear();
             ResponseEntity<Void> response = restTemplate.exchange(URL + "/"+ chapterNum, HttpMethod.DELETE, null, Void.class);
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -1,5 +1,7 @@
 package Project.OpenBook.Controller;
 
+import Project.OpenBook.Cache.ContentDupChecker;
+import Project.OpenBook.Cache.ReferenceDictionary;
 import Project.OpenBook.Domain.Category;
 import Project.OpenBook.Domain.Chapter;
 import Project.OpenBook.Domain.Choice;
@@ -7,6 +9,7 @@ import Project.OpenBook.Domain.Topic;
 import Project.OpenBook.Dto.choice.ChoiceAddDto;
 import Project.OpenBook.Dto.choice.ChoiceDto;
 import Project.OpenBook.Dto.choice.ChoiceUpdateDto;
+import Project.OpenBook.Dto.error.DupContentErrorDto;
 import Project.OpenBook.Dto.error.ErrorDto;
 import Project.OpenBook.Dto.error.ErrorMsgDto;
 import Project.OpenBook.Repository.category.CategoryRepository;
@@ -39,6 +42,12 @@ class ChoiceControllerTest {
     @LocalServerPort
     protected int port;
 
+    @Autowired
+    ReferenceDictionary referenceDictionary;
+
+    @Autowired
+    ContentDupChecker contentDupChecker;
+
     @Autowired
     TestRestTemplate restTemplate;
 
@@ -92,12 +101,14 @@ class ChoiceControllerTest {
         choice5 = new Choice("choice5", topic2);
 
         choiceRepository.saveAllAndFlush(Arrays.asList(choice1, choice2, choice3, choice4, choice5));
+        contentDupChecker.reload();
     }
     private void baseClear() {
         choiceRepository.deleteAllInBatch();
         topicRepository.deleteAllInBatch();
         chapterRepository.deleteAllInBatch();
         categoryRepository.deleteAllInBatch();
+        referenceDictionary.clear();
     }
 
     @Nested
@@ -248,6 +259,24 @@ class ChoiceControllerTest {
             assertThat(response.getBody()).usingRecursiveComparison().isEqualTo(Arrays.asList(new ErrorMsgDto("중복된 선지내용입니다.")));
 
         }
+
+        @DisplayName("여러개의 선지 추가 - 중복되는 내용을 모두 반환")
+        @Test
+        public void createChoiceFailDupContents() {
+            //기존 내용 2개, 입력 안에서 중복 1개
+            String[] choiceArr = {"choice1", "nc1", "choice4", "nc2", "nc1"};
+            ChoiceAddDto choiceAddDto = new ChoiceAddDto("title1", choiceArr);
+
+            ResponseEntity<List<DupContentErrorDto>> response = restTemplate.exchange(URL, HttpMethod.POST,
+                    new HttpEntity<>(choiceAddDto), new ParameterizedTypeReference<List<DupContentErrorDto>>() {});
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+            assertThat(response.getBody()).usingRecursiveComparison().isEqualTo(Arrays.asList(
+                    new DupContentErrorDto("중복된 선지내용입니다.", "choice1"),
+                    new DupContentErrorDto("중복된 선지내용입니다.", "nc1"),
+                    new DupContentErrorDto("중복된 선지내용입니다.", "choice4")));
+            assertThat(choiceRepository.queryChoiceByContent("nc2")).isNull();
+        }
     }
 
     @Nested
@@ -1,5 +1,7 @@
 package Project.OpenBook.Controller;
 
+import Project.OpenBook.Cache.ContentDupChecker;
+import Project.OpenBook.Cache.ReferenceDictionary;
 import Project.OpenBook.Domain.*;
 import Project.OpenBook.Dto.choice.ChoiceAddDto;
 import Project.OpenBook.Dto.choice.ChoiceDto;
@@ -40,6 +42,12 @@ class DescriptionControllerTest {
     @LocalServerPort
     protected int port;
 
+    @Autowired
+    ReferenceDictionary referenceDictionary;
+
+    @Autowired
+    ContentDupChecker contentDupChecker;
+
     @Autowired
     TestRestTemplate restTemplate;
 
@@ -93,12 +101,14 @@ class DescriptionControllerTest {
         desc5 = new Description("desc5", topic2);
 
         descriptionRepository.saveAllAndFlush(Arrays.asList(desc1, desc2, desc3, desc4, desc5));
+        contentDupChecker.reload();
     }
     private void baseClear() {
         descriptionRepository.deleteAllInBatch();
         topicRepository.deleteAllInBatch();
         chapterRepository.deleteAllInBatch();
         categoryRepository.deleteAllInBatch();
+        referenceDictionary.clear();
     }
 
     @Nested
@@ -1,5 +1,6 @@
 package Project.OpenBook.Controller;
 
+import Project.OpenBook.Cache.ReferenceDictionary;
 import Project.OpenBook.Domain.*;
 import Project.OpenBook.Dto.choice.*;
 import Project.OpenBook.Dto.description.DescriptionCreateDto;
@@ -41,6 +42,9 @@ class DupContentControllerTest {
     @LocalServerPort
     protected int port;
 
+    @Autowired
+    ReferenceDictionary referenceDictionary;
+
     @Autowired
     TestRestTemplate restTemplate;
 
@@ -125,6 +129,7 @@ class DupContentControllerTest {
         topicRepository.deleteAllInBatch();
         chapterRepository.deleteAllInBatch();
         categoryRepository.deleteAllInBatch();
+        referenceDictionary.clear();
     }
 
     @Nested
@@ -1,5 +1,8 @@
 package Project.OpenBook.Controller;
 
+import Project.OpenBook.Cache.AutocompleteIndex;
+import Project.OpenBook.Cache.KeywordTopicIndex;
+import Project.OpenBook.Cache.ReferenceDictionary;
 import Project.OpenBook.Domain.*;
 import Project.OpenBook.Dto.error.ErrorDto;
 import Project.OpenBook.Dto.error.ErrorMsgDto;
@@ -45,6 +48,9 @@ public class KeywordControllerTest {
     CategoryRepository categoryRepository;
     @Autowired
     TopicRepository topicRepository;
+    @Autowired
+    ReferenceDictionary referenceDictionary;
+
     @Autowired
     TestRestTemplate restTemplate;
 
@@ -54,6 +60,12 @@ public class KeywordControllerTest {
     @Autowired
     TopicKeywordRepository topicKeywordRepository;
 
+    @Autowired
+    KeywordTopicIndex keywordTopicIndex;
+
+    @Autowired
+    AutocompleteIndex autocompleteIndex;
+
 
     private Category c1;
     private Chapter ch1;
@@ -91,6 +103,7 @@ public class KeywordControllerTest {
         TopicKeyword topicKeyword2 = new TopicKeyword(t1, k2);
         topicKeywordRepository.saveAndFlush(topicKeyword1);
         topicKeywordRepository.saveAndFlush(topicKeyword2);
+        keywordTopicIndex.reload();
     }
 
     private void baseClear() {
@@ -99,6 +112,7 @@ public class KeywordControllerTest {
         topicRepository.deleteAllInBatch();
         chapterRepository.deleteAllInBatch();
         categoryRepository.deleteAllInBatch();
+        referenceDictionary.clear();
     }
 
     @Nested
@@ -135,6 +149,55 @@ public class KeywordControllerTest {
 
     }
 
+    @Nested
+    @DisplayName("키워드 자동완성 - GET /keywords/autocomplete")
+    @TestInstance(PER_CLASS)
+    public class queryKeywordAutocomplete{
+        @BeforeAll
+        public void init(){
+            suffix = "/keywords/autocomplete";
+            initConfig();
+        }
+
+        @AfterEach
+        public void clear(){
+            baseClear();
+            autocompleteIndex.reload();
+        }
+
+        @BeforeEach
+        public void setting() {
+            baseSetting();
+            keywordRepository.saveAllAndFlush(Arrays.asList(new Keyword("닭갈비"), new Keyword("과거제"), new Keyword("고려")));
+            autocompleteIndex.reload();
+        }
+
+        @DisplayName("입력중인 글자로 키워드 자동완성 성공")
+        @Test
+        public void queryKeywordAutocompleteSuccess() {
+            ResponseEntity<List<KeywordDto>> response = restTemplate.exchange(URL + "?prefix=달", HttpMethod.GET, null,
+                    new ParameterizedTypeReference<List<KeywordDto>>() {
+                    });
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody().stream().map(k -> k.getName()).collect(Collectors.toList())).isEqualTo(Arrays.asList("닭갈비"));
+
+            response = restTemplate.exchange(URL + "?prefix=고", HttpMethod.GET, null,
+                    new ParameterizedTypeReference<List<KeywordDto>>() {
+                    });
+            assertThat(response.getBody().stream().map(k -> k.getName()).collect(Collectors.toList())).isEqualTo(Arrays.asList("고려", "과거제"));
+        }
+
+        @DisplayName("limit개까지만 조회")
+        @Test
+        public void queryKeywordAutocompleteLimit() {
+            ResponseEntity<List<KeywordDto>> response = restTemplate.exchange(URL + "?prefix=k&limit=2", HttpMethod.GET, null,
+                    new ParameterizedTypeReference<List<KeywordDto>>() {
+                    });
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody().stream().map(k -> k.getName()).collect(Collectors.toList())).isEqualTo(Arrays.asList("k1", "k2"));
+        }
+    }
+
     @Nested
     @DisplayName("특정 키워드를 가지는 모든 토픽 조회 - GET /keywords/{keywordName}/topics")
     @TestInstance(PER_CLASS)
@@ -157,6 +220,7 @@ public class KeywordControllerTest {
             topicRepository.saveAndFlush(t2);
             TopicKeyword topicKeyword = new TopicKeyword(t2, k2);
             topicKeywordRepository.saveAndFlush(topicKeyword);
+            keywordTopicIndex.reload();
         }
 
         @DisplayName("특정 키워드를 가지는 모든 토픽 조회 성공")
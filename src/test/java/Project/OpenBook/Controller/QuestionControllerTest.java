@@ -1,302 +1,575 @@
 package Project.OpenBook.Controller;
 
+import Project.OpenBook.Cache.ChoiceSimilarityIndex;
+import Project.OpenBook.Cache.ContentDupChecker;
+import Project.OpenBook.Cache.QuestionCache;
+import Project.OpenBook.Cache.QuestionCatalog;
+import Project.OpenBook.Cache.ReferenceDictionary;
 import Project.OpenBook.Domain.*;
 import Project.OpenBook.Dto.choice.ChoiceContentIdDto;
+import Project.OpenBook.Dto.choice.ChoiceUpdateDto;
+import Project.OpenBook.Dto.description.DescriptionContentIdDto;
+import Project.OpenBook.Dto.error.ErrorMsgDto;
+import Project.OpenBook.Dto.question.QuestionBatchDto;
 import Project.OpenBook.Dto.question.QuestionDto;
+import Project.OpenBook.Dto.question.QuestionRerollDto;
+import Project.OpenBook.Repository.QuestionChoiceRepository;
+import Project.OpenBook.Repository.QuestionDescriptionRepository;
 import Project.OpenBook.Repository.category.CategoryRepository;
 import Project.OpenBook.Repository.chapter.ChapterRepository;
 import Project.OpenBook.Repository.choice.ChoiceRepository;
 import Project.OpenBook.Repository.description.DescriptionRepository;
+import Project.OpenBook.Repository.question.QuestionRepository;
 import Project.OpenBook.Repository.topic.TopicRepository;
-import org.junit.jupiter.api.BeforeAll;
-import org.junit.jupiter.api.DisplayName;
-import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.TestInstance;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.test.context.TestPropertySource;
 
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
 
-import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
-
-//@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
-//@TestPropertySource(properties = {  "spring.config.location=classpath:application-test.yml",
-//                                    "spring.config.location=classpath:prompt-template.yml"})
-//@TestInstance(TestInstance.Lifecycle.PER_CLASS)
-//class QuestionControllerTest {
-//
-//    @LocalServerPort
-//    int port;
-//
-//    @Autowired
-//    TestRestTemplate restTemplate;
-//
-//    @Autowired
-//    ChapterRepository chapterRepository;
-//
-//    @Autowired
-//    CategoryRepository categoryRepository;
-//
-//    @Autowired
-//    TopicRepository topicRepository;
-//
-//    @Autowired
-//    ChoiceRepository choiceRepository;
-//
-//    @Autowired
-//    DescriptionRepository descriptionRepository;
-//
-//    private final String prefix = "http://localhost:";
-//
-//    String URL;
-//
-//
-//    @BeforeAll
-//    public void initTestForChoiceController() {
-//        URL = prefix + port;
-//        restTemplate = restTemplate.withBasicAuth("admin1", "admin1");
-//        restTemplate.getRestTemplate().setRequestFactory(new HttpComponentsClientHttpRequestFactory());
-//        init();
-//    }
-//
-//    private void init(){
-//
-//        //카테고리 전체 저장
-//        Category c1 = new Category("유물");
-//        Category c2 = new Category("사건");
-//        Category c3 = new Category("국가");
-//        Category c4 = new Category("인물");
-//
-//        categoryRepository.saveAllAndFlush(Arrays.asList(c1, c2, c3, c4));
-//
-//        //단원 전체 저장
-//        Chapter ch1 = new Chapter("ch1", 1);
-//        Chapter ch2 = new Chapter("ch2", 2);
-//        Chapter ch3 = new Chapter("ch3", 3);
-//
-//        chapterRepository.saveAllAndFlush(Arrays.asList(ch1, ch2, ch3));
-//
-//        //topic 전체 생성
-//        Random rand = new Random();
-//        List<Topic> topicList = new ArrayList<>();
-//
-//
-//        for (int i = 1; i <= 1000; i++) {
-//            int year = rand.nextInt(2000) + 1;
-//            int month = rand.nextInt(12) + 1; // 1~12 사이의 월을 랜덤으로 생성
-//            int day = rand.nextInt(26) + 1; // 1부터 최대 일수 사이의 일을 랜덤으로 생성
-//            int length = rand.nextInt(500);
-//
-//            Integer startDate = year * 1000 + month * 100 + day;
-//            Integer endDate = startDate + length;
-//
-//            Category c  = null;
-//
-//            if(i <= 10){
-//                c = c1;
-//            }else if(i <= 20){
-//                c = c2;
-//            } else if (i <= 30) {
-//                c = c3;
-//            }else {
-//                c = c4;
-//            }
-//
-//            Topic topic = new Topic("topic" + i, startDate, endDate, 0, 0, "detail" + i, ch1, c);
-//            topicList.add(topic);
-//        }
-//
-//        topicRepository.saveAllAndFlush(topicList);
-//
-//        //선지, 보기 생성
-//        for (Topic topic : topicList) {
-//            for (int i = 1; i <= 5; i++) {
-//                choiceRepository.save(new Choice("choice" + i + " in " + topic.getTitle(), topic));
-//                descriptionRepository.save(new Description("description" + i + " in " + topic.getTitle(), topic));
-//            }
-//        }
-//    }
-//
-//    @DisplayName("type1 question 생성 성공 - GET /admin/temp-question?type=1&category=사건")
-//    @Test
-//    public void type1QuestionSuccess(){
-//        Long type = 1L;
-//        String categoryName = "사건";
-//        String prompt = "해당 사건에 대한 설명으로 옳은 것은?";
-//
-//        List<Category> all = categoryRepository.findAll();
-//
-//
-//        ResponseEntity<QuestionDto> response = restTemplate.getForEntity(URL + "/admin/temp-question?type=1&category=사건", QuestionDto.class);
-//        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-//
-//        QuestionDto questionDto = response.getBody();
-//
-//        assertThat(questionDto.getType()).isEqualTo(type);
-//        assertThat(questionDto.getCategoryName()).isEqualTo(categoryName);
-//        assertThat(questionDto.getPrompt()).isEqualTo(prompt);
-//
-//        //정답 선지와 보기의 topic이 동일한지 확인
-//        Long descriptionId = questionDto.getDescription().getId();
-//        Optional<Description> descriptionOptional = descriptionRepository.findById(descriptionId);
-//        assertThat(descriptionOptional.isEmpty()).isFalse();
-//        Long descriptionTopicId = descriptionOptional.get().getTopic().getId();
-//
-//        Long answerChoiceId = questionDto.getAnswerChoiceId();
-//        Optional<Choice> choiceOptional = choiceRepository.findById(answerChoiceId);
-//        assertThat(choiceOptional.isEmpty()).isFalse();
-//        Long choiceTopicId = choiceOptional.get().getTopic().getId();
-//
-//        assertThat(descriptionTopicId).isEqualTo(choiceTopicId);
-//
-//        //총 선지가 5개 들어갔는지 테스트
-//        List<Long> choiceIdList = questionDto.getChoiceList().stream().map(q -> q.getId()).collect(Collectors.toList());
-//        List<Choice> choiceList = choiceRepository.findAllById(choiceIdList);
-//        assertThat(choiceList.size()).isEqualTo(5);
-//
-//        //선지 5개의 topic이 모두 category가 요구사항과 맞는지 테스트
-//
-//
-//        //오답 선지들은 보기와 topic이 다른지 테스트
-//        for (Choice choice : choiceList) {
-//            Category category = choiceRepository.queryCategoryByChoice(choice.getId());
-//            assertThat(category.getName()).isEqualTo(categoryName);
-//            if(choice.getId() == questionDto.getAnswerChoiceId()){
-//                continue;
-//            }else{
-//                assertThat(choice.getTopic().getId()).isNotEqualTo(descriptionTopicId);
-//            }
-//        }
-//    }
-//
-//    @DisplayName("type2 question 생성 성공 -  GET /admin/temp-question?type=2&category=사건")
-//    @Test
-//    public void type2QuestionSuccess() {
-//        Long type = 2L;
-//        String categoryName = "사건";
-//        String prompt = "해당 사건이 발생한 시기에 동아시아에서 볼 수 있는 모습으로 가장 적절한 것은?";
-//
-//        ResponseEntity<QuestionDto> response = restTemplate.getForEntity(URL + "/admin/temp-question?type=2&category=사건", QuestionDto.class);
-//        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-//
-//        QuestionDto questionDto = response.getBody();
-//
-//        assertThat(questionDto.getType()).isEqualTo(type);
-//        assertThat(questionDto.getCategoryName()).isEqualTo(categoryName);
-//        assertThat(questionDto.getPrompt()).isEqualTo(prompt);
-//
-//        //보기의 topic의 시간대의 사이에 정답 선지의 시간대가 있는지 테스트
-//        Long descriptionId = questionDto.getDescription().getId();
-//        Topic descriptionTopic = topicRepository.queryTopicByDescription(descriptionId);
-//        Topic answerTopic = topicRepository.queryTopicByChoice(questionDto.getAnswerChoiceId());
-//
-//        assertThat(answerTopic.getEndDate()>=(descriptionTopic.getEndDate())).isTrue();
-//        assertThat(answerTopic.getStartDate()<=(descriptionTopic.getStartDate())).isTrue();
-//
-//        //오답 선지들은 해당 범위에 없는지 테스트
-//        List<ChoiceContentIdDto> choiceList = questionDto.getChoiceList();
-//        for (ChoiceContentIdDto c : choiceList) {
-//            if(c.getId() == questionDto.getAnswerChoiceId()) continue;
-//            else{
-//                Topic topic = topicRepository.queryTopicByChoice(c.getId());
-//                assertThat((topic.getEndDate()<(descriptionTopic.getEndDate())) &&
-//                        (topic.getStartDate()>(descriptionTopic.getStartDate()))).isFalse();
-//            }
-//        }
-//    }
-//
-//    @DisplayName("type3 question 생성 성공 -  GET /admin/temp-question?type=3&category=사건")
-//    @Test
-//    public void type3QuestionSuccess() {
-//        Long type = 3L;
-//        String categoryName = "사건";
-//        String prompt = "해당 사건이 발생한 이후에 동아시아에서 볼 수 있는 모습으로 가장 적절한 것은?";
-//
-//        ResponseEntity<QuestionDto> response = restTemplate.getForEntity(URL + "/admin/temp-question?type=3&category=사건", QuestionDto.class);
-//        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-//
-//        QuestionDto questionDto = response.getBody();
-//
-//        assertThat(questionDto.getType()).isEqualTo(type);
-//        assertThat(questionDto.getCategoryName()).isEqualTo(categoryName);
-//        assertThat(questionDto.getPrompt()).isEqualTo(prompt);
-//
-//        //보기의 topic의 시간대의 사이에 정답 선지의 시간대가 있는지 테스트
-//        Long descriptionId = questionDto.getDescription().getId();
-//        Topic descriptionTopic = topicRepository.queryTopicByDescription(descriptionId);
-//        Topic answerTopic = topicRepository.queryTopicByChoice(questionDto.getAnswerChoiceId());
-//
-//        assertThat(answerTopic.getStartDate()>(descriptionTopic.getEndDate())).isTrue();
-//
-//        //오답 선지들은 해당 범위에 없는지 테스트
-//        List<ChoiceContentIdDto> choiceList = questionDto.getChoiceList();
-//        for (ChoiceContentIdDto c : choiceList) {
-//            if(c.getId() == questionDto.getAnswerChoiceId()) continue;
-//            else{
-//                Topic topic = topicRepository.queryTopicByChoice(c.getId());
-//                assertThat(topic.getStartDate()>(descriptionTopic.getEndDate())).isFalse();
-//            }
-//        }
-//    }
-//
-//    @DisplayName("type4 question 생성 성공 -  GET /admin/temp-question?type=4&category=사건")
-//    @Test
-//    public void type4QuestionSuccess() {
-//        Long type = 4L;
-//        String categoryName = "사건";
-//        String prompt = "해당 사건이 발생한 이전에 동아시아에서 볼 수 있는 모습으로 가장 적절한 것은?";
-//
-//        ResponseEntity<QuestionDto> response = restTemplate.getForEntity(URL + "/admin/temp-question?type=4&category=사건", QuestionDto.class);
-//        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-//
-//        QuestionDto questionDto = response.getBody();
-//
-//        assertThat(questionDto.getType()).isEqualTo(type);
-//        assertThat(questionDto.getCategoryName()).isEqualTo(categoryName);
-//        assertThat(questionDto.getPrompt()).isEqualTo(prompt);
-//
-//        //보기의 topic의 시간대의 사이에 정답 선지의 시간대가 있는지 테스트
-//        Long descriptionId = questionDto.getDescription().getId();
-//        Topic descriptionTopic = topicRepository.queryTopicByDescription(descriptionId);
-//        Topic answerTopic = topicRepository.queryTopicByChoice(questionDto.getAnswerChoiceId());
-//
-//        assertThat(answerTopic.getEndDate()<(descriptionTopic.getStartDate())).isTrue();
-//
-//        //오답 선지들은 해당 범위에 없는지 테스트
-//        List<ChoiceContentIdDto> choiceList = questionDto.getChoiceList();
-//        for (ChoiceContentIdDto c : choiceList) {
-//            if(c.getId() == questionDto.getAnswerChoiceId()) continue;
-//            else{
-//                Topic topic = topicRepository.queryTopicByChoice(c.getId());
-//                assertThat(topic.getEndDate()<(descriptionTopic.getStartDate())).isFalse();
-//            }
-//        }
-//    }
-//
-////    @DisplayName("type5 question 생성 성공 -  GET /admin/temp-question?type=5&category=사건")
-////    @Test
-////    public void type5QuestionSuccess() {
-////        Long type = 5L;
-////        String categoryName = "사건";
-////        String prompt = "해당 사건이 발생한 시기를 연표에서 옳게 고른 것은?";
-////
-////        ResponseEntity<QuestionDto> response = restTemplate.getForEntity(URL + "/admin/temp-question?type=5&category=사건", QuestionDto.class);
-////        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-////
-////        QuestionDto questionDto = response.getBody();
-////
-////        assertThat(questionDto.getType()).isEqualTo(type);
-////        assertThat(questionDto.getCategoryName()).isEqualTo(categoryName);
-////        assertThat(questionDto.getPrompt()).isEqualTo(prompt);
-////    }
-//
-//
-//
-//}
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = { "spring.config.location=classpath:application-test.yml" })
+class QuestionControllerTest {
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Autowired
+    ChapterRepository chapterRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    TopicRepository topicRepository;
+
+    @Autowired
+    ChoiceRepository choiceRepository;
+
+    @Autowired
+    DescriptionRepository descriptionRepository;
+
+    @Autowired
+    QuestionRepository questionRepository;
+
+    @Autowired
+    QuestionChoiceRepository questionChoiceRepository;
+
+    @Autowired
+    QuestionDescriptionRepository questionDescriptionRepository;
+
+    @Autowired
+    ReferenceDictionary referenceDictionary;
+
+    @Autowired
+    QuestionCatalog questionCatalog;
+
+    @Autowired
+    ChoiceSimilarityIndex choiceSimilarityIndex;
+
+    @Autowired
+    ContentDupChecker contentDupChecker;
+
+    @Autowired
+    QuestionCache questionCache;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    private final String prefix = "http://localhost:";
+    private String suffix;
+
+    String URL;
+
+    private Map<String, List<Choice>> choiceMap;
+    private Map<String, List<Description>> descriptionMap;
+
+    private void initConfig() {
+        URL = prefix + port + suffix;
+        restTemplate = restTemplate.withBasicAuth("admin1", "admin1");
+        restTemplate.getRestTemplate().setRequestFactory(new HttpComponentsClientHttpRequestFactory());
+    }
+
+    /**
+     * 유물 : t1(100~200), t2(300~400), t3(500~600) 토픽마다 선지 5개, 보기 2개 -> 1번 유형 문제를 만들 수 있음
+     * 사건 : t4 선지 5개, 보기 1개
+     */
+    private void baseSetting() {
+        Category c1 = new Category("유물");
+        Category c2 = new Category("사건");
+        categoryRepository.saveAllAndFlush(Arrays.asList(c1, c2));
+
+        Chapter ch1 = new Chapter("ch1", 1);
+        chapterRepository.saveAndFlush(ch1);
+
+        List<Topic> topicList = Arrays.asList(
+                new Topic("t1", 100, 200, 0, 0, "detail1", ch1, c1),
+                new Topic("t2", 300, 400, 0, 0, "detail2", ch1, c1),
+                new Topic("t3", 500, 600, 0, 0, "detail3", ch1, c1),
+                new Topic("t4", 700, 800, 0, 0, "detail4", ch1, c2));
+        topicRepository.saveAllAndFlush(topicList);
+
+        choiceMap = new HashMap<>();
+        descriptionMap = new HashMap<>();
+        for (Topic topic : topicList) {
+            int descriptionNum = topic.getTitle().equals("t4") ? 1 : 2;
+            List<Choice> choiceList = new ArrayList<>();
+            for (int i = 1; i <= 5; i++) {
+                choiceList.add(new Choice(topic.getTitle() + " choice" + i, topic));
+            }
+            List<Description> descriptionList = new ArrayList<>();
+            for (int i = 1; i <= descriptionNum; i++) {
+                descriptionList.add(new Description(topic.getTitle() + " description" + i, topic));
+            }
+            choiceMap.put(topic.getTitle(), choiceRepository.saveAllAndFlush(choiceList));
+            descriptionMap.put(topic.getTitle(), descriptionRepository.saveAllAndFlush(descriptionList));
+        }
+
+        referenceDictionary.clear();
+        questionCatalog.reload();
+        choiceSimilarityIndex.rebuild();
+        contentDupChecker.reload();
+    }
+
+    private void baseClear() {
+        questionChoiceRepository.deleteAllInBatch();
+        questionDescriptionRepository.deleteAllInBatch();
+        questionRepository.deleteAllInBatch();
+        choiceRepository.deleteAllInBatch();
+        descriptionRepository.deleteAllInBatch();
+        topicRepository.deleteAllInBatch();
+        chapterRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+        referenceDictionary.clear();
+        questionCatalog.reload();
+        questionCache.evictAll();
+    }
+
+    private QuestionDto makeDraft() {
+        ResponseEntity<QuestionDto> response = restTemplate.getForEntity(prefix + port + "/admin/temp-question?category=유물&type=1",
+                QuestionDto.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getDraftId()).isNotNull();
+        return response.getBody();
+    }
+
+    private Long saveDraft(String draftId) {
+        ResponseEntity<Long> response = restTemplate.postForEntity(prefix + port + "/admin/questions/drafts/" + draftId, null, Long.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return response.getBody();
+    }
+
+    private Long addQuestion(Long type, String categoryName, String topicTitle) {
+        List<Choice> choiceList = choiceMap.get(topicTitle);
+        Description description = descriptionMap.get(topicTitle).get(0);
+        List<ChoiceContentIdDto> choiceDtoList = choiceList.stream()
+                .map(c -> new ChoiceContentIdDto(c.getContent(), c.getId()))
+                .collect(Collectors.toList());
+        QuestionDto questionDto = QuestionDto.builder()
+                .type(type)
+                .prompt("prompt")
+                .categoryName(categoryName)
+                .description(new DescriptionContentIdDto(description.getId(), description.getContent()))
+                .choiceList(choiceDtoList)
+                .answerChoiceId(choiceList.get(0).getId())
+                .build();
+        ResponseEntity<Long> response = restTemplate.postForEntity(prefix + port + "/admin/questions", questionDto, Long.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return response.getBody();
+    }
+
+    private static List<Long> choiceIds(QuestionDto questionDto) {
+        return questionDto.getChoiceList().stream().map(ChoiceContentIdDto::getId).collect(Collectors.toList());
+    }
+
+    @Nested
+    @DisplayName("문제 여러개 생성 - POST /admin/temp-questions")
+    @TestInstance(PER_CLASS)
+    public class makeTempQuestions {
+
+        @BeforeAll
+        public void init() {
+            suffix = "/admin/temp-questions";
+            initConfig();
+        }
+
+        @BeforeEach
+        public void setting() {
+            baseSetting();
+        }
+
+        @AfterEach
+        public void clear() {
+            baseClear();
+        }
+
+        @DisplayName("문제 여러개 생성 성공 - 배열로 끝까지 받아지고 문제마다 draftId가 붙음")
+        @Test
+        public void makeTempQuestionsSuccess() {
+            QuestionBatchDto questionBatchDto = new QuestionBatchDto("유물", Arrays.asList(1L), 12);
+
+            ResponseEntity<List<QuestionDto>> response = restTemplate.exchange(URL, HttpMethod.POST, new HttpEntity<>(questionBatchDto),
+                    new ParameterizedTypeReference<List<QuestionDto>>() {});
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getHeaders().getContentType().isCompatibleWith(MediaType.APPLICATION_JSON)).isTrue();
+            List<QuestionDto> questionDtoList = response.getBody();
+            assertThat(questionDtoList).hasSize(12);
+            assertThat(questionDtoList.stream().map(QuestionDto::getDraftId).collect(Collectors.toSet())).hasSize(12);
+
+            Set<Long> categoryChoiceIdSet = new HashSet<>();
+            for (String topicTitle : Arrays.asList("t1", "t2", "t3")) {
+                choiceMap.get(topicTitle).forEach(c -> categoryChoiceIdSet.add(c.getId()));
+            }
+            for (QuestionDto questionDto : questionDtoList) {
+                assertThat(questionDto.getType()).isEqualTo(1L);
+                assertThat(questionDto.getCategoryName()).isEqualTo("유물");
+                assertThat(choiceIds(questionDto)).hasSize(5).doesNotHaveDuplicates();
+                assertThat(categoryChoiceIdSet).containsAll(choiceIds(questionDto));
+                assertThat(choiceIds(questionDto)).contains(questionDto.getAnswerChoiceId());
+                assertThat(questionDto.getDescription().getId()).isNotNull();
+            }
+        }
+
+        @DisplayName("문제 여러개 생성 실패 - 생성할 문제 수가 100개 초과")
+        @Test
+        public void makeTempQuestionsFailCount() {
+            QuestionBatchDto questionBatchDto = new QuestionBatchDto("유물", Arrays.asList(1L), 101);
+
+            ResponseEntity<String> response = restTemplate.exchange(URL, HttpMethod.POST, new HttpEntity<>(questionBatchDto), String.class);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        }
+
+        @DisplayName("문제 여러개 생성 실패 - 존재하지 않는 카테고리는 응답을 쓰기 전에 404")
+        @Test
+        public void makeTempQuestionsFailCategory() {
+            QuestionBatchDto questionBatchDto = new QuestionBatchDto("없는카테고리", Arrays.asList(1L), 3);
+
+            ResponseEntity<List<ErrorMsgDto>> response = restTemplate.exchange(URL, HttpMethod.POST, new HttpEntity<>(questionBatchDto),
+                    new ParameterizedTypeReference<List<ErrorMsgDto>>() {});
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+            assertThat(response.getBody()).usingRecursiveComparison()
+                    .isEqualTo(Arrays.asList(new ErrorMsgDto("존재하지 않는 카테고리 제목입니다.")));
+        }
+    }
+
+    @Nested
+    @DisplayName("문제 초안 저장 - POST /admin/questions/drafts/{draftId}")
+    @TestInstance(PER_CLASS)
+    public class addQuestionByDraft {
+
+        @BeforeAll
+        public void init() {
+            suffix = "/admin/questions/drafts/";
+            initConfig();
+        }
+
+        @BeforeEach
+        public void setting() {
+            baseSetting();
+        }
+
+        @AfterEach
+        public void clear() {
+            baseClear();
+        }
+
+        @DisplayName("초안 저장 성공 - 초안의 선지, 보기, 정답이 그대로 저장됨")
+        @Test
+        public void addQuestionByDraftSuccess() {
+            QuestionDto draft = makeDraft();
+
+            Long questionId = saveDraft(draft.getDraftId());
+
+            assertThat(questionRepository.count()).isEqualTo(1L);
+            QuestionDto saved = restTemplate.getForEntity(prefix + port + "/questions/" + questionId, QuestionDto.class).getBody();
+            assertThat(saved.getType()).isEqualTo(1L);
+            assertThat(saved.getCategoryName()).isEqualTo("유물");
+            assertThat(saved.getAnswerChoiceId()).isEqualTo(draft.getAnswerChoiceId());
+            assertThat(saved.getDescription().getId()).isEqualTo(draft.getDescription().getId());
+            assertThat(choiceIds(saved)).containsExactlyInAnyOrderElementsOf(choiceIds(draft));
+        }
+
+        @DisplayName("초안 저장 실패 - 이미 저장한 초안은 다시 저장할 수 없음")
+        @Test
+        public void addQuestionByDraftFailTwice() {
+            QuestionDto draft = makeDraft();
+            saveDraft(draft.getDraftId());
+
+            ResponseEntity<List<ErrorMsgDto>> response = restTemplate.exchange(URL + draft.getDraftId(), HttpMethod.POST, null,
+                    new ParameterizedTypeReference<List<ErrorMsgDto>>() {});
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+            assertThat(response.getBody()).usingRecursiveComparison()
+                    .isEqualTo(Arrays.asList(new ErrorMsgDto("존재하지 않거나 만료된 문제 초안입니다.")));
+            assertThat(questionRepository.count()).isEqualTo(1L);
+        }
+
+        @DisplayName("초안 저장 실패 - 존재하지 않거나 만료된 draftId")
+        @Test
+        public void addQuestionByDraftFailUnknown() {
+            ResponseEntity<List<ErrorMsgDto>> response = restTemplate.exchange(URL + "unknown-draft", HttpMethod.POST, null,
+                    new ParameterizedTypeReference<List<ErrorMsgDto>>() {});
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+            assertThat(response.getBody()).usingRecursiveComparison()
+                    .isEqualTo(Arrays.asList(new ErrorMsgDto("존재하지 않거나 만료된 문제 초안입니다.")));
+            assertThat(questionRepository.count()).isEqualTo(0L);
+        }
+    }
+
+    @Nested
+    @DisplayName("문제 초안 다시 뽑기 - POST /admin/questions/drafts/{draftId}/reroll")
+    @TestInstance(PER_CLASS)
+    public class rerollDraft {
+
+        @BeforeAll
+        public void init() {
+            suffix = "/admin/questions/drafts/";
+            initConfig();
+        }
+
+        @BeforeEach
+        public void setting() {
+            baseSetting();
+        }
+
+        @AfterEach
+        public void clear() {
+            baseClear();
+        }
+
+        @DisplayName("다시 뽑기 성공 - 지정하지 않은 자리의 선지는 그대로")
+        @Test
+        public void rerollDraftSuccess() {
+            QuestionDto draft = makeDraft();
+            QuestionRerollDto questionRerollDto = new QuestionRerollDto(Arrays.asList(0), false);
+
+            ResponseEntity<QuestionDto> response = restTemplate.postForEntity(URL + draft.getDraftId() + "/reroll",
+                    questionRerollDto, QuestionDto.class);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            QuestionDto rerolled = response.getBody();
+            assertThat(rerolled.getDraftId()).isEqualTo(draft.getDraftId());
+            assertThat(rerolled.getDescription().getId()).isEqualTo(draft.getDescription().getId());
+            assertThat(choiceIds(rerolled)).hasSize(5).doesNotHaveDuplicates();
+            assertThat(choiceIds(rerolled).subList(1, 5)).isEqualTo(choiceIds(draft).subList(1, 5));
+        }
+
+        @DisplayName("다시 뽑기 실패 - 범위를 벗어난 선지 위치")
+        @Test
+        public void rerollDraftFailSlot() {
+            QuestionDto draft = makeDraft();
+
+            for (List<Integer> slotList : Arrays.asList(Arrays.asList(5), Arrays.asList(-1), Arrays.asList(0, 7))) {
+                ResponseEntity<List<ErrorMsgDto>> response = restTemplate.exchange(URL + draft.getDraftId() + "/reroll", HttpMethod.POST,
+                        new HttpEntity<>(new QuestionRerollDto(slotList, false)), new ParameterizedTypeReference<List<ErrorMsgDto>>() {});
+
+                assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+                assertThat(response.getBody()).usingRecursiveComparison()
+                        .isEqualTo(Arrays.asList(new ErrorMsgDto("파라미터 값을 확인해주세요.")));
+            }
+
+            //실패한 요청은 초안을 바꾸지 않음
+            Long questionId = saveDraft(draft.getDraftId());
+            QuestionDto saved = restTemplate.getForEntity(prefix + port + "/questions/" + questionId, QuestionDto.class).getBody();
+            assertThat(choiceIds(saved)).containsExactlyInAnyOrderElementsOf(choiceIds(draft));
+        }
+
+        @DisplayName("다시 뽑기 실패 - 존재하지 않거나 만료된 draftId")
+        @Test
+        public void rerollDraftFailUnknown() {
+            ResponseEntity<List<ErrorMsgDto>> response = restTemplate.exchange(URL + "unknown-draft/reroll", HttpMethod.POST,
+                    new HttpEntity<>(new QuestionRerollDto(Arrays.asList(0), false)), new ParameterizedTypeReference<List<ErrorMsgDto>>() {});
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+            assertThat(response.getBody()).usingRecursiveComparison()
+                    .isEqualTo(Arrays.asList(new ErrorMsgDto("존재하지 않거나 만료된 문제 초안입니다.")));
+        }
+    }
+
+    @Nested
+    @DisplayName("문제 조회 - GET /questions/{id}, GET /questions?id=")
+    @TestInstance(PER_CLASS)
+    public class queryQuestions {
+
+        @BeforeAll
+        public void init() {
+            suffix = "/questions";
+            initConfig();
+        }
+
+        @BeforeEach
+        public void setting() {
+            baseSetting();
+        }
+
+        @AfterEach
+        public void clear() {
+            baseClear();
+        }
+
+        @DisplayName("문제 하나 조회 성공 - 선지 수정 후에는 캐시가 아닌 수정된 내용을 반환")
+        @Test
+        public void queryQuestionAfterChoiceUpdate() {
+            Long questionId = addQuestion(1L, "유물", "t1");
+            Choice choice = choiceMap.get("t1").get(0);
+
+            QuestionDto before = restTemplate.getForEntity(URL + "/" + questionId, QuestionDto.class).getBody();
+            assertThat(before.getChoiceList().stream().map(ChoiceContentIdDto::getContent)).contains("t1 choice1");
+
+            ResponseEntity<Void> updateResponse = restTemplate.exchange(prefix + port + "/admin/choices/" + choice.getId(), HttpMethod.PATCH,
+                    new HttpEntity<>(new ChoiceUpdateDto("changed choice")), Void.class);
+            assertThat(updateResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+            QuestionDto after = restTemplate.getForEntity(URL + "/" + questionId, QuestionDto.class).getBody();
+            List<String> contentList = after.getChoiceList().stream().map(ChoiceContentIdDto::getContent).collect(Collectors.toList());
+            assertThat(contentList).contains("changed choice").doesNotContain("t1 choice1");
+        }
+
+        @DisplayName("문제 하나 조회 실패 - 존재하지 않는 문제 id")
+        @Test
+        public void queryQuestionFail() {
+            ResponseEntity<List<ErrorMsgDto>> response = restTemplate.exchange(URL + "/-1", HttpMethod.GET, null,
+                    new ParameterizedTypeReference<List<ErrorMsgDto>>() {});
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+            assertThat(response.getBody()).usingRecursiveComparison()
+                    .isEqualTo(Arrays.asList(new ErrorMsgDto("존재하지 않는 문제 ID입니다.")));
+        }
+
+        @DisplayName("여러 문제 조회 성공 - 입력 순서대로, 없는 id는 제외, 선지 수정이 반영됨")
+        @Test
+        public void queryQuestionsSuccess() {
+            Long q1 = addQuestion(1L, "유물", "t1");
+            Long q2 = addQuestion(1L, "사건", "t4");
+            String query = "?id=" + q2 + "&id=-1&id=" + q1;
+
+            ResponseEntity<List<QuestionDto>> response = restTemplate.exchange(URL + query, HttpMethod.GET, null,
+                    new ParameterizedTypeReference<List<QuestionDto>>() {});
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody().stream().map(QuestionDto::getId)).containsExactly(q2, q1);
+
+            Choice choice = choiceMap.get("t4").get(0);
+            restTemplate.exchange(prefix + port + "/admin/choices/" + choice.getId(), HttpMethod.PATCH,
+                    new HttpEntity<>(new ChoiceUpdateDto("changed choice")), Void.class);
+
+            response = restTemplate.exchange(URL + query, HttpMethod.GET, null, new ParameterizedTypeReference<List<QuestionDto>>() {});
+            List<String> contentList = response.getBody().get(0).getChoiceList().stream()
+                    .map(ChoiceContentIdDto::getContent).collect(Collectors.toList());
+            assertThat(contentList).contains("changed choice").doesNotContain("t4 choice1");
+        }
+
+        @DisplayName("여러 문제 조회 실패 - id 100개 초과")
+        @Test
+        public void queryQuestionsFailTooMany() {
+            String idParam = LongStream.rangeClosed(1, 101).mapToObj(String::valueOf).collect(Collectors.joining(","));
+
+            ResponseEntity<List<ErrorMsgDto>> response = restTemplate.exchange(URL + "?id=" + idParam, HttpMethod.GET, null,
+                    new ParameterizedTypeReference<List<ErrorMsgDto>>() {});
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+            assertThat(response.getBody()).usingRecursiveComparison()
+                    .isEqualTo(Arrays.asList(new ErrorMsgDto("파라미터 값을 확인해주세요.")));
+        }
+    }
+
+    @Nested
+    @DisplayName("문제 내보내기 - GET /admin/questions/export")
+    @TestInstance(PER_CLASS)
+    public class exportQuestions {
+
+        @BeforeAll
+        public void init() {
+            suffix = "/admin/questions/export";
+            initConfig();
+        }
+
+        @BeforeEach
+        public void setting() {
+            baseSetting();
+        }
+
+        @AfterEach
+        public void clear() {
+            baseClear();
+        }
+
+        private List<QuestionDto> export(String query) throws IOException {
+            ResponseEntity<byte[]> response = restTemplate.exchange(URL + query, HttpMethod.GET, null, byte[].class);
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getHeaders().getContentType().toString()).isEqualTo("application/gzip");
+
+            List<QuestionDto> questionDtoList = new ArrayList<>();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(new ByteArrayInputStream(response.getBody())), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isEmpty()) {
+                        questionDtoList.add(objectMapper.readValue(line, QuestionDto.class));
+                    }
+                }
+            }
+            return questionDtoList;
+        }
+
+        @DisplayName("내보내기 성공 - 문제 하나당 한 줄, 카테고리/유형/수정 시간 조건")
+        @Test
+        public void exportQuestionsSuccess() throws IOException {
+            Long q1 = addQuestion(1L, "유물", "t1");
+            Long q2 = addQuestion(3L, "유물", "t2");
+            Long q3 = addQuestion(1L, "사건", "t4");
+
+            List<QuestionDto> all = export("");
+            assertThat(all.stream().map(QuestionDto::getId)).containsExactly(q1, q2, q3);
+            for (QuestionDto questionDto : all) {
+                assertThat(questionDto.getChoiceList()).hasSize(5);
+                assertThat(questionDto.getDescription().getContent()).isNotNull();
+            }
+
+            assertThat(export("?category=사건").stream().map(QuestionDto::getId)).containsExactly(q3);
+            assertThat(export("?type=3").stream().map(QuestionDto::getId)).containsExactly(q2);
+            assertThat(export("?category=유물&type=1").stream().map(QuestionDto::getId)).containsExactly(q1);
+            assertThat(export("?modified-since=2000-01-01T00:00:00")).hasSize(3);
+            assertThat(export("?modified-since=2999-01-01T00:00:00")).isEmpty();
+        }
+
+        @DisplayName("내보내기 실패 - 잘못된 문제 유형, 존재하지 않는 카테고리")
+        @Test
+        public void exportQuestionsFail() {
+            ResponseEntity<List<ErrorMsgDto>> typeResponse = restTemplate.exchange(URL + "?type=9", HttpMethod.GET, null,
+                    new ParameterizedTypeReference<List<ErrorMsgDto>>() {});
+            assertThat(typeResponse.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+            ResponseEntity<List<ErrorMsgDto>> categoryResponse = restTemplate.exchange(URL + "?category=없는카테고리", HttpMethod.GET, null,
+                    new ParameterizedTypeReference<List<ErrorMsgDto>>() {});
+            assertThat(categoryResponse.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+            assertThat(categoryResponse.getBody()).usingRecursiveComparison()
+                    .isEqualTo(Arrays.asList(new ErrorMsgDto("존재하지 않는 카테고리 제목입니다.")));
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package Project.OpenBook.Controller;
+
+import Project.OpenBook.Cache.QuestionCatalog;
+import Project.OpenBook.Cache.ReferenceDictionary;
+import Project.OpenBook.Cache.SearchIndex;
+import Project.OpenBook.Constants.SearchType;
+import Project.OpenBook.Domain.*;
+import Project.OpenBook.Dto.search.SearchResultDto;
+import Project.OpenBook.Repository.Sentence.SentenceRepository;
+import Project.OpenBook.Repository.category.CategoryRepository;
+import Project.OpenBook.Repository.chapter.ChapterRepository;
+import Project.OpenBook.Repository.choice.ChoiceRepository;
+import Project.OpenBook.Repository.description.DescriptionRepository;
+import Project.OpenBook.Repository.topic.TopicRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = { "spring.config.location=classpath:application-test.yml" })
+public class SearchControllerTest {
+
+    @LocalServerPort
+    int port;
+    @Autowired
+    ReferenceDictionary referenceDictionary;
+
+    @Autowired
+    TestRestTemplate restTemplate;
+    @Autowired
+    ChapterRepository chapterRepository;
+    @Autowired
+    CategoryRepository categoryRepository;
+    @Autowired
+    TopicRepository topicRepository;
+    @Autowired
+    DescriptionRepository descriptionRepository;
+    @Autowired
+    ChoiceRepository choiceRepository;
+    @Autowired
+    SentenceRepository sentenceRepository;
+    @Autowired
+    SearchIndex searchIndex;
+    @Autowired
+    QuestionCatalog questionCatalog;
+
+    private final String prefix = "http://localhost:";
+    private String URL;
+
+    private Topic t1, t2;
+    private Description d1;
+    private Choice c1;
+    private Sentence s1;
+
+    private void baseSetting() {
+        Category category = new Category("유물");
+        categoryRepository.saveAndFlush(category);
+        Chapter ch1 = new Chapter("ch1", 1);
+        chapterRepository.saveAndFlush(ch1);
+
+        t1 = new Topic("광개토대왕", null, null, 0, 0, "고구려의 영토를 넓힌 왕", ch1, category);
+        t2 = new Topic("세종대왕", null, null, 0, 0, "훈민정음 창제", ch1, category);
+        topicRepository.saveAllAndFlush(Arrays.asList(t1, t2));
+
+        d1 = new Description("신라를 도와 왜를 격퇴하였다.", t1);
+        descriptionRepository.saveAndFlush(d1);
+        c1 = new Choice("훈민정음을 반포하였다.", t2);
+        choiceRepository.saveAndFlush(c1);
+        s1 = new Sentence("영락이라는 연호를 사용하였다.", t1);
+        sentenceRepository.saveAndFlush(s1);
+
+        searchIndex.rebuild();
+        questionCatalog.reload();
+    }
+
+    private void baseClear() {
+        sentenceRepository.deleteAllInBatch();
+        choiceRepository.deleteAllInBatch();
+        descriptionRepository.deleteAllInBatch();
+        topicRepository.deleteAllInBatch();
+        chapterRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+        referenceDictionary.clear();
+        searchIndex.rebuild();
+    }
+
+    @Nested
+    @DisplayName("전문 검색 - GET /search")
+    @TestInstance(PER_CLASS)
+    public class search {
+        @BeforeAll
+        public void init() {
+            URL = prefix + port + "/search";
+        }
+
+        @BeforeEach
+        public void setting() {
+            baseSetting();
+        }
+
+        @AfterEach
+        public void clear() {
+            baseClear();
+        }
+
+        @DisplayName("검색어를 포함하는 토픽, 보기, 선지, 문장 검색 성공")
+        @Test
+        public void searchSuccess() {
+            ResponseEntity<SearchResultDto> response = restTemplate.getForEntity(URL + "?query=훈민정음", SearchResultDto.class);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody().getTotalCount()).isEqualTo(2);
+            assertThat(response.getBody().getHitList().stream().map(h -> h.getId()).collect(Collectors.toSet()))
+                    .containsExactlyInAnyOrder(t2.getId(), c1.getId());
+            assertThat(response.getBody().getHitList().stream().map(h -> h.getTopicTitle()).collect(Collectors.toSet()))
+                    .containsExactly("세종대왕");
+        }
+
+        @DisplayName("검색 대상 종류 지정")
+        @Test
+        public void searchByType() {
+            ResponseEntity<SearchResultDto> response = restTemplate.getForEntity(URL + "?query=왜를 격퇴&type=DESCRIPTION", SearchResultDto.class);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody().getHitList()).hasSize(1);
+            assertThat(response.getBody().getHitList().get(0).getType()).isEqualTo(SearchType.DESCRIPTION);
+            assertThat(response.getBody().getHitList().get(0).getId()).isEqualTo(d1.getId());
+        }
+
+        @DisplayName("페이지 나누기")
+        @Test
+        public void searchPaging() {
+            ResponseEntity<SearchResultDto> response = restTemplate.getForEntity(URL + "?query=대왕&page=1&size=1", SearchResultDto.class);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody().getTotalCount()).isEqualTo(2);
+            assertThat(response.getBody().getHitList()).hasSize(1);
+        }
+
+        @DisplayName("일치하는 항목이 없는 경우")
+        @Test
+        public void searchNoResult() {
+            ResponseEntity<SearchResultDto> response = restTemplate.getForEntity(URL + "?query=측우기", SearchResultDto.class);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody().getTotalCount()).isEqualTo(0);
+            assertThat(response.getBody().getHitList()).isEmpty();
+        }
+    }
+}
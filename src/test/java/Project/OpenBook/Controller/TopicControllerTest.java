@@ -1,5 +1,7 @@
 package Project.OpenBook.Controller;
 
+import Project.OpenBook.Cache.KeywordTopicIndex;
+import Project.OpenBook.Cache.ReferenceDictionary;
 import Project.OpenBook.Domain.*;
 import Project.OpenBook.Dto.error.ErrorDto;
 import Project.OpenBook.Dto.error.ErrorMsgDto;
@@ -54,11 +56,17 @@ class TopicControllerTest {
     @Autowired
     TopicKeywordRepository topicKeywordRepository;
 
+    @Autowired
+    KeywordTopicIndex keywordTopicIndex;
+
     @Autowired
     ChoiceRepository choiceRepository;
 
     @Autowired
     DescriptionRepository descriptionRepository;
+    @Autowired
+    ReferenceDictionary referenceDictionary;
+
     @Autowired
     TestRestTemplate restTemplate;
 
@@ -100,6 +108,7 @@ class TopicControllerTest {
         TopicKeyword topicKeyword2 = new TopicKeyword(t1, k2);
         topicKeywordRepository.saveAndFlush(topicKeyword1);
         topicKeywordRepository.saveAndFlush(topicKeyword2);
+        keywordTopicIndex.reload();
     }
 
     private void baseClear() {
@@ -109,6 +118,7 @@ class TopicControllerTest {
         topicRepository.deleteAllInBatch();
         chapterRepository.deleteAllInBatch();
         categoryRepository.deleteAllInBatch();
+        referenceDictionary.clear();
     }
 
     @Nested